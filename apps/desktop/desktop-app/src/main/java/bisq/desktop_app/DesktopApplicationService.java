@@ -25,6 +25,7 @@ import bisq.bonded_roles.BondedRolesService;
 import bisq.bonded_roles.security_manager.alert.AlertNotificationsService;
 import bisq.chat.ChatService;
 import bisq.common.application.Service;
+import bisq.common.application.ServiceGraph;
 import bisq.common.observable.Observable;
 import bisq.common.platform.OS;
 import bisq.common.util.CompletableFutureUtils;
@@ -103,6 +104,7 @@ public class DesktopApplicationService extends JavaSeApplicationService {
     private final DontShowAgainService dontShowAgainService;
     private final WebcamAppService webcamAppService;
     private final RestApiService restApiService;
+    private final ServiceGraph serviceGraph;
 
     public DesktopApplicationService(String[] args, ShutDownHandler shutDownHandler) {
         super("desktop", args);
@@ -225,6 +227,30 @@ public class DesktopApplicationService extends JavaSeApplicationService {
         var restApiConfig = RestApiService.Config.from(getConfig("restApi"));
         var restApiResourceConfig = new RestApiResourceConfig(restApiConfig, networkService, userService, bondedRolesService);
         restApiService = new RestApiService(restApiConfig, restApiResourceConfig);
+
+        // Security, network and wallet services are initialized before, as we report their state separately
+        serviceGraph = new ServiceGraph("DesktopApplicationService")
+                .add(identityService)
+                .add(bondedRolesService)
+                .add(accountService)
+                .add(contractService)
+                .add(settingsService)
+                .add(userService, identityService, bondedRolesService)
+                .add(systemNotificationService, settingsService)
+                .add(offerService, identityService)
+                .add(chatService, userService, settingsService, systemNotificationService)
+                .add(supportService, chatService, userService, bondedRolesService)
+                .add(tradeService, identityService, offerService, contractService, supportService, chatService,
+                        bondedRolesService, userService, settingsService)
+                .add(updaterService, settingsService, bondedRolesService)
+                .add(bisqEasyService, identityService, bondedRolesService, accountService, offerService,
+                        contractService, userService, chatService, settingsService, supportService,
+                        systemNotificationService, tradeService)
+                .add(alertNotificationsService, settingsService, bondedRolesService)
+                .add(favouriteMarketsService, settingsService)
+                .add(dontShowAgainService, settingsService)
+                .add(webcamAppService)
+                .add(restApiService, userService, bondedRolesService);
     }
 
     @Override
@@ -257,24 +283,7 @@ public class DesktopApplicationService extends JavaSeApplicationService {
                         setState(State.INITIALIZE_SERVICES);
                     }
                 })
-                .thenCompose(result -> identityService.initialize())
-                .thenCompose(result -> bondedRolesService.initialize())
-                .thenCompose(result -> accountService.initialize())
-                .thenCompose(result -> contractService.initialize())
-                .thenCompose(result -> userService.initialize())
-                .thenCompose(result -> settingsService.initialize())
-                .thenCompose(result -> offerService.initialize())
-                .thenCompose(result -> chatService.initialize())
-                .thenCompose(result -> systemNotificationService.initialize())
-                .thenCompose(result -> supportService.initialize())
-                .thenCompose(result -> tradeService.initialize())
-                .thenCompose(result -> updaterService.initialize())
-                .thenCompose(result -> bisqEasyService.initialize())
-                .thenCompose(result -> alertNotificationsService.initialize())
-                .thenCompose(result -> favouriteMarketsService.initialize())
-                .thenCompose(result -> dontShowAgainService.initialize())
-                .thenCompose(result -> webcamAppService.initialize())
-                .thenCompose(result -> restApiService.initialize())
+                .thenCompose(result -> serviceGraph.initialize())
                 .orTimeout(STARTUP_TIMEOUT_SEC, TimeUnit.SECONDS)
                 .handle((result, throwable) -> {
                     if (throwable == null) {
@@ -298,27 +307,11 @@ public class DesktopApplicationService extends JavaSeApplicationService {
     @Override
     public CompletableFuture<Boolean> shutdown() {
         log.info("shutdown");
-        // We shut down services in opposite order as they are initialized
+        // We shut down services in opposite order as they are initialized. The serviceGraph shuts down a service
+        // once all services depending on it have completed their shutdown.
         // In case a shutdown method completes exceptionally we log the error and map the result to `false` to not
         // interrupt the shutdown sequence.
-        return supplyAsync(() -> restApiService.shutdown().exceptionally(this::logError)
-                .thenCompose(result -> webcamAppService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> dontShowAgainService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> favouriteMarketsService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> alertNotificationsService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> bisqEasyService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> updaterService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> tradeService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> supportService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> systemNotificationService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> chatService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> offerService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> settingsService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> userService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> contractService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> accountService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> bondedRolesService.shutdown().exceptionally(this::logError))
-                .thenCompose(result -> identityService.shutdown().exceptionally(this::logError))
+        return supplyAsync(() -> serviceGraph.shutdown().exceptionally(this::logError)
                 .thenCompose(result -> networkService.shutdown().exceptionally(this::logError))
                 .thenCompose(result -> walletService.map(service -> service.shutdown().exceptionally(this::logError))
                         .orElse(CompletableFuture.completedFuture(true)))
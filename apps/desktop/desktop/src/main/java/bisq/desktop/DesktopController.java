@@ -277,6 +277,7 @@ public class DesktopController extends NavigationController {
 
     private void onShutdown() {
         preventStandbyModeService.shutdown();
+        CatHash.shutdown();
     }
 
     private boolean isLocked() {
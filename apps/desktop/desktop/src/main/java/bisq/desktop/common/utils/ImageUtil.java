@@ -17,12 +17,8 @@
 
 package bisq.desktop.common.utils;
 
-import bisq.common.file.FileUtils;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
-import javafx.scene.SnapshotParameters;
-import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.*;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
@@ -87,33 +83,6 @@ public class ImageUtil {
         stage.getIcons().add(ImageUtil.getImageByPath("images/app_window/icon_16.png"));
     }
 
-    public static Image composeImage(String[] paths, double size) {
-        return composeImage(paths, size, size);
-    }
-
-    public static Image composeImage(String[] paths, double width, double height) {
-        Canvas canvas = new Canvas();
-        canvas.setWidth(width);
-        canvas.setHeight(height);
-        GraphicsContext graphicsContext2D = canvas.getGraphicsContext2D();
-
-        double radius = Math.min(height, width) / 2d;
-        double x = width / 2d;
-        double y = height / 2d;
-        graphicsContext2D.beginPath();
-        graphicsContext2D.moveTo(x - radius, y);
-        graphicsContext2D.arc(x, y, radius, radius, 180, 360);
-        graphicsContext2D.closePath();
-        graphicsContext2D.clip();
-
-        for (String path : paths) {
-            graphicsContext2D.drawImage(new Image("images/cathash/" + path), 0, 0, width, height);
-        }
-        SnapshotParameters snapshotParameters = new SnapshotParameters();
-        snapshotParameters.setFill(Color.TRANSPARENT);
-        return canvas.snapshot(snapshotParameters, null);
-    }
-
     /**
      * @param size
      * @param cssStrokeColor E.g. -bisq2-green
@@ -163,16 +132,6 @@ public class ImageUtil {
         return pane;
     }
 
-    public static Image readRawImage(File file) throws IOException {
-        byte[] rawData = FileUtils.read(file.getAbsolutePath());
-        return byteArrayToImage(rawData);
-    }
-
-    public static void writeRawImage(Image image, File file) throws IOException {
-        byte[] rawData = imageToByteArray(image);
-        FileUtils.write(file.getAbsolutePath(), rawData);
-    }
-
     public static Image byteArrayToImage(byte[] data) {
         ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(data);
 
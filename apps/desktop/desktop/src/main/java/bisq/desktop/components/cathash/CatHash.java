@@ -17,6 +17,7 @@
 
 package bisq.desktop.components.cathash;
 
+import bisq.desktop.common.threading.UIThread;
 import bisq.user.cathash.BucketConfig;
 import bisq.user.profile.UserProfile;
 import javafx.scene.image.Image;
@@ -24,17 +25,46 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 // Derived from https://github.com/neuhalje/android-robohash
 @Slf4j
 public class CatHash {
     @Setter
     private static JavaFxCatHashService delegate;
+    private static final Map<Double, Image> placeholderBySize = new ConcurrentHashMap<>();
 
     public static Image getImage(UserProfile userProfile, double size) {
         return delegate.getImage(userProfile, size);
     }
 
+    public static Optional<Image> findCachedImage(UserProfile userProfile, double size) {
+        return delegate.findCachedImage(userProfile, size);
+    }
+
+    /**
+     * Returns the image if it is in the in-memory cache, otherwise a placeholder. In the latter case the image is
+     * read or created on a background thread and passed to the onImageLoaded handler on the UI thread.
+     */
+    public static Image getImage(UserProfile userProfile, double size, Consumer<Image> onImageLoaded) {
+        Optional<Image> cachedImage = delegate.findCachedImage(userProfile, size);
+        if (cachedImage.isPresent()) {
+            return cachedImage.get();
+        }
+        delegate.getImageAsync(userProfile, size)
+                .whenComplete((image, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Creating user profile icon failed", throwable);
+                    } else {
+                        UIThread.run(() -> onImageLoaded.accept(image));
+                    }
+                });
+        return placeholderBySize.computeIfAbsent(size, delegate::createPlaceholder);
+    }
+
     public static Image getImage(byte[] pubKeyHash, byte[] powSolution, int avatarVersion, double size) {
         return delegate.getImage(pubKeyHash, powSolution, avatarVersion, size);
     }
@@ -44,6 +74,17 @@ public class CatHash {
         delegate.pruneOutdatedProfileIcons(userProfiles);
     }
 
+    // Loads the icons of the given user profiles into the in-memory cache on a background thread
+    public static void prefetch(Collection<UserProfile> userProfiles) {
+        delegate.prefetch(userProfiles);
+    }
+
+    public static void shutdown() {
+        if (delegate != null) {
+            delegate.shutdown();
+        }
+    }
+
     public static int currentAvatarsVersion() {
         return BucketConfig.CURRENT_VERSION;
     }
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.components.cathash;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Composes the cat hash layers at pixel level, so that it can be done on a background thread (Canvas snapshots are
+ * only supported on the JavaFX application thread). Pixels are in premultiplied ARGB format.
+ */
+class CatHashImageComposer {
+    private static final String IMAGES_DIR = "images/cathash/";
+    // Color of the placeholder shown until the image is available
+    private static final int PLACEHOLDER_ARGB = 0x40808080;
+
+    // The number of layer images is limited by the bucket config (a few hundred small images)
+    private final Map<String, int[]> layerPixelsByKey = new ConcurrentHashMap<>();
+
+    Image compose(String[] paths, int size) {
+        int[] pixels = new int[size * size];
+        for (String path : paths) {
+            int[] layerPixels = getLayerPixels(path, size);
+            for (int i = 0; i < pixels.length; i++) {
+                pixels[i] = blendOver(layerPixels[i], pixels[i]);
+            }
+        }
+        applyCircleMask(pixels, size);
+        return toImage(pixels, size);
+    }
+
+    Image createPlaceholder(int size) {
+        int[] pixels = new int[size * size];
+        int premultiplied = premultiply(PLACEHOLDER_ARGB);
+        Arrays.fill(pixels, premultiplied);
+        applyCircleMask(pixels, size);
+        return toImage(pixels, size);
+    }
+
+    private int[] getLayerPixels(String path, int size) {
+        return layerPixelsByKey.computeIfAbsent(path + "_" + size, key -> {
+            Image image = new Image(IMAGES_DIR + path, size, size, false, true);
+            int[] pixels = new int[size * size];
+            image.getPixelReader().getPixels(0, 0, size, size, PixelFormat.getIntArgbPreInstance(), pixels, 0, size);
+            return pixels;
+        });
+    }
+
+    // Porter-Duff source over destination with premultiplied alpha
+    private static int blendOver(int source, int destination) {
+        int sourceAlpha = source >>> 24;
+        if (sourceAlpha == 255) {
+            return source;
+        }
+        if (sourceAlpha == 0) {
+            return destination;
+        }
+        int inverseAlpha = 255 - sourceAlpha;
+        int a = sourceAlpha + scale(destination >>> 24, inverseAlpha);
+        int r = ((source >> 16) & 0xFF) + scale((destination >> 16) & 0xFF, inverseAlpha);
+        int g = ((source >> 8) & 0xFF) + scale((destination >> 8) & 0xFF, inverseAlpha);
+        int b = (source & 0xFF) + scale(destination & 0xFF, inverseAlpha);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    // Clips to a circle with an anti-aliased edge of one pixel
+    private static void applyCircleMask(int[] pixels, int size) {
+        double radius = size / 2d;
+        for (int y = 0; y < size; y++) {
+            double dy = y + 0.5 - radius;
+            for (int x = 0; x < size; x++) {
+                double dx = x + 0.5 - radius;
+                double coverage = Math.min(1, Math.max(0, radius - Math.sqrt(dx * dx + dy * dy) + 0.5));
+                if (coverage < 1) {
+                    int index = y * size + x;
+                    pixels[index] = scalePixel(pixels[index], (int) Math.round(coverage * 255));
+                }
+            }
+        }
+    }
+
+    private static int premultiply(int argb) {
+        int alpha = argb >>> 24;
+        return (alpha << 24) | (scalePixel(argb | 0xFF000000, alpha) & 0x00FFFFFF);
+    }
+
+    private static int scalePixel(int pixel, int factor) {
+        return (scale(pixel >>> 24, factor) << 24) |
+                (scale((pixel >> 16) & 0xFF, factor) << 16) |
+                (scale((pixel >> 8) & 0xFF, factor) << 8) |
+                scale(pixel & 0xFF, factor);
+    }
+
+    // Returns value * factor / 255, rounded
+    private static int scale(int value, int factor) {
+        int product = value * factor + 128;
+        return (product + (product >> 8)) >> 8;
+    }
+
+    private static Image toImage(int[] pixels, int size) {
+        WritableImage image = new WritableImage(size, size);
+        image.getPixelWriter().setPixels(0, 0, size, size, PixelFormat.getIntArgbPreInstance(), pixels, 0, size);
+        return image;
+    }
+}
@@ -21,27 +21,31 @@ import bisq.desktop.common.utils.ImageUtil;
 import bisq.user.cathash.CatHashService;
 import javafx.scene.image.Image;
 
-import java.io.File;
-import java.io.IOException;
 import java.nio.file.Path;
 
 public class JavaFxCatHashService extends CatHashService<Image> {
+    private final CatHashImageComposer imageComposer = new CatHashImageComposer();
+
     public JavaFxCatHashService(Path baseDir) {
         super(baseDir);
     }
 
+    Image createPlaceholder(double size) {
+        return imageComposer.createPlaceholder((int) Math.round(size));
+    }
+
     @Override
     protected Image composeImage(String[] paths, double size) {
-        return ImageUtil.composeImage(paths, size);
+        return imageComposer.compose(paths, (int) Math.round(size));
     }
 
     @Override
-    protected void writeRawImage(Image image, File iconFile) throws IOException {
-        ImageUtil.writeRawImage(image, iconFile);
+    protected byte[] toRawImage(Image image) {
+        return ImageUtil.imageToByteArray(image);
     }
 
     @Override
-    protected Image readRawImage(File iconFile) throws IOException {
-        return ImageUtil.readRawImage(iconFile);
+    protected Image fromRawImage(byte[] rawImage) {
+        return ImageUtil.byteArrayToImage(rawImage);
     }
 }
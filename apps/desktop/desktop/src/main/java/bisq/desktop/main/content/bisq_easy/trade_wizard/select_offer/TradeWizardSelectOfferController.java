@@ -26,6 +26,7 @@ import bisq.bonded_roles.market_price.MarketPriceService;
 import bisq.chat.ChatService;
 import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookChannel;
 import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookChannelService;
+import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookQuery;
 import bisq.common.currency.Market;
 import bisq.common.monetary.Monetary;
 import bisq.desktop.ServiceProvider;
@@ -168,9 +169,9 @@ public class TradeWizardSelectOfferController implements Controller {
         Optional<BisqEasyOfferbookChannel> optionalChannel = bisqEasyOfferbookChannelService.findChannel(market);
         if (optionalChannel.isPresent()) {
             BisqEasyOfferbookChannel channel = optionalChannel.get();
-            model.getMatchingOffers().setAll(channel.getChatMessages().stream()
-                    .filter(chatMessage -> chatMessage.getBisqEasyOffer().isPresent())
-                    .map(chatMessage -> new TradeWizardSelectOfferView.ListItem(chatMessage.getBisqEasyOffer().get(),
+            model.getMatchingOffers().setAll(bisqEasyOfferbookChannelService.getOfferbookIndex()
+                    .queryOffers(BisqEasyOfferbookQuery.create().market(channel.getMarket())).stream()
+                    .map(offer -> new TradeWizardSelectOfferView.ListItem(offer,
                             model,
                             userProfileService,
                             reputationService,
@@ -251,7 +251,11 @@ class TradeWizardSelectOfferView extends View<VBox, TradeWizardSelectOfferModel,
                         if (item != null && !empty) {
                             userName.setText(item.getMakerUserName());
                             item.getAuthorUserProfile().ifPresent(userProfile ->
-                                    catHashImageView.setImage(CatHash.getImage(userProfile, catHashImageView.getFitWidth())));
+                                    catHashImageView.setImage(CatHash.getImage(userProfile, catHashImageView.getFitWidth(), image -> {
+                                        if (getItem() == item) {
+                                            catHashImageView.setImage(image);
+                                        }
+                                    })));
                             setGraphic(hBox);
                         } else {
                             catHashImageView.setImage(null);
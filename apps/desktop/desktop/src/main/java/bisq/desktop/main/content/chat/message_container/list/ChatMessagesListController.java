@@ -24,7 +24,6 @@ import bisq.chat.two_party.TwoPartyPrivateChatChannel;
 import bisq.chat.two_party.TwoPartyPrivateChatMessage;
 import bisq.common.monetary.Monetary;
 import bisq.common.observable.Pin;
-import bisq.common.observable.collection.CollectionObserver;
 import bisq.desktop.ServiceProvider;
 import bisq.desktop.common.observable.FxBindings;
 import bisq.desktop.common.threading.UIScheduler;
@@ -64,10 +63,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import static bisq.bisq_easy.BisqEasyTradeAmountLimits.Result.*;
-import static bisq.chat.ChatMessageType.TAKE_BISQ_EASY_OFFER;
 import static com.google.common.base.Preconditions.checkArgument;
 
 @Slf4j
@@ -91,7 +88,8 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
     private final BisqEasyService bisqEasyService;
     private final MarketPriceService marketPriceService;
     private final LeavePrivateChatManager leavePrivateChatManager;
-    private Pin selectedChannelPin, chatMessagesPin, offerOnlySettingsPin;
+    private Pin selectedChannelPin, offerOnlySettingsPin;
+    private ChatMessagesListUpdater<?, ?> chatMessagesListUpdater;
     private Subscription selectedChannelSubscription, focusSubscription, scrollValuePin, scrollBarVisiblePin,
             layoutChildrenDonePin;
 
@@ -161,9 +159,9 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
             selectedChannelPin.unbind();
             selectedChannelPin = null;
         }
-        if (chatMessagesPin != null) {
-            chatMessagesPin.unbind();
-            chatMessagesPin = null;
+        if (chatMessagesListUpdater != null) {
+            chatMessagesListUpdater.dispose();
+            chatMessagesListUpdater = null;
         }
         if (focusSubscription != null) {
             focusSubscription.unsubscribe();
@@ -178,7 +176,7 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
 
         model.getChatMessages().forEach(ChatMessageListItem::dispose);
         model.getChatMessages().clear();
-        model.getChatMessageIds().clear();
+        model.getChatMessageItemsById().clear();
     }
 
     private void selectedChannelChanged(ChatChannel<? extends ChatMessage> channel) {
@@ -186,24 +184,25 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
             model.getSelectedChannel().set(channel);
             model.getIsPublicChannel().set(channel instanceof PublicChatChannel);
 
-            if (chatMessagesPin != null) {
-                chatMessagesPin.unbind();
+            if (chatMessagesListUpdater != null) {
+                chatMessagesListUpdater.dispose();
+                chatMessagesListUpdater = null;
             }
 
             // Clear and call dispose on the current messages when we change the channel.
             model.getChatMessages().forEach(ChatMessageListItem::dispose);
             model.getChatMessages().clear();
-            model.getChatMessageIds().clear();
+            model.getChatMessageItemsById().clear();
             model.setAutoScrollToBottom(true);
 
             if (channel instanceof BisqEasyOfferbookChannel bisqEasyOfferbookChannel) {
-                chatMessagesPin = bindChatMessages(bisqEasyOfferbookChannel);
+                chatMessagesListUpdater = bindChatMessages(bisqEasyOfferbookChannel);
             } else if (channel instanceof BisqEasyOpenTradeChannel bisqEasyOpenTradeChannel) {
-                chatMessagesPin = bindChatMessages(bisqEasyOpenTradeChannel);
+                chatMessagesListUpdater = bindChatMessages(bisqEasyOpenTradeChannel);
             } else if (channel instanceof CommonPublicChatChannel commonPublicChatChannel) {
-                chatMessagesPin = bindChatMessages(commonPublicChatChannel);
+                chatMessagesListUpdater = bindChatMessages(commonPublicChatChannel);
             } else if (channel instanceof TwoPartyPrivateChatChannel twoPartyPrivateChatChannel) {
-                chatMessagesPin = bindChatMessages(twoPartyPrivateChatChannel);
+                chatMessagesListUpdater = bindChatMessages(twoPartyPrivateChatChannel);
             }
 
             if (focusSubscription != null) {
@@ -240,10 +239,6 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
 
     public void refreshMessages() {
         model.getChatMessages().setAll(new ArrayList<>(model.getChatMessages()));
-        model.getChatMessageIds().clear();
-        model.getChatMessageIds().addAll(model.getChatMessages().stream()
-                .map(e -> e.getChatMessage().getId())
-                .collect(Collectors.toSet()));
     }
 
     public void setSearchPredicate(Predicate<? super ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> predicate) {
@@ -628,12 +623,10 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
                 predicate.test(item));
     }
 
-    private <M extends ChatMessage, C extends ChatChannel<M>> Pin bindChatMessages(C channel) {
-        // We clear and fill the list at channel change. The addObserver triggers the add method for each item,
-        // but as we have a contains() check there it will not have any effect.
-        model.getChatMessages().addAll(channel.getChatMessages().stream()
-                .filter(chatMessage -> chatMessage.getChatMessageType() != TAKE_BISQ_EASY_OFFER)
-                .map(chatMessage -> new ChatMessageListItem<>(chatMessage,
+    private <M extends ChatMessage, C extends ChatChannel<M>> ChatMessagesListUpdater<M, C> bindChatMessages(C channel) {
+        ChatMessagesListUpdater<M, C> updater = new ChatMessagesListUpdater<>(channel,
+                model,
+                chatMessage -> new ChatMessageListItem<>(chatMessage,
                         channel,
                         marketPriceService,
                         userProfileService,
@@ -641,65 +634,10 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
                         bisqEasyTradeService,
                         userIdentityService,
                         networkService,
-                        resendMessageService))
-                .collect(Collectors.toSet()));
-        model.getChatMessageIds().clear();
-        model.getChatMessageIds().addAll(model.getChatMessages().stream()
-                .map(e -> e.getChatMessage().getId())
-                .collect(Collectors.toSet()));
-        maybeScrollDownOnNewItemAdded();
-
-        return channel.getChatMessages().addObserver(new CollectionObserver<>() {
-            @Override
-            public void add(M chatMessage) {
-                UIThread.run(() -> {
-                    if (model.getChatMessageIds().contains(chatMessage.getId())) {
-                        return;
-                    }
-                    if (chatMessage.getChatMessageType() == TAKE_BISQ_EASY_OFFER) {
-                        return;
-                    }
-                    ChatMessageListItem<M, C> item = new ChatMessageListItem<>(chatMessage,
-                            channel,
-                            marketPriceService,
-                            userProfileService,
-                            reputationService,
-                            bisqEasyTradeService,
-                            userIdentityService,
-                            networkService,
-                            resendMessageService);
-                    model.getChatMessages().add(item);
-                    maybeScrollDownOnNewItemAdded();
-                });
-            }
-
-            @Override
-            public void remove(Object element) {
-                if (element instanceof ChatMessage) {
-                    UIThread.run(() -> {
-                        ChatMessage chatMessage = (ChatMessage) element;
-                        Optional<ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> toRemove =
-                                model.getChatMessages().stream()
-                                        .filter(item -> item.getChatMessage().getId().equals(chatMessage.getId()))
-                                        .findAny();
-                        toRemove.ifPresent(item -> {
-                            item.dispose();
-                            model.getChatMessages().remove(item);
-                            model.getChatMessageIds().remove(item.getChatMessage().getId());
-                        });
-                    });
-                }
-            }
-
-            @Override
-            public void clear() {
-                UIThread.run(() -> {
-                    model.getChatMessages().forEach(ChatMessageListItem::dispose);
-                    model.getChatMessages().clear();
-                    model.getChatMessageIds().clear();
-                });
-            }
-        });
+                        resendMessageService),
+                this::maybeScrollDownOnNewItemAdded);
+        updater.initialize();
+        return updater;
     }
 
     private void publishChatMessageReaction(ChatMessage chatMessage, Reaction reaction, UserIdentity userIdentity) {
@@ -0,0 +1,217 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.content.chat.message_container.list;
+
+import bisq.chat.ChatChannel;
+import bisq.chat.ChatMessage;
+import bisq.common.observable.Pin;
+import bisq.common.observable.collection.CollectionObserver;
+import bisq.common.threading.ExecutorFactory;
+import bisq.desktop.common.threading.UIThread;
+import bisq.desktop.components.cathash.CatHash;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static bisq.chat.ChatMessageType.TAKE_BISQ_EASY_OFFER;
+
+/**
+ * Keeps the list items of the model in sync with the messages of a channel.
+ * <br/>
+ * Changes of the channel messages are collected and applied in batches at a bounded rate instead of one UI task per
+ * message. The selection and sorting of the pending messages is done on a background thread. The list items are
+ * created on the UI thread as they contain JavaFX nodes with tooltips. To not block the UI thread when selecting a
+ * channel with many messages, we create at most MAX_ITEMS_PER_UPDATE items per update, starting with the newest
+ * messages as those are the ones visible after the channel change.
+ */
+@Slf4j
+class ChatMessagesListUpdater<M extends ChatMessage, C extends ChatChannel<M>> {
+    // Bounds the UI updates to 20 per second
+    private static final long MIN_UPDATE_INTERVAL_MS = 50;
+    private static final int MAX_ITEMS_PER_UPDATE = 100;
+    private static final ScheduledExecutorService executor = ExecutorFactory.newSingleThreadScheduledExecutor("ChatMessagesListUpdater");
+
+    private final C channel;
+    private final ChatMessagesListModel model;
+    private final Function<M, ChatMessageListItem<M, C>> itemFactory;
+    private final Runnable itemsAddedHandler;
+
+    // Pending changes are guarded by lock
+    private final Object lock = new Object();
+    private final Map<String, M> pendingAdds = new HashMap<>();
+    private final Set<String> pendingRemoves = new HashSet<>();
+    private boolean pendingClear;
+
+    private final AtomicBoolean updateScheduled = new AtomicBoolean();
+    private volatile long lastUpdateTs;
+    // Only accessed on the UI thread
+    private boolean isDisposed;
+    private Pin chatMessagesPin;
+
+    ChatMessagesListUpdater(C channel,
+                            ChatMessagesListModel model,
+                            Function<M, ChatMessageListItem<M, C>> itemFactory,
+                            Runnable itemsAddedHandler) {
+        this.channel = channel;
+        this.model = model;
+        this.itemFactory = itemFactory;
+        this.itemsAddedHandler = itemsAddedHandler;
+    }
+
+    void initialize() {
+        // The addObserver call passes all existing messages to addAll, so the initial items get created the same
+        // way as the ones for new messages.
+        chatMessagesPin = channel.getChatMessages().addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(M chatMessage) {
+                addAll(List.of(chatMessage));
+            }
+
+            @Override
+            public void addAll(Collection<? extends M> chatMessages) {
+                synchronized (lock) {
+                    chatMessages.forEach(chatMessage -> {
+                        pendingRemoves.remove(chatMessage.getId());
+                        pendingAdds.put(chatMessage.getId(), chatMessage);
+                    });
+                }
+                scheduleUpdate();
+            }
+
+            @Override
+            public void remove(Object element) {
+                if (element instanceof ChatMessage chatMessage) {
+                    synchronized (lock) {
+                        pendingAdds.remove(chatMessage.getId());
+                        pendingRemoves.add(chatMessage.getId());
+                    }
+                    scheduleUpdate();
+                }
+            }
+
+            @Override
+            public void clear() {
+                synchronized (lock) {
+                    pendingAdds.clear();
+                    pendingRemoves.clear();
+                    pendingClear = true;
+                }
+                scheduleUpdate();
+            }
+        });
+    }
+
+    void dispose() {
+        isDisposed = true;
+        if (chatMessagesPin != null) {
+            chatMessagesPin.unbind();
+            chatMessagesPin = null;
+        }
+        // A scheduled update would otherwise keep the pending messages and reschedule itself while there are more
+        synchronized (lock) {
+            pendingAdds.clear();
+            pendingRemoves.clear();
+            pendingClear = false;
+        }
+    }
+
+    private void scheduleUpdate() {
+        if (updateScheduled.compareAndSet(false, true)) {
+            long delay = Math.max(0, lastUpdateTs + MIN_UPDATE_INTERVAL_MS - System.currentTimeMillis());
+            executor.schedule(this::prepareUpdate, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Called on the executor thread
+    private void prepareUpdate() {
+        lastUpdateTs = System.currentTimeMillis();
+        boolean clear;
+        Set<String> removes;
+        List<M> adds;
+        boolean hasMoreAdds;
+        synchronized (lock) {
+            updateScheduled.set(false);
+            clear = pendingClear;
+            pendingClear = false;
+            removes = new HashSet<>(pendingRemoves);
+            pendingRemoves.clear();
+            adds = pendingAdds.values().stream()
+                    .filter(chatMessage -> chatMessage.getChatMessageType() != TAKE_BISQ_EASY_OFFER)
+                    .sorted(Comparator.comparingLong(ChatMessage::getDate).reversed())
+                    .limit(MAX_ITEMS_PER_UPDATE)
+                    .collect(Collectors.toList());
+            if (adds.size() < MAX_ITEMS_PER_UPDATE) {
+                // All remaining messages are either in adds or are filtered out
+                pendingAdds.clear();
+            } else {
+                adds.forEach(chatMessage -> pendingAdds.remove(chatMessage.getId()));
+            }
+            hasMoreAdds = !pendingAdds.isEmpty();
+        }
+        if (hasMoreAdds) {
+            scheduleUpdate();
+        }
+        if (clear || !removes.isEmpty() || !adds.isEmpty()) {
+            UIThread.run(() -> applyUpdate(clear, removes, adds));
+        }
+    }
+
+    private void applyUpdate(boolean clear, Set<String> removes, List<M> adds) {
+        if (isDisposed) {
+            return;
+        }
+        Map<String, ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> itemsById = model.getChatMessageItemsById();
+        if (clear) {
+            model.getChatMessages().forEach(ChatMessageListItem::dispose);
+            model.getChatMessages().clear();
+            itemsById.clear();
+        }
+
+        if (!removes.isEmpty()) {
+            Set<ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> itemsToRemove = new HashSet<>();
+            removes.forEach(id -> {
+                ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>> item = itemsById.remove(id);
+                if (item != null) {
+                    item.dispose();
+                    itemsToRemove.add(item);
+                }
+            });
+            model.getChatMessages().removeAll(itemsToRemove);
+        }
+
+        List<ChatMessageListItem<M, C>> itemsToAdd = adds.stream()
+                .filter(chatMessage -> !itemsById.containsKey(chatMessage.getId()))
+                .map(itemFactory)
+                .collect(Collectors.toList());
+        if (!itemsToAdd.isEmpty()) {
+            itemsToAdd.forEach(item -> itemsById.put(item.getChatMessage().getId(), item));
+            model.getChatMessages().addAll(itemsToAdd);
+            // Load the user profile icons in the background, so that the cells do not need to create them when shown
+            CatHash.prefetch(itemsToAdd.stream()
+                    .map(ChatMessageListItem::getSenderUserProfile)
+                    .flatMap(Optional::stream)
+                    .collect(Collectors.toSet()));
+            itemsAddedHandler.run();
+        }
+    }
+}
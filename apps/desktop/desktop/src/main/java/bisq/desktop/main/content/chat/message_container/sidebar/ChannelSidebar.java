@@ -295,7 +295,11 @@ public class ChannelSidebar {
                                     userName.getStyleClass().add("error");
                                 }
 
-                                catHashImageView.setImage(CatHash.getImage(userProfile, catHashImageView.getFitWidth()));
+                                catHashImageView.setImage(CatHash.getImage(userProfile, catHashImageView.getFitWidth(), image -> {
+                                    if (getItem() == item) {
+                                        catHashImageView.setImage(image);
+                                    }
+                                }));
 
                                 tooltip.setText(item.getTooltipString());
                                 Tooltip.install(userHBox, tooltip);
@@ -92,8 +92,13 @@ public class UserProfileIcon extends StackPane implements LivenessScheduler.Form
             return;
         }
 
-        // Is cached in CatHash
-        catHashImageView.setImage(CatHash.getImage(userProfile, size));
+        // Is cached in CatHash. If not in the cache, we show a placeholder until the image has been loaded.
+        catHashImageView.setImage(CatHash.getImage(userProfile, size, image -> {
+            // The icon might have been reused for another user profile in the meantime
+            if (this.userProfile == userProfile) {
+                catHashImageView.setImage(image);
+            }
+        }));
 
         userProfileInfo = userProfile.getTooltipString();
         String version = userProfile.getApplicationVersion();
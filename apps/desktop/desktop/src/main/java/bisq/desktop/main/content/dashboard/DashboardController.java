@@ -21,7 +21,6 @@ import bisq.bisq_easy.BisqEasyNotificationsService;
 import bisq.bisq_easy.NavigationTarget;
 import bisq.bonded_roles.market_price.MarketPriceService;
 import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookChannelService;
-import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookMessage;
 import bisq.common.currency.Market;
 import bisq.common.observable.Pin;
 import bisq.desktop.ServiceProvider;
@@ -118,9 +117,7 @@ public class DashboardController implements Controller {
     private void updateOffersOnline() {
         if (allowUpdateOffersOnline) {
             UIThread.run(() ->
-                    model.getOffersOnline().set(String.valueOf(bisqEasyOfferbookChannelService.getChannels().stream().flatMap(channel -> channel.getChatMessages().stream())
-                            .filter(BisqEasyOfferbookMessage::hasBisqEasyOffer)
-                            .count())));
+                    model.getOffersOnline().set(String.valueOf(bisqEasyOfferbookChannelService.getOfferbookIndex().getNumOffers())));
         }
     }
 
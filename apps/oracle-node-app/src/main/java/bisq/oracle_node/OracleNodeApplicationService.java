@@ -19,6 +19,7 @@ package bisq.oracle_node;
 
 import bisq.bonded_roles.BondedRolesService;
 import bisq.bonded_roles.market_price.MarketPriceRequestService;
+import bisq.common.application.ServiceGraph;
 import bisq.identity.IdentityService;
 import bisq.java_se.application.JavaSeApplicationService;
 import bisq.network.NetworkService;
@@ -40,6 +41,7 @@ public class OracleNodeApplicationService extends JavaSeApplicationService {
     private final NetworkService networkService;
     private final OracleNodeService oracleNodeService;
     private final BondedRolesService bondedRolesService;
+    private final ServiceGraph serviceGraph;
 
     public OracleNodeApplicationService(String[] args) {
         super("oracle_node", args);
@@ -78,16 +80,19 @@ public class OracleNodeApplicationService extends JavaSeApplicationService {
                 bondedRolesService.getAuthorizedBondedRolesService(),
                 marketPriceRequestService,
                 memoryReportService);
+
+        serviceGraph = new ServiceGraph("OracleNodeApplicationService")
+                .add(memoryReportService)
+                .add(securityService)
+                .add(networkService, securityService, memoryReportService)
+                .add(identityService, securityService, networkService)
+                .add(bondedRolesService, networkService)
+                .add(oracleNodeService, identityService, networkService, bondedRolesService, memoryReportService);
     }
 
     @Override
     public CompletableFuture<Boolean> initialize() {
-        return memoryReportService.initialize()
-                .thenCompose(result -> securityService.initialize())
-                .thenCompose(result -> networkService.initialize())
-                .thenCompose(result -> identityService.initialize())
-                .thenCompose(result -> bondedRolesService.initialize())
-                .thenCompose(result -> oracleNodeService.initialize())
+        return serviceGraph.initialize()
                 .orTimeout(5, TimeUnit.MINUTES)
                 .whenComplete((success, throwable) -> {
                     if (success) {
@@ -102,13 +107,9 @@ public class OracleNodeApplicationService extends JavaSeApplicationService {
 
     @Override
     public CompletableFuture<Boolean> shutdown() {
-        // We shut down services in opposite order as they are initialized
-        return supplyAsync(() -> oracleNodeService.shutdown()
-                .thenCompose(result -> bondedRolesService.shutdown())
-                .thenCompose(result -> identityService.shutdown())
-                .thenCompose(result -> networkService.shutdown())
-                .thenCompose(result -> securityService.shutdown())
-                .thenCompose(result -> memoryReportService.shutdown())
+        // We shut down services in opposite order as they are initialized. The serviceGraph shuts down a service
+        // once all services depending on it have completed their shutdown.
+        return supplyAsync(() -> serviceGraph.shutdown()
                 .orTimeout(2, TimeUnit.MINUTES)
                 .handle((result, throwable) -> throwable == null)
                 .join());
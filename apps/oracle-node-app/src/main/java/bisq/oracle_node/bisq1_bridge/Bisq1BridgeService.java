@@ -29,11 +29,11 @@ import bisq.common.encoding.Hex;
 import bisq.common.platform.MemoryReportService;
 import bisq.common.threading.ThreadName;
 import bisq.common.timer.Scheduler;
-import bisq.common.util.CompletableFutureUtils;
 import bisq.identity.Identity;
 import bisq.network.NetworkService;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.services.confidential.ConfidentialMessageService;
+import bisq.network.p2p.services.data.BroadcastResult;
 import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedData;
 import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedDistributedData;
 import bisq.oracle_node.bisq1_bridge.dto.BondedReputationDto;
@@ -58,6 +58,7 @@ import lombok.extern.slf4j.Slf4j;
 import javax.annotation.Nullable;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
+import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.util.Base64;
@@ -65,7 +66,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -73,6 +73,8 @@ import static com.google.common.base.Preconditions.checkArgument;
 @Slf4j
 public class Bisq1BridgeService implements Service, ConfidentialMessageService.Listener,
         AuthorizedBondedRolesService.Listener, PersistenceClient<Bisq1BridgeStore> {
+    private static final int MAX_IN_FLIGHT_BROADCASTS = 20;
+
     @Getter
     public static class Config {
         private final com.typesafe.config.Config httpService;
@@ -225,9 +227,12 @@ public class Bisq1BridgeService implements Service, ConfidentialMessageService.L
         memoryReportService.logReport();
         log.info("Completed republishAuthorizedBondedRoles");
         log.info("Start request and publish DaoData");
-        requestDaoData().join(); // takes about 6 minutes for 500 items
+        long ts = System.currentTimeMillis();
+        // The full republish at startup took about 6 minutes for 500 items when each item was published on its own.
+        // We log the duration so that it can be compared.
+        requestDaoData().join();
         memoryReportService.logReport();
-        log.info("Completed request and publish DaoData");
+        log.info("Completed request and publish DaoData. Took {} ms.", System.currentTimeMillis() - ts);
         periodicRequestDoaDataScheduler = Scheduler.run(this::periodicRepublish)
                 .host(this)
                 .runnableName("periodicRepublish")
@@ -256,6 +261,9 @@ public class Bisq1BridgeService implements Service, ConfidentialMessageService.L
     }
 
     private CompletableFuture<Boolean> publishProofOfBurnDtoSet(List<ProofOfBurnDto> proofOfBurnList) {
+        if (proofOfBurnList.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
         return CompletableFuture.supplyAsync(() -> {
             ThreadName.set(this, "publishProofOfBurnDtoSet");
             // After v2.1.0 we can remove support for version 0 data
@@ -277,15 +285,14 @@ public class Bisq1BridgeService implements Service, ConfidentialMessageService.L
                             dto.getBlockHeight(),
                             dto.getTxId(),
                             staticPublicKeysProvided));
-            return CompletableFutureUtils.allOf(Stream.concat(oldVersions, newVersions)
-                            .map(this::publishAuthorizedData)
-                            .collect(Collectors.toList()))
-                    .thenApply(results -> !results.contains(false))
-                    .join();
+            return publishAll(Stream.concat(oldVersions, newVersions).toList()).join();
         }, NetworkService.NETWORK_IO_POOL);
     }
 
     private CompletableFuture<Boolean> publishBondedReputationDtoSet(List<BondedReputationDto> bondedReputationList) {
+        if (bondedReputationList.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
         return CompletableFuture.supplyAsync(() -> {
             ThreadName.set(this, "publishBondedReputationDtoSet");
             // After v2.1.0 we can remove support for version 0 data
@@ -309,11 +316,7 @@ public class Bisq1BridgeService implements Service, ConfidentialMessageService.L
                             dto.getBlockHeight(),
                             dto.getTxId(),
                             staticPublicKeysProvided));
-            return CompletableFutureUtils.allOf(Stream.concat(oldVersions, newVersions)
-                            .map(this::publishAuthorizedData)
-                            .collect(Collectors.toList()))
-                    .thenApply(results -> !results.contains(false))
-                    .join();
+            return publishAll(Stream.concat(oldVersions, newVersions).toList()).join();
         }, NetworkService.NETWORK_IO_POOL);
     }
 
@@ -322,21 +325,40 @@ public class Bisq1BridgeService implements Service, ConfidentialMessageService.L
                         identity.getNetworkIdWithKeyPair().getKeyPair(),
                         authorizedPrivateKey,
                         authorizedPublicKey)
-                .thenApply(broadCastDataResult -> {
-                    int numSuccess = broadCastDataResult.stream()
-                            .mapToInt(e -> {
-                                try {
-                                    e.join();
-                                    return 1;
-                                } catch (Exception ex) {
-                                    return 0;
-                                }
-                            })
-                            .sum();
-                    return numSuccess == broadCastDataResult.size();
+                .thenApply(Bisq1BridgeService::isBroadcastSuccess);
+    }
+
+    /**
+     * All items get signed in one pass and then broadcast with at most MAX_IN_FLIGHT_BROADCASTS items in flight.
+     * A slow or failed broadcast only delays its own slot, not the other items. The result is false if any broadcast
+     * failed.
+     */
+    private CompletableFuture<Boolean> publishAll(List<? extends AuthorizedDistributedData> list) {
+        KeyPair keyPair = identity.getNetworkIdWithKeyPair().getKeyPair();
+        long ts = System.currentTimeMillis();
+        return networkService.publishAuthorizedData(list, keyPair, authorizedPrivateKey, authorizedPublicKey, MAX_IN_FLIGHT_BROADCASTS)
+                .thenApply(broadcastResults -> {
+                    long numSuccess = broadcastResults.stream().filter(Bisq1BridgeService::isBroadcastSuccess).count();
+                    log.info("Published {} of {} authorizedData successfully. Took {} ms.",
+                            numSuccess, list.size(), System.currentTimeMillis() - ts);
+                    return numSuccess == list.size();
                 });
     }
 
+    private static boolean isBroadcastSuccess(BroadcastResult broadcastResult) {
+        int numSuccess = broadcastResult.stream()
+                .mapToInt(e -> {
+                    try {
+                        e.join();
+                        return 1;
+                    } catch (Exception ex) {
+                        return 0;
+                    }
+                })
+                .sum();
+        return numSuccess == broadcastResult.size();
+    }
+
     private CompletableFuture<Boolean> removeAuthorizedData(AuthorizedDistributedData authorizedDistributedData) {
         return networkService.removeAuthorizedData(authorizedDistributedData,
                         identity.getNetworkIdWithKeyPair().getKeyPair(),
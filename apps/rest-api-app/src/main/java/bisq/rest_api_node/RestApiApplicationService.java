@@ -23,6 +23,7 @@ import bisq.bisq_easy.BisqEasyService;
 import bisq.bonded_roles.BondedRolesService;
 import bisq.chat.ChatService;
 import bisq.common.application.Service;
+import bisq.common.application.ServiceGraph;
 import bisq.common.platform.OS;
 import bisq.common.util.CompletableFutureUtils;
 import bisq.contract.ContractService;
@@ -80,6 +81,7 @@ public class RestApiApplicationService extends JavaSeApplicationService {
     private final TradeService tradeService;
     private final BisqEasyService bisqEasyService;
     private final RestApiService restApiService;
+    private final ServiceGraph serviceGraph;
 
     public RestApiApplicationService(String[] args) {
         super("rest_api_app", args);
@@ -163,6 +165,25 @@ public class RestApiApplicationService extends JavaSeApplicationService {
         var restApiConfig = RestApiService.Config.from(getConfig("restApi"));
         var restApiResourceConfig = new RestApiResourceConfig(restApiConfig, networkService, userService, bondedRolesService);
         restApiService=new RestApiService(restApiConfig, restApiResourceConfig);
+
+        // Security, network and wallet services are initialized before, as we report their state separately
+        serviceGraph = new ServiceGraph("RestApiApplicationService")
+                .add(identityService)
+                .add(bondedRolesService)
+                .add(accountService)
+                .add(contractService)
+                .add(settingsService)
+                .add(userService, identityService, bondedRolesService)
+                .add(systemNotificationService, settingsService)
+                .add(offerService, identityService)
+                .add(chatService, userService, settingsService, systemNotificationService)
+                .add(supportService, chatService, userService, bondedRolesService)
+                .add(tradeService, identityService, offerService, contractService, supportService, chatService,
+                        bondedRolesService, userService, settingsService)
+                .add(bisqEasyService, identityService, bondedRolesService, accountService, offerService,
+                        contractService, userService, chatService, settingsService, supportService,
+                        systemNotificationService, tradeService)
+                .add(restApiService, userService, bondedRolesService);
     }
 
     @Override
@@ -195,19 +216,7 @@ public class RestApiApplicationService extends JavaSeApplicationService {
                         setState(State.INITIALIZE_SERVICES);
                     }
                 })
-                .thenCompose(result -> identityService.initialize())
-                .thenCompose(result -> bondedRolesService.initialize())
-                .thenCompose(result -> accountService.initialize())
-                .thenCompose(result -> contractService.initialize())
-                .thenCompose(result -> userService.initialize())
-                .thenCompose(result -> settingsService.initialize())
-                .thenCompose(result -> systemNotificationService.initialize())
-                .thenCompose(result -> offerService.initialize())
-                .thenCompose(result -> chatService.initialize())
-                .thenCompose(result -> supportService.initialize())
-                .thenCompose(result -> tradeService.initialize())
-                .thenCompose(result -> bisqEasyService.initialize())
-                .thenCompose(result -> restApiService.initialize())
+                .thenCompose(result -> serviceGraph.initialize())
                 .orTimeout(5, TimeUnit.MINUTES)
                 .whenComplete((success, throwable) -> {
                     if (throwable == null) {
@@ -231,20 +240,9 @@ public class RestApiApplicationService extends JavaSeApplicationService {
 
     @Override
     public CompletableFuture<Boolean> shutdown() {
-        // We shut down services in opposite order as they are initialized
-        return supplyAsync(() -> restApiService.shutdown()
-                .thenCompose(result -> bisqEasyService.shutdown())
-                .thenCompose(result -> tradeService.shutdown())
-                .thenCompose(result -> supportService.shutdown())
-                .thenCompose(result -> chatService.shutdown())
-                .thenCompose(result -> offerService.shutdown())
-                .thenCompose(result -> systemNotificationService.shutdown())
-                .thenCompose(result -> settingsService.shutdown())
-                .thenCompose(result -> userService.shutdown())
-                .thenCompose(result -> contractService.shutdown())
-                .thenCompose(result -> accountService.shutdown())
-                .thenCompose(result -> bondedRolesService.shutdown())
-                .thenCompose(result -> identityService.shutdown())
+        // We shut down services in opposite order as they are initialized. The serviceGraph shuts down a service
+        // once all services depending on it have completed their shutdown.
+        return supplyAsync(() -> serviceGraph.shutdown()
                 .thenCompose(result -> networkService.shutdown())
                 .thenCompose(result -> walletService.map(Service::shutdown)
                         .orElse(CompletableFuture.completedFuture(true)))
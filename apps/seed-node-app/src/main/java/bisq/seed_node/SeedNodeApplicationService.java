@@ -18,6 +18,7 @@
 package bisq.seed_node;
 
 import bisq.bonded_roles.BondedRolesService;
+import bisq.common.application.ServiceGraph;
 import bisq.identity.IdentityService;
 import bisq.java_se.application.JavaSeApplicationService;
 import bisq.network.NetworkService;
@@ -47,6 +48,7 @@ public class SeedNodeApplicationService extends JavaSeApplicationService {
     protected final SecurityService securityService;
     private final SeedNodeService seedNodeService;
     private final BondedRolesService bondedRolesService;
+    private final ServiceGraph serviceGraph;
 
     public SeedNodeApplicationService(String[] args) {
         super("seed_node", args);
@@ -72,16 +74,19 @@ public class SeedNodeApplicationService extends JavaSeApplicationService {
 
         Optional<SeedNodeService.Config> seedNodeConfig = hasConfig("seedNode") ? Optional.of(SeedNodeService.Config.from(getConfig("seedNode"))) : Optional.empty();
         seedNodeService = new SeedNodeService(seedNodeConfig, networkService, identityService, securityService.getKeyBundleService());
+
+        serviceGraph = new ServiceGraph("SeedNodeApplicationService")
+                .add(memoryReportService)
+                .add(securityService)
+                .add(networkService, securityService, memoryReportService)
+                .add(identityService, securityService, networkService)
+                .add(bondedRolesService, networkService)
+                .add(seedNodeService, securityService, networkService, identityService);
     }
 
     @Override
     public CompletableFuture<Boolean> initialize() {
-        return memoryReportService.initialize()
-                .thenCompose(result -> securityService.initialize())
-                .thenCompose(result -> networkService.initialize())
-                .thenCompose(result -> identityService.initialize())
-                .thenCompose(result -> bondedRolesService.initialize())
-                .thenCompose(result -> seedNodeService.initialize())
+        return serviceGraph.initialize()
                 .orTimeout(5, TimeUnit.MINUTES)
                 .whenComplete((success, throwable) -> {
                     if (success) {
@@ -97,13 +102,9 @@ public class SeedNodeApplicationService extends JavaSeApplicationService {
     @Override
     public CompletableFuture<Boolean> shutdown() {
         log.info("shutdown");
-        // We shut down services in opposite order as they are initialized
-        return supplyAsync(() -> seedNodeService.shutdown()
-                .thenCompose(result -> bondedRolesService.shutdown())
-                .thenCompose(result -> identityService.shutdown())
-                .thenCompose(result -> networkService.shutdown())
-                .thenCompose(result -> securityService.shutdown())
-                .thenCompose(result -> memoryReportService.shutdown())
+        // We shut down services in opposite order as they are initialized. The serviceGraph shuts down a service
+        // once all services depending on it have completed their shutdown.
+        return supplyAsync(() -> serviceGraph.shutdown()
                 .orTimeout(10, TimeUnit.SECONDS)
                 .handle((result, throwable) -> {
                     if (throwable != null) {
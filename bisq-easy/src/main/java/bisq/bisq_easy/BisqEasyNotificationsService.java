@@ -20,7 +20,6 @@ package bisq.bisq_easy;
 import bisq.chat.ChatChannelDomain;
 import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookChannel;
 import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookChannelService;
-import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookMessage;
 import bisq.chat.notifications.ChatNotification;
 import bisq.chat.notifications.ChatNotificationService;
 import bisq.common.application.Service;
@@ -176,7 +175,7 @@ public class BisqEasyNotificationsService implements Service {
 
     private static Predicate<ChatNotification> getMarketsWithOffersPredicate(BisqEasyOfferbookChannelService bisqEasyOfferbookChannelService) {
         return notification -> bisqEasyOfferbookChannelService.findChannel(notification.getChatChannelId())
-                .map(channel -> channel.getChatMessages().stream().anyMatch(BisqEasyOfferbookMessage::hasBisqEasyOffer))
+                .map(channel -> bisqEasyOfferbookChannelService.getOfferbookIndex().hasOffers(channel.getMarket()))
                 .orElse(false);
     }
 }
\ No newline at end of file
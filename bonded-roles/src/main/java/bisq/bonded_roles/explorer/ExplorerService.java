@@ -201,10 +201,8 @@ public class ExplorerService {
                 String json = client.get(param, Optional.of(new Pair<>("User-Agent", userAgent)));
                 log.info("Received tx lookup response from {} after {} ms", client.getBaseUrl() + param, System.currentTimeMillis() - ts);
                 selectedProvider.set(selectNextProvider());
-                shutdownHttpClient(client);
                 return new ObjectMapper().readValue(json, Tx.class);
             } catch (Exception e) {
-                shutdownHttpClient(client);
                 if (shutdownStarted) {
                     throw new RuntimeException("Shutdown has already started");
                 }
@@ -262,11 +260,4 @@ public class ExplorerService {
             }
         }
     }
-
-    private void shutdownHttpClient(BaseHttpClient client) {
-        try {
-            client.shutdown();
-        } catch (Exception ignore) {
-        }
-    }
 }
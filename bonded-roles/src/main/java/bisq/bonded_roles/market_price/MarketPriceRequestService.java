@@ -234,18 +234,6 @@ public class MarketPriceRequestService {
                     Provider provider = checkNotNull(selectedProvider.get(), "Selected provider must not be null.");
                     BaseHttpClient client = networkService.getHttpClient(provider.baseUrl, userAgent, provider.transportType);
                     httpClient = Optional.of(client);
-                    if (client.hasPendingRequest()) {
-                        selectedProvider.set(selectNextProvider());
-                        int numRecursions = recursionDepth.incrementAndGet();
-                        if (numRecursions < numTotalCandidates && failedProviders.size() < numTotalCandidates) {
-                            log.warn("We retry the request with new provider {}", selectedProvider.get().getBaseUrl());
-                            request(recursionDepth).join();
-                        } else {
-                            log.warn("We exhausted all possible providers and give up");
-                            throw new RuntimeException("We failed at all possible providers and give up");
-                        }
-                        return;
-                    }
 
                     long ts = System.currentTimeMillis();
                     String param = "getAllMarketPrices";
@@ -270,9 +258,7 @@ public class MarketPriceRequestService {
                         marketPriceByCurrencyMap.putAll(filtered);
                         mostRecentProvider = Optional.of(selectedProvider.get());
                         selectedProvider.set(selectNextProvider());
-                        shutdownHttpClient(client);
                     } catch (Exception e) {
-                        shutdownHttpClient(client);
                         if (shutdownStarted) {
                             throw new RuntimeException("Shutdown has already started");
                         }
@@ -373,11 +359,4 @@ public class MarketPriceRequestService {
             }
         }
     }
-
-    private void shutdownHttpClient(BaseHttpClient client) {
-        try {
-            client.shutdown();
-        } catch (Exception ignore) {
-        }
-    }
 }
@@ -20,4 +20,6 @@ dependencies {
     implementation(libs.chimp.jsocks)
     implementation(libs.google.gson)
     implementation(libs.typesafe.config)
+
+    testImplementation(project(":account"))
 }
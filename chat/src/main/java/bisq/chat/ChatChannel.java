@@ -23,6 +23,7 @@ import bisq.chat.common.CommonPublicChatChannel;
 import bisq.chat.notifications.ChatChannelNotificationType;
 import bisq.chat.two_party.TwoPartyPrivateChatChannel;
 import bisq.common.observable.Observable;
+import bisq.common.observable.collection.ObservableIndexedSet;
 import bisq.common.observable.collection.ObservableSet;
 import bisq.common.proto.PersistableProto;
 import bisq.common.proto.UnresolvableProtobufMessageException;
@@ -115,7 +116,11 @@ public abstract class ChatChannel<M extends ChatMessage> implements PersistableP
         messages.forEach(this::removeChatMessage);
     }
 
+    public Optional<M> findChatMessage(String chatMessageId) {
+        return getChatMessages().findByKey(chatMessageId);
+    }
+
     public abstract String getDisplayString();
 
-    public abstract ObservableSet<M> getChatMessages();
+    public abstract ObservableIndexedSet<String, M> getChatMessages();
 }
\ No newline at end of file
@@ -200,13 +200,11 @@ public class ChatService implements Service {
                                 .flatMap(c -> c.getChannels().stream()))
                 .anyMatch(c -> c.getMyUserIdentity().equals(userIdentity));
 
-        boolean usedInAnyMessage = Stream.concat(bisqEasyOfferbookChannelService.getChannels().stream()
-                                .flatMap(c -> c.getChatMessages().stream()),
-                        commonPublicChatChannelServices.values().stream()
-                                .flatMap(c -> c.getChannels().stream())
-                                .flatMap(c -> c.getChatMessages().stream())
-                )
-                .anyMatch(m -> m.getAuthorUserProfileId().equals(userIdentity.getId()));
+        boolean usedInAnyMessage = bisqEasyOfferbookChannelService.getOfferbookIndex().hasMessagesOfAuthor(userIdentity.getId()) ||
+                commonPublicChatChannelServices.values().stream()
+                        .flatMap(c -> c.getChannels().stream())
+                        .flatMap(c -> c.getChatMessages().stream())
+                        .anyMatch(m -> m.getAuthorUserProfileId().equals(userIdentity.getId()));
         return usedInAnyPrivateChannel || usedInAnyMessage;
     }
 
@@ -19,12 +19,13 @@ package bisq.chat.bisqeasy.offerbook;
 
 import bisq.chat.ChatChannelDomain;
 import bisq.chat.Citation;
-import bisq.chat.pub.PublicChatChannel;
 import bisq.chat.pub.PublicChatChannelService;
 import bisq.chat.reactions.BisqEasyOfferbookMessageReaction;
 import bisq.chat.reactions.Reaction;
 import bisq.common.currency.Market;
 import bisq.common.currency.MarketRepository;
+import bisq.common.observable.Pin;
+import bisq.common.observable.collection.CollectionObserver;
 import bisq.common.observable.collection.ObservableSet;
 import bisq.common.util.StringUtils;
 import bisq.network.NetworkService;
@@ -40,10 +41,9 @@ import bisq.user.profile.UserProfile;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Collection;
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public class BisqEasyOfferbookChannelService extends PublicChatChannelService<BisqEasyOfferbookMessage,
@@ -52,6 +52,10 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
     private final BisqEasyOfferbookChannelStore persistableStore = new BisqEasyOfferbookChannelStore();
     @Getter
     private final Persistence<BisqEasyOfferbookChannelStore> persistence;
+    @Getter
+    private final BisqEasyOfferbookIndex offerbookIndex = new BisqEasyOfferbookIndex();
+    private final Map<String, Pin> chatMessagesPinByChannelId = new ConcurrentHashMap<>();
+    private Pin channelsPin;
 
     public BisqEasyOfferbookChannelService(PersistenceService persistenceService,
                                            NetworkService networkService,
@@ -61,6 +65,44 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
     }
 
 
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Service
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public CompletableFuture<Boolean> initialize() {
+        channelsPin = getChannels().addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(BisqEasyOfferbookChannel channel) {
+                addChannelToIndex(channel);
+            }
+
+            @Override
+            public void remove(Object element) {
+                if (element instanceof BisqEasyOfferbookChannel channel) {
+                    removeChannelFromIndex(channel.getId());
+                }
+            }
+
+            @Override
+            public void clear() {
+                new ArrayList<>(chatMessagesPinByChannelId.keySet()).forEach(BisqEasyOfferbookChannelService.this::removeChannelFromIndex);
+            }
+        });
+        return super.initialize();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> shutdown() {
+        if (channelsPin != null) {
+            channelsPin.unbind();
+        }
+        chatMessagesPinByChannelId.values().forEach(Pin::unbind);
+        chatMessagesPinByChannelId.clear();
+        return super.shutdown();
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////////////
     // DataService.Listener
     ///////////////////////////////////////////////////////////////////////////////////////////////////
@@ -112,11 +154,11 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
                 .or(super::getDefaultChannel);
     }
 
+    // Other users could publish a copy of the offer, thus we only accept the message authored by the maker
     public Optional<BisqEasyOfferbookMessage> findMessageByOffer(BisqEasyOffer offer) {
-        return findChannel(offer.getMarket())
-                .map(PublicChatChannel::getChatMessages).stream()
-                .flatMap(Collection::stream)
+        return offerbookIndex.findMessagesByOfferId(offer.getId()).stream()
                 .filter(chatMessage -> offer.equals(chatMessage.getBisqEasyOffer().orElse(null)))
+                .filter(chatMessage -> chatMessage.getAuthorUserProfileId().equals(offer.getMakersUserProfileId()))
                 .findAny();
     }
 
@@ -178,6 +220,39 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
                 new Date().getTime());
     }
 
+    private void addChannelToIndex(BisqEasyOfferbookChannel channel) {
+        String channelId = channel.getId();
+        Pin previous = chatMessagesPinByChannelId.put(channelId, channel.getChatMessages().addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(BisqEasyOfferbookMessage message) {
+                offerbookIndex.onMessageAdded(channelId, message);
+            }
+
+            @Override
+            public void remove(Object element) {
+                if (element instanceof BisqEasyOfferbookMessage message) {
+                    offerbookIndex.onMessageRemoved(channelId, message);
+                }
+            }
+
+            @Override
+            public void clear() {
+                offerbookIndex.onChannelCleared(channelId);
+            }
+        }));
+        if (previous != null) {
+            previous.unbind();
+        }
+    }
+
+    private void removeChannelFromIndex(String channelId) {
+        Pin pin = chatMessagesPinByChannelId.remove(channelId);
+        if (pin != null) {
+            pin.unbind();
+        }
+        offerbookIndex.onChannelCleared(channelId);
+    }
+
     private void maybeAddPublicTradeChannel(BisqEasyOfferbookChannel channel) {
         if (!getChannels().contains(channel)) {
             getChannels().add(channel);
@@ -0,0 +1,209 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.bisqeasy.offerbook;
+
+import bisq.common.currency.Market;
+import bisq.network.identity.NetworkId;
+import bisq.offer.Direction;
+import bisq.offer.bisq_easy.BisqEasyOffer;
+import bisq.offer.payment_method.PaymentMethodSpec;
+import bisq.offer.price.spec.PriceSpec;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Index of the offer messages of all offerbook channels, maintained incrementally from the added and removed channel
+ * messages. Lookups by offer ID are O(1), the offers of a market, direction, maker, payment method or price spec type
+ * are kept in sorted sets (most recent first), so that queries do not need to scan all messages.
+ * <p>
+ * Besides offers, we count the messages by author, so that we can check if a user profile has any message in the
+ * offerbook without a scan.
+ */
+@Slf4j
+public class BisqEasyOfferbookIndex {
+    public static final Comparator<BisqEasyOfferbookMessage> MOST_RECENT_FIRST =
+            Comparator.comparingLong(BisqEasyOfferbookMessage::getDate).reversed()
+                    .thenComparing(BisqEasyOfferbookMessage::getId);
+
+    // The offer ID is set by the maker, thus other users can publish messages with the same offer ID. We keep all of
+    // them and leave it to the caller to pick the one it can trust.
+    private final Map<String, NavigableSet<BisqEasyOfferbookMessage>> offerMessagesByOfferId = new HashMap<>();
+    private final NavigableSet<BisqEasyOfferbookMessage> allOfferMessages = new TreeSet<>(MOST_RECENT_FIRST);
+    private final Map<Market, NavigableSet<BisqEasyOfferbookMessage>> offerMessagesByMarket = new HashMap<>();
+    private final Map<Direction, NavigableSet<BisqEasyOfferbookMessage>> offerMessagesByDirection = new HashMap<>();
+    private final Map<NetworkId, NavigableSet<BisqEasyOfferbookMessage>> offerMessagesByMakerNetworkId = new HashMap<>();
+    private final Map<String, NavigableSet<BisqEasyOfferbookMessage>> offerMessagesByPaymentMethodName = new HashMap<>();
+    private final Map<Class<? extends PriceSpec>, NavigableSet<BisqEasyOfferbookMessage>> offerMessagesByPriceSpecType = new HashMap<>();
+    private final Map<String, Set<BisqEasyOfferbookMessage>> messagesByChannelId = new HashMap<>();
+    private final Map<String, Integer> numMessagesByAuthorUserProfileId = new HashMap<>();
+
+    BisqEasyOfferbookIndex() {
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return All messages containing an offer with the given offer ID. Usually there is only one, but as the offer ID
+     * is not authenticated, the caller has to check the offer and the author of the messages.
+     */
+    public synchronized Set<BisqEasyOfferbookMessage> findMessagesByOfferId(String offerId) {
+        return new HashSet<>(getOrEmpty(offerMessagesByOfferId, offerId));
+    }
+
+    public synchronized int getNumOffers() {
+        return allOfferMessages.size();
+    }
+
+    public synchronized int getNumOffers(Market market) {
+        return getOrEmpty(offerMessagesByMarket, market).size();
+    }
+
+    public synchronized boolean hasOffers(Market market) {
+        return !getOrEmpty(offerMessagesByMarket, market).isEmpty();
+    }
+
+    public synchronized boolean hasMessagesOfAuthor(String authorUserProfileId) {
+        return numMessagesByAuthorUserProfileId.containsKey(authorUserProfileId);
+    }
+
+    public List<BisqEasyOffer> queryOffers(BisqEasyOfferbookQuery query) {
+        return query(query).stream()
+                .map(message -> message.getBisqEasyOffer().orElseThrow())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * We start with the smallest of the index sets matching the query criteria and check the other criteria by
+     * lookups in their index sets. With the default order the result is streamed from the sorted set, so only
+     * offset + limit matching entries are visited.
+     */
+    public synchronized List<BisqEasyOfferbookMessage> query(BisqEasyOfferbookQuery query) {
+        List<NavigableSet<BisqEasyOfferbookMessage>> indexSets = new ArrayList<>();
+        query.getMarket().ifPresent(market -> indexSets.add(getOrEmpty(offerMessagesByMarket, market)));
+        query.getDirection().ifPresent(direction -> indexSets.add(getOrEmpty(offerMessagesByDirection, direction)));
+        query.getMakerNetworkId().ifPresent(networkId -> indexSets.add(getOrEmpty(offerMessagesByMakerNetworkId, networkId)));
+        query.getPaymentMethodName().ifPresent(name -> indexSets.add(getOrEmpty(offerMessagesByPaymentMethodName, name)));
+        query.getPriceSpecType().ifPresent(type -> indexSets.add(getOrEmpty(offerMessagesByPriceSpecType, type)));
+
+        NavigableSet<BisqEasyOfferbookMessage> smallest = indexSets.stream()
+                .min(Comparator.comparingInt(Set::size))
+                .orElse(allOfferMessages);
+        Stream<BisqEasyOfferbookMessage> stream = smallest.stream()
+                .filter(message -> indexSets.stream().allMatch(set -> set == smallest || set.contains(message)));
+        if (query.getComparator().isPresent()) {
+            stream = stream.sorted(query.getComparator().get());
+        }
+        return stream.skip(query.getOffset())
+                .limit(query.getLimit())
+                .collect(Collectors.toList());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Package private
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    synchronized void onMessageAdded(String channelId, BisqEasyOfferbookMessage message) {
+        if (!messagesByChannelId.computeIfAbsent(channelId, key -> new HashSet<>()).add(message)) {
+            return;
+        }
+        numMessagesByAuthorUserProfileId.merge(message.getAuthorUserProfileId(), 1, Integer::sum);
+
+        message.getBisqEasyOffer().ifPresent(offer -> {
+            if (!getOrEmpty(offerMessagesByOfferId, offer.getId()).isEmpty()) {
+                log.warn("Offer with ID {} is contained in multiple messages", offer.getId());
+            }
+            addToIndex(offerMessagesByOfferId, offer.getId(), message);
+            allOfferMessages.add(message);
+            addToIndex(offerMessagesByMarket, offer.getMarket(), message);
+            addToIndex(offerMessagesByDirection, offer.getDirection(), message);
+            addToIndex(offerMessagesByMakerNetworkId, offer.getMakerNetworkId(), message);
+            getPaymentMethodNames(offer).forEach(name -> addToIndex(offerMessagesByPaymentMethodName, name, message));
+            addToIndex(offerMessagesByPriceSpecType, offer.getPriceSpec().getClass(), message);
+        });
+    }
+
+    synchronized void onMessageRemoved(String channelId, BisqEasyOfferbookMessage message) {
+        Set<BisqEasyOfferbookMessage> messagesOfChannel = messagesByChannelId.get(channelId);
+        if (messagesOfChannel == null || !messagesOfChannel.remove(message)) {
+            return;
+        }
+        if (messagesOfChannel.isEmpty()) {
+            messagesByChannelId.remove(channelId);
+        }
+        numMessagesByAuthorUserProfileId.computeIfPresent(message.getAuthorUserProfileId(),
+                (key, value) -> value > 1 ? value - 1 : null);
+
+        message.getBisqEasyOffer().ifPresent(offer -> {
+            removeFromIndex(offerMessagesByOfferId, offer.getId(), message);
+            allOfferMessages.remove(message);
+            removeFromIndex(offerMessagesByMarket, offer.getMarket(), message);
+            removeFromIndex(offerMessagesByDirection, offer.getDirection(), message);
+            removeFromIndex(offerMessagesByMakerNetworkId, offer.getMakerNetworkId(), message);
+            getPaymentMethodNames(offer).forEach(name -> removeFromIndex(offerMessagesByPaymentMethodName, name, message));
+            removeFromIndex(offerMessagesByPriceSpecType, offer.getPriceSpec().getClass(), message);
+        });
+    }
+
+    synchronized void onChannelCleared(String channelId) {
+        Set<BisqEasyOfferbookMessage> messagesOfChannel = messagesByChannelId.get(channelId);
+        if (messagesOfChannel != null) {
+            new ArrayList<>(messagesOfChannel).forEach(message -> onMessageRemoved(channelId, message));
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static Set<String> getPaymentMethodNames(BisqEasyOffer offer) {
+        return Stream.concat(offer.getBaseSidePaymentMethodSpecs().stream(), offer.getQuoteSidePaymentMethodSpecs().stream())
+                .map(PaymentMethodSpec::getPaymentMethodName)
+                .collect(Collectors.toSet());
+    }
+
+    private static <K> void addToIndex(Map<K, NavigableSet<BisqEasyOfferbookMessage>> index,
+                                       K key,
+                                       BisqEasyOfferbookMessage message) {
+        index.computeIfAbsent(key, k -> new TreeSet<>(MOST_RECENT_FIRST)).add(message);
+    }
+
+    private static <K> void removeFromIndex(Map<K, NavigableSet<BisqEasyOfferbookMessage>> index,
+                                            K key,
+                                            BisqEasyOfferbookMessage message) {
+        NavigableSet<BisqEasyOfferbookMessage> set = index.get(key);
+        if (set != null) {
+            set.remove(message);
+            if (set.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static <K> NavigableSet<BisqEasyOfferbookMessage> getOrEmpty(Map<K, NavigableSet<BisqEasyOfferbookMessage>> index,
+                                                                        K key) {
+        return index.getOrDefault(key, Collections.emptyNavigableSet());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.bisqeasy.offerbook;
+
+import bisq.common.currency.Market;
+import bisq.network.identity.NetworkId;
+import bisq.offer.Direction;
+import bisq.offer.price.spec.PriceSpec;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Comparator;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Query for offer messages at the {@link BisqEasyOfferbookIndex}. All set criteria need to match. Results are
+ * sorted by most recent first, unless a comparator is set.
+ */
+@Getter
+@ToString
+public class BisqEasyOfferbookQuery {
+    public static BisqEasyOfferbookQuery create() {
+        return new BisqEasyOfferbookQuery();
+    }
+
+    private Optional<Market> market = Optional.empty();
+    private Optional<Direction> direction = Optional.empty();
+    private Optional<NetworkId> makerNetworkId = Optional.empty();
+    private Optional<String> paymentMethodName = Optional.empty();
+    private Optional<Class<? extends PriceSpec>> priceSpecType = Optional.empty();
+    private Optional<Comparator<BisqEasyOfferbookMessage>> comparator = Optional.empty();
+    private int offset = 0;
+    private int limit = Integer.MAX_VALUE;
+
+    private BisqEasyOfferbookQuery() {
+    }
+
+    public BisqEasyOfferbookQuery market(Market market) {
+        this.market = Optional.of(market);
+        return this;
+    }
+
+    public BisqEasyOfferbookQuery direction(Direction direction) {
+        this.direction = Optional.of(direction);
+        return this;
+    }
+
+    public BisqEasyOfferbookQuery makerNetworkId(NetworkId makerNetworkId) {
+        this.makerNetworkId = Optional.of(makerNetworkId);
+        return this;
+    }
+
+    // Matches the payment methods of both sides (e.g. "SEPA" or "LN")
+    public BisqEasyOfferbookQuery paymentMethodName(String paymentMethodName) {
+        this.paymentMethodName = Optional.of(paymentMethodName);
+        return this;
+    }
+
+    public BisqEasyOfferbookQuery priceSpecType(Class<? extends PriceSpec> priceSpecType) {
+        this.priceSpecType = Optional.of(priceSpecType);
+        return this;
+    }
+
+    public BisqEasyOfferbookQuery sortedBy(Comparator<BisqEasyOfferbookMessage> comparator) {
+        this.comparator = Optional.of(comparator);
+        return this;
+    }
+
+    public BisqEasyOfferbookQuery page(int offset, int limit) {
+        checkArgument(offset >= 0, "offset must not be negative");
+        checkArgument(limit > 0, "limit must be positive");
+        this.offset = offset;
+        this.limit = limit;
+        return this;
+    }
+}
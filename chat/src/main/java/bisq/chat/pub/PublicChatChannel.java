@@ -19,8 +19,9 @@ package bisq.chat.pub;
 
 import bisq.chat.ChatChannel;
 import bisq.chat.ChatChannelDomain;
+import bisq.chat.ChatMessage;
 import bisq.chat.notifications.ChatChannelNotificationType;
-import bisq.common.observable.collection.ObservableSet;
+import bisq.common.observable.collection.ObservableIndexedSet;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -30,7 +31,7 @@ import lombok.ToString;
 @EqualsAndHashCode(callSuper = true, onlyExplicitlyIncluded = true)
 public abstract class PublicChatChannel<M extends PublicChatMessage> extends ChatChannel<M> {
     // Transient because we do not persist the messages as they are persisted in the P2P data store.
-    protected transient final ObservableSet<M> chatMessages = new ObservableSet<>();
+    protected transient final ObservableIndexedSet<String, M> chatMessages = new ObservableIndexedSet<>(ChatMessage::getId);
 
     public PublicChatChannel(String id,
                              ChatChannelDomain chatChannelDomain,
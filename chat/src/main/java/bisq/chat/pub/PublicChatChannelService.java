@@ -174,17 +174,13 @@ public abstract class PublicChatChannelService<M extends PublicChatMessage, C ex
 
     protected void processAddedReaction(R chatMessageReaction) {
         findChannel(chatMessageReaction.getChatChannelId())
-                .flatMap(channel -> channel.getChatMessages().stream()
-                        .filter(message -> message.getId().equals(chatMessageReaction.getChatMessageId()))
-                        .findFirst())
+                .flatMap(channel -> channel.findChatMessage(chatMessageReaction.getChatMessageId()))
                 .ifPresent(message -> addMessageReaction(chatMessageReaction, message));
     }
 
     protected void processRemovedReaction(R chatMessageReaction) {
         findChannel(chatMessageReaction.getChatChannelId())
-                .flatMap(channel -> channel.getChatMessages().stream()
-                        .filter(message -> message.getId().equals(chatMessageReaction.getChatMessageId()))
-                        .findFirst())
+                .flatMap(channel -> channel.findChatMessage(chatMessageReaction.getChatMessageId()))
                 .ifPresent(message -> removeMessageReaction(chatMessageReaction, message));
     }
 
@@ -0,0 +1,343 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.bisqeasy.offerbook;
+
+import bisq.account.payment_method.BitcoinPaymentMethod;
+import bisq.account.payment_method.BitcoinPaymentRail;
+import bisq.account.payment_method.FiatPaymentMethod;
+import bisq.account.payment_method.FiatPaymentRail;
+import bisq.common.currency.Market;
+import bisq.common.network.Address;
+import bisq.common.network.AddressByTransportTypeMap;
+import bisq.common.network.TransportType;
+import bisq.i18n.Res;
+import bisq.network.identity.NetworkId;
+import bisq.offer.Direction;
+import bisq.offer.amount.spec.QuoteSideFixedAmountSpec;
+import bisq.offer.bisq_easy.BisqEasyOffer;
+import bisq.offer.payment_method.PaymentMethodSpec;
+import bisq.offer.price.spec.FloatPriceSpec;
+import bisq.offer.price.spec.MarketPriceSpec;
+import bisq.offer.price.spec.PriceSpec;
+import bisq.security.keys.KeyGeneration;
+import bisq.security.keys.PubKey;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BisqEasyOfferbookIndexTest {
+    private static final Market USD_MARKET = new Market("BTC", "USD", "Bitcoin", "US Dollar");
+    private static final Market EUR_MARKET = new Market("BTC", "EUR", "Bitcoin", "Euro");
+    private static final List<String> CHANNEL_IDS = List.of("BTC.USD", "BTC.EUR");
+    private static final String AUTHOR_1 = "a".repeat(40);
+    private static final String AUTHOR_2 = "b".repeat(40);
+
+    private static NetworkId maker1;
+    private static NetworkId maker2;
+
+    private final Random random = new Random(42);
+    private long date = System.currentTimeMillis() - 1_000_000;
+
+    @BeforeAll
+    static void setUp() throws GeneralSecurityException {
+        // ChatMessage.hashCode uses Res
+        Res.setLanguage("en");
+        maker1 = createNetworkId("maker1", 1000);
+        maker2 = createNetworkId("maker2", 1001);
+    }
+
+    @Test
+    void indexIsConsistentWithBruteForceFilter() {
+        List<BisqEasyOffer> offers = new ArrayList<>();
+        for (Market market : List.of(USD_MARKET, EUR_MARKET)) {
+            for (Direction direction : Direction.values()) {
+                for (NetworkId maker : List.of(maker1, maker2)) {
+                    offers.add(createOffer(maker, direction, market, new MarketPriceSpec(), FiatPaymentRail.SEPA));
+                    offers.add(createOffer(maker, direction, market, new FloatPriceSpec(0.01), FiatPaymentRail.ZELLE, FiatPaymentRail.SEPA));
+                }
+            }
+        }
+
+        BisqEasyOfferbookIndex index = new BisqEasyOfferbookIndex();
+        Map<String, Set<BisqEasyOfferbookMessage>> messagesByChannelId = new HashMap<>();
+        CHANNEL_IDS.forEach(channelId -> messagesByChannelId.put(channelId, new HashSet<>()));
+        for (int i = 0; i < 500; i++) {
+            String channelId = CHANNEL_IDS.get(random.nextInt(CHANNEL_IDS.size()));
+            Set<BisqEasyOfferbookMessage> messagesOfChannel = messagesByChannelId.get(channelId);
+            int operation = random.nextInt(20);
+            if (operation == 0) {
+                index.onChannelCleared(channelId);
+                messagesOfChannel.clear();
+            } else if (operation < 8 && !messagesOfChannel.isEmpty()) {
+                BisqEasyOfferbookMessage message = new ArrayList<>(messagesOfChannel).get(random.nextInt(messagesOfChannel.size()));
+                index.onMessageRemoved(channelId, message);
+                messagesOfChannel.remove(message);
+            } else {
+                // The same offer gets added in multiple messages as well
+                BisqEasyOfferbookMessage message = random.nextInt(10) == 0
+                        ? createTextMessage(channelId)
+                        : createMessage(channelId, offers.get(random.nextInt(offers.size())));
+                index.onMessageAdded(channelId, message);
+                // Adding the same message again has no effect
+                index.onMessageAdded(channelId, message);
+                messagesOfChannel.add(message);
+            }
+
+            List<BisqEasyOfferbookMessage> allMessages = messagesByChannelId.values().stream()
+                    .flatMap(Set::stream)
+                    .collect(Collectors.toList());
+            assertIndexMatches(index, allMessages, offers);
+        }
+    }
+
+    @Test
+    void queryMatchesAllCriteria() {
+        BisqEasyOffer match = createOffer(maker1, Direction.BUY, USD_MARKET, new MarketPriceSpec(), FiatPaymentRail.SEPA);
+        BisqEasyOffer otherMarket = createOffer(maker1, Direction.BUY, EUR_MARKET, new MarketPriceSpec(), FiatPaymentRail.SEPA);
+        BisqEasyOffer otherDirection = createOffer(maker1, Direction.SELL, USD_MARKET, new MarketPriceSpec(), FiatPaymentRail.SEPA);
+        BisqEasyOffer otherMaker = createOffer(maker2, Direction.BUY, USD_MARKET, new MarketPriceSpec(), FiatPaymentRail.SEPA);
+        BisqEasyOffer otherPaymentMethod = createOffer(maker1, Direction.BUY, USD_MARKET, new MarketPriceSpec(), FiatPaymentRail.ZELLE);
+        BisqEasyOffer otherPriceSpec = createOffer(maker1, Direction.BUY, USD_MARKET, new FloatPriceSpec(0.01), FiatPaymentRail.SEPA);
+        BisqEasyOfferbookIndex index = new BisqEasyOfferbookIndex();
+        Stream.of(match, otherMarket, otherDirection, otherMaker, otherPaymentMethod, otherPriceSpec)
+                .forEach(offer -> index.onMessageAdded(CHANNEL_IDS.get(0), createMessage(CHANNEL_IDS.get(0), offer)));
+
+        BisqEasyOfferbookQuery query = BisqEasyOfferbookQuery.create()
+                .market(USD_MARKET)
+                .direction(Direction.BUY)
+                .makerNetworkId(maker1)
+                .paymentMethodName(FiatPaymentRail.SEPA.name())
+                .priceSpecType(MarketPriceSpec.class);
+        assertEquals(List.of(match), index.queryOffers(query));
+
+        assertEquals(5, index.queryOffers(BisqEasyOfferbookQuery.create().makerNetworkId(maker1)).size());
+        assertEquals(4, index.queryOffers(BisqEasyOfferbookQuery.create().market(USD_MARKET).makerNetworkId(maker1)).size());
+        assertEquals(Set.of(match, otherMarket, otherMaker, otherPriceSpec),
+                new HashSet<>(index.queryOffers(BisqEasyOfferbookQuery.create().paymentMethodName(FiatPaymentRail.SEPA.name())
+                        .direction(Direction.BUY))));
+        // Bitcoin payment methods are matched as well
+        assertEquals(6, index.queryOffers(BisqEasyOfferbookQuery.create().paymentMethodName(BitcoinPaymentRail.MAIN_CHAIN.name())).size());
+        assertTrue(index.queryOffers(BisqEasyOfferbookQuery.create().paymentMethodName("unknown")).isEmpty());
+    }
+
+    @Test
+    void pagesAreInOrder() {
+        BisqEasyOfferbookIndex index = new BisqEasyOfferbookIndex();
+        List<BisqEasyOfferbookMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            BisqEasyOffer offer = createOffer(maker1, Direction.BUY, USD_MARKET, new MarketPriceSpec(), FiatPaymentRail.SEPA);
+            messages.add(createMessage(CHANNEL_IDS.get(0), offer));
+        }
+        // Add in random order
+        List<BisqEasyOfferbookMessage> shuffled = new ArrayList<>(messages);
+        Collections.shuffle(shuffled, random);
+        shuffled.forEach(message -> index.onMessageAdded(CHANNEL_IDS.get(0), message));
+
+        List<BisqEasyOfferbookMessage> mostRecentFirst = new ArrayList<>(messages);
+        Collections.reverse(mostRecentFirst);
+        assertEquals(mostRecentFirst, index.query(BisqEasyOfferbookQuery.create()));
+        assertEquals(mostRecentFirst, getAllPages(index, BisqEasyOfferbookQuery.create().market(USD_MARKET), 3));
+
+        Comparator<BisqEasyOfferbookMessage> oldestFirst = Comparator.comparingLong(BisqEasyOfferbookMessage::getDate);
+        assertEquals(messages, getAllPages(index, BisqEasyOfferbookQuery.create().sortedBy(oldestFirst), 2));
+
+        assertTrue(index.query(BisqEasyOfferbookQuery.create().page(7, 3)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> BisqEasyOfferbookQuery.create().page(0, 0));
+    }
+
+    @Test
+    void offerInMultipleMessages() {
+        BisqEasyOffer offer = createOffer(maker1, Direction.BUY, USD_MARKET, new MarketPriceSpec(), FiatPaymentRail.SEPA);
+        BisqEasyOfferbookMessage older = createMessage(CHANNEL_IDS.get(0), offer);
+        BisqEasyOfferbookMessage newer = createMessage(CHANNEL_IDS.get(0), offer);
+        BisqEasyOfferbookIndex index = new BisqEasyOfferbookIndex();
+        index.onMessageAdded(CHANNEL_IDS.get(0), older);
+        index.onMessageAdded(CHANNEL_IDS.get(0), newer);
+        assertEquals(Set.of(older, newer), index.findMessagesByOfferId(offer.getId()));
+
+        index.onMessageRemoved(CHANNEL_IDS.get(0), newer);
+        assertEquals(Set.of(older), index.findMessagesByOfferId(offer.getId()));
+
+        index.onMessageRemoved(CHANNEL_IDS.get(0), older);
+        assertTrue(index.findMessagesByOfferId(offer.getId()).isEmpty());
+        assertEquals(0, index.getNumOffers());
+    }
+
+    @Test
+    void copiedOfferIdDoesNotHideOffer() {
+        BisqEasyOffer offer = createOffer(maker1, Direction.BUY, USD_MARKET, new MarketPriceSpec(), FiatPaymentRail.SEPA);
+        // Another user publishes a different offer with the same offer ID in a more recent message
+        BisqEasyOffer copy = BisqEasyOffer.fromProto(offer.toProto(false).toBuilder()
+                .setMakerNetworkId(maker2.toProto(false))
+                .build());
+        BisqEasyOfferbookMessage makersMessage = createMessage(CHANNEL_IDS.get(0), offer, offer.getMakersUserProfileId());
+        BisqEasyOfferbookMessage copiedMessage = createMessage(CHANNEL_IDS.get(0), copy, copy.getMakersUserProfileId());
+        BisqEasyOfferbookIndex index = new BisqEasyOfferbookIndex();
+        index.onMessageAdded(CHANNEL_IDS.get(0), makersMessage);
+        index.onMessageAdded(CHANNEL_IDS.get(0), copiedMessage);
+
+        Set<BisqEasyOfferbookMessage> messages = index.findMessagesByOfferId(offer.getId());
+        assertEquals(Set.of(makersMessage, copiedMessage), messages);
+        Optional<BisqEasyOffer> myOffer = messages.stream()
+                .flatMap(message -> message.getBisqEasyOffer().stream())
+                .filter(candidate -> candidate.getMakerNetworkId().equals(maker1))
+                .filter(candidate -> candidate.equals(offer))
+                .findAny();
+        assertEquals(Optional.of(offer), myOffer);
+
+        // Removing the copy does not affect the maker's message
+        index.onMessageRemoved(CHANNEL_IDS.get(0), copiedMessage);
+        assertEquals(Set.of(makersMessage), index.findMessagesByOfferId(offer.getId()));
+    }
+
+    private static void assertIndexMatches(BisqEasyOfferbookIndex index,
+                                           List<BisqEasyOfferbookMessage> allMessages,
+                                           List<BisqEasyOffer> offers) {
+        List<BisqEasyOfferbookMessage> offerMessages = allMessages.stream()
+                .filter(message -> message.getBisqEasyOffer().isPresent())
+                .toList();
+        assertEquals(offerMessages.size(), index.getNumOffers());
+        for (String author : List.of(AUTHOR_1, AUTHOR_2)) {
+            assertEquals(allMessages.stream().anyMatch(message -> message.getAuthorUserProfileId().equals(author)),
+                    index.hasMessagesOfAuthor(author));
+        }
+        for (BisqEasyOffer offer : offers) {
+            Set<BisqEasyOfferbookMessage> expected = offerMessages.stream()
+                    .filter(message -> message.getBisqEasyOffer().orElseThrow().getId().equals(offer.getId()))
+                    .collect(Collectors.toSet());
+            assertEquals(expected, index.findMessagesByOfferId(offer.getId()));
+        }
+
+        List<BisqEasyOfferbookQuery> queries = new ArrayList<>();
+        queries.add(BisqEasyOfferbookQuery.create());
+        for (Market market : List.of(USD_MARKET, EUR_MARKET)) {
+            assertEquals(offerMessages.stream().anyMatch(message -> market.equals(getOffer(message).getMarket())),
+                    index.hasOffers(market));
+            queries.add(BisqEasyOfferbookQuery.create().market(market));
+            queries.add(BisqEasyOfferbookQuery.create().market(market).direction(Direction.SELL).paymentMethodName("ZELLE"));
+            queries.add(BisqEasyOfferbookQuery.create().market(market).makerNetworkId(maker2).priceSpecType(MarketPriceSpec.class));
+        }
+        queries.add(BisqEasyOfferbookQuery.create().direction(Direction.BUY).makerNetworkId(maker1));
+        queries.add(BisqEasyOfferbookQuery.create().paymentMethodName("SEPA").priceSpecType(FloatPriceSpec.class));
+        queries.add(BisqEasyOfferbookQuery.create().direction(Direction.SELL).page(2, 3));
+
+        for (BisqEasyOfferbookQuery query : queries) {
+            assertEquals(bruteForceQuery(offerMessages, query), index.query(query), query.toString());
+        }
+    }
+
+    private static List<BisqEasyOfferbookMessage> bruteForceQuery(List<BisqEasyOfferbookMessage> offerMessages,
+                                                                  BisqEasyOfferbookQuery query) {
+        return offerMessages.stream()
+                .filter(message -> {
+                    BisqEasyOffer offer = getOffer(message);
+                    return query.getMarket().map(offer.getMarket()::equals).orElse(true) &&
+                            query.getDirection().map(direction -> offer.getDirection() == direction).orElse(true) &&
+                            query.getMakerNetworkId().map(offer.getMakerNetworkId()::equals).orElse(true) &&
+                            query.getPaymentMethodName().map(name -> getPaymentMethodNames(offer).contains(name)).orElse(true) &&
+                            query.getPriceSpecType().map(type -> offer.getPriceSpec().getClass().equals(type)).orElse(true);
+                })
+                .sorted(query.getComparator().orElse(BisqEasyOfferbookIndex.MOST_RECENT_FIRST))
+                .skip(query.getOffset())
+                .limit(query.getLimit())
+                .collect(Collectors.toList());
+    }
+
+    private static List<BisqEasyOfferbookMessage> getAllPages(BisqEasyOfferbookIndex index,
+                                                              BisqEasyOfferbookQuery query,
+                                                              int pageSize) {
+        List<BisqEasyOfferbookMessage> result = new ArrayList<>();
+        for (int offset = 0; ; offset += pageSize) {
+            List<BisqEasyOfferbookMessage> page = index.query(query.page(offset, pageSize));
+            assertTrue(page.size() <= pageSize);
+            if (page.isEmpty()) {
+                return result;
+            }
+            result.addAll(page);
+        }
+    }
+
+    private static BisqEasyOffer getOffer(BisqEasyOfferbookMessage message) {
+        return message.getBisqEasyOffer().orElseThrow();
+    }
+
+    private static Set<String> getPaymentMethodNames(BisqEasyOffer offer) {
+        return Stream.concat(offer.getBaseSidePaymentMethodSpecs().stream(), offer.getQuoteSidePaymentMethodSpecs().stream())
+                .map(PaymentMethodSpec::getPaymentMethodName)
+                .collect(Collectors.toSet());
+    }
+
+    private BisqEasyOfferbookMessage createMessage(String channelId, BisqEasyOffer offer) {
+        return createMessage(channelId, offer, random.nextBoolean() ? AUTHOR_1 : AUTHOR_2);
+    }
+
+    private BisqEasyOfferbookMessage createMessage(String channelId, BisqEasyOffer offer, String authorUserProfileId) {
+        return new BisqEasyOfferbookMessage(channelId,
+                authorUserProfileId,
+                Optional.of(offer),
+                Optional.empty(),
+                Optional.empty(),
+                nextDate(),
+                false);
+    }
+
+    private BisqEasyOfferbookMessage createTextMessage(String channelId) {
+        return new BisqEasyOfferbookMessage(channelId,
+                random.nextBoolean() ? AUTHOR_1 : AUTHOR_2,
+                Optional.empty(),
+                Optional.of("text"),
+                Optional.empty(),
+                nextDate(),
+                false);
+    }
+
+    // Unique and increasing dates, so that the expected order is well-defined
+    private long nextDate() {
+        date += 1000;
+        return date;
+    }
+
+    private static BisqEasyOffer createOffer(NetworkId makerNetworkId,
+                                             Direction direction,
+                                             Market market,
+                                             PriceSpec priceSpec,
+                                             FiatPaymentRail... fiatPaymentRails) {
+        return new BisqEasyOffer(makerNetworkId,
+                direction,
+                market,
+                new QuoteSideFixedAmountSpec(1_000_000),
+                priceSpec,
+                List.of(BitcoinPaymentMethod.fromPaymentRail(BitcoinPaymentRail.MAIN_CHAIN)),
+                Arrays.stream(fiatPaymentRails).map(FiatPaymentMethod::fromPaymentRail).toList(),
+                "",
+                new ArrayList<>(List.of("en")));
+    }
+
+    private static NetworkId createNetworkId(String keyId, int port) throws GeneralSecurityException {
+        PubKey pubKey = new PubKey(KeyGeneration.generateKeyPair().getPublic(), keyId);
+        AddressByTransportTypeMap addressByTransportTypeMap = new AddressByTransportTypeMap(
+                Map.of(TransportType.CLEAR, new Address("127.0.0.1", port)));
+        return new NetworkId(addressByTransportTypeMap, pubKey);
+    }
+}
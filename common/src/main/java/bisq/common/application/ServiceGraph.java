@@ -0,0 +1,164 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.application;
+
+import bisq.common.platform.PlatformUtils;
+import bisq.common.threading.ExecutorFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Initializes services based on their declared dependencies instead of one after another. A service gets initialized
+ * once all its dependencies have completed their initialization, so independent services get initialized in parallel.
+ * At shutdown, a service gets shut down once all services depending on it have completed their shutdown.
+ * <p>
+ * Dependencies have to be added before the services depending on them, which prevents cycles. So the order in which
+ * services are added is a valid initialization order.
+ * <p>
+ * As with the previous sequential initialization, a service which completes its initialization with `false` does not
+ * stop the initialization of the services depending on it. An exception does.
+ */
+@Slf4j
+public class ServiceGraph {
+    private static final class Node {
+        private final Service service;
+        private final String name;
+        private final List<Node> dependencies;
+        private final List<Node> dependents = new ArrayList<>();
+        private volatile long startOffsetMs;
+        private volatile long durationMs = -1;
+
+        private Node(Service service, List<Node> dependencies) {
+            this.service = service;
+            this.name = service.getClass().getSimpleName();
+            this.dependencies = dependencies;
+        }
+    }
+
+    private final String name;
+    private final Map<Service, Node> nodes = new LinkedHashMap<>();
+
+    public ServiceGraph(String name) {
+        this.name = name;
+    }
+
+    public ServiceGraph add(Service service, Service... dependencies) {
+        if (nodes.containsKey(service)) {
+            throw new IllegalArgumentException(service.getClass().getSimpleName() + " was already added");
+        }
+        List<Node> dependencyNodes = Arrays.stream(dependencies)
+                .map(dependency -> {
+                    Node node = nodes.get(dependency);
+                    if (node == null) {
+                        throw new IllegalArgumentException("Dependency " + dependency.getClass().getSimpleName() +
+                                " of " + service.getClass().getSimpleName() + " must be added before");
+                    }
+                    return node;
+                })
+                .distinct()
+                .collect(Collectors.toList());
+        Node node = new Node(service, dependencyNodes);
+        dependencyNodes.forEach(dependency -> dependency.dependents.add(node));
+        nodes.put(service, node);
+        return this;
+    }
+
+    public CompletableFuture<Boolean> initialize() {
+        ExecutorService executor = ExecutorFactory.newFixedThreadPool(name + ".initialize", getNumThreads());
+        long ts = System.currentTimeMillis();
+        Map<Node, CompletableFuture<Boolean>> futureByNode = new LinkedHashMap<>();
+        nodes.values().forEach(node -> {
+            CompletableFuture<?>[] dependencyFutures = node.dependencies.stream()
+                    .map(futureByNode::get)
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture<Boolean> future = CompletableFuture.allOf(dependencyFutures)
+                    .thenComposeAsync(nil -> {
+                        long startTs = System.currentTimeMillis();
+                        node.startOffsetMs = startTs - ts;
+                        return node.service.initialize()
+                                .whenComplete((result, throwable) -> {
+                                    node.durationMs = System.currentTimeMillis() - startTs;
+                                    if (throwable != null) {
+                                        log.error("Initializing {} failed", node.name, throwable);
+                                    } else if (result == null || !result) {
+                                        log.warn("Initializing {} completed with result {}", node.name, result);
+                                    }
+                                });
+                    }, executor);
+            futureByNode.put(node, future);
+        });
+        return CompletableFuture.allOf(futureByNode.values().toArray(CompletableFuture[]::new))
+                .whenComplete((nil, throwable) -> {
+                    executor.shutdown();
+                    log.info("{} initialized services in {} ms. Timeline:\n{}",
+                            name, System.currentTimeMillis() - ts, getTimeline());
+                })
+                .thenApply(nil -> true);
+    }
+
+    /**
+     * Exceptions are logged and mapped to `false`, so they do not interrupt the shutdown of the other services.
+     *
+     * @return True if all services completed their shutdown with `true`.
+     */
+    public CompletableFuture<Boolean> shutdown() {
+        ExecutorService executor = ExecutorFactory.newFixedThreadPool(name + ".shutdown", getNumThreads());
+        List<Node> reversed = new ArrayList<>(nodes.values());
+        Collections.reverse(reversed);
+        Map<Node, CompletableFuture<Boolean>> futureByNode = new LinkedHashMap<>();
+        reversed.forEach(node -> {
+            CompletableFuture<?>[] dependentFutures = node.dependents.stream()
+                    .map(futureByNode::get)
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture<Boolean> future = CompletableFuture.allOf(dependentFutures)
+                    .thenComposeAsync(nil -> node.service.shutdown(), executor)
+                    .exceptionally(throwable -> {
+                        log.error("Shutdown of {} failed", node.name, throwable);
+                        return false;
+                    });
+            futureByNode.put(node, future);
+        });
+        return CompletableFuture.allOf(futureByNode.values().toArray(CompletableFuture[]::new))
+                .whenComplete((nil, throwable) -> executor.shutdown())
+                .thenApply(nil -> futureByNode.values().stream().allMatch(future -> Boolean.TRUE.equals(future.join())));
+    }
+
+    public String getTimeline() {
+        return nodes.values().stream()
+                .sorted(Comparator.comparingLong(node -> node.startOffsetMs))
+                .map(node -> String.format("%-30s start: %6d ms, duration: %6s ms",
+                        node.name,
+                        node.startOffsetMs,
+                        node.durationMs >= 0 ? String.valueOf(node.durationMs) : "n/a"))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private int getNumThreads() {
+        return Math.max(1, Math.min(nodes.size(), PlatformUtils.availableProcessors()));
+    }
+}
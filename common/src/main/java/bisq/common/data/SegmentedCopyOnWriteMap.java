@@ -0,0 +1,217 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import java.util.*;
+
+/**
+ * Map which can hand out immutable and consistent snapshots in constant time.
+ * <p>
+ * The entries are spread over a fixed number of segments. The segments and the array holding them are never mutated
+ * after being published. A write copies only the affected segment and the segment array, and then publishes the new
+ * root. A snapshot is the current root, so taking it does not copy any entries. Reads are lock-free, writes are
+ * synchronized.
+ * <p>
+ * Intended for maps with many reads of the whole map (e.g. iterations, copies for persistence) and a moderate write
+ * rate. A write costs about size/NUM_SEGMENTS entry copies.
+ */
+public final class SegmentedCopyOnWriteMap<K, V> extends AbstractMap<K, V> {
+    private static final int NUM_SEGMENTS = 64;
+
+    private volatile Snapshot<K, V> root;
+
+    public SegmentedCopyOnWriteMap() {
+        root = Snapshot.empty();
+    }
+
+    public SegmentedCopyOnWriteMap(Map<K, V> map) {
+        this();
+        putAll(map);
+    }
+
+    /**
+     * @return An immutable snapshot of the current state. Later changes of this map are not reflected in the
+     * snapshot.
+     */
+    public Map<K, V> snapshot() {
+        return root;
+    }
+
+    /**
+     * @return A new map with the same entries. As segments are immutable, they are shared and not copied.
+     */
+    public SegmentedCopyOnWriteMap<K, V> copy() {
+        SegmentedCopyOnWriteMap<K, V> copy = new SegmentedCopyOnWriteMap<>();
+        copy.root = root;
+        return copy;
+    }
+
+    @Override
+    public int size() {
+        return root.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return root.containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        return root.get(key);
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        Snapshot<K, V> current = root;
+        int index = segmentIndex(key);
+        HashMap<K, V> segment = new HashMap<>(current.segments[index]);
+        V previous = segment.put(key, value);
+        root = current.withSegment(index, segment, previous == null ? 1 : 0);
+        return previous;
+    }
+
+    @Override
+    public synchronized V remove(Object key) {
+        Snapshot<K, V> current = root;
+        int index = segmentIndex(key);
+        if (!current.segments[index].containsKey(key)) {
+            return null;
+        }
+        HashMap<K, V> segment = new HashMap<>(current.segments[index]);
+        V previous = segment.remove(key);
+        root = current.withSegment(index, segment, -1);
+        return previous;
+    }
+
+    @Override
+    public synchronized void putAll(Map<? extends K, ? extends V> map) {
+        if (map.isEmpty()) {
+            return;
+        }
+        // We copy each affected segment only once
+        Snapshot<K, V> current = root;
+        Map<K, V>[] segments = current.segments.clone();
+        boolean[] copied = new boolean[NUM_SEGMENTS];
+        int size = current.size;
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            K key = Objects.requireNonNull(entry.getKey());
+            V value = Objects.requireNonNull(entry.getValue());
+            int index = segmentIndex(key);
+            if (!copied[index]) {
+                segments[index] = new HashMap<>(segments[index]);
+                copied[index] = true;
+            }
+            if (segments[index].put(key, value) == null) {
+                size++;
+            }
+        }
+        for (int i = 0; i < NUM_SEGMENTS; i++) {
+            if (copied[i]) {
+                segments[i] = Collections.unmodifiableMap(segments[i]);
+            }
+        }
+        root = new Snapshot<>(segments, size);
+    }
+
+    /**
+     * Replaces all entries atomically. Readers either see the old or the new entries, never an empty map in between.
+     */
+    public synchronized void replaceWith(Map<? extends K, ? extends V> map) {
+        SegmentedCopyOnWriteMap<K, V> replacement = new SegmentedCopyOnWriteMap<>();
+        replacement.putAll(map);
+        root = replacement.root;
+    }
+
+    @Override
+    public synchronized void clear() {
+        root = Snapshot.empty();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return root.entrySet();
+    }
+
+    private static int segmentIndex(Object key) {
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), NUM_SEGMENTS);
+    }
+
+    private static final class Snapshot<K, V> extends AbstractMap<K, V> {
+        private final Map<K, V>[] segments;
+        private final int size;
+
+        @SuppressWarnings("unchecked")
+        private static <K, V> Snapshot<K, V> empty() {
+            Map<K, V>[] segments = new Map[NUM_SEGMENTS];
+            Arrays.fill(segments, Collections.emptyMap());
+            return new Snapshot<>(segments, 0);
+        }
+
+        private Snapshot(Map<K, V>[] segments, int size) {
+            this.segments = segments;
+            this.size = size;
+        }
+
+        private Snapshot<K, V> withSegment(int index, Map<K, V> segment, int sizeDelta) {
+            Map<K, V>[] newSegments = segments.clone();
+            newSegments[index] = Collections.unmodifiableMap(segment);
+            return new Snapshot<>(newSegments, size + sizeDelta);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key != null && segments[segmentIndex(key)].containsKey(key);
+        }
+
+        @Override
+        public V get(Object key) {
+            return key == null ? null : segments[segmentIndex(key)].get(key);
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return Arrays.stream(segments)
+                            .flatMap(segment -> segment.entrySet().stream())
+                            .iterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+}
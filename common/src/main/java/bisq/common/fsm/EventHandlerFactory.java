@@ -0,0 +1,59 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.fsm;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Creates event handlers from their class using a constructor with the given parameter types. The constructors are
+ * resolved once per handler class and cached as method handles, so that creating a handler does not require a
+ * reflective lookup. Instances are intended to be shared by all Fsm instances of a protocol.
+ */
+public class EventHandlerFactory {
+    private final Class<?>[] parameterTypes;
+    private final ClassValue<MethodHandle> constructorByHandlerClass = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> handlerClass) {
+            try {
+                MethodHandle constructor = MethodHandles.publicLookup()
+                        .unreflectConstructor(handlerClass.getDeclaredConstructor(parameterTypes));
+                return constructor.asSpreader(Object[].class, parameterTypes.length)
+                        .asType(MethodType.methodType(EventHandler.class, Object[].class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new FsmConfigException(e);
+            }
+        }
+    };
+
+    public EventHandlerFactory(Class<?>... parameterTypes) {
+        this.parameterTypes = parameterTypes;
+    }
+
+    public EventHandler create(Class<? extends EventHandler> handlerClass, Object... args) {
+        MethodHandle constructor = constructorByHandlerClass.get(handlerClass);
+        try {
+            return (EventHandler) constructor.invokeExact(args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new RuntimeException(throwable);
+        }
+    }
+}
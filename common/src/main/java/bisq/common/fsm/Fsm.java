@@ -22,7 +22,6 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -40,7 +39,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 @Slf4j
 public abstract class Fsm<M extends FsmModel> {
-    private final Map<Pair<State, Class<? extends Event>>, Transition> transitionMap = new HashMap<>();
+    // Transitions by event class and source state. Gets filled when transitions are added, so that handling an event
+    // requires only 2 map lookups.
+    private final Map<Class<? extends Event>, Map<State, Transition>> transitionsByEventClass = new HashMap<>();
     @Getter
     protected final M model;
 
@@ -67,9 +68,9 @@ public abstract class Fsm<M extends FsmModel> {
                 }
                 log.info("Start transition from currentState {}", currentState);
                 Class<? extends Event> eventClass = event.getClass();
-                var transitionMapEntriesForEvent = findTransitionMapEntriesForEvent(eventClass);
-                checkArgument(!transitionMapEntriesForEvent.isEmpty(), "No transition found for given event " + event);
-                Optional<Transition> transition = findTransition(currentState, transitionMapEntriesForEvent);
+                Map<State, Transition> transitionsBySourceState = transitionsByEventClass.get(eventClass);
+                checkArgument(transitionsBySourceState != null, "No transition found for given event " + event);
+                Optional<Transition> transition = findTransition(currentState, transitionsBySourceState);
                 if (transition.isPresent()) {
                     State targetState = transition.get().getTargetState();
                     checkArgument(targetState.getOrdinal() > currentState.getOrdinal(),
@@ -104,10 +105,9 @@ public abstract class Fsm<M extends FsmModel> {
                             currentState, eventClass.getSimpleName());
                     // In case we get an event which does not match our current state we add the event to our
                     // event queue if the event was not already processed.
-                    transitionMap.keySet().stream()
-                            .filter(key -> key.getSecond().equals(eventClass) &&
-                                    !model.processedEvents.contains(eventClass))
-                            .forEach(e -> model.eventQueue.add(event));
+                    if (!model.processedEvents.contains(eventClass)) {
+                        model.eventQueue.add(event);
+                    }
                 }
             } catch (Exception exception) {
                 log.error("Error at handling {}.", event, exception);
@@ -148,29 +148,26 @@ public abstract class Fsm<M extends FsmModel> {
     abstract protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass)
             throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException;
 
-    private Set<Map.Entry<Pair<State, Class<? extends Event>>, Transition>> findTransitionMapEntriesForEvent(Class<? extends Event> eventClass) {
-        return transitionMap.entrySet().stream()
-                .filter(e -> e.getKey().getSecond().equals(eventClass))
-                .collect(Collectors.toSet());
-    }
-
-    private Optional<Transition> findTransition(State currentState,
-                                                Set<Map.Entry<Pair<State, Class<? extends Event>>, Transition>> transitionMapEntriesForEvent) {
-        return transitionMapEntriesForEvent.stream()
-                .filter(e -> e.getKey().getFirst().equals(currentState) || e.getKey().getFirst().isAnyState())
-                .map(Map.Entry::getValue)
-                .findAny();
+    private Optional<Transition> findTransition(State currentState, Map<State, Transition> transitionsBySourceState) {
+        Transition transition = transitionsBySourceState.get(currentState);
+        if (transition == null) {
+            transition = transitionsBySourceState.get(State.FsmState.ANY);
+        }
+        return Optional.ofNullable(transition);
     }
 
     private void insertTransition(Transition transition) {
         try {
             checkArgument(transition.isValid(), "Invalid transition. transition=%s", transition);
+            Map<State, Transition> transitionsBySourceState = transitionsByEventClass.getOrDefault(transition.getEventClass(), Map.of());
             transition.getSourceStates().forEach(sourceState -> {
                 Pair<State, Class<? extends Event>> pair = new Pair<>(sourceState, transition.getEventClass());
-                checkArgument(!transitionMap.containsKey(pair),
+                checkArgument(!transitionsBySourceState.containsKey(sourceState),
                         "A transition exists already with the state/event pair. pair=%s", pair);
-                transitionMap.put(pair, transition);
             });
+            transition.getSourceStates().forEach(sourceState ->
+                    transitionsByEventClass.computeIfAbsent(transition.getEventClass(), key -> new HashMap<>())
+                            .put(sourceState, transition));
         } catch (IllegalArgumentException e) {
             throw new FsmConfigException(e);
         }
@@ -35,4 +35,8 @@ public interface TransportConfig {
     int getSendMessageThrottleTime(); // in ms
 
     int getReceiveMessageThrottleTime(); // in ms
+
+    default boolean isNonBlockingIo() {
+        return false;
+    }
 }
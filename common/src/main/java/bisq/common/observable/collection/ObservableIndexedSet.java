@@ -0,0 +1,194 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.collection;
+
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Insertion ordered ObservableSet with an index by a key of the elements (e.g. the ID). Add, remove and lookup by key
+ * are O(1), in contrast to the copy-on-write set of {@link ObservableSet}, which makes adding n elements quadratic.
+ * <p>
+ * Like in ObservableSet, only equal elements are treated as duplicates. The key might not be unique if it is not
+ * bound to the content (e.g. a peer could reuse the ID of another message). An element with the key of a contained
+ * but not equal element is added as well, so that it cannot get hidden. Lookup by key returns the earliest added one.
+ * <p>
+ * Iteration is done on an immutable snapshot, which gets created lazily at the first iteration after a change.
+ * Observers get notified about the elements actually added or removed at addAll and removeAll in one batch.
+ */
+@Slf4j
+@EqualsAndHashCode(callSuper = true)
+public class ObservableIndexedSet<K, S> extends ObservableSet<S> {
+    @EqualsAndHashCode.Exclude
+    private final Function<S, K> keyFunction;
+
+    public ObservableIndexedSet(Function<S, K> keyFunction) {
+        super();
+        this.keyFunction = keyFunction;
+    }
+
+    public ObservableIndexedSet(Function<S, K> keyFunction, Collection<S> values) {
+        this(keyFunction);
+        addAll(values);
+    }
+
+    @Override
+    protected Collection<S> createCollection() {
+        // Called from the super class constructor. The keyFunction is only accessed once elements get added.
+        return new IndexedSet();
+    }
+
+    public Optional<S> findByKey(K key) {
+        return Optional.ofNullable(getIndexedSet().get(key));
+    }
+
+    public boolean containsKey(K key) {
+        return getIndexedSet().get(key) != null;
+    }
+
+    @Override
+    public boolean addAll(@NotNull Collection<? extends S> values) {
+        List<S> added = new ArrayList<>();
+        for (S value : values) {
+            if (collection.add(value)) {
+                added.add(value);
+            }
+        }
+        if (added.isEmpty()) {
+            return false;
+        }
+        observers.forEach(observer -> observer.addAll(added));
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(@NotNull Collection<?> values) {
+        List<Object> removed = new ArrayList<>();
+        for (Object value : values) {
+            if (collection.remove(value)) {
+                removed.add(value);
+            }
+        }
+        if (removed.isEmpty()) {
+            return false;
+        }
+        observers.forEach(observer -> observer.removeAll(removed));
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private IndexedSet getIndexedSet() {
+        return (IndexedSet) collection;
+    }
+
+    private final class IndexedSet extends AbstractSet<S> {
+        private final Set<S> elements = new LinkedHashSet<>();
+        // Earliest added element by key
+        private final Map<K, S> elementByKey = new HashMap<>();
+        // Elements which have the key of an earlier added but not equal element. Only used in case of key collisions.
+        private final Map<K, List<S>> collidingElementsByKey = new HashMap<>();
+        private List<S> snapshot = List.of();
+        private boolean isSnapshotOutdated;
+
+        @Override
+        public synchronized boolean add(S element) {
+            if (!elements.add(element)) {
+                return false;
+            }
+            K key = keyFunction.apply(element);
+            if (elementByKey.putIfAbsent(key, element) != null) {
+                log.warn("An element with key {} is already contained but not equal to the added element. " +
+                        "We keep both.", key);
+                collidingElementsByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(element);
+            }
+            isSnapshotOutdated = true;
+            return true;
+        }
+
+        @Override
+        public synchronized boolean remove(Object element) {
+            Optional<K> key = toKey(element);
+            if (key.isEmpty() || !elements.remove(element)) {
+                return false;
+            }
+            List<S> collidingElements = collidingElementsByKey.get(key.get());
+            if (collidingElements == null) {
+                elementByKey.remove(key.get());
+            } else if (!collidingElements.remove(element)) {
+                // The removed element was the indexed one, so the earliest colliding element takes its place
+                elementByKey.put(key.get(), collidingElements.remove(0));
+            }
+            if (collidingElements != null && collidingElements.isEmpty()) {
+                collidingElementsByKey.remove(key.get());
+            }
+            isSnapshotOutdated = true;
+            return true;
+        }
+
+        @Override
+        public synchronized boolean contains(Object element) {
+            return elements.contains(element);
+        }
+
+        @Override
+        public synchronized void clear() {
+            elements.clear();
+            elementByKey.clear();
+            collidingElementsByKey.clear();
+            isSnapshotOutdated = true;
+        }
+
+        @Override
+        public synchronized int size() {
+            return elements.size();
+        }
+
+        @Override
+        public Iterator<S> iterator() {
+            return getSnapshot().iterator();
+        }
+
+        synchronized S get(K key) {
+            return elementByKey.get(key);
+        }
+
+        private synchronized List<S> getSnapshot() {
+            if (isSnapshotOutdated) {
+                snapshot = List.copyOf(elements);
+                isSnapshotOutdated = false;
+            }
+            return snapshot;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Optional<K> toKey(Object element) {
+            if (element == null) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.ofNullable(keyFunction.apply((S) element));
+            } catch (ClassCastException e) {
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.proto;
+
+import bisq.common.annotation.ExcludeForHash;
+import com.google.protobuf.Descriptors;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Fields annotated with {@link ExcludeForHash} of a class, resolved once by reflection. The excluded field names per
+ * version and the matching proto field descriptors per message type are cached, so that serializeForHash does not
+ * require any reflection.
+ */
+final class ExcludeForHashPlan {
+    private static final ClassValue<ExcludeForHashPlan> PLAN_BY_CLASS = new ClassValue<>() {
+        @Override
+        protected ExcludeForHashPlan computeValue(Class<?> type) {
+            return new ExcludeForHashPlan(type);
+        }
+    };
+
+    static ExcludeForHashPlan get(Class<?> type) {
+        return PLAN_BY_CLASS.get(type);
+    }
+
+    // Value is the excludeOnlyInVersions array of the annotation
+    private final Map<String, int[]> excludeOnlyInVersionsByFieldName;
+    private final Map<Integer, Set<String>> excludedFieldNamesByVersion = new ConcurrentHashMap<>();
+    private final Map<Integer, Map<Descriptors.Descriptor, List<Descriptors.FieldDescriptor>>> fieldDescriptorsByVersion = new ConcurrentHashMap<>();
+
+    private ExcludeForHashPlan(Class<?> type) {
+        Map<String, int[]> map = new HashMap<>();
+        for (Field field : type.getDeclaredFields()) {
+            ExcludeForHash annotation = field.getAnnotation(ExcludeForHash.class);
+            if (annotation != null) {
+                map.put(field.getName(), annotation.excludeOnlyInVersions());
+            }
+        }
+        excludeOnlyInVersionsByFieldName = Collections.unmodifiableMap(map);
+    }
+
+    boolean isEmpty() {
+        return excludeOnlyInVersionsByFieldName.isEmpty();
+    }
+
+    Set<String> getExcludedFieldNames(int version) {
+        if (isEmpty()) {
+            return Collections.emptySet();
+        }
+        return excludedFieldNamesByVersion.computeIfAbsent(version, key ->
+                excludeOnlyInVersionsByFieldName.entrySet().stream()
+                        .filter(entry -> {
+                            int[] excludeOnlyInVersions = entry.getValue();
+                            return excludeOnlyInVersions.length == 0 ||
+                                    Arrays.stream(excludeOnlyInVersions).anyMatch(value -> value == version);
+                        })
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    /**
+     * Requires that the name of the java fields is the same as the name of the proto definition. Fields without a
+     * matching proto field are ignored.
+     */
+    List<Descriptors.FieldDescriptor> getFieldDescriptors(int version, Descriptors.Descriptor descriptor) {
+        if (isEmpty()) {
+            return Collections.emptyList();
+        }
+        return fieldDescriptorsByVersion.computeIfAbsent(version, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(descriptor, key -> {
+                    List<Descriptors.FieldDescriptor> fieldDescriptors = new ArrayList<>();
+                    for (String fieldName : getExcludedFieldNames(version)) {
+                        Descriptors.FieldDescriptor fieldDescriptor = descriptor.findFieldByName(fieldName);
+                        if (fieldDescriptor != null) {
+                            fieldDescriptors.add(fieldDescriptor);
+                        }
+                    }
+                    return Collections.unmodifiableList(fieldDescriptors);
+                });
+    }
+}
@@ -17,7 +17,6 @@
 
 package bisq.common.proto;
 
-import bisq.common.annotation.ExcludeForHash;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.Message;
@@ -26,10 +25,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.lang.reflect.Field;
-import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Interface for any object which gets serialized using protobuf.
@@ -78,16 +75,7 @@ public interface Proto {
 
     @JsonIgnore
     default Set<String> getExcludedFields() {
-        return Arrays.stream(getClass().getDeclaredFields())
-                .peek(field -> field.setAccessible(true))
-                .filter(field -> field.isAnnotationPresent(ExcludeForHash.class))
-                .filter(field -> {
-                    int[] excludeOnlyInVersions = field.getAnnotation(ExcludeForHash.class).excludeOnlyInVersions();
-                    return excludeOnlyInVersions.length == 0 ||
-                            Arrays.stream(excludeOnlyInVersions).boxed().anyMatch(version -> version == getVersion());
-                })
-                .map(Field::getName)
-                .collect(Collectors.toSet());
+        return ExcludeForHashPlan.get(getClass()).getExcludedFieldNames(getVersion());
     }
 
     @JsonIgnore
@@ -102,14 +90,17 @@ public interface Proto {
      * @return Builder with the fields annotated with ExcludeForHash cleared.
      */
     default <B extends Message.Builder> B clearAnnotatedFields(B builder) {
-        Set<String> excludedFields = getExcludedFields();
-        if (!excludedFields.isEmpty()) {
-            getLogger().debug("Clear fields in builder annotated with @ExcludeForHash: {}", excludedFields);
+        ExcludeForHashPlan plan = ExcludeForHashPlan.get(getClass());
+        if (plan.isEmpty()) {
+            return builder;
         }
-        for (Descriptors.FieldDescriptor fieldDesc : builder.getAllFields().keySet()) {
-            if (excludedFields.contains(fieldDesc.getName())) {
-                builder.clearField(fieldDesc);
-            }
+        List<Descriptors.FieldDescriptor> fieldDescriptors = plan.getFieldDescriptors(getVersion(), builder.getDescriptorForType());
+        if (!fieldDescriptors.isEmpty()) {
+            getLogger().debug("Clear fields in builder annotated with @ExcludeForHash: {}", plan.getExcludedFieldNames(getVersion()));
+        }
+        for (Descriptors.FieldDescriptor fieldDescriptor : fieldDescriptors) {
+            // Clearing a field which is not set has no effect
+            builder.clearField(fieldDescriptor);
         }
         return builder;
     }
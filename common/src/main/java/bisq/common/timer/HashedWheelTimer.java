@@ -0,0 +1,302 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.timer;
+
+import bisq.common.threading.ExecutorFactory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel driven by a single tick thread, which is started at construction. Timeouts are put into the bucket of the tick at which they
+ * expire, so adding and cancelling is O(1) and the tick thread only touches the bucket of the current tick.
+ * Expired tasks are not executed at the tick thread but dispatched to a thread pool, so that a slow task does not
+ * delay other timers. The precision is limited by the tick duration.
+ * <p>
+ * The dispatcher pool uses a SynchronousQueue, thus tasks are never queued up behind other long-running tasks.
+ * If all dispatcher threads are busy we fall back to a dedicated thread for that task, which matches the behaviour
+ * we had when each Scheduler used its own thread.
+ */
+@Slf4j
+public class HashedWheelTimer {
+    private static final int INIT = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    public static final class Timeout {
+        private final Runnable task;
+        private final String name;
+        // Nanos relative to the start time of the timer
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+        private final HashedWheelTimer timer;
+        private long remainingRounds;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, String name, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.name = name;
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return true if the timeout got cancelled before it expired.
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(INIT, CANCELLED)) {
+                timer.numPendingTimeouts.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private boolean expire() {
+            if (state.compareAndSet(INIT, EXPIRED)) {
+                timer.numPendingTimeouts.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final String name;
+    private final long tickDurationNanos;
+    private final Queue<Timeout>[] wheel;
+    private final int mask;
+    private final ThreadPoolExecutor dispatcher;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final long startTime;
+
+    @Getter
+    private final AtomicInteger numPendingTimeouts = new AtomicInteger();
+    @Getter
+    private final AtomicLong numExecutedTasks = new AtomicLong();
+    @Getter
+    private final AtomicLong numFallbackThreads = new AtomicLong();
+    private final AtomicLong totalLatenessNanos = new AtomicLong();
+    private final AtomicLong maxLatenessNanos = new AtomicLong();
+    private final AtomicLong totalRuntimeNanos = new AtomicLong();
+    private final AtomicLong maxRuntimeNanos = new AtomicLong();
+
+    public HashedWheelTimer(String name,
+                            long tickDuration,
+                            TimeUnit timeUnit,
+                            int wheelSize,
+                            int corePoolSize,
+                            int maxPoolSize) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be > 0");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of 2");
+        }
+        this.name = name;
+        this.tickDurationNanos = timeUnit.toNanos(tickDuration);
+        //noinspection unchecked
+        wheel = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        mask = wheelSize - 1;
+        dispatcher = new ThreadPoolExecutor(corePoolSize,
+                maxPoolSize,
+                30,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                ExecutorFactory.getThreadFactory(name + ".dispatcher-%d"));
+        dispatcher.setRejectedExecutionHandler((runnable, executor) -> {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Dispatcher of " + name + " is shut down");
+            }
+            numFallbackThreads.incrementAndGet();
+            log.warn("All {} dispatcher threads of {} are busy. We run the task at a new thread.",
+                    executor.getMaximumPoolSize(), name);
+            ExecutorFactory.getThreadFactory(name + ".fallback").newThread(runnable).start();
+        });
+
+        startTime = System.nanoTime();
+        Thread thread = ExecutorFactory.getThreadFactory(name).newThread(this::runTickLoop);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit timeUnit) {
+        return newTimeout(task, delay, timeUnit, name);
+    }
+
+    /**
+     * @param threadName The name of the dispatcher thread while the task gets executed.
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit timeUnit, String threadName) {
+        long deadline = System.nanoTime() + Math.max(0, timeUnit.toNanos(delay)) - startTime;
+        if (deadline < 0) {
+            // Overflow at very large delays
+            deadline = Long.MAX_VALUE;
+        }
+        Timeout timeout = new Timeout(this, task, threadName, deadline);
+        numPendingTimeouts.incrementAndGet();
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    public int getNumDispatcherThreads() {
+        return dispatcher.getPoolSize();
+    }
+
+    public long getMaxLatenessMs() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatenessNanos.get());
+    }
+
+    public long getAverageLatenessMs() {
+        long numExecutedTasks = this.numExecutedTasks.get();
+        return numExecutedTasks == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatenessNanos.get() / numExecutedTasks);
+    }
+
+    public long getMaxRuntimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(maxRuntimeNanos.get());
+    }
+
+    public long getAverageRuntimeMs() {
+        long numExecutedTasks = this.numExecutedTasks.get();
+        return numExecutedTasks == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalRuntimeNanos.get() / numExecutedTasks);
+    }
+
+    public String getMetricsAsString() {
+        return "pendingTimeouts=" + numPendingTimeouts.get() +
+                ", executedTasks=" + numExecutedTasks.get() +
+                ", dispatcherThreads=" + getNumDispatcherThreads() +
+                ", fallbackThreads=" + numFallbackThreads.get() +
+                ", averageLatenessMs=" + getAverageLatenessMs() +
+                ", maxLatenessMs=" + getMaxLatenessMs() +
+                ", averageRuntimeMs=" + getAverageRuntimeMs() +
+                ", maxRuntimeMs=" + getMaxRuntimeMs();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Tick thread
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void runTickLoop() {
+        long tick = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long tickDeadline = tickDurationNanos * (tick + 1);
+            waitUntil(tickDeadline);
+            try {
+                transferNewTimeouts(tick);
+                expireTimeouts(wheel[(int) (tick & mask)], tickDeadline);
+            } catch (Throwable throwable) {
+                log.error("Error at tick loop of {}", name, throwable);
+            }
+            tick++;
+        }
+    }
+
+    private void waitUntil(long tickDeadline) {
+        long sleepNanos;
+        while ((sleepNanos = tickDeadline - (System.nanoTime() - startTime)) > 0) {
+            LockSupport.parkNanos(this, sleepNanos);
+        }
+    }
+
+    private void transferNewTimeouts(long tick) {
+        // Limit the number of transfers per tick to not stall the wheel at a burst of new timeouts
+        for (int i = 0; i < 100_000; i++) {
+            Timeout timeout = newTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long expireAtTick = timeout.deadline / tickDurationNanos;
+            timeout.remainingRounds = (expireAtTick - tick) / wheel.length;
+            // If the deadline is already in the past we put it into the current bucket
+            long targetTick = Math.max(expireAtTick, tick);
+            wheel[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    private void expireTimeouts(Queue<Timeout> bucket, long tickDeadline) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.isCancelled()) {
+                iterator.remove();
+            } else if (timeout.remainingRounds <= 0 && timeout.deadline <= tickDeadline) {
+                iterator.remove();
+                if (timeout.expire()) {
+                    dispatch(timeout);
+                }
+            } else if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    private void dispatch(Timeout timeout) {
+        try {
+            dispatcher.execute(() -> execute(timeout));
+        } catch (RejectedExecutionException e) {
+            log.warn("Could not dispatch task {}", timeout.name, e);
+        }
+    }
+
+    private void execute(Timeout timeout) {
+        long ts = System.nanoTime();
+        long latenessNanos = Math.max(0, ts - startTime - timeout.deadline);
+        totalLatenessNanos.addAndGet(latenessNanos);
+        maxLatenessNanos.accumulateAndGet(latenessNanos, Math::max);
+
+        // The task might change the thread name (e.g. by using ThreadName.set), so we restore it afterward as the
+        // thread is reused for other tasks.
+        Thread thread = Thread.currentThread();
+        String threadName = thread.getName();
+        thread.setName(timeout.name);
+        try {
+            timeout.task.run();
+        } catch (Throwable throwable) {
+            log.error("Task {} failed", timeout.name, throwable);
+        } finally {
+            thread.setName(threadName);
+            long runtimeNanos = System.nanoTime() - ts;
+            totalRuntimeNanos.addAndGet(runtimeNanos);
+            maxRuntimeNanos.accumulateAndGet(runtimeNanos, Math::max);
+            numExecutedTasks.incrementAndGet();
+        }
+    }
+}
@@ -17,21 +17,32 @@
 
 package bisq.common.timer;
 
-import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.StringUtils;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Optional;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * All Scheduler instances share one {@link HashedWheelTimer}. The tasks are executed at the dispatcher threads of the
+ * timer, so a long-running task does not delay other scheduled tasks. Periodic tasks are scheduled again after the
+ * previous run has completed (fixed delay), thus runs of the same Scheduler never overlap.
+ */
 @Slf4j
 public class Scheduler implements TaskScheduler {
-    // We do not use a ScheduledThreadPoolExecutor as the queue cannot be customized. It would cause undesired behaviour
-    // in case we would use a static executor for all Scheduler instances and multiple schedule calls would get 
-    // queued up instead of starting a new scheduler.
-    private Optional<ScheduledExecutorService> executor = Optional.empty();
+    private static final HashedWheelTimer TIMER = new HashedWheelTimer("Scheduler.timer",
+            10,
+            TimeUnit.MILLISECONDS,
+            512,
+            2,
+            100);
+
+    public static HashedWheelTimer getTimer() {
+        return TIMER;
+    }
+
+    private volatile Optional<HashedWheelTimer.Timeout> timeout = Optional.empty();
     private final Runnable task;
     private volatile boolean stopped;
     @Getter
@@ -106,8 +117,7 @@ public class Scheduler implements TaskScheduler {
             return this;
         }
         if (cycles == 1) {
-            executor = Optional.of(ExecutorFactory.newSingleThreadScheduledExecutor(ExecutorFactory.getThreadFactory(getThreadName(false))));
-            executor.get().schedule(() -> {
+            schedule(delay, timeUnit, () -> {
                 if (stopped) {
                     return;
                 }
@@ -116,26 +126,44 @@ public class Scheduler implements TaskScheduler {
                 } finally {
                     stop();
                 }
-            }, delay, timeUnit);
+            }, false);
         } else {
-            executor = Optional.of(ExecutorFactory.newSingleThreadScheduledExecutor(ExecutorFactory.getThreadFactory(getThreadName(true))));
-            executor.get().scheduleWithFixedDelay(() -> {
-                if (stopped) {
-                    return;
-                }
-                try {
-                    task.run();
-                } finally {
-                    counter++;
-                    if (counter >= cycles) {
-                        stop();
-                    }
-                }
-            }, initialDelay, delay, timeUnit);
+            schedule(initialDelay, timeUnit, () -> runPeriodic(delay, timeUnit, cycles), true);
         }
         return this;
     }
 
+    private void runPeriodic(long delay, TimeUnit timeUnit, long cycles) {
+        if (stopped) {
+            return;
+        }
+        boolean success = false;
+        try {
+            task.run();
+            success = true;
+        } finally {
+            counter++;
+            // As with ScheduledExecutorService.scheduleWithFixedDelay, a failed run suppresses further runs
+            if (!success || counter >= cycles) {
+                stop();
+            } else {
+                schedule(delay, timeUnit, () -> runPeriodic(delay, timeUnit, cycles), true);
+            }
+        }
+    }
+
+    private void schedule(long delay, TimeUnit timeUnit, Runnable runnable, boolean isPeriodic) {
+        if (stopped) {
+            return;
+        }
+        HashedWheelTimer.Timeout newTimeout = TIMER.newTimeout(runnable, delay, timeUnit, getThreadName(isPeriodic));
+        timeout = Optional.of(newTimeout);
+        if (stopped) {
+            // stop() was called concurrently and might have missed the new timeout
+            newTimeout.cancel();
+        }
+    }
+
     private String getThreadName(boolean isPeriodic) {
         String name = isPeriodic ? "PeriodicScheduler" : "Scheduler";
         String host = hostClassName.map(hostClassName -> "." + hostClassName).orElse("");
@@ -146,7 +174,7 @@ public class Scheduler implements TaskScheduler {
     @Override
     public void stop() {
         stopped = true;
-        executor.ifPresent(ExecutorFactory::shutdownAndAwaitTermination);
-        executor = Optional.empty();
+        timeout.ifPresent(HashedWheelTimer.Timeout::cancel);
+        timeout = Optional.empty();
     }
 }
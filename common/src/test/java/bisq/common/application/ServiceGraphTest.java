@@ -0,0 +1,111 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ServiceGraphTest {
+    private static class MockService implements Service {
+        private final String name;
+        private final List<String> events;
+        private final boolean failAtInitialize;
+
+        MockService(String name, List<String> events) {
+            this(name, events, false);
+        }
+
+        MockService(String name, List<String> events, boolean failAtInitialize) {
+            this.name = name;
+            this.events = events;
+            this.failAtInitialize = failAtInitialize;
+        }
+
+        @Override
+        public CompletableFuture<Boolean> initialize() {
+            if (failAtInitialize) {
+                return CompletableFuture.failedFuture(new RuntimeException("Initialize " + name + " failed"));
+            }
+            events.add("init " + name);
+            return CompletableFuture.completedFuture(true);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> shutdown() {
+            events.add("shutdown " + name);
+            return CompletableFuture.completedFuture(true);
+        }
+    }
+
+    @Test
+    void initializeAndShutdownRespectDependencies() {
+        List<String> events = new CopyOnWriteArrayList<>();
+        MockService a = new MockService("a", events);
+        MockService b = new MockService("b", events);
+        MockService c = new MockService("c", events);
+        MockService d = new MockService("d", events);
+        ServiceGraph serviceGraph = new ServiceGraph("test")
+                .add(a)
+                .add(b, a)
+                .add(c, a)
+                .add(d, b, c);
+
+        assertTrue(serviceGraph.initialize().join());
+        assertTrue(events.indexOf("init a") < events.indexOf("init b"));
+        assertTrue(events.indexOf("init a") < events.indexOf("init c"));
+        assertTrue(events.indexOf("init b") < events.indexOf("init d"));
+        assertTrue(events.indexOf("init c") < events.indexOf("init d"));
+
+        assertTrue(serviceGraph.shutdown().join());
+        assertTrue(events.indexOf("shutdown d") < events.indexOf("shutdown b"));
+        assertTrue(events.indexOf("shutdown d") < events.indexOf("shutdown c"));
+        assertTrue(events.indexOf("shutdown b") < events.indexOf("shutdown a"));
+        assertTrue(events.indexOf("shutdown c") < events.indexOf("shutdown a"));
+    }
+
+    @Test
+    void failedDependencyPreventsInitializationOfDependents() {
+        List<String> events = new CopyOnWriteArrayList<>();
+        MockService a = new MockService("a", events, true);
+        MockService b = new MockService("b", events);
+        MockService c = new MockService("c", events);
+        ServiceGraph serviceGraph = new ServiceGraph("test")
+                .add(a)
+                .add(b, a)
+                .add(c);
+
+        assertThrows(Exception.class, () -> serviceGraph.initialize().join());
+        assertFalse(events.contains("init b"));
+        assertTrue(events.contains("init c"));
+    }
+
+    @Test
+    void dependencyMustBeAddedBefore() {
+        List<String> events = new CopyOnWriteArrayList<>();
+        MockService a = new MockService("a", events);
+        MockService b = new MockService("b", events);
+        assertThrows(IllegalArgumentException.class, () -> new ServiceGraph("test").add(b, a));
+    }
+}
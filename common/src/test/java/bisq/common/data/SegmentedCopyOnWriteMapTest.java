@@ -0,0 +1,57 @@
+package bisq.common.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentedCopyOnWriteMapTest {
+    @Test
+    public void putGetRemove() {
+        SegmentedCopyOnWriteMap<Integer, String> map = new SegmentedCopyOnWriteMap<>();
+        for (int i = 0; i < 1000; i++) {
+            assertNull(map.put(i, "v" + i));
+        }
+        assertEquals(1000, map.size());
+        assertEquals("v500", map.get(500));
+        assertEquals("v500", map.put(500, "w500"));
+        assertEquals(1000, map.size());
+        assertEquals("w500", map.remove(500));
+        assertNull(map.remove(500));
+        assertEquals(999, map.size());
+        assertFalse(map.containsKey(500));
+        assertEquals(999, map.entrySet().size());
+    }
+
+    @Test
+    public void snapshotIsNotAffectedByLaterChanges() {
+        SegmentedCopyOnWriteMap<Integer, String> map = new SegmentedCopyOnWriteMap<>();
+        map.put(1, "a");
+        map.put(2, "b");
+
+        Map<Integer, String> snapshot = map.snapshot();
+        SegmentedCopyOnWriteMap<Integer, String> copy = map.copy();
+        map.put(3, "c");
+        map.remove(1);
+        copy.put(4, "d");
+
+        assertEquals(Map.of(1, "a", 2, "b"), new HashMap<>(snapshot));
+        assertEquals(Map.of(2, "b", 3, "c"), new HashMap<>(map));
+        assertEquals(Map.of(1, "a", 2, "b", 4, "d"), new HashMap<>(copy));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.put(5, "e"));
+    }
+
+    @Test
+    public void putAllAndReplaceWith() {
+        SegmentedCopyOnWriteMap<Integer, String> map = new SegmentedCopyOnWriteMap<>(Map.of(1, "a", 2, "b"));
+        map.putAll(Map.of(2, "c", 3, "d"));
+        assertEquals(Map.of(1, "a", 2, "c", 3, "d"), new HashMap<>(map));
+        assertEquals(3, map.size());
+
+        map.replaceWith(Map.of(4, "e"));
+        assertEquals(Map.of(4, "e"), new HashMap<>(map));
+        assertEquals(1, map.size());
+    }
+}
@@ -0,0 +1,137 @@
+package bisq.common.fsm;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs a protocol sized Fsm (about the number of states and transitions of the BisqEasy protocols) through all its
+ * states and logs the time used. Handlers are created with an {@link EventHandlerFactory} like in the trade protocols.
+ */
+@Slf4j
+public class FsmBenchmarkTest {
+    private static final int NUM_RUNS = 100;
+    private static final EventHandlerFactory eventHandlerFactory = new EventHandlerFactory(BenchmarkModel.class);
+
+    @Test
+    void runProtocolSizedFsm() {
+        // Warm up
+        runAll(NUM_RUNS / 10);
+
+        long ts = System.nanoTime();
+        int numTransitions = runAll(NUM_RUNS);
+        long durationNs = System.nanoTime() - ts;
+        log.info("Completed {} transitions in {} ms ({} ns per transition)",
+                numTransitions, durationNs / 1_000_000, durationNs / numTransitions);
+        assertEquals(NUM_RUNS * (BenchmarkState.values().length - 1), numTransitions);
+    }
+
+    @Test
+    void testEventHandlerFactory() {
+        BenchmarkModel model = new BenchmarkModel();
+        EventHandler handler = eventHandlerFactory.create(CountingEventHandler.class, model);
+        assertSame(CountingEventHandler.class, handler.getClass());
+        assertNotSame(handler, eventHandlerFactory.create(CountingEventHandler.class, model));
+
+        handler.handle(new AdvanceEvent());
+        assertEquals(1, model.numHandledEvents);
+
+        // Constructor not matching the parameter types of the factory
+        assertThrows(FsmConfigException.class, () -> eventHandlerFactory.create(FsmTest.MockEventHandler.class, model));
+    }
+
+    private static int runAll(int numRuns) {
+        int numTransitions = 0;
+        for (int i = 0; i < numRuns; i++) {
+            BenchmarkModel model = new BenchmarkModel();
+            BenchmarkFsm fsm = new BenchmarkFsm(model);
+            while (!model.getState().isFinalState()) {
+                fsm.handle(new AdvanceEvent());
+            }
+            assertEquals(BenchmarkState.COMPLETED, model.getState());
+            numTransitions += model.numHandledEvents;
+        }
+        return numTransitions;
+    }
+
+    private static class BenchmarkFsm extends SimpleFsm<BenchmarkModel> {
+        public BenchmarkFsm(BenchmarkModel model) {
+            super(model);
+        }
+
+        @Override
+        protected void configTransitions() {
+            BenchmarkState[] states = BenchmarkState.values();
+            for (int i = 0; i < states.length - 1; i++) {
+                addTransition()
+                        .from(states[i])
+                        .on(AdvanceEvent.class)
+                        .run(CountingEventHandler.class)
+                        .to(states[i + 1]);
+                // Transitions for other events, as in the real protocols most states have more than one outgoing
+                // transition (e.g. cancel or reject).
+                addTransition()
+                        .from(states[i])
+                        .on(CancelEvent.class)
+                        .to(BenchmarkState.COMPLETED);
+            }
+        }
+
+        @Override
+        protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass) {
+            return eventHandlerFactory.create(handlerClass, model);
+        }
+    }
+
+    @Getter
+    public enum BenchmarkState implements State {
+        INIT,
+        S1, S2, S3, S4, S5, S6, S7, S8, S9, S10,
+        S11, S12, S13, S14, S15, S16, S17, S18, S19, S20,
+        COMPLETED(true);
+
+        private final boolean isFinalState;
+        private final int ordinal;
+
+        BenchmarkState() {
+            this(false);
+        }
+
+        BenchmarkState(boolean isFinalState) {
+            this.isFinalState = isFinalState;
+            ordinal = ordinal();
+        }
+    }
+
+    public static class AdvanceEvent implements Event {
+    }
+
+    public static class CancelEvent implements Event {
+    }
+
+    public static class BenchmarkModel extends FsmModel {
+        private int numHandledEvents;
+
+        public BenchmarkModel() {
+            super(BenchmarkState.INIT);
+        }
+    }
+
+    public static class CountingEventHandler implements EventHandler {
+        private final BenchmarkModel model;
+
+        public CountingEventHandler(BenchmarkModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public void handle(Event event) {
+            model.numHandledEvents++;
+        }
+    }
+}
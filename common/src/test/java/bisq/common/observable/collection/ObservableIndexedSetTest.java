@@ -0,0 +1,158 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ObservableIndexedSetTest {
+    private static class Item {
+        private final String id;
+        private final String text;
+
+        Item(String id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Item item && id.equals(item.id) && text.equals(item.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+
+    @Test
+    void addRemoveAndFind() {
+        ObservableIndexedSet<String, Item> set = new ObservableIndexedSet<>(Item::getId);
+        Item a = new Item("a", "1");
+        Item b = new Item("b", "2");
+        assertTrue(set.add(a));
+        assertTrue(set.add(b));
+        assertFalse(set.add(new Item("a", "1")));
+        assertEquals(2, set.size());
+        assertEquals(a, set.findByKey("a").orElseThrow());
+        assertTrue(set.contains(new Item("a", "1")));
+        assertFalse(set.contains(new Item("a", "other")));
+        assertFalse(set.contains("a"));
+
+        // Only removed if the element is equal
+        assertFalse(set.remove(new Item("a", "other")));
+        assertTrue(set.remove(a));
+        assertTrue(set.findByKey("a").isEmpty());
+        assertEquals(List.of(b), new ArrayList<>(set));
+    }
+
+    @Test
+    void elementWithCollidingKeyIsNotHidden() {
+        ObservableIndexedSet<String, Item> set = new ObservableIndexedSet<>(Item::getId);
+        Item a1 = new Item("a", "1");
+        Item a2 = new Item("a", "2");
+        Item a3 = new Item("a", "3");
+        assertTrue(set.add(a1));
+        assertTrue(set.add(a2));
+        assertTrue(set.add(a3));
+        assertFalse(set.add(new Item("a", "2")));
+        assertEquals(List.of(a1, a2, a3), new ArrayList<>(set));
+        assertTrue(set.contains(a2));
+        // Lookup by key returns the earliest added element
+        assertEquals(a1, set.findByKey("a").orElseThrow());
+
+        assertTrue(set.remove(a1));
+        assertEquals(a2, set.findByKey("a").orElseThrow());
+        assertTrue(set.remove(a3));
+        assertEquals(a2, set.findByKey("a").orElseThrow());
+        assertTrue(set.remove(a2));
+        assertTrue(set.findByKey("a").isEmpty());
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void insertionOrderAndSnapshotIteration() {
+        ObservableIndexedSet<String, Item> set = new ObservableIndexedSet<>(Item::getId);
+        for (int i = 0; i < 100; i++) {
+            set.add(new Item(String.valueOf(i), ""));
+        }
+        int index = 0;
+        for (Item item : set) {
+            assertEquals(String.valueOf(index++), item.getId());
+            // Changes during iteration do not affect the snapshot
+            set.remove(item);
+        }
+        assertEquals(100, index);
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void batchedNotifications() {
+        ObservableIndexedSet<String, Item> set = new ObservableIndexedSet<>(Item::getId);
+        Item a = new Item("a", "");
+        set.add(a);
+        List<Collection<? extends Item>> addedBatches = new ArrayList<>();
+        List<Collection<?>> removedBatches = new ArrayList<>();
+        set.addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(Item element) {
+            }
+
+            @Override
+            public void addAll(Collection<? extends Item> values) {
+                addedBatches.add(values);
+            }
+
+            @Override
+            public void remove(Object element) {
+            }
+
+            @Override
+            public void removeAll(Collection<?> values) {
+                removedBatches.add(values);
+            }
+
+            @Override
+            public void clear() {
+            }
+        });
+        addedBatches.clear();
+
+        Item b = new Item("b", "");
+        Item c = new Item("c", "");
+        assertTrue(set.addAll(List.of(a, b, c)));
+        assertEquals(List.of(List.of(b, c)), addedBatches);
+        assertFalse(set.addAll(List.of(a, b)));
+        assertEquals(1, addedBatches.size());
+
+        assertTrue(set.removeAll(List.of(a, new Item("x", ""))));
+        assertEquals(List.of(List.of(a)), removedBatches);
+    }
+}
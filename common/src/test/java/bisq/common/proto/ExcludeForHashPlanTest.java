@@ -0,0 +1,87 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.common.proto;
+
+import bisq.common.annotation.ExcludeForHash;
+import com.google.protobuf.Descriptors;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExcludeForHashPlanTest {
+    @SuppressWarnings("unused")
+    private static class WithExcludedFields {
+        @ExcludeForHash
+        private String parentValue;
+        @ExcludeForHash(excludeOnlyInVersions = {1, 2})
+        private String child;
+        @ExcludeForHash
+        private String notInProto;
+        private String notExcluded;
+    }
+
+    @SuppressWarnings("unused")
+    private static class WithoutExcludedFields {
+        private String parentValue;
+    }
+
+    @Test
+    void planIsCachedPerClass() {
+        assertSame(ExcludeForHashPlan.get(WithExcludedFields.class), ExcludeForHashPlan.get(WithExcludedFields.class));
+    }
+
+    @Test
+    void excludedFieldNamesByVersion() {
+        ExcludeForHashPlan plan = ExcludeForHashPlan.get(WithExcludedFields.class);
+        assertFalse(plan.isEmpty());
+        assertEquals(Set.of("parentValue", "notInProto"), plan.getExcludedFieldNames(0));
+        assertEquals(Set.of("parentValue", "child", "notInProto"), plan.getExcludedFieldNames(1));
+        assertEquals(Set.of("parentValue", "child", "notInProto"), plan.getExcludedFieldNames(2));
+        assertEquals(Set.of("parentValue", "notInProto"), plan.getExcludedFieldNames(3));
+        assertSame(plan.getExcludedFieldNames(1), plan.getExcludedFieldNames(1));
+    }
+
+    @Test
+    void fieldDescriptorsByVersion() {
+        ExcludeForHashPlan plan = ExcludeForHashPlan.get(WithExcludedFields.class);
+        Descriptors.Descriptor descriptor = bisq.common.test.protobuf.Parent.getDescriptor();
+        // Fields without a matching proto field are ignored
+        assertEquals(Set.of("parentValue"), toNames(plan, 0, descriptor));
+        assertEquals(Set.of("parentValue", "child"), toNames(plan, 1, descriptor));
+        assertSame(plan.getFieldDescriptors(1, descriptor), plan.getFieldDescriptors(1, descriptor));
+    }
+
+    @Test
+    void classWithoutExcludedFields() {
+        ExcludeForHashPlan plan = ExcludeForHashPlan.get(WithoutExcludedFields.class);
+        assertTrue(plan.isEmpty());
+        assertTrue(plan.getExcludedFieldNames(0).isEmpty());
+        assertTrue(plan.getFieldDescriptors(0, bisq.common.test.protobuf.Parent.getDescriptor()).isEmpty());
+    }
+
+    private static Set<String> toNames(ExcludeForHashPlan plan, int version, Descriptors.Descriptor descriptor) {
+        return plan.getFieldDescriptors(version, descriptor).stream()
+                .map(Descriptors.FieldDescriptor::getName)
+                .collect(Collectors.toSet());
+    }
+}
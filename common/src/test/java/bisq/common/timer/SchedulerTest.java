@@ -0,0 +1,101 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SchedulerTest {
+    @Test
+    void after() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long ts = System.currentTimeMillis();
+        Scheduler.run(latch::countDown).after(50);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - ts >= 50);
+    }
+
+    @Test
+    void stopBeforeExecution() throws InterruptedException {
+        AtomicBoolean executed = new AtomicBoolean();
+        Scheduler scheduler = Scheduler.run(() -> executed.set(true)).after(50);
+        scheduler.stop();
+        Thread.sleep(200);
+        assertFalse(executed.get());
+    }
+
+    @Test
+    void repeated() throws InterruptedException {
+        AtomicInteger numRuns = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(3);
+        Scheduler scheduler = Scheduler.run(() -> {
+            numRuns.incrementAndGet();
+            latch.countDown();
+        }).repeated(20, 3);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        assertEquals(3, numRuns.get());
+        assertEquals(3, scheduler.getCounter());
+    }
+
+    @Test
+    void periodicRunsDoNotOverlap() throws InterruptedException {
+        AtomicInteger numConcurrentRuns = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch latch = new CountDownLatch(5);
+        Scheduler scheduler = Scheduler.run(() -> {
+            if (numConcurrentRuns.incrementAndGet() > 1) {
+                overlapped.set(true);
+            }
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException ignore) {
+            }
+            numConcurrentRuns.decrementAndGet();
+            latch.countDown();
+        }).periodically(1);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        scheduler.stop();
+        assertFalse(overlapped.get());
+    }
+
+    @Test
+    void slowTaskDoesNotDelayOtherTasks() throws InterruptedException {
+        CountDownLatch blockingTaskLatch = new CountDownLatch(1);
+        Scheduler.run(() -> {
+            try {
+                blockingTaskLatch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignore) {
+            }
+        }).after(10);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Scheduler.run(latch::countDown).after(50);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        blockingTaskLatch.countDown();
+        assertTrue(Scheduler.getTimer().getNumExecutedTasks().get() > 0);
+    }
+}
@@ -155,6 +155,7 @@ public class JvmMemoryReportService implements MemoryReportService {
                     StringUtils.formatBytes(runtime.maxMemory()),
                     Thread.activeCount());
         }
+        log.info("Scheduler timer: {}", Scheduler.getTimer().getMetricsAsString());
     }
 
     @Override
@@ -0,0 +1,236 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p;
+
+import bisq.common.application.ApplicationVersion;
+import bisq.common.network.Address;
+import bisq.common.network.DefaultLocalhostFacade;
+import bisq.common.network.DefaultPeerSocket;
+import bisq.common.network.TransportType;
+import bisq.network.p2p.message.NetworkEnvelope;
+import bisq.network.p2p.node.Capability;
+import bisq.network.p2p.node.Feature;
+import bisq.network.p2p.node.authorization.AuthorizationService;
+import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.authorization.AuthorizationTokenType;
+import bisq.network.p2p.node.envelope.NetworkEnvelopeSelector;
+import bisq.network.p2p.node.envelope.NetworkEnvelopeSocket;
+import bisq.network.p2p.node.envelope.NetworkEnvelopeSocketChannel;
+import bisq.network.p2p.node.handshake.ConnectionHandshake;
+import bisq.network.p2p.node.network_load.NetworkLoad;
+import bisq.security.pow.equihash.EquihashProofOfWorkService;
+import bisq.security.pow.hashcash.HashCashProofOfWorkService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the thread usage and receive throughput of the blocking read loop (one thread per connection) with the
+ * selector based non-blocking reading, at the transport level (framing and proto parsing, no handshake).
+ */
+@Slf4j
+public class ConnectionScalingBenchmark {
+    private static final int NUM_CONNECTIONS = 200;
+    private static final int NUM_MESSAGES_PER_CONNECTION = 50;
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    @Test
+    void blockingVersusNonBlocking() throws Exception {
+        byte[] delimitedEnvelope = createDelimitedEnvelope();
+
+        Result blocking = runBlocking(delimitedEnvelope);
+        Result nonBlocking = runNonBlocking(delimitedEnvelope);
+
+        log.info("Blocking:     {} connections, {} messages in {} ms, {} additional threads",
+                NUM_CONNECTIONS, blocking.numMessages, blocking.durationMs, blocking.numAdditionalThreads);
+        log.info("Non-blocking: {} connections, {} messages in {} ms, {} additional threads",
+                NUM_CONNECTIONS, nonBlocking.numMessages, nonBlocking.durationMs, nonBlocking.numAdditionalThreads);
+
+        assertThat(blocking.numMessages).isEqualTo(NUM_CONNECTIONS * NUM_MESSAGES_PER_CONNECTION);
+        assertThat(nonBlocking.numMessages).isEqualTo(NUM_CONNECTIONS * NUM_MESSAGES_PER_CONNECTION);
+        assertThat(nonBlocking.numAdditionalThreads).isLessThan(blocking.numAdditionalThreads);
+    }
+
+    private Result runBlocking(byte[] delimitedEnvelope) throws Exception {
+        int threadsBefore = threadMXBean.getThreadCount();
+        CountDownLatch receivedLatch = new CountDownLatch(NUM_CONNECTIONS * NUM_MESSAGES_PER_CONNECTION);
+        ExecutorService readPool = Executors.newCachedThreadPool();
+        try (ServerSocketChannel serverSocketChannel = ServerSocketChannel.open()) {
+            InetSocketAddress serverAddress = bind(serverSocketChannel);
+            List<SocketChannel> clients = connectClients(serverAddress);
+            List<Socket> serverSockets = new ArrayList<>();
+            for (int i = 0; i < NUM_CONNECTIONS; i++) {
+                Socket socket = serverSocketChannel.accept().socket();
+                serverSockets.add(socket);
+                NetworkEnvelopeSocket networkEnvelopeSocket = new NetworkEnvelopeSocket(new DefaultPeerSocket(socket));
+                readPool.submit(() -> {
+                    try {
+                        while (!socket.isClosed()) {
+                            if (networkEnvelopeSocket.receiveNextEnvelope() == null) {
+                                return;
+                            }
+                            receivedLatch.countDown();
+                        }
+                    } catch (IOException ignore) {
+                    }
+                });
+            }
+
+            long ts = System.currentTimeMillis();
+            sendFromAllClients(clients, delimitedEnvelope);
+            boolean completed = receivedLatch.await(2, TimeUnit.MINUTES);
+            long durationMs = System.currentTimeMillis() - ts;
+            int additionalThreads = threadMXBean.getThreadCount() - threadsBefore;
+
+            close(clients);
+            for (Socket socket : serverSockets) {
+                socket.close();
+            }
+            assertThat(completed).isTrue();
+            return new Result(NUM_CONNECTIONS * NUM_MESSAGES_PER_CONNECTION - receivedLatch.getCount(), durationMs, additionalThreads);
+        } finally {
+            readPool.shutdownNow();
+        }
+    }
+
+    private Result runNonBlocking(byte[] delimitedEnvelope) throws Exception {
+        int threadsBefore = threadMXBean.getThreadCount();
+        CountDownLatch receivedLatch = new CountDownLatch(NUM_CONNECTIONS * NUM_MESSAGES_PER_CONNECTION);
+        NetworkEnvelopeSelector networkEnvelopeSelector = new NetworkEnvelopeSelector("Benchmark.selector", 2);
+        try (ServerSocketChannel serverSocketChannel = ServerSocketChannel.open()) {
+            InetSocketAddress serverAddress = bind(serverSocketChannel);
+            List<SocketChannel> clients = connectClients(serverAddress);
+            List<SocketChannel> serverChannels = new ArrayList<>();
+            for (int i = 0; i < NUM_CONNECTIONS; i++) {
+                SocketChannel socketChannel = serverSocketChannel.accept();
+                serverChannels.add(socketChannel);
+                NetworkEnvelopeSocketChannel networkEnvelopeSocketChannel = new NetworkEnvelopeSocketChannel(socketChannel, 16 * 1024);
+                networkEnvelopeSelector.register(socketChannel, new NetworkEnvelopeSelector.Handler() {
+                    @Override
+                    public void onRegistered(SelectionKey selectionKey) {
+                        networkEnvelopeSocketChannel.setSelectionKey(selectionKey);
+                    }
+
+                    @Override
+                    public void onReadable() throws IOException {
+                        networkEnvelopeSocketChannel.receiveNetworkEnvelopeProtos().forEach(proto -> receivedLatch.countDown());
+                    }
+
+                    @Override
+                    public void onWritable() throws IOException {
+                        networkEnvelopeSocketChannel.flushPendingWrites();
+                    }
+
+                    @Override
+                    public void onException(Exception exception) {
+                        log.debug("Exception at benchmark channel", exception);
+                    }
+                });
+            }
+
+            long ts = System.currentTimeMillis();
+            sendFromAllClients(clients, delimitedEnvelope);
+            boolean completed = receivedLatch.await(2, TimeUnit.MINUTES);
+            long durationMs = System.currentTimeMillis() - ts;
+            int additionalThreads = threadMXBean.getThreadCount() - threadsBefore;
+
+            close(clients);
+            close(serverChannels);
+            assertThat(completed).isTrue();
+            return new Result(NUM_CONNECTIONS * NUM_MESSAGES_PER_CONNECTION - receivedLatch.getCount(), durationMs, additionalThreads);
+        } finally {
+            networkEnvelopeSelector.shutdown();
+        }
+    }
+
+    private static InetSocketAddress bind(ServerSocketChannel serverSocketChannel) throws IOException {
+        serverSocketChannel.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), NUM_CONNECTIONS);
+        return (InetSocketAddress) serverSocketChannel.getLocalAddress();
+    }
+
+    private static List<SocketChannel> connectClients(InetSocketAddress serverAddress) throws IOException {
+        List<SocketChannel> clients = new ArrayList<>();
+        for (int i = 0; i < NUM_CONNECTIONS; i++) {
+            clients.add(SocketChannel.open(serverAddress));
+        }
+        return clients;
+    }
+
+    private static void sendFromAllClients(List<SocketChannel> clients, byte[] delimitedEnvelope) throws IOException {
+        for (int i = 0; i < NUM_MESSAGES_PER_CONNECTION; i++) {
+            for (SocketChannel client : clients) {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(delimitedEnvelope);
+                while (byteBuffer.hasRemaining()) {
+                    client.write(byteBuffer);
+                }
+            }
+        }
+    }
+
+    private static void close(List<SocketChannel> socketChannels) throws IOException {
+        for (SocketChannel socketChannel : socketChannels) {
+            socketChannel.close();
+        }
+    }
+
+    private static byte[] createDelimitedEnvelope() throws IOException {
+        List<TransportType> supportedTransportTypes = List.of(TransportType.CLEAR);
+        Capability peerCapability = createCapability(DefaultLocalhostFacade.toLocalHostAddress(2345), supportedTransportTypes);
+        ConnectionHandshake.Request request = new ConnectionHandshake.Request(peerCapability, Optional.empty(), new NetworkLoad(), 0);
+        AuthorizationService authorizationService = new AuthorizationService(new AuthorizationService.Config(List.of(AuthorizationTokenType.HASH_CASH)),
+                new HashCashProofOfWorkService(),
+                new EquihashProofOfWorkService(),
+                Set.of(Feature.AUTHORIZATION_HASH_CASH));
+        AuthorizationToken token = authorizationService.createToken(request,
+                new NetworkLoad(),
+                DefaultLocalhostFacade.toLocalHostAddress(1234).getFullAddress(),
+                0, new ArrayList<>());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new NetworkEnvelope(token, request).writeDelimitedTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static Capability createCapability(Address address, List<TransportType> supportedTransportTypes) {
+        return new Capability(Capability.VERSION, address, supportedTransportTypes, new ArrayList<>(), ApplicationVersion.getVersion().getVersionAsString());
+    }
+
+    private record Result(long numMessages, long durationMs, int numAdditionalThreads) {
+    }
+}
@@ -38,6 +38,7 @@ import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.message.NetworkEnvelope;
 import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
+import bisq.network.p2p.node.envelope.NetworkEnvelopeSelector;
 import bisq.network.p2p.node.network_load.NetworkLoadService;
 import bisq.network.p2p.node.transport.BootstrapInfo;
 import bisq.network.p2p.services.confidential.ConfidentialMessageService;
@@ -75,8 +76,10 @@ import java.security.PublicKey;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static bisq.common.network.TransportType.TOR;
 import static bisq.network.p2p.services.data.DataService.Listener;
@@ -92,6 +95,9 @@ import static java.util.concurrent.CompletableFuture.supplyAsync;
 public class NetworkService implements PersistenceClient<NetworkServiceStore>, Service {
     public static final ExecutorService NETWORK_IO_POOL = ExecutorFactory.newCachedThreadPool("Network.IO", 5, 3000, 5);
     public static final ExecutorService DISPATCHER = ExecutorFactory.newSingleThreadExecutor("Network.dispatcher");
+    // Only used by nodes configured with nonBlockingIo. Selector threads are started lazily at first registration.
+    public static final NetworkEnvelopeSelector NETWORK_ENVELOPE_SELECTOR = new NetworkEnvelopeSelector("Network.selector",
+            Math.min(4, Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
 
     @Getter
     private final NetworkServiceStore persistableStore = new NetworkServiceStore();
@@ -210,6 +216,7 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
                     resendMessageService.ifPresent(ResendMessageService::shutdown);
                     // networkLoadService.ifPresent(NetworkLoadService::shutdown);
                     dataService.ifPresent(DataService::shutdown);
+                    httpClientsByTransport.shutdown();
                     return true;
                 })
                 .thenCompose(result -> serviceNodesByTransport.shutdown()
@@ -356,15 +363,72 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
         checkArgument(dataService.isPresent(), "DataService must be supported when addData is called.");
         log.info("Publish authorizedData: {}", authorizedDistributedData.getClassName());
         try {
-            byte[] signature = SignatureUtil.sign(authorizedDistributedData.serializeForHash(), authorizedPrivateKey);
-            AuthorizedData authorizedData = new AuthorizedData(authorizedDistributedData, Optional.of(signature), authorizedPublicKey);
+            AuthorizedData authorizedData = toAuthorizedData(authorizedDistributedData, authorizedPrivateKey, authorizedPublicKey);
             return dataService.get().addAuthorizedData(authorizedData, keyPair);
         } catch (GeneralSecurityException e) {
-            e.printStackTrace();
+            log.error("Signing authorizedData failed", e);
             return CompletableFuture.failedFuture(e);
         }
     }
 
+    /**
+     * Publishes a list of authorized data. All items get signed in one pass before any of them is added, so that a
+     * signing failure does not lead to a partially published list. The items are then added in a sliding window: an
+     * item is in flight until all its broadcasts have completed, and the next item gets added as soon as one of the
+     * maxInFlight items completed. The returned future completes once all broadcasts have completed.
+     */
+    public CompletableFuture<List<BroadcastResult>> publishAuthorizedData(List<? extends AuthorizedDistributedData> authorizedDistributedDataList,
+                                                                          KeyPair keyPair,
+                                                                          PrivateKey authorizedPrivateKey,
+                                                                          PublicKey authorizedPublicKey,
+                                                                          int maxInFlight) {
+        checkArgument(maxInFlight > 0, "maxInFlight must be positive");
+        checkArgument(dataService.isPresent(), "DataService must be supported when addData is called.");
+        log.info("Publish {} authorizedData", authorizedDistributedDataList.size());
+        List<AuthorizedData> authorizedDataList = new ArrayList<>(authorizedDistributedDataList.size());
+        try {
+            for (AuthorizedDistributedData authorizedDistributedData : authorizedDistributedDataList) {
+                authorizedDataList.add(toAuthorizedData(authorizedDistributedData, authorizedPrivateKey, authorizedPublicKey));
+            }
+        } catch (GeneralSecurityException e) {
+            log.error("Signing authorizedData failed", e);
+            return CompletableFuture.failedFuture(e);
+        }
+        BroadcastResult[] broadcastResults = new BroadcastResult[authorizedDataList.size()];
+        AtomicInteger nextIndex = new AtomicInteger();
+        CompletableFuture<?>[] slots = new CompletableFuture[Math.min(maxInFlight, authorizedDataList.size())];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = addNextAuthorizedData(authorizedDataList, keyPair, nextIndex, broadcastResults);
+        }
+        return CompletableFuture.allOf(slots).thenApply(nil -> Arrays.asList(broadcastResults));
+    }
+
+    // Adds the next item once the broadcasts of the previous item in this slot have completed
+    private CompletableFuture<Void> addNextAuthorizedData(List<AuthorizedData> authorizedDataList,
+                                                          KeyPair keyPair,
+                                                          AtomicInteger nextIndex,
+                                                          BroadcastResult[] broadcastResults) {
+        int index = nextIndex.getAndIncrement();
+        if (index >= authorizedDataList.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return dataService.get().addAuthorizedData(authorizedDataList.get(index), keyPair)
+                .exceptionally(throwable -> new BroadcastResult(Stream.of(CompletableFuture.failedFuture(throwable))))
+                .thenCompose(broadcastResult -> {
+                    broadcastResults[index] = broadcastResult;
+                    return CompletableFuture.allOf(broadcastResult.toArray(CompletableFuture[]::new))
+                            .exceptionally(throwable -> null);
+                })
+                .thenCompose(nil -> addNextAuthorizedData(authorizedDataList, keyPair, nextIndex, broadcastResults));
+    }
+
+    private static AuthorizedData toAuthorizedData(AuthorizedDistributedData authorizedDistributedData,
+                                                   PrivateKey authorizedPrivateKey,
+                                                   PublicKey authorizedPublicKey) throws GeneralSecurityException {
+        byte[] signature = SignatureUtil.sign(authorizedDistributedData.serializeForHash(), authorizedPrivateKey);
+        return new AuthorizedData(authorizedDistributedData, Optional.of(signature), authorizedPublicKey);
+    }
+
     public CompletableFuture<BroadcastResult> removeAuthorizedData(AuthorizedDistributedData authorizedDistributedData,
                                                                    KeyPair keyPair) {
         return removeAuthorizedData(authorizedDistributedData, keyPair, keyPair.getPublic());
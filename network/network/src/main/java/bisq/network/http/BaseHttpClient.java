@@ -20,21 +20,35 @@ package bisq.network.http;
 import bisq.common.data.Pair;
 import bisq.common.util.StringUtils;
 import bisq.network.http.utils.HttpMethod;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Base class for the http clients. A client is used for one base url (host) and can be used for concurrent requests.
+ * The implementations keep the connections alive for reuse by later requests. The number of concurrent requests is
+ * limited to MAX_CONCURRENT_REQUESTS, further requests wait for a free slot up to the request timeout.
+ */
 @Slf4j
 public abstract class BaseHttpClient implements HttpClient {
+    public static final int MAX_CONCURRENT_REQUESTS = 4;
+    public static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
     public final String baseUrl;
     public final String userAgent;
     protected final String uid;
-
-    public boolean hasPendingRequest;
+    @Getter
+    protected final HttpRequestMetrics metrics = new HttpRequestMetrics();
+    private final Semaphore requestPermits = new Semaphore(MAX_CONCURRENT_REQUESTS, true);
+    protected volatile boolean shutdownStarted;
 
     public BaseHttpClient(String baseUrl, String userAgent) {
         this.baseUrl = baseUrl;
@@ -45,17 +59,17 @@ public abstract class BaseHttpClient implements HttpClient {
 
     @Override
     public String get(String param, Optional<Pair<String, String>> optionalHeader) throws IOException {
-        return doRequest(param, HttpMethod.GET, optionalHeader);
+        return request(param, HttpMethod.GET, optionalHeader);
     }
 
     @Override
     public String post(String param, Optional<Pair<String, String>> optionalHeader) throws IOException {
-        return doRequest(param, HttpMethod.POST, optionalHeader);
+        return request(param, HttpMethod.POST, optionalHeader);
     }
 
     @Override
     public boolean hasPendingRequest() {
-        return hasPendingRequest;
+        return metrics.getNumPendingRequests() > 0;
     }
 
     @Override
@@ -63,6 +77,10 @@ public abstract class BaseHttpClient implements HttpClient {
         return baseUrl;
     }
 
+    public boolean isShutdownStarted() {
+        return shutdownStarted;
+    }
+
     protected abstract String doRequest(String param,
                                         HttpMethod httpMethod,
                                         Optional<Pair<String, String>> optionalHeader) throws IOException;
@@ -81,4 +99,33 @@ public abstract class BaseHttpClient implements HttpClient {
     protected boolean isSuccess(int statusCode) {
         return statusCode >= 200 && statusCode < 300;
     }
+
+    private String request(String param,
+                           HttpMethod httpMethod,
+                           Optional<Pair<String, String>> optionalHeader) throws IOException {
+        if (shutdownStarted) {
+            throw new IOException("Request to " + baseUrl + " rejected as shutdown has already started");
+        }
+        try {
+            if (!requestPermits.tryAcquire(REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Request to " + baseUrl + " timed out while waiting for one of the " +
+                        MAX_CONCURRENT_REQUESTS + " pending requests to complete");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a free request slot at " + baseUrl, e);
+        }
+
+        metrics.onRequestStarted();
+        long ts = System.currentTimeMillis();
+        boolean success = false;
+        try {
+            String response = doRequest(param, httpMethod, optionalHeader);
+            success = true;
+            return response;
+        } finally {
+            metrics.onRequestCompleted(System.currentTimeMillis() - ts, success);
+            requestPermits.release();
+        }
+    }
 }
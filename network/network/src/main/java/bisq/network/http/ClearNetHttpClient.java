@@ -18,7 +18,6 @@
 package bisq.network.http;
 
 import bisq.common.data.Pair;
-import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.ExceptionUtil;
 import bisq.common.util.StringUtils;
 import bisq.network.http.utils.HttpException;
@@ -26,116 +25,101 @@ import bisq.network.http.utils.HttpMethod;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.net.ProxySelector;
 import java.net.URI;
-import java.net.URL;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
-import static com.google.common.base.Preconditions.checkArgument;
-
+/**
+ * Uses the JDK http client, which keeps the connections alive and supports concurrent requests (multiplexed if the
+ * server supports HTTP/2).
+ */
 @Slf4j
 public class ClearNetHttpClient extends BaseHttpClient {
-    private Proxy proxy;
-    private HttpURLConnection connection;
+    private final java.net.http.HttpClient httpClient;
+    private final Set<CompletableFuture<HttpResponse<String>>> pendingResponses = ConcurrentHashMap.newKeySet();
 
     public ClearNetHttpClient(String baseUrl, String userAgent) {
-        super(baseUrl, userAgent);
+        this(baseUrl, userAgent, null);
     }
 
     public ClearNetHttpClient(String baseUrl, String userAgent, Proxy proxy) {
         super(baseUrl, userAgent);
-        this.proxy = proxy;
+
+        java.net.http.HttpClient.Builder builder = java.net.http.HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .followRedirects(java.net.http.HttpClient.Redirect.NORMAL);
+        if (proxy != null && proxy.address() instanceof InetSocketAddress proxyAddress) {
+            // Allows I2P connections
+            // Translation across networks happens via an HTTP proxy exposed by the I2P router
+            builder.proxy(ProxySelector.of(proxyAddress));
+        }
+        httpClient = builder.build();
     }
 
     @Override
     public CompletableFuture<Boolean> shutdown() {
-        if (connection == null) {
-            hasPendingRequest = false;
-            return CompletableFuture.completedFuture(true);
-        }
-        CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(() -> {
-                    try {
-                        if (connection != null) {
-                            // blocking call if connection has issues
-                            connection.getInputStream().close();
-                            if (connection != null) {
-                                connection.disconnect();
-                            }
-                            return true;
-                        } else {
-                            return false;
-                        }
-                    } catch (IOException e) {
-                        log.error("Error at shutdown {}", ExceptionUtil.getRootCauseMessage(e));
-                        return false;
-                    }
-                }, ExecutorFactory.newSingleThreadExecutor("ClearNetHttpClient-shutdown"))
-                .orTimeout(500, TimeUnit.MILLISECONDS)
-                .whenComplete((result, throwable) -> {
-                    if (throwable != null) {
-                        log.warn("Error at shutdown: {}", ExceptionUtil.getRootCauseMessage(throwable));
-                    }
-                });
-        connection = null;
-        return future;
+        shutdownStarted = true;
+        // The connections of the JDK http client get closed once idle, we only need to cancel the pending requests
+        pendingResponses.forEach(future -> future.cancel(true));
+        pendingResponses.clear();
+        return CompletableFuture.completedFuture(true);
     }
 
     @Override
     protected String doRequest(String param, HttpMethod httpMethod, Optional<Pair<String, String>> optionalHeader) throws IOException {
-        checkArgument(!hasPendingRequest, "We got called on the same HttpClient again while a request is still open.");
-        hasPendingRequest = true;
-
         long ts = System.currentTimeMillis();
         log.debug("requestWithoutProxy: URL={}, param={}, httpMethod={}", baseUrl, param, httpMethod);
         String spec = httpMethod == HttpMethod.GET ? baseUrl + "/" + param : baseUrl;
+        CompletableFuture<HttpResponse<String>> future = null;
         try {
-            URL url = new URI(spec).toURL();
-            if (proxy == null) {
-                connection = (HttpURLConnection) url.openConnection();
+            HttpRequest.Builder builder = HttpRequest.newBuilder(new URI(spec))
+                    .timeout(REQUEST_TIMEOUT)
+                    .setHeader("User-Agent", userAgent);
+            optionalHeader.ifPresent(header -> builder.setHeader(header.getFirst(), header.getSecond()));
+            if (httpMethod == HttpMethod.POST) {
+                builder.POST(HttpRequest.BodyPublishers.ofString(param, StandardCharsets.UTF_8));
             } else {
-                // Allows I2P connections
-                // Translation across networks happens via an HTTP proxy exposed by the I2P router
-                connection = (HttpURLConnection) url.openConnection(proxy);
+                builder.GET();
             }
-            connection.setRequestMethod(httpMethod.name());
-            connection.setConnectTimeout((int) TimeUnit.SECONDS.toMillis(30));
-            connection.setReadTimeout((int) TimeUnit.SECONDS.toMillis(30));
-            connection.setRequestProperty("User-Agent", userAgent);
-            optionalHeader.ifPresent(header -> connection.setRequestProperty(header.getFirst(), header.getSecond()));
 
-            if (httpMethod == HttpMethod.POST) {
-                connection.setDoOutput(true);
-                connection.getOutputStream().write(param.getBytes(StandardCharsets.UTF_8));
+            future = httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            pendingResponses.add(future);
+            if (shutdownStarted) {
+                future.cancel(true);
             }
-
-            int responseCode = connection.getResponseCode();
+            HttpResponse<String> response = future.get(2 * REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            int responseCode = response.statusCode();
+            String body = response.body();
             if (isSuccess(responseCode)) {
-                String response = inputStreamToString(connection.getInputStream());
                 log.debug("Response from {} with param {} took {} ms. Data size:{}, response: {}",
                         baseUrl,
                         param,
                         System.currentTimeMillis() - ts,
-                        StringUtils.fromBytes(response.getBytes().length),
-                        StringUtils.truncate(response, 100));
-                return response;
+                        StringUtils.fromBytes(body.getBytes().length),
+                        StringUtils.truncate(body, 100));
+                return body;
             }
 
-            InputStream errorStream = connection.getErrorStream();
-            if (errorStream != null) {
-                String error = inputStreamToString(errorStream);
-                errorStream.close();
+            if (body != null && !body.isEmpty()) {
                 log.info("Received errorMsg '{}' with responseCode {} from {}. Response took: {} ms. param: {}",
-                        error,
+                        body,
                         responseCode,
                         baseUrl,
                         System.currentTimeMillis() - ts,
                         param);
-                throw new HttpException(error, responseCode);
+                throw new HttpException(body, responseCode);
             } else {
                 log.info("Response with responseCode {} from {}. Response took: {} ms. param: {}",
                         responseCode,
@@ -144,19 +128,24 @@ public class ClearNetHttpClient extends BaseHttpClient {
                         param);
                 throw new HttpException("Request failed", responseCode);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Request to " + baseUrl + "/" + param + " got interrupted", e);
+        } catch (ExecutionException e) {
+            String message = "Request to " + baseUrl + "/" + param + " failed with error: " + ExceptionUtil.getRootCauseMessage(e);
+            throw new IOException(message, e.getCause());
+        } catch (CancellationException | TimeoutException e) {
+            if (future != null) {
+                future.cancel(true);
+            }
+            throw new IOException("Request to " + baseUrl + "/" + param + " got cancelled or timed out", e);
         } catch (Exception e) {
             String message = "Request to " + baseUrl + "/" + param + " failed with error: " + ExceptionUtil.getRootCauseMessage(e);
             throw new IOException(message, e);
         } finally {
-            try {
-                if (connection != null) {
-                    connection.getInputStream().close();
-                    connection.disconnect();
-                    connection = null;
-                }
-            } catch (Throwable ignore) {
+            if (future != null) {
+                pendingResponses.remove(future);
             }
-            hasPendingRequest = false;
         }
     }
 }
@@ -20,12 +20,23 @@ package bisq.network.http;
 import bisq.common.network.TransportType;
 import bisq.network.http.utils.Socks5ProxyProvider;
 import com.runjva.sourceforge.jsocks.protocol.Socks5Proxy;
+import lombok.extern.slf4j.Slf4j;
 
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Creates the http clients and keeps them for reuse, so that all requests to the same base url share the pooled
+ * connections of one client.
+ */
+@Slf4j
 public class HttpClientsByTransport {
+    private final Map<String, BaseHttpClient> httpClientByKey = new ConcurrentHashMap<>();
+
     public HttpClientsByTransport() {
     }
 
@@ -34,6 +45,28 @@ public class HttpClientsByTransport {
                                         TransportType transportType,
                                         Optional<Socks5Proxy> socksProxy,
                                         Optional<String> socks5ProxyAddress) {
+        String key = transportType.name() + "_" + url + "_" + userAgent;
+        // A client which got shut down by its user gets replaced by a new one
+        return httpClientByKey.compute(key, (k, httpClient) -> httpClient == null || httpClient.isShutdownStarted()
+                ? createHttpClient(url, userAgent, transportType, socksProxy, socks5ProxyAddress)
+                : httpClient);
+    }
+
+    public CompletableFuture<Boolean> shutdown() {
+        httpClientByKey.values().forEach(httpClient ->
+                log.info("Shutdown http client for {}. {}", httpClient.getBaseUrl(), httpClient.getMetrics()));
+        CompletableFuture<?>[] futures = httpClientByKey.values().stream()
+                .map(BaseHttpClient::shutdown)
+                .toArray(CompletableFuture[]::new);
+        httpClientByKey.clear();
+        return CompletableFuture.allOf(futures).thenApply(nil -> true);
+    }
+
+    private BaseHttpClient createHttpClient(String url,
+                                            String userAgent,
+                                            TransportType transportType,
+                                            Optional<Socks5Proxy> socksProxy,
+                                            Optional<String> socks5ProxyAddress) {
         return switch (transportType) {
             case TOR -> {
                 Socks5ProxyProvider socks5ProxyProvider = socks5ProxyAddress
@@ -52,4 +85,4 @@ public class HttpClientsByTransport {
             case CLEAR -> new ClearNetHttpClient(url, userAgent);
         };
     }
-}
\ No newline at end of file
+}
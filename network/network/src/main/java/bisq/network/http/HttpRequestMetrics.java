@@ -0,0 +1,90 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.http;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Number of requests and their latency for one http client. Thread safe, as requests can run concurrently.
+ */
+public class HttpRequestMetrics {
+    private final AtomicInteger numPendingRequests = new AtomicInteger();
+    private final AtomicLong numSuccessfulRequests = new AtomicLong();
+    private final AtomicLong numFailedRequests = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+    private volatile long lastLatency;
+
+    void onRequestStarted() {
+        numPendingRequests.incrementAndGet();
+    }
+
+    void onRequestCompleted(long latency, boolean success) {
+        numPendingRequests.decrementAndGet();
+        if (success) {
+            numSuccessfulRequests.incrementAndGet();
+        } else {
+            numFailedRequests.incrementAndGet();
+        }
+        totalLatency.addAndGet(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+        lastLatency = latency;
+    }
+
+    public int getNumPendingRequests() {
+        return numPendingRequests.get();
+    }
+
+    public long getNumSuccessfulRequests() {
+        return numSuccessfulRequests.get();
+    }
+
+    public long getNumFailedRequests() {
+        return numFailedRequests.get();
+    }
+
+    public long getNumCompletedRequests() {
+        return getNumSuccessfulRequests() + getNumFailedRequests();
+    }
+
+    public long getAverageLatency() {
+        long numCompletedRequests = getNumCompletedRequests();
+        return numCompletedRequests == 0 ? 0 : totalLatency.get() / numCompletedRequests;
+    }
+
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+
+    public long getLastLatency() {
+        return lastLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpRequestMetrics{" +
+                "numPendingRequests=" + getNumPendingRequests() +
+                ", numSuccessfulRequests=" + getNumSuccessfulRequests() +
+                ", numFailedRequests=" + getNumFailedRequests() +
+                ", averageLatency=" + getAverageLatency() + " ms" +
+                ", maxLatency=" + getMaxLatency() + " ms" +
+                ", lastLatency=" + getLastLatency() + " ms" +
+                "}";
+    }
+}
@@ -18,32 +18,40 @@
 package bisq.network.http;
 
 import bisq.common.data.Pair;
-import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.StringUtils;
 import bisq.network.http.utils.HttpMethod;
 import bisq.network.http.utils.Socks5ProxyProvider;
 import com.runjva.sourceforge.jsocks.protocol.Socks5Proxy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.core5.http.HttpHost;
 import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 
-import static com.google.common.base.Preconditions.*;
+import static com.google.common.base.Preconditions.checkNotNull;
 
+/**
+ * Requests are sent over the Tor socks proxy. The client and its connection pool are created at the first request
+ * and used for all requests until shutdown, so that connections (and their Tor circuits) get reused.
+ */
 @Slf4j
 public class TorHttpClient extends BaseHttpClient {
+    private static final TimeValue MAX_IDLE_TIME = TimeValue.ofSeconds(60);
+
     private final Socks5ProxyProvider socks5ProxyProvider;
     private CloseableHttpClient closeableHttpClient;
-    private volatile boolean shutdownStarted;
 
     public TorHttpClient(String baseUrl, String userAgent, Socks5ProxyProvider socks5ProxyProvider) {
         super(baseUrl, userAgent);
@@ -53,61 +61,29 @@ public class TorHttpClient extends BaseHttpClient {
     @Override
     public CompletableFuture<Boolean> shutdown() {
         shutdownStarted = true;
-        if (closeableHttpClient == null) {
-            hasPendingRequest = false;
-            return CompletableFuture.completedFuture(true);
+        synchronized (this) {
+            if (closeableHttpClient != null) {
+                // Does not block, pending requests fail with an IOException
+                closeableHttpClient.close(CloseMode.IMMEDIATE);
+                closeableHttpClient = null;
+            }
         }
-
-        CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(() -> {
-                    try {
-                        try {
-                            if (closeableHttpClient != null) {
-                                closeableHttpClient.close();
-                                closeableHttpClient = null;
-                            }
-                        } catch (IOException ignore) {
-                        }
-                        return true;
-                    } catch (Exception e) {
-                        log.error("Error at shutdown", e);
-                        return false;
-                    }
-                }, ExecutorFactory.newSingleThreadExecutor("TorHttpClient-shutdown"))
-                .orTimeout(500, TimeUnit.MILLISECONDS);
-        hasPendingRequest = false;
-        return future;
+        return CompletableFuture.completedFuture(true);
     }
 
     @Override
     protected String doRequest(String param,
                                HttpMethod httpMethod,
                                Optional<Pair<String, String>> optionalHeader) throws IOException {
-        checkArgument(!hasPendingRequest, "We got called on the same HttpClient again while a request is still open.");
-        if (shutdownStarted) {
-            return "";
-        }
-
-        hasPendingRequest = true;
-        Socks5Proxy socks5Proxy = socks5ProxyProvider.getSocks5Proxy();
-
         long ts = System.currentTimeMillis();
         log.debug("doRequestWithProxy: baseUrl={}, param={}, httpMethod={}", baseUrl, param, httpMethod);
-
-        InetSocketAddress socksAddress = new InetSocketAddress(socks5Proxy.getInetAddress(), socks5Proxy.getPort());
-        // Use this to test with system-wide Tor proxy, or change port for another proxy.
-        // SocketAddress socksAddress = new InetSocketAddress("127.0.0.1", 9050);
-        var cm = new PoolingTorHttpClientConnectionManager();
-        cm.setDefaultSocketConfig(SocketConfig.custom()
-                .setSocksProxyAddress(socksAddress)
-                .build());
         try {
-            closeableHttpClient = checkNotNull(HttpClients.custom()
-                    .setConnectionManager(cm).build());
+            CloseableHttpClient client = getOrCreateClient();
             var uri = URI.create(baseUrl);
             var request = new HttpGet("/" + param);
             optionalHeader.ifPresent(header -> request.setHeader(header.getFirst(), header.getSecond()));
-            var target = new HttpHost(uri.getScheme(), uri.getHost());
-            return closeableHttpClient.execute(target, request, response -> {
+            var target = new HttpHost(uri.getScheme(), uri.getHost(), uri.getPort());
+            return client.execute(target, request, response -> {
                 String responseString = inputStreamToString(response.getEntity().getContent());
                 int statusCode = response.getCode();
                 if (isSuccess(statusCode)) {
@@ -131,12 +107,40 @@ public class TorHttpClient extends BaseHttpClient {
             String message = "Error at doRequestWithProxy with url " + baseUrl + " and param " + param +
                     ". Throwable=" + t.getMessage();
             throw new IOException(message, t);
-        } finally {
-            if (closeableHttpClient != null) {
-                closeableHttpClient.close();
-                closeableHttpClient = null;
-            }
-            hasPendingRequest = false;
         }
     }
+
+    private synchronized CloseableHttpClient getOrCreateClient() throws IOException {
+        if (shutdownStarted) {
+            throw new IOException("Shutdown has already started");
+        }
+        if (closeableHttpClient == null) {
+            Socks5Proxy socks5Proxy = socks5ProxyProvider.getSocks5Proxy();
+            InetSocketAddress socksAddress = new InetSocketAddress(socks5Proxy.getInetAddress(), socks5Proxy.getPort());
+            // Use this to test with system-wide Tor proxy, or change port for another proxy.
+            // SocketAddress socksAddress = new InetSocketAddress("127.0.0.1", 9050);
+            Timeout timeout = Timeout.ofMilliseconds(REQUEST_TIMEOUT.toMillis());
+            var cm = new PoolingTorHttpClientConnectionManager();
+            cm.setDefaultSocketConfig(SocketConfig.custom()
+                    .setSocksProxyAddress(socksAddress)
+                    .build());
+            cm.setDefaultConnectionConfig(ConnectionConfig.custom()
+                    .setConnectTimeout(timeout)
+                    .setSocketTimeout(timeout)
+                    .build());
+            // All requests of a client go to the same host
+            cm.setMaxTotal(MAX_CONCURRENT_REQUESTS);
+            cm.setDefaultMaxPerRoute(MAX_CONCURRENT_REQUESTS);
+            closeableHttpClient = checkNotNull(HttpClients.custom()
+                    .setConnectionManager(cm)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectionRequestTimeout(timeout)
+                            .setResponseTimeout(timeout)
+                            .build())
+                    .evictExpiredConnections()
+                    .evictIdleConnections(MAX_IDLE_TIME)
+                    .build());
+        }
+        return closeableHttpClient;
+    }
 }
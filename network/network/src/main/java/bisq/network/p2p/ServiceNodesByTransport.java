@@ -108,7 +108,8 @@ public class ServiceNodesByTransport {
                     transportConfig.getUserNodeSocketTimeout(),
                     transportConfig.getDevModeDelayInMs(),
                     transportConfig.getSendMessageThrottleTime(),
-                    transportConfig.getReceiveMessageThrottleTime());
+                    transportConfig.getReceiveMessageThrottleTime(),
+                    transportConfig.isNonBlockingIo());
             Set<Address> seedAddresses = seedAddressesByTransport.get(transportType);
             checkNotNull(seedAddresses, "Seed nodes must be setup for %s", transportType);
             PeerGroupManager.Config peerGroupServiceConfig = peerGroupServiceConfigByTransport.get(transportType);
@@ -20,6 +20,7 @@ package bisq.network.p2p.message;
 import bisq.common.proto.NetworkProto;
 import bisq.network.p2p.node.ConnectionException;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -44,15 +45,35 @@ public final class NetworkEnvelope implements NetworkProto {
     private final int version;
     private final AuthorizationToken authorizationToken;
     private final EnvelopePayloadMessage envelopePayloadMessage;
+    // Memoized serialized forms of envelopePayloadMessage. At broadcasts it is shared for all peers.
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final SerializedEnvelopePayloadMessage serializedEnvelopePayloadMessage;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    private volatile bisq.network.protobuf.NetworkEnvelope completeProto;
 
     public NetworkEnvelope(AuthorizationToken authorizationToken, EnvelopePayloadMessage envelopePayloadMessage) {
-        this(networkVersion, authorizationToken, envelopePayloadMessage);
+        this(networkVersion, authorizationToken, SerializedEnvelopePayloadMessage.from(envelopePayloadMessage));
+    }
+
+    public NetworkEnvelope(AuthorizationToken authorizationToken,
+                           SerializedEnvelopePayloadMessage serializedEnvelopePayloadMessage) {
+        this(networkVersion, authorizationToken, serializedEnvelopePayloadMessage);
     }
 
     public NetworkEnvelope(int version, AuthorizationToken authorizationToken, EnvelopePayloadMessage envelopePayloadMessage) {
+        this(version, authorizationToken, SerializedEnvelopePayloadMessage.from(envelopePayloadMessage));
+    }
+
+    private NetworkEnvelope(int version,
+                            AuthorizationToken authorizationToken,
+                            SerializedEnvelopePayloadMessage serializedEnvelopePayloadMessage) {
         this.version = version;
         this.authorizationToken = authorizationToken;
-        this.envelopePayloadMessage = envelopePayloadMessage;
+        this.envelopePayloadMessage = serializedEnvelopePayloadMessage.getEnvelopePayloadMessage();
+        this.serializedEnvelopePayloadMessage = serializedEnvelopePayloadMessage;
 
         verify();
     }
@@ -68,21 +89,40 @@ public final class NetworkEnvelope implements NetworkProto {
 
     @Override
     public bisq.network.protobuf.NetworkEnvelope completeProto() {
-        return toProto(false);
+        // The envelope is immutable, so we build the proto only once. It is used for writing to the socket and for
+        // the size calculation at the metrics.
+        bisq.network.protobuf.NetworkEnvelope proto = completeProto;
+        if (proto == null) {
+            proto = toProto(false);
+            completeProto = proto;
+        }
+        return proto;
+    }
+
+    @Override
+    public int getSerializedSize() {
+        return completeProto().getSerializedSize();
     }
 
     @Override
     public bisq.network.protobuf.NetworkEnvelope.Builder getBuilder(boolean serializeForHash) {
+        bisq.network.protobuf.EnvelopePayloadMessage networkMessage = serializeForHash
+                ? envelopePayloadMessage.toProto(true)
+                : serializedEnvelopePayloadMessage.getProto();
         return bisq.network.protobuf.NetworkEnvelope.newBuilder()
                 .setVersion(version)
                 .setAuthorizationToken(authorizationToken.toProto(serializeForHash))
-                .setNetworkMessage(envelopePayloadMessage.toProto(serializeForHash));
+                .setNetworkMessage(networkMessage);
     }
 
     public static NetworkEnvelope fromProto(bisq.network.protobuf.NetworkEnvelope proto) {
-        return new NetworkEnvelope(proto.getVersion(),
+        bisq.network.protobuf.EnvelopePayloadMessage networkMessage = proto.getNetworkMessage();
+        NetworkEnvelope networkEnvelope = new NetworkEnvelope(proto.getVersion(),
                 AuthorizationToken.fromProto(proto.getAuthorizationToken()),
-                EnvelopePayloadMessage.fromProto(proto.getNetworkMessage()));
+                SerializedEnvelopePayloadMessage.from(EnvelopePayloadMessage.fromProto(networkMessage), networkMessage));
+        // We keep the received proto, so that the metrics do not need to serialize the envelope again for getting the size
+        networkEnvelope.completeProto = proto;
+        return networkEnvelope;
     }
 
     public void verifyVersion() throws ConnectionException {
@@ -0,0 +1,103 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.message;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Memoizes the serialized forms of an EnvelopePayloadMessage along the send and receive path. Without it a message
+ * got serialized for the proof of work payload, for the network envelope and again for verifying the proof of work at
+ * the receiver. Messages are immutable, thus the memoized forms stay valid for the lifetime of the message.
+ * <p>
+ * At broadcasts one instance is shared for all peers. The lazy fields might get computed concurrently by multiple
+ * threads, which is harmless as the result is the same.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public final class SerializedEnvelopePayloadMessage {
+    @Getter
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private final EnvelopePayloadMessage envelopePayloadMessage;
+    private volatile bisq.network.protobuf.EnvelopePayloadMessage proto;
+    private volatile byte[] serialized;
+    private volatile byte[] serializedForHash;
+
+    public static SerializedEnvelopePayloadMessage from(EnvelopePayloadMessage envelopePayloadMessage) {
+        return new SerializedEnvelopePayloadMessage(envelopePayloadMessage, null);
+    }
+
+    /**
+     * @param proto The proto the message was created from (e.g. as received from the network).
+     */
+    public static SerializedEnvelopePayloadMessage from(EnvelopePayloadMessage envelopePayloadMessage,
+                                                        bisq.network.protobuf.EnvelopePayloadMessage proto) {
+        return new SerializedEnvelopePayloadMessage(envelopePayloadMessage, proto);
+    }
+
+    private SerializedEnvelopePayloadMessage(EnvelopePayloadMessage envelopePayloadMessage,
+                                             bisq.network.protobuf.EnvelopePayloadMessage proto) {
+        this.envelopePayloadMessage = envelopePayloadMessage;
+        this.proto = proto;
+    }
+
+    /**
+     * @return The same as envelopePayloadMessage.toProto(false)
+     */
+    public bisq.network.protobuf.EnvelopePayloadMessage getProto() {
+        bisq.network.protobuf.EnvelopePayloadMessage result = proto;
+        if (result == null) {
+            result = envelopePayloadMessage.toProto(false);
+            proto = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return The same as envelopePayloadMessage.serialize()
+     */
+    public byte[] serialize() {
+        byte[] result = serialized;
+        if (result == null) {
+            result = getProto().toByteArray();
+            serialized = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return The same as envelopePayloadMessage.serializeForHash()
+     */
+    public byte[] serializeForHash() {
+        byte[] result = serializedForHash;
+        if (result == null) {
+            result = envelopePayloadMessage.serializeForHash();
+            serializedForHash = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return The same as envelopePayloadMessage.getSerializedSize(). Protobuf memoizes the size at the proto.
+     */
+    public int getSerializedSize() {
+        return getProto().getSerializedSize();
+    }
+}
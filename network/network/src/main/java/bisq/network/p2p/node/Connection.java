@@ -26,8 +26,11 @@ import bisq.common.network.DefaultPeerSocket;
 import bisq.common.network.PeerSocket;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.message.NetworkEnvelope;
+import bisq.network.p2p.message.SerializedEnvelopePayloadMessage;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.envelope.NetworkEnvelopeSelector;
 import bisq.network.p2p.node.envelope.NetworkEnvelopeSocket;
+import bisq.network.p2p.node.envelope.NetworkEnvelopeSocketChannel;
 import bisq.network.p2p.node.network_load.ConnectionMetrics;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
 import lombok.Getter;
@@ -37,8 +40,13 @@ import javax.annotation.Nullable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Future;
@@ -53,6 +61,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Send messages to the peer.
  * Notifies messageListeners on new received messages.
  * Notifies errorHandler on exceptions from the inputHandlerService executor.
+ * <p>
+ * Reading is either done by a blocking read loop on a dedicated NETWORK_IO_POOL thread, or, if a
+ * NetworkEnvelopeSelector is provided and the socket is backed by a SocketChannel, by the shared selector threads.
+ * In the latter case the received messages are processed in batches on the NETWORK_IO_POOL and reading is paused
+ * until the batch is processed, which preserves message order and the receive throttling.
  */
 @Slf4j
 public abstract class Connection {
@@ -65,7 +78,7 @@ public abstract class Connection {
     }
 
     protected interface Handler {
-        void handleNetworkMessage(EnvelopePayloadMessage envelopePayloadMessage,
+        void handleNetworkMessage(SerializedEnvelopePayloadMessage serializedEnvelopePayloadMessage,
                                   AuthorizationToken authorizationToken,
                                   Connection connection);
 
@@ -78,6 +91,8 @@ public abstract class Connection {
         void onConnectionClosed(CloseReason closeReason);
     }
 
+    private static final int NON_BLOCKING_READ_BUFFER_SIZE = 16 * 1024;
+
     @Getter
     private final String id = StringUtils.createUid();
     @Getter
@@ -90,8 +105,12 @@ public abstract class Connection {
     private final RequestResponseManager requestResponseManager;
 
     private NetworkEnvelopeSocket networkEnvelopeSocket;
+    // Only set if we use non-blocking IO
+    @Nullable
+    private NetworkEnvelopeSocketChannel networkEnvelopeSocketChannel;
     private final ConnectionThrottle connectionThrottle;
     private final Handler handler;
+    private final BiConsumer<Connection, Exception> errorHandler;
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
     @Nullable
     private Future<?> inputHandlerFuture;
@@ -99,18 +118,22 @@ public abstract class Connection {
     private final Object writeLock = new Object();
     private volatile boolean shutdownStarted;
     private volatile boolean listeningStopped;
+    private volatile boolean isProcessingReceivedMessages;
+    private volatile long lastReadTimestamp;
 
     protected Connection(Socket socket,
                          Capability peersCapability,
                          NetworkLoadSnapshot peersNetworkLoadSnapshot,
                          ConnectionMetrics connectionMetrics,
                          ConnectionThrottle connectionThrottle,
+                         Optional<NetworkEnvelopeSelector> networkEnvelopeSelector,
                          Handler handler,
                          BiConsumer<Connection, Exception> errorHandler) {
         this.peersCapability = peersCapability;
         this.peersNetworkLoadSnapshot = peersNetworkLoadSnapshot;
         this.connectionThrottle = connectionThrottle;
         this.handler = handler;
+        this.errorHandler = errorHandler;
         this.connectionMetrics = connectionMetrics;
         requestResponseManager = new RequestResponseManager(connectionMetrics);
 
@@ -124,6 +147,21 @@ public abstract class Connection {
             return;
         }
 
+        SocketChannel socketChannel = socket.getChannel();
+        if (networkEnvelopeSelector.isPresent() && socketChannel != null) {
+            try {
+                startNonBlockingReading(socketChannel, socket.getSoTimeout(), networkEnvelopeSelector.get());
+            } catch (IOException exception) {
+                log.error("Could not register socketChannel {} at selector", socketChannel, exception);
+                errorHandler.accept(this, exception);
+                shutdown(CloseReason.EXCEPTION.exception(exception));
+            }
+            return;
+        }
+
+        if (networkEnvelopeSelector.isPresent()) {
+            log.warn("Non-blocking IO requested but socket is not backed by a SocketChannel. We use blocking IO for {}", this);
+        }
         inputHandlerFuture = NetworkService.NETWORK_IO_POOL.submit(() -> {
             ThreadName.set(this, "read-" + getThreadNameId());
             try {
@@ -134,41 +172,10 @@ public abstract class Connection {
                         return;
                     }
                     checkNotNull(proto, "Proto from NetworkEnvelope.parseDelimitedFrom(inputStream) must not be null");
-
-                    connectionThrottle.throttleReceiveMessage();
-                    // ThrottleReceiveMessage can cause a delay by Thread.sleep
-                    if (!isInputStreamActive()) {
-                        return;
-                    }
-                    long ts = System.currentTimeMillis();
-                    NetworkEnvelope networkEnvelope = NetworkEnvelope.fromProto(proto);
-                    long deserializeTime = System.currentTimeMillis() - ts;
-                    networkEnvelope.verifyVersion();
-                    connectionMetrics.onReceived(networkEnvelope, deserializeTime);
-
-                    EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
-                    log.debug("Received message: {} at: {}",
-                            StringUtils.truncate(envelopePayloadMessage.toString(), 200), this);
-                    requestResponseManager.onReceived(envelopePayloadMessage);
-                    NetworkService.DISPATCHER.submit(() -> {
-                        if (isInputStreamActive()) {
-                            handler.handleNetworkMessage(envelopePayloadMessage,
-                                    networkEnvelope.getAuthorizationToken(),
-                                    this);
-                        }
-                    });
+                    handleReceivedProto(proto);
                 }
             } catch (Exception exception) {
-                //todo (deferred) StreamCorruptedException from i2p at shutdown. prob it send some text data at shut down
-                if (!shutdownStarted) {
-                    log.debug("Exception at input handler on {}", this, exception);
-                    shutdown(CloseReason.EXCEPTION.exception(exception));
-
-                    // EOFException expected if connection got closed (Socket closed message)
-                    if (!(exception instanceof EOFException)) {
-                        errorHandler.accept(this, exception);
-                    }
-                }
+                handleInputException(exception);
             }
         });
     }
@@ -222,6 +229,12 @@ public abstract class Connection {
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
     Connection send(EnvelopePayloadMessage envelopePayloadMessage, AuthorizationToken authorizationToken) {
+        return send(SerializedEnvelopePayloadMessage.from(envelopePayloadMessage), authorizationToken);
+    }
+
+    Connection send(SerializedEnvelopePayloadMessage serializedEnvelopePayloadMessage,
+                    AuthorizationToken authorizationToken) {
+        EnvelopePayloadMessage envelopePayloadMessage = serializedEnvelopePayloadMessage.getEnvelopePayloadMessage();
         if (isStopped()) {
             log.warn("Message not sent as connection has been shut down already. Message={}, Connection={}",
                     StringUtils.truncate(envelopePayloadMessage.toString(), 200), this);
@@ -234,12 +247,17 @@ public abstract class Connection {
         requestResponseManager.onSent(envelopePayloadMessage);
 
         try {
-            NetworkEnvelope networkEnvelope = new NetworkEnvelope(authorizationToken, envelopePayloadMessage);
+            NetworkEnvelope networkEnvelope = new NetworkEnvelope(authorizationToken, serializedEnvelopePayloadMessage);
             boolean success = false;
             long ts = System.currentTimeMillis();
             synchronized (writeLock) {
                 try {
-                    networkEnvelopeSocket.send(networkEnvelope);
+                    if (networkEnvelopeSocketChannel != null) {
+                        // Non-blocking: bytes the socket cannot take right away are queued and flushed by the selector
+                        networkEnvelopeSocketChannel.send(networkEnvelope);
+                    } else {
+                        networkEnvelopeSocket.send(networkEnvelope);
+                    }
                     success = true;
                 } catch (Exception exception) {
                     if (isRunning()) {
@@ -287,6 +305,9 @@ public abstract class Connection {
             inputHandlerFuture.cancel(true);
         }
         try {
+            if (networkEnvelopeSocketChannel != null) {
+                networkEnvelopeSocketChannel.close();
+            }
             networkEnvelopeSocket.close();
         } catch (IOException ignore) {
         }
@@ -326,6 +347,109 @@ public abstract class Connection {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
+    private void startNonBlockingReading(SocketChannel socketChannel,
+                                         int socketTimeout,
+                                         NetworkEnvelopeSelector networkEnvelopeSelector) throws IOException {
+        // Socket timeouts do not apply to non-blocking channels. We emulate the read timeout of the blocking mode
+        // by checking at the selector tick when we have received the last data.
+        lastReadTimestamp = System.currentTimeMillis();
+        networkEnvelopeSocketChannel = new NetworkEnvelopeSocketChannel(socketChannel, NON_BLOCKING_READ_BUFFER_SIZE);
+        NetworkEnvelopeSocketChannel envelopeSocketChannel = networkEnvelopeSocketChannel;
+        networkEnvelopeSelector.register(socketChannel, new NetworkEnvelopeSelector.Handler() {
+            @Override
+            public void onRegistered(SelectionKey selectionKey) {
+                envelopeSocketChannel.setSelectionKey(selectionKey);
+            }
+
+            @Override
+            public void onReadable() throws IOException {
+                List<bisq.network.protobuf.NetworkEnvelope> protos = envelopeSocketChannel.receiveNetworkEnvelopeProtos();
+                lastReadTimestamp = System.currentTimeMillis();
+                if (!protos.isEmpty()) {
+                    // We pause reading until that batch is processed to keep the message order and to let the
+                    // receive throttle slow down the peer like in the blocking mode.
+                    isProcessingReceivedMessages = true;
+                    envelopeSocketChannel.setReadInterest(false);
+                    NetworkService.NETWORK_IO_POOL.submit(() -> processReceivedProtos(protos, envelopeSocketChannel));
+                }
+            }
+
+            @Override
+            public void onWritable() throws IOException {
+                envelopeSocketChannel.flushPendingWrites();
+            }
+
+            @Override
+            public void onTick(long now) throws IOException {
+                if (socketTimeout > 0 && !isProcessingReceivedMessages && now - lastReadTimestamp > socketTimeout) {
+                    throw new SocketTimeoutException("Read timed out after " + socketTimeout + " ms");
+                }
+            }
+
+            @Override
+            public void onException(Exception exception) {
+                handleInputException(exception);
+            }
+        });
+    }
+
+    private void processReceivedProtos(List<bisq.network.protobuf.NetworkEnvelope> protos,
+                                       NetworkEnvelopeSocketChannel envelopeSocketChannel) {
+        try {
+            for (bisq.network.protobuf.NetworkEnvelope proto : protos) {
+                if (!isInputStreamActive()) {
+                    return;
+                }
+                handleReceivedProto(proto);
+            }
+            lastReadTimestamp = System.currentTimeMillis();
+            isProcessingReceivedMessages = false;
+            if (isInputStreamActive()) {
+                envelopeSocketChannel.setReadInterest(true);
+            }
+        } catch (Exception exception) {
+            handleInputException(exception);
+        }
+    }
+
+    private void handleReceivedProto(bisq.network.protobuf.NetworkEnvelope proto) {
+        connectionThrottle.throttleReceiveMessage();
+        // ThrottleReceiveMessage can cause a delay by Thread.sleep
+        if (!isInputStreamActive()) {
+            return;
+        }
+        long ts = System.currentTimeMillis();
+        NetworkEnvelope networkEnvelope = NetworkEnvelope.fromProto(proto);
+        long deserializeTime = System.currentTimeMillis() - ts;
+        networkEnvelope.verifyVersion();
+        connectionMetrics.onReceived(networkEnvelope, deserializeTime);
+
+        EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
+        log.debug("Received message: {} at: {}",
+                StringUtils.truncate(envelopePayloadMessage.toString(), 200), this);
+        requestResponseManager.onReceived(envelopePayloadMessage);
+        NetworkService.DISPATCHER.submit(() -> {
+            if (isInputStreamActive()) {
+                handler.handleNetworkMessage(networkEnvelope.getSerializedEnvelopePayloadMessage(),
+                        networkEnvelope.getAuthorizationToken(),
+                        this);
+            }
+        });
+    }
+
+    private void handleInputException(Exception exception) {
+        //todo (deferred) StreamCorruptedException from i2p at shutdown. prob it send some text data at shut down
+        if (!shutdownStarted) {
+            log.debug("Exception at input handler on {}", this, exception);
+            shutdown(CloseReason.EXCEPTION.exception(exception));
+
+            // EOFException expected if connection got closed (Socket closed message)
+            if (!(exception instanceof EOFException)) {
+                errorHandler.accept(this, exception);
+            }
+        }
+    }
+
     private String getThreadNameId() {
         return StringUtils.truncate(getPeerAddress().toString() + "-" + id.substring(0, 8));
     }
@@ -17,6 +17,7 @@
 
 package bisq.network.p2p.node;
 
+import bisq.network.p2p.node.envelope.NetworkEnvelopeSelector;
 import bisq.network.p2p.node.network_load.ConnectionMetrics;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
 import bisq.network.p2p.node.transport.ServerSocketResult;
@@ -24,6 +25,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.net.Socket;
+import java.util.Optional;
 import java.util.function.BiConsumer;
 
 @Slf4j
@@ -37,6 +39,7 @@ public class InboundConnection extends Connection {
                       NetworkLoadSnapshot peersNetworkLoadSnapshot,
                       ConnectionMetrics connectionMetrics,
                       ConnectionThrottle connectionThrottle,
+                      Optional<NetworkEnvelopeSelector> networkEnvelopeSelector,
                       Handler handler,
                       BiConsumer<Connection, Exception> errorHandler) {
         super(socket,
@@ -44,6 +47,7 @@ public class InboundConnection extends Connection {
                 peersNetworkLoadSnapshot,
                 connectionMetrics,
                 connectionThrottle,
+                networkEnvelopeSelector,
                 handler,
                 errorHandler);
         this.serverSocketResult = serverSocketResult;
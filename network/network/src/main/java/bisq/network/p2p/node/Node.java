@@ -30,8 +30,10 @@ import bisq.common.network.TransportConfig;
 import bisq.common.network.TransportType;
 import bisq.network.identity.NetworkId;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.message.SerializedEnvelopePayloadMessage;
 import bisq.network.p2p.node.authorization.AuthorizationService;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.envelope.NetworkEnvelopeSelector;
 import bisq.network.p2p.node.handshake.ConnectionHandshake;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
 import bisq.network.p2p.node.transport.ServerSocketResult;
@@ -113,6 +115,9 @@ public class Node implements Connection.Handler {
         private final int devModeDelayInMs;
         private final int sendMessageThrottleTime;
         private final int receiveMessageThrottleTime;
+        // If true, connections backed by a SocketChannel are read by the shared selector threads instead of
+        // one blocking read thread per connection.
+        private final boolean nonBlockingIo;
 
         public Config(TransportType transportType,
                       Set<TransportType> supportedTransportTypes,
@@ -122,7 +127,8 @@ public class Node implements Connection.Handler {
                       int userNodeSocketTimeout,
                       int devModeDelayInMs,
                       int sendMessageThrottleTime,
-                      int receiveMessageThrottleTime) {
+                      int receiveMessageThrottleTime,
+                      boolean nonBlockingIo) {
             this.transportType = transportType;
             this.supportedTransportTypes = supportedTransportTypes;
             this.features = features;
@@ -132,6 +138,7 @@ public class Node implements Connection.Handler {
             this.devModeDelayInMs = devModeDelayInMs;
             this.sendMessageThrottleTime = sendMessageThrottleTime;
             this.receiveMessageThrottleTime = receiveMessageThrottleTime;
+            this.nonBlockingIo = nonBlockingIo;
         }
     }
 
@@ -167,6 +174,7 @@ public class Node implements Connection.Handler {
     @Getter
     public final NetworkLoadSnapshot networkLoadSnapshot;
     private final Config config;
+    private final Optional<NetworkEnvelopeSelector> networkEnvelopeSelector;
     private Optional<CountDownLatch> startingStateLatch = Optional.empty();
 
     public Node(NetworkId networkId,
@@ -190,6 +198,9 @@ public class Node implements Connection.Handler {
         this.transportService = transportService;
         this.authorizationService = authorizationService;
         this.networkLoadSnapshot = networkLoadSnapshot;
+        networkEnvelopeSelector = config.isNonBlockingIo()
+                ? Optional.of(NetworkService.NETWORK_ENVELOPE_SELECTOR)
+                : Optional.empty();
     }
 
 
@@ -289,6 +300,7 @@ public class Node implements Connection.Handler {
                     peersNetworkLoadSnapshot,
                     result.getConnectionMetrics(),
                     connectionThrottle,
+                    networkEnvelopeSelector,
                     this,
                     this::handleException);
             inboundConnectionsByAddress.put(connection.getPeerAddress(), connection);
@@ -337,18 +349,28 @@ public class Node implements Connection.Handler {
     }
 
     public Connection send(EnvelopePayloadMessage envelopePayloadMessage, Connection connection) {
+        return send(SerializedEnvelopePayloadMessage.from(envelopePayloadMessage), connection);
+    }
+
+    /**
+     * @param serializedEnvelopePayloadMessage Memoizes the serialized forms of the message for the proof of work and
+     *                                         the network envelope. When the same message is sent to multiple peers
+     *                                         the instance can be shared, so that the message is serialized only once.
+     *                                         The authorization token is still created per peer.
+     */
+    public Connection send(SerializedEnvelopePayloadMessage serializedEnvelopePayloadMessage, Connection connection) {
         if (connection.isStopped()) {
             log.debug("Send message failed as connection is already stopped {}", this);
             throw new ConnectionClosedException(connection);
         }
         try {
-            AuthorizationToken token = authorizationService.createToken(envelopePayloadMessage,
+            AuthorizationToken token = authorizationService.createToken(serializedEnvelopePayloadMessage,
                     connection.getPeersNetworkLoadSnapshot().getCurrentNetworkLoad(),
                     connection.getPeerAddress().getFullAddress(),
                     connection.getSentMessageCounter().incrementAndGet(),
                     connection.getPeersCapability().getFeatures());
             maybeSimulateDelay();
-            return connection.send(envelopePayloadMessage, token);
+            return connection.send(serializedEnvelopePayloadMessage, token);
         } catch (Exception exception) {
             if (connection.isRunning() && !(exception.getCause() instanceof SocketException)) {
                 handleException(connection, exception);
@@ -489,6 +511,7 @@ public class Node implements Connection.Handler {
                     peersNetworkLoadSnapshot,
                     result.getConnectionMetrics(),
                     connectionThrottle,
+                    networkEnvelopeSelector,
                     this,
                     this::handleException);
             outboundConnectionsByAddress.put(address, connection);
@@ -543,12 +566,13 @@ public class Node implements Connection.Handler {
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
     @Override
-    public void handleNetworkMessage(EnvelopePayloadMessage envelopePayloadMessage,
+    public void handleNetworkMessage(SerializedEnvelopePayloadMessage serializedEnvelopePayloadMessage,
                                      AuthorizationToken authorizationToken,
                                      Connection connection) {
         if (isShutdown()) {
             return;
         }
+        EnvelopePayloadMessage envelopePayloadMessage = serializedEnvelopePayloadMessage.getEnvelopePayloadMessage();
         maybeSimulateDelay();
         String myAddress = findMyAddress().orElseThrow().getFullAddress();
         if (findConnection(connection).isEmpty()) {
@@ -568,7 +592,7 @@ public class Node implements Connection.Handler {
                     .runnableName("shutdownOrphanedConnection")
                     .after(100);
         }
-        boolean isAuthorized = authorizationService.isAuthorized(envelopePayloadMessage,
+        boolean isAuthorized = authorizationService.isAuthorized(serializedEnvelopePayloadMessage,
                 authorizationToken,
                 networkLoadSnapshot.getCurrentNetworkLoad(),
                 networkLoadSnapshot.getPreviousNetworkLoad(),
@@ -629,6 +653,9 @@ public class Node implements Connection.Handler {
     public void handleConnectionClosed(Connection connection, CloseReason closeReason) {
         Address peerAddress = connection.getPeerAddress();
         log.debug("Got called onConnectionClosed. connection={}, peerAddress={}", connection, peerAddress);
+        authorizationService.onConnectionClosed(connection.getId());
+        log.debug("Memory used for received message counters: {} bytes",
+                authorizationService.getReceivedMessageCountersMemoryUsage());
         boolean wasRemoved = false;
         if (connection instanceof InboundConnection) {
             wasRemoved = inboundConnectionsByAddress.remove(peerAddress) != null;
@@ -18,12 +18,14 @@
 package bisq.network.p2p.node;
 
 import bisq.common.network.Address;
+import bisq.network.p2p.node.envelope.NetworkEnvelopeSelector;
 import bisq.network.p2p.node.network_load.ConnectionMetrics;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.net.Socket;
+import java.util.Optional;
 import java.util.function.BiConsumer;
 
 @Slf4j
@@ -38,6 +40,7 @@ public class OutboundConnection extends Connection {
                        NetworkLoadSnapshot peersNetworkLoadSnapshot,
                        ConnectionMetrics connectionMetrics,
                        ConnectionThrottle connectionThrottle,
+                       Optional<NetworkEnvelopeSelector> networkEnvelopeSelector,
                        Handler handler,
                        BiConsumer<Connection, Exception> errorHandler) {
         super(socket,
@@ -45,6 +48,7 @@ public class OutboundConnection extends Connection {
                 peersNetworkLoadSnapshot,
                 connectionMetrics,
                 connectionThrottle,
+                networkEnvelopeSelector,
                 handler,
                 errorHandler);
 
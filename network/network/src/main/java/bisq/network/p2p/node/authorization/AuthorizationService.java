@@ -17,7 +17,9 @@
 
 package bisq.network.p2p.node.authorization;
 
+import bisq.common.util.StringUtils;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.message.SerializedEnvelopePayloadMessage;
 import bisq.network.p2p.node.Feature;
 import bisq.network.p2p.node.authorization.token.equi_hash.EquiHashTokenService;
 import bisq.network.p2p.node.authorization.token.hash_cash.HashCashTokenService;
@@ -83,6 +85,18 @@ public class AuthorizationService {
                                           String peerAddress,
                                           int messageCounter,
                                           Collection<Feature> peersFeatures) {
+        return createToken(SerializedEnvelopePayloadMessage.from(message),
+                networkLoad,
+                peerAddress,
+                messageCounter,
+                peersFeatures);
+    }
+
+    public AuthorizationToken createToken(SerializedEnvelopePayloadMessage message,
+                                          NetworkLoad networkLoad,
+                                          String peerAddress,
+                                          int messageCounter,
+                                          Collection<Feature> peersFeatures) {
         AuthorizationTokenType preferredAuthorizationTokenType = selectAuthorizationTokenType(peersFeatures);
         return supportedServices.get(preferredAuthorizationTokenType).createToken(message,
                 networkLoad,
@@ -109,6 +123,20 @@ public class AuthorizationService {
                                 Optional<NetworkLoad> previousNetworkLoad,
                                 String connectionId,
                                 String myAddress) {
+        return isAuthorized(SerializedEnvelopePayloadMessage.from(message),
+                authorizationToken,
+                currentNetworkLoad,
+                previousNetworkLoad,
+                connectionId,
+                myAddress);
+    }
+
+    public boolean isAuthorized(SerializedEnvelopePayloadMessage message,
+                                AuthorizationToken authorizationToken,
+                                NetworkLoad currentNetworkLoad,
+                                Optional<NetworkLoad> previousNetworkLoad,
+                                String connectionId,
+                                String myAddress) {
         AuthorizationTokenType authorizationTokenType = authorizationToken.getAuthorizationTokenType();
         if (!supportedServices.containsKey(authorizationTokenType)) {
             log.warn("Not supported authorizationTokenType {}", authorizationTokenType);
@@ -122,6 +150,32 @@ public class AuthorizationService {
                 myAddress);
     }
 
+    /**
+     * Handshake messages are authorized with a one-time connection ID, thus we remove the received message counters
+     * for that ID right after the check.
+     */
+    public boolean isAuthorizedHandshakeMessage(EnvelopePayloadMessage message,
+                                                AuthorizationToken authorizationToken,
+                                                NetworkLoad currentNetworkLoad,
+                                                String myAddress) {
+        String connectionId = StringUtils.createUid();
+        try {
+            return isAuthorized(message, authorizationToken, currentNetworkLoad, connectionId, myAddress);
+        } finally {
+            onConnectionClosed(connectionId);
+        }
+    }
+
+    public void onConnectionClosed(String connectionId) {
+        supportedServices.values().forEach(service -> service.onConnectionClosed(connectionId));
+    }
+
+    public long getReceivedMessageCountersMemoryUsage() {
+        return supportedServices.values().stream()
+                .mapToLong(service -> service.getReceivedMessageCounters().getMemoryUsage())
+                .sum();
+    }
+
     // Get first match with peers feature based on order of myPreferredFilterTypes
     private AuthorizationTokenType selectAuthorizationTokenType(Collection<Feature> peersFeatures) {
         return selectAuthorizationTokenType(myPreferredAuthorizationTokenTypes, peersFeatures);
@@ -1,23 +1,31 @@
 package bisq.network.p2p.node.authorization;
 
-import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.message.SerializedEnvelopePayloadMessage;
 import bisq.network.p2p.node.network_load.NetworkLoad;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Optional;
 
 @Slf4j
 public abstract class AuthorizationTokenService<T extends AuthorizationToken> {
+    // Keep track of message counter per connection to avoid reuse of pow
+    @Getter
+    protected final ReceivedMessageCounters receivedMessageCounters = new ReceivedMessageCounters();
 
-    abstract public T createToken(EnvelopePayloadMessage message,
+    abstract public T createToken(SerializedEnvelopePayloadMessage message,
                                   NetworkLoad networkLoad,
                                   String peerAddress,
                                   int messageCounter);
 
-    public abstract boolean isAuthorized(EnvelopePayloadMessage message,
+    public abstract boolean isAuthorized(SerializedEnvelopePayloadMessage message,
                                          AuthorizationToken authorizationToken,
                                          NetworkLoad currentNetworkLoad,
                                          Optional<NetworkLoad> previousNetworkLoad,
                                          String connectionId,
                                          String myAddress);
+
+    public void onConnectionClosed(String connectionId) {
+        receivedMessageCounters.remove(connectionId);
+    }
 }
@@ -0,0 +1,163 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.authorization;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the message counters of the authorization tokens received per connection to detect reused proofs
+ * of work. The counters of a connection increase with each sent message, but as messages are sent concurrently they
+ * can arrive out of order. Similar to the IPsec anti-replay window, we keep a bitmap over the last WINDOW_SIZE counters
+ * below the highest received counter. Counters which are older than the window are rejected as we cannot tell anymore
+ * whether we have received them already.
+ * <p>
+ * Memory per connection is constant, and the window is removed once the connection is closed. The sender starts its
+ * counter again at each new connection, thus the state cannot be kept per peer. To not recreate the window for
+ * messages which arrive after the connection got closed, we keep the IDs of the recently closed connections and reject
+ * their messages.
+ */
+@Slf4j
+public class ReceivedMessageCounters {
+    public static final int WINDOW_SIZE = 2048;
+    // Bitmap, highestCounter, plus rough object and map entry overhead
+    public static final int MEMORY_PER_CONNECTION = WINDOW_SIZE / 8 + 8 + 100;
+    public static final int MAX_CLOSED_CONNECTION_IDS = 1000;
+    // Connection ID string plus map entry overhead
+    public static final int MEMORY_PER_CLOSED_CONNECTION = 150;
+
+    public enum Result {
+        ACCEPTED,
+        REPLAYED,
+        OUTSIDE_WINDOW,
+        CONNECTION_CLOSED
+    }
+
+    private final Map<String, Window> windowByConnectionId = new ConcurrentHashMap<>();
+    // Access to the closed connection IDs and the creation and removal of windows is guarded by that map
+    private final Map<String, Boolean> closedConnectionIds = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_CLOSED_CONNECTION_IDS;
+        }
+    };
+    @Getter
+    private final AtomicLong numReplayedCounters = new AtomicLong();
+    @Getter
+    private final AtomicLong numCountersOutsideWindow = new AtomicLong();
+
+    public boolean isNew(String connectionId, int messageCounter) {
+        Window window;
+        synchronized (closedConnectionIds) {
+            window = closedConnectionIds.containsKey(connectionId)
+                    ? null
+                    : windowByConnectionId.computeIfAbsent(connectionId, key -> new Window());
+        }
+        Result result = window == null ? Result.CONNECTION_CLOSED : window.add(messageCounter);
+        switch (result) {
+            case REPLAYED:
+                numReplayedCounters.incrementAndGet();
+                log.warn("Invalid receivedMessageCounters. We received the proofOfWork for that message already. " +
+                        "connectionId={}; messageCounter={}", connectionId, messageCounter);
+                return false;
+            case OUTSIDE_WINDOW:
+                numCountersOutsideWindow.incrementAndGet();
+                log.warn("Invalid receivedMessageCounters. The messageCounter is too old for checking if it got used already. " +
+                        "connectionId={}; messageCounter={}", connectionId, messageCounter);
+                return false;
+            case CONNECTION_CLOSED:
+                log.info("We received a message for a closed connection. connectionId={}; messageCounter={}",
+                        connectionId, messageCounter);
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    public void remove(String connectionId) {
+        synchronized (closedConnectionIds) {
+            closedConnectionIds.put(connectionId, Boolean.TRUE);
+            windowByConnectionId.remove(connectionId);
+        }
+    }
+
+    public int getNumConnections() {
+        return windowByConnectionId.size();
+    }
+
+    public long getMemoryUsage() {
+        int numClosedConnectionIds;
+        synchronized (closedConnectionIds) {
+            numClosedConnectionIds = closedConnectionIds.size();
+        }
+        return (long) getNumConnections() * MEMORY_PER_CONNECTION +
+                (long) numClosedConnectionIds * MEMORY_PER_CLOSED_CONNECTION;
+    }
+
+    private static final class Window {
+        private final long[] bitmap = new long[WINDOW_SIZE / 64];
+        private long highestCounter = Long.MIN_VALUE;
+
+        private synchronized Result add(long counter) {
+            if (highestCounter == Long.MIN_VALUE || counter > highestCounter) {
+                // Slide the window forward and clear the bits of the counters we have skipped
+                long numSkipped = highestCounter == Long.MIN_VALUE ? WINDOW_SIZE : counter - highestCounter;
+                if (numSkipped >= WINDOW_SIZE) {
+                    Arrays.fill(bitmap, 0);
+                } else {
+                    for (long skipped = highestCounter + 1; skipped < counter; skipped++) {
+                        clear(skipped);
+                    }
+                }
+                highestCounter = counter;
+                set(counter);
+                return Result.ACCEPTED;
+            }
+
+            if (highestCounter - counter >= WINDOW_SIZE) {
+                return Result.OUTSIDE_WINDOW;
+            }
+            if (isSet(counter)) {
+                return Result.REPLAYED;
+            }
+            set(counter);
+            return Result.ACCEPTED;
+        }
+
+        private boolean isSet(long counter) {
+            int index = Math.floorMod(counter, WINDOW_SIZE);
+            return (bitmap[index >>> 6] & (1L << index)) != 0;
+        }
+
+        private void set(long counter) {
+            int index = Math.floorMod(counter, WINDOW_SIZE);
+            bitmap[index >>> 6] |= 1L << index;
+        }
+
+        private void clear(long counter) {
+            int index = Math.floorMod(counter, WINDOW_SIZE);
+            bitmap[index >>> 6] &= ~(1L << index);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package bisq.network.p2p.node.authorization.token.equi_hash;
 
-import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.message.SerializedEnvelopePayloadMessage;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
 import bisq.network.p2p.node.authorization.AuthorizationTokenService;
 import bisq.network.p2p.node.network_load.NetworkLoad;
@@ -19,7 +19,7 @@ public class EquiHashTokenService extends AuthorizationTokenService<EquiHashToke
     }
 
     @Override
-    public EquiHashToken createToken(EnvelopePayloadMessage message,
+    public EquiHashToken createToken(SerializedEnvelopePayloadMessage serializedMessage,
                                      NetworkLoad networkLoad,
                                      String peerAddress,
                                      int messageCounter) {
@@ -27,7 +27,7 @@ public class EquiHashTokenService extends AuthorizationTokenService<EquiHashToke
     }
 
     @Override
-    public boolean isAuthorized(EnvelopePayloadMessage message,
+    public boolean isAuthorized(SerializedEnvelopePayloadMessage serializedMessage,
                                 AuthorizationToken authorizationToken,
                                 NetworkLoad currentNetworkLoad,
                                 Optional<NetworkLoad> previousNetworkLoad,
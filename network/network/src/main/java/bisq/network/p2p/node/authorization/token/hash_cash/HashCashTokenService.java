@@ -6,6 +6,7 @@ import bisq.common.util.ByteArrayUtils;
 import bisq.common.util.MathUtils;
 import bisq.common.util.StringUtils;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.message.SerializedEnvelopePayloadMessage;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
 import bisq.network.p2p.node.authorization.AuthorizationTokenService;
 import bisq.network.p2p.node.network_load.NetworkLoad;
@@ -18,7 +19,6 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigInteger;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 @Slf4j
@@ -31,8 +31,6 @@ public class HashCashTokenService extends AuthorizationTokenService<HashCashToke
     public final static int DIFFICULTY_TOLERANCE = 50_000;
 
     private final HashCashProofOfWorkService proofOfWorkService;
-    // Keep track of message counter per connection to avoid reuse of pow
-    private final Map<String, Set<Integer>> receivedMessageCountersByConnectionId = new ConcurrentHashMap<>();
     @Getter
     private final Metrics metrics = new Metrics();
 
@@ -41,14 +39,15 @@ public class HashCashTokenService extends AuthorizationTokenService<HashCashToke
     }
 
     @Override
-    public HashCashToken createToken(EnvelopePayloadMessage message,
+    public HashCashToken createToken(SerializedEnvelopePayloadMessage serializedMessage,
                                      NetworkLoad networkLoad,
                                      String peerAddress,
                                      int messageCounter) {
+        EnvelopePayloadMessage message = serializedMessage.getEnvelopePayloadMessage();
         long ts = System.currentTimeMillis();
         double difficulty = calculateDifficulty(message, networkLoad);
         byte[] challenge = getChallenge(peerAddress, messageCounter);
-        byte[] payload = getPayload(message);
+        byte[] payload = getPayload(serializedMessage);
         ProofOfWork proofOfWork = proofOfWorkService.mint(payload, challenge, difficulty);
         long duration = System.currentTimeMillis() - ts;
         metrics.update(duration, networkLoad.getLoad());
@@ -68,37 +67,28 @@ public class HashCashTokenService extends AuthorizationTokenService<HashCashToke
     }
 
     @Override
-    public boolean isAuthorized(EnvelopePayloadMessage message,
+    public boolean isAuthorized(SerializedEnvelopePayloadMessage serializedMessage,
                                 AuthorizationToken authorizationToken,
                                 NetworkLoad currentNetworkLoad,
                                 Optional<NetworkLoad> previousNetworkLoad,
                                 String connectionId,
                                 String myAddress) {
-
+        EnvelopePayloadMessage message = serializedMessage.getEnvelopePayloadMessage();
         HashCashToken hashCashToken = (HashCashToken) authorizationToken;
         ProofOfWork proofOfWork = hashCashToken.getProofOfWork();
         int messageCounter = hashCashToken.getMessageCounter();
 
         // Verify that pow is not reused
-        Set<Integer> receivedMessageCounters;
-        if (receivedMessageCountersByConnectionId.containsKey(connectionId)) {
-            receivedMessageCounters = receivedMessageCountersByConnectionId.get(connectionId);
-            if (receivedMessageCounters.contains(messageCounter)) {
-                log.warn("Invalid receivedMessageCounters. We received the proofOfWork for that message already.");
-                return false;
-            }
-        } else {
-            receivedMessageCounters = new HashSet<>();
-            receivedMessageCountersByConnectionId.put(connectionId, receivedMessageCounters);
+        if (!receivedMessageCounters.isNew(connectionId, messageCounter)) {
+            return false;
         }
-        receivedMessageCounters.add(messageCounter);
 
         // Verify payload
-        byte[] payload = getPayload(message);
+        byte[] payload = getPayload(serializedMessage);
         byte[] proofOfWorkPayload = proofOfWork.getPayload();
         if (!Arrays.equals(payload, proofOfWorkPayload)) {
             // We try again with ignoring ExcludeForHash annotations by using the serialize() method.
-            byte[] payloadWithoutUsingExcludeForHash = message.serialize();
+            byte[] payloadWithoutUsingExcludeForHash = serializedMessage.serialize();
             if (Arrays.equals(payloadWithoutUsingExcludeForHash, proofOfWorkPayload)) {
                 log.info("Proof of work payload not matching message.serializeForHash() but " +
                         "matching message.serialize(). This is expected for certain messages from " +
@@ -215,8 +205,8 @@ public class HashCashTokenService extends AuthorizationTokenService<HashCashToke
         return true;
     }
 
-    private byte[] getPayload(EnvelopePayloadMessage message) {
-        return message.serializeForHash();
+    private byte[] getPayload(SerializedEnvelopePayloadMessage serializedMessage) {
+        return serializedMessage.serializeForHash();
     }
 
     private byte[] getChallenge(String peerAddress, int messageCounter) {
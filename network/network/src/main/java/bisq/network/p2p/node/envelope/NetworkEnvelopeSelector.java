@@ -0,0 +1,215 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.envelope;
+
+import bisq.common.data.Pair;
+import bisq.common.threading.ThreadName;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.channels.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small pool of selector threads shared by all non-blocking connections. Each registered channel is assigned to one
+ * selector thread (round-robin) and stays there for its lifetime. The selector threads only do the IO and framing
+ * work, the handler is responsible for moving any expensive work (deserialization, dispatching) to other threads.
+ * <p>
+ * Besides the IO events the handlers get a periodic tick which is used for detecting idle connections, as there is no
+ * socket timeout in non-blocking mode.
+ */
+@Slf4j
+public class NetworkEnvelopeSelector {
+    public interface Handler {
+        void onRegistered(SelectionKey selectionKey);
+
+        void onReadable() throws IOException;
+
+        void onWritable() throws IOException;
+
+        default void onTick(long now) throws IOException {
+        }
+
+        void onException(Exception exception);
+    }
+
+    private static final long TICK_INTERVAL = 1000;
+
+    private final String name;
+    private final int numSelectorThreads;
+    private final List<SelectorLoop> selectorLoops = new ArrayList<>();
+    private final AtomicInteger nextSelectorLoopIndex = new AtomicInteger();
+    private volatile boolean isShutdown;
+
+    public NetworkEnvelopeSelector(String name, int numSelectorThreads) {
+        this.name = name;
+        this.numSelectorThreads = Math.max(1, numSelectorThreads);
+    }
+
+    public void register(SocketChannel socketChannel, Handler handler) throws IOException {
+        if (isShutdown) {
+            throw new ClosedSelectorException();
+        }
+        socketChannel.configureBlocking(false);
+        getNextSelectorLoop().register(socketChannel, handler);
+    }
+
+    public int getNumRegisteredChannels() {
+        synchronized (selectorLoops) {
+            return selectorLoops.stream().mapToInt(SelectorLoop::getNumKeys).sum();
+        }
+    }
+
+    public void shutdown() {
+        if (isShutdown) {
+            return;
+        }
+        isShutdown = true;
+        synchronized (selectorLoops) {
+            selectorLoops.forEach(SelectorLoop::shutdown);
+            selectorLoops.clear();
+        }
+    }
+
+    private SelectorLoop getNextSelectorLoop() throws IOException {
+        synchronized (selectorLoops) {
+            // We start the selector threads lazily so that nodes using blocking IO do not pay for them
+            if (selectorLoops.size() < numSelectorThreads) {
+                SelectorLoop selectorLoop = new SelectorLoop(name + "-" + selectorLoops.size());
+                selectorLoops.add(selectorLoop);
+                return selectorLoop;
+            }
+            int index = Math.floorMod(nextSelectorLoopIndex.getAndIncrement(), selectorLoops.size());
+            return selectorLoops.get(index);
+        }
+    }
+
+    private final class SelectorLoop {
+        private final Selector selector;
+        private final Queue<Pair<SocketChannel, Handler>> pendingRegistrations = new ConcurrentLinkedQueue<>();
+        private final Thread thread;
+
+        private SelectorLoop(String threadName) throws IOException {
+            selector = Selector.open();
+            thread = new Thread(this::run, threadName);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void register(SocketChannel socketChannel, Handler handler) {
+            // Registration is done on the selector thread to not block on the selector's key set
+            pendingRegistrations.add(new Pair<>(socketChannel, handler));
+            selector.wakeup();
+        }
+
+        private int getNumKeys() {
+            try {
+                return selector.keys().size();
+            } catch (ClosedSelectorException e) {
+                return 0;
+            }
+        }
+
+        private void shutdown() {
+            thread.interrupt();
+            try {
+                selector.close();
+            } catch (IOException ignore) {
+            }
+        }
+
+        private void run() {
+            ThreadName.set(NetworkEnvelopeSelector.this, "selectorLoop");
+            long lastTick = System.currentTimeMillis();
+            while (!isShutdown && !Thread.currentThread().isInterrupted()) {
+                try {
+                    selector.select(TICK_INTERVAL);
+                    processPendingRegistrations();
+
+                    Iterator<SelectionKey> keyIterator = selector.selectedKeys().iterator();
+                    while (keyIterator.hasNext()) {
+                        SelectionKey selectionKey = keyIterator.next();
+                        keyIterator.remove();
+                        handleSelectionKey(selectionKey);
+                    }
+
+                    long now = System.currentTimeMillis();
+                    if (now - lastTick >= TICK_INTERVAL) {
+                        lastTick = now;
+                        selector.keys().forEach(selectionKey -> handleTick(selectionKey, now));
+                    }
+                } catch (ClosedSelectorException e) {
+                    return;
+                } catch (IOException e) {
+                    if (!isShutdown) {
+                        log.error("Exception at selector loop", e);
+                    }
+                }
+            }
+        }
+
+        private void processPendingRegistrations() {
+            Pair<SocketChannel, Handler> pendingRegistration;
+            while ((pendingRegistration = pendingRegistrations.poll()) != null) {
+                SocketChannel socketChannel = pendingRegistration.getFirst();
+                Handler handler = pendingRegistration.getSecond();
+                try {
+                    SelectionKey selectionKey = socketChannel.register(selector, SelectionKey.OP_READ, handler);
+                    handler.onRegistered(selectionKey);
+                } catch (Exception e) {
+                    handler.onException(e);
+                }
+            }
+        }
+
+        private void handleSelectionKey(SelectionKey selectionKey) {
+            Handler handler = (Handler) selectionKey.attachment();
+            try {
+                if (selectionKey.isValid() && selectionKey.isReadable()) {
+                    handler.onReadable();
+                }
+                if (selectionKey.isValid() && selectionKey.isWritable()) {
+                    handler.onWritable();
+                }
+            } catch (CancelledKeyException ignore) {
+                // Channel got closed concurrently
+            } catch (Exception e) {
+                selectionKey.cancel();
+                handler.onException(e);
+            }
+        }
+
+        private void handleTick(SelectionKey selectionKey, long now) {
+            if (!selectionKey.isValid()) {
+                return;
+            }
+            Handler handler = (Handler) selectionKey.attachment();
+            try {
+                handler.onTick(now);
+            } catch (Exception e) {
+                selectionKey.cancel();
+                handler.onException(e);
+            }
+        }
+    }
+}
@@ -24,15 +24,24 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 
 @Slf4j
 public class NetworkEnvelopeSocketChannel implements Closeable {
     public static final int BYTE_BUFFER_SIZE = 1024;
+    // Max. bytes we buffer for a slow peer in non-blocking mode before we treat the connection as broken.
+    public static final long MAX_PENDING_WRITE_BYTES = 32 * 1024 * 1024;
+    // Limits how long one channel can occupy the selector thread at one read event
+    private static final int MAX_READS_PER_EVENT = 16;
 
     private static final int END_OF_STREAM = -1;
 
@@ -40,6 +49,9 @@ public class NetworkEnvelopeSocketChannel implements Closeable {
     private final SocketChannel socketChannel;
     private final ByteBuffer byteBuffer;
     private final NetworkEnvelopeDeserializer networkEnvelopeDeserializer;
+    private final Deque<ByteBuffer> pendingWrites = new ArrayDeque<>();
+    private long numPendingWriteBytes;
+    private volatile SelectionKey selectionKey;
 
 
     public NetworkEnvelopeSocketChannel(SocketChannel socketChannel) {
@@ -52,18 +64,70 @@ public class NetworkEnvelopeSocketChannel implements Closeable {
         this.networkEnvelopeDeserializer = new NetworkEnvelopeDeserializer(byteBuffer);
     }
 
+    /**
+     * In blocking mode the envelope is written completely before returning. In non-blocking mode we write as much as
+     * the socket accepts and queue the rest, which gets flushed by the selector once the channel becomes writable
+     * again (see {@link #flushPendingWrites()}).
+     */
     public void send(NetworkEnvelope networkEnvelope) throws IOException {
-        bisq.network.protobuf.NetworkEnvelope proto = networkEnvelope.completeProto();
-        byte[] protoInBytes = proto.toByteArray();
-        int messageLength = protoInBytes.length;
+        ByteBuffer byteBuffer = toDelimitedByteBuffer(networkEnvelope);
+        if (socketChannel.isBlocking()) {
+            while (byteBuffer.hasRemaining()) {
+                socketChannel.write(byteBuffer);
+            }
+            return;
+        }
+
+        synchronized (pendingWrites) {
+            if (pendingWrites.isEmpty()) {
+                socketChannel.write(byteBuffer);
+            }
+            if (byteBuffer.hasRemaining()) {
+                if (numPendingWriteBytes + byteBuffer.remaining() > MAX_PENDING_WRITE_BYTES) {
+                    throw new IOException("Pending write buffer exceeded max size of " + MAX_PENDING_WRITE_BYTES + " bytes");
+                }
+                pendingWrites.add(byteBuffer);
+                numPendingWriteBytes += byteBuffer.remaining();
+                setWriteInterest(true);
+            }
+        }
+    }
+
+    /**
+     * Called from the selector thread when the channel is writable.
+     */
+    public void flushPendingWrites() throws IOException {
+        synchronized (pendingWrites) {
+            while (!pendingWrites.isEmpty()) {
+                ByteBuffer byteBuffer = pendingWrites.peek();
+                int numWrittenBytes = socketChannel.write(byteBuffer);
+                numPendingWriteBytes -= numWrittenBytes;
+                if (byteBuffer.hasRemaining()) {
+                    // Socket buffer is full, we wait for the next writable event
+                    return;
+                }
+                pendingWrites.poll();
+            }
+            setWriteInterest(false);
+        }
+    }
 
-        ByteBuffer byteBuffer1 = ByteBuffer.allocate(messageLength + 10);
-        ProtoBufMessageLengthWriter.writeToBuffer(messageLength, byteBuffer1);
+    public long getNumPendingWriteBytes() {
+        synchronized (pendingWrites) {
+            return numPendingWriteBytes;
+        }
+    }
 
-        byteBuffer1.put(protoInBytes);
-        byteBuffer1.flip();
+    public void setSelectionKey(SelectionKey selectionKey) {
+        this.selectionKey = selectionKey;
+        synchronized (pendingWrites) {
+            // Writes might have been queued before the channel got registered
+            setWriteInterest(!pendingWrites.isEmpty());
+        }
+    }
 
-        socketChannel.write(byteBuffer1);
+    public void setReadInterest(boolean value) {
+        setInterest(SelectionKey.OP_READ, value);
     }
 
     public List<NetworkEnvelope> receiveNetworkEnvelopes() throws IOException {
@@ -85,8 +149,68 @@ public class NetworkEnvelopeSocketChannel implements Closeable {
         return allNetworkEnvelopes;
     }
 
+    /**
+     * Reads all currently available bytes (bounded by MAX_READS_PER_EVENT) from a non-blocking channel and returns
+     * the completely received protos. Partially received messages are kept until the next call.
+     *
+     * @throws EOFException if the peer has closed the stream.
+     */
+    public List<bisq.network.protobuf.NetworkEnvelope> receiveNetworkEnvelopeProtos() throws IOException {
+        for (int i = 0; i < MAX_READS_PER_EVENT; i++) {
+            byteBuffer.clear();
+            int numberOfReadBytes = socketChannel.read(byteBuffer);
+            if (numberOfReadBytes == END_OF_STREAM) {
+                throw new EOFException("End of stream reached at " + socketChannel);
+            }
+            if (numberOfReadBytes == 0) {
+                break;
+            }
+            byteBuffer.flip();
+            networkEnvelopeDeserializer.readFromByteBuffer();
+        }
+        return networkEnvelopeDeserializer.getAllNetworkEnvelopeProtos();
+    }
+
     @Override
     public void close() throws IOException {
+        synchronized (pendingWrites) {
+            pendingWrites.clear();
+            numPendingWriteBytes = 0;
+        }
         socketChannel.close();
     }
+
+    private void setWriteInterest(boolean value) {
+        setInterest(SelectionKey.OP_WRITE, value);
+    }
+
+    private void setInterest(int operation, boolean value) {
+        SelectionKey selectionKey = this.selectionKey;
+        if (selectionKey == null || !selectionKey.isValid()) {
+            return;
+        }
+        try {
+            int previous = value ? selectionKey.interestOpsOr(operation) : selectionKey.interestOpsAnd(~operation);
+            boolean changed = ((previous & operation) != 0) != value;
+            if (changed && value) {
+                // Interest set changes take effect at the next select call
+                selectionKey.selector().wakeup();
+            }
+        } catch (CancelledKeyException ignore) {
+            // Channel got closed concurrently
+        }
+    }
+
+    private static ByteBuffer toDelimitedByteBuffer(NetworkEnvelope networkEnvelope) {
+        bisq.network.protobuf.NetworkEnvelope proto = networkEnvelope.completeProto();
+        byte[] protoInBytes = proto.toByteArray();
+        int messageLength = protoInBytes.length;
+
+        ByteBuffer byteBuffer = ByteBuffer.allocate(messageLength + 10);
+        ProtoBufMessageLengthWriter.writeToBuffer(messageLength, byteBuffer);
+
+        byteBuffer.put(protoInBytes);
+        byteBuffer.flip();
+        return byteBuffer;
+    }
 }
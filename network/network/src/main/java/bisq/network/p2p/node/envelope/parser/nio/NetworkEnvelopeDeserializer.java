@@ -25,8 +25,14 @@ import lombok.extern.slf4j.Slf4j;
 import java.nio.ByteBuffer;
 import java.util.*;
 
+/**
+ * Incremental parser for length delimited NetworkEnvelope protos. Bytes can be fed in arbitrary chunks, partially
+ * received messages are kept until the remaining bytes arrive.
+ */
 @Slf4j
 public class NetworkEnvelopeDeserializer {
+    // Protects against peers announcing huge message lengths causing us to allocate a large buffer upfront.
+    public static final int MAX_MESSAGE_LENGTH = 64 * 1024 * 1024;
 
     private final ByteBuffer byteBuffer;
     private final ProtoBufMessageLengthParser messageLengthParser;
@@ -35,7 +41,7 @@ public class NetworkEnvelopeDeserializer {
     private int parsedMessageLength = 0;
     private byte[] currentProtobufMessage;
 
-    private final Queue<bisq.network.p2p.message.NetworkEnvelope> parsedNetworkEnvelopes = new LinkedList<>();
+    private final Queue<NetworkEnvelope> parsedNetworkEnvelopeProtos = new LinkedList<>();
 
     public NetworkEnvelopeDeserializer(ByteBuffer byteBuffer) {
         this.byteBuffer = byteBuffer;
@@ -43,7 +49,7 @@ public class NetworkEnvelopeDeserializer {
         this.messageLengthParser = new ProtoBufMessageLengthParser(protoBufInputStream);
     }
 
-    public void readFromByteBuffer() {
+    public void readFromByteBuffer() throws InvalidProtocolBufferException {
         while (byteBuffer.hasRemaining()) {
             if (!parsingMessage) {
                 parseMessageLength();
@@ -63,9 +69,43 @@ public class NetworkEnvelopeDeserializer {
         }
     }
 
-    private void parseMessageLength() {
+    public List<bisq.network.p2p.message.NetworkEnvelope> getAllNetworkEnvelopes() {
+        if (parsedNetworkEnvelopeProtos.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<bisq.network.p2p.message.NetworkEnvelope> networkEnvelopes = new ArrayList<>(parsedNetworkEnvelopeProtos.size());
+        parsedNetworkEnvelopeProtos.forEach(proto -> {
+            bisq.network.p2p.message.NetworkEnvelope networkEnvelope = bisq.network.p2p.message.NetworkEnvelope.fromProto(proto);
+            networkEnvelope.verifyVersion();
+            networkEnvelopes.add(networkEnvelope);
+        });
+
+        parsedNetworkEnvelopeProtos.clear();
+
+        return networkEnvelopes;
+    }
+
+    /**
+     * @return The parsed protos without mapping them to the domain NetworkEnvelope. This allows the caller to do
+     * the more expensive mapping on another thread.
+     */
+    public List<NetworkEnvelope> getAllNetworkEnvelopeProtos() {
+        if (parsedNetworkEnvelopeProtos.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<NetworkEnvelope> networkEnvelopeProtos = new ArrayList<>(parsedNetworkEnvelopeProtos);
+        parsedNetworkEnvelopeProtos.clear();
+        return networkEnvelopeProtos;
+    }
+
+    private void parseMessageLength() throws InvalidProtocolBufferException {
         long messageLength = messageLengthParser.parseMessageLength();
         if (isMessageLengthParsed(messageLength)) {
+            if (messageLength < 0 || messageLength > MAX_MESSAGE_LENGTH) {
+                throw new InvalidProtocolBufferException("Invalid message length: " + messageLength);
+            }
             currentMessageLength = messageLength;
             parsedMessageLength = 0;
             parsingMessage = true;
@@ -91,22 +131,18 @@ public class NetworkEnvelopeDeserializer {
         return parsedMessageLength == currentMessageLength;
     }
 
-    private void tryToParseProtoBufMessage() {
+    private void tryToParseProtoBufMessage() throws InvalidProtocolBufferException {
         try {
-            NetworkEnvelope message = NetworkEnvelope.parseFrom(currentProtobufMessage);
-            bisq.network.p2p.message.NetworkEnvelope
-                    networkEnvelope = bisq.network.p2p.message.NetworkEnvelope.fromProto(message);
-            networkEnvelope.verifyVersion();
-            parsedNetworkEnvelopes.add(networkEnvelope);
-
+            parsedNetworkEnvelopeProtos.add(NetworkEnvelope.parseFrom(currentProtobufMessage));
         } catch (InvalidProtocolBufferException e) {
             log.error("Couldn't parse protocol buffer message.", e);
+            throw e;
         } finally {
             resetState();
         }
     }
 
-    private void parseNewIncomingMessage() {
+    private void parseNewIncomingMessage() throws InvalidProtocolBufferException {
         currentProtobufMessage = new byte[(int) currentMessageLength];
         parsedMessageLength = 0;
 
@@ -136,19 +172,6 @@ public class NetworkEnvelopeDeserializer {
         currentProtobufMessage = null;
     }
 
-    public List<bisq.network.p2p.message.NetworkEnvelope> getAllNetworkEnvelopes() {
-        if (parsedNetworkEnvelopes.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        List<bisq.network.p2p.message.NetworkEnvelope> networkEnvelopes = new ArrayList<>(parsedNetworkEnvelopes.size());
-        networkEnvelopes.addAll(parsedNetworkEnvelopes);
-
-        parsedNetworkEnvelopes.clear();
-
-        return networkEnvelopes;
-    }
-
     private boolean isMessageLengthParsed(long messageLength) {
         return messageLength != ProtoBufMessageLengthParser.STILL_PARSING_MESSAGE_LENGTH;
     }
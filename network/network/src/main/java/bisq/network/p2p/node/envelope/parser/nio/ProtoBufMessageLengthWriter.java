@@ -21,19 +21,20 @@ import java.nio.ByteBuffer;
 
 public class ProtoBufMessageLengthWriter {
     public static void writeToBuffer(int messageLength, ByteBuffer byteBuffer) {
-        while (messageLength > 0) {
+        // A length of 0 still needs to be written as a single byte
+        do {
             int thisByte = 0;
 
             int lowestSevenBits = messageLength & 0x7f;
             thisByte = thisByte ^ lowestSevenBits;
 
-            messageLength = messageLength >> 7;
+            messageLength = messageLength >>> 7;
             if (messageLength > 0) {
                 thisByte = setContinuationBit(thisByte);
             }
 
             byteBuffer.put((byte) thisByte);
-        }
+        } while (messageLength > 0);
     }
 
     private static int setContinuationBit(int thisByte) {
@@ -257,10 +257,9 @@ public final class ConnectionHandshake {
                 throw new ConnectionException(ADDRESS_BANNED, "PeerAddress is banned. address=" + address);
             }
 
-            boolean isAuthorized = authorizationService.isAuthorized(response,
+            boolean isAuthorized = authorizationService.isAuthorizedHandshakeMessage(response,
                     responseNetworkEnvelope.getAuthorizationToken(),
                     myNetworkLoad,
-                    StringUtils.createUid(),
                     myAddress.getFullAddress());
 
             if (!isAuthorized) {
@@ -315,10 +314,9 @@ public final class ConnectionHandshake {
             Address myAddress = capability.getAddress();
             // As the request did not know our load at the initial request, they used the NetworkLoad.INITIAL_LOAD for the
             // AuthorizationToken.
-            boolean isAuthorized = authorizationService.isAuthorized(request,
+            boolean isAuthorized = authorizationService.isAuthorizedHandshakeMessage(request,
                     requestNetworkEnvelope.getAuthorizationToken(),
                     NetworkLoad.INITIAL_NETWORK_LOAD,
-                    StringUtils.createUid(),
                     myAddress.getFullAddress());
             if (!isAuthorized) {
                 throw new ConnectionException(AUTHORIZATION_FAILED, "Authorization of inbound connection request failed. AuthorizationToken=" + requestNetworkEnvelope.getAuthorizationToken());
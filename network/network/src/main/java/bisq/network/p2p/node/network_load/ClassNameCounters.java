@@ -0,0 +1,93 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters indexed by class name. The class names get a global index at first use, so each instance only holds a
+ * fixed size array of counters. Class names beyond MAX_NUM_CLASS_NAMES are counted under OTHER.
+ */
+@Slf4j
+class ClassNameCounters {
+    static final int MAX_NUM_CLASS_NAMES = 256;
+    static final String OTHER = "Other";
+
+    private static final Map<String, Integer> INDEX_BY_CLASS_NAME = new ConcurrentHashMap<>();
+    private static final List<String> CLASS_NAMES = new CopyOnWriteArrayList<>(List.of(OTHER));
+
+    private static int getIndex(String className) {
+        Integer index = INDEX_BY_CLASS_NAME.get(className);
+        if (index != null) {
+            return index;
+        }
+        synchronized (CLASS_NAMES) {
+            return INDEX_BY_CLASS_NAME.computeIfAbsent(className, key -> {
+                if (CLASS_NAMES.size() >= MAX_NUM_CLASS_NAMES) {
+                    log.warn("Max. number of class names reached. We count {} as {}", className, OTHER);
+                    return 0;
+                }
+                CLASS_NAMES.add(className);
+                return CLASS_NAMES.size() - 1;
+            });
+        }
+    }
+
+    private final AtomicLongArray counters = new AtomicLongArray(MAX_NUM_CLASS_NAMES);
+
+    void increment(String className) {
+        counters.incrementAndGet(getIndex(className));
+    }
+
+    long get(String className) {
+        Integer index = INDEX_BY_CLASS_NAME.get(className);
+        return index == null ? 0 : counters.get(index);
+    }
+
+    /**
+     * @return Snapshot of all non-zero counters by class name.
+     */
+    Map<String, Long> getSnapshot() {
+        Map<String, Long> snapshot = new HashMap<>();
+        for (int i = 0; i < CLASS_NAMES.size(); i++) {
+            long value = counters.get(i);
+            if (value > 0) {
+                snapshot.put(CLASS_NAMES.get(i), value);
+            }
+        }
+        return snapshot;
+    }
+
+    void clear() {
+        for (int i = 0; i < MAX_NUM_CLASS_NAMES; i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getSnapshot().toString();
+    }
+}
@@ -25,29 +25,35 @@ import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Date;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Metrics of a connection with constant memory usage. Per-minute values are kept in ring buffers covering the last
+ * MAX_HISTORY_MINUTES minutes, totals since creation are kept separately. Recording is lock-free, as it happens
+ * concurrently from the send and read threads.
+ */
 @Slf4j
-@Getter
 @ToString
 public class ConnectionMetrics {
+    public static final int MAX_HISTORY_MINUTES = 60;
+
+    @Getter
     private final long created;
+    @Getter
     private final AtomicLong lastUpdate = new AtomicLong();
-    private final TreeMap<Integer, AtomicLong> numMessagesSentPerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> sentBytesPerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> spentSendMessageTimePerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> deserializeTimePerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> numMessagesReceivedPerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> receivedBytesPerMinute = new TreeMap<>();
-    private final Map<String, AtomicLong> numSentMessagesByClassName = new HashMap<>();
-    private final Map<String, AtomicLong> numReceivedMessagesByClassName = new HashMap<>();
-    private final Map<String, AtomicLong> numSentDistributedDataByClassName = new HashMap<>();
-    private final Map<String, AtomicLong> numReceivedDistributedDataByClassName = new HashMap<>();
-
-    private final AtomicLong numMessagesReceived = new AtomicLong();
-    private final List<Long> rrtList = new CopyOnWriteArrayList<>();
+    private final MinuteCounter numMessagesSent = new MinuteCounter(MAX_HISTORY_MINUTES);
+    private final MinuteCounter sentBytes = new MinuteCounter(MAX_HISTORY_MINUTES);
+    private final MinuteCounter spentSendMessageTime = new MinuteCounter(MAX_HISTORY_MINUTES);
+    private final MinuteCounter deserializeTime = new MinuteCounter(MAX_HISTORY_MINUTES);
+    private final MinuteCounter numMessagesReceived = new MinuteCounter(MAX_HISTORY_MINUTES);
+    private final MinuteCounter receivedBytes = new MinuteCounter(MAX_HISTORY_MINUTES);
+    private final ClassNameCounters numSentMessagesByClassName = new ClassNameCounters();
+    private final ClassNameCounters numReceivedMessagesByClassName = new ClassNameCounters();
+    private final ClassNameCounters numSentDistributedDataByClassName = new ClassNameCounters();
+    private final ClassNameCounters numReceivedDistributedDataByClassName = new ClassNameCounters();
+    private final RttHistogram rttHistogram = new RttHistogram();
 
     public ConnectionMetrics() {
         created = System.currentTimeMillis();
@@ -65,25 +71,16 @@ public class ConnectionMetrics {
         long now = System.currentTimeMillis();
         lastUpdate.set(now);
 
-        int ageInMinutes = getAgeInMinutes(now);
-        sentBytesPerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
-                .addAndGet(networkEnvelope.getSerializedSize());
-
-        numMessagesSentPerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
-                .incrementAndGet();
-
-        spentSendMessageTimePerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
-                .addAndGet(spentTime);
+        long ageInMinutes = getAgeInMinutes(now);
+        sentBytes.add(ageInMinutes, networkEnvelope.getSerializedSize());
+        numMessagesSent.add(ageInMinutes, 1);
+        spentSendMessageTime.add(ageInMinutes, spentTime);
 
         EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
-        String name = ClassUtils.getClassName(envelopePayloadMessage.getClass());
-        numSentMessagesByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                .incrementAndGet();
+        numSentMessagesByClassName.increment(ClassUtils.getClassName(envelopePayloadMessage.getClass()));
 
         if (envelopePayloadMessage instanceof AddAuthenticatedDataRequest addAuthenticatedDataRequest) {
-            String distributedDataName = addAuthenticatedDataRequest.getDistributedData().getClassName();
-            numSentDistributedDataByClassName.computeIfAbsent(distributedDataName, key -> new AtomicLong())
-                    .incrementAndGet();
+            numSentDistributedDataByClassName.increment(addAuthenticatedDataRequest.getDistributedData().getClassName());
         }
     }
 
@@ -91,58 +88,77 @@ public class ConnectionMetrics {
         long now = System.currentTimeMillis();
         lastUpdate.set(now);
 
-        int ageInMinutes = getAgeInMinutes(now);
-        receivedBytesPerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
-                .addAndGet(networkEnvelope.getSerializedSize());
-
-        numMessagesReceivedPerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
-                .incrementAndGet();
-
-        deserializeTimePerMinute.computeIfAbsent(ageInMinutes, key -> new AtomicLong())
-                .addAndGet(deserializeTime);
+        long ageInMinutes = getAgeInMinutes(now);
+        receivedBytes.add(ageInMinutes, networkEnvelope.getSerializedSize());
+        numMessagesReceived.add(ageInMinutes, 1);
+        this.deserializeTime.add(ageInMinutes, deserializeTime);
 
         EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
-        String name = ClassUtils.getClassName(envelopePayloadMessage.getClass());
-        numReceivedMessagesByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                .incrementAndGet();
+        numReceivedMessagesByClassName.increment(ClassUtils.getClassName(envelopePayloadMessage.getClass()));
 
         if (envelopePayloadMessage instanceof AddAuthenticatedDataRequest addAuthenticatedDataRequest) {
-            String distributedDataName = addAuthenticatedDataRequest.getDistributedData().getClassName();
-            numReceivedDistributedDataByClassName.computeIfAbsent(distributedDataName, key -> new AtomicLong())
-                    .incrementAndGet();
+            numReceivedDistributedDataByClassName.increment(addAuthenticatedDataRequest.getDistributedData().getClassName());
         }
     }
 
     public void addRtt(long value) {
-        this.rrtList.add(value);
+        rttHistogram.record(value);
     }
 
     public double getAverageRtt() {
-        return rrtList.stream().mapToLong(e -> e).average().orElse(0d);
+        return rttHistogram.getAverage();
+    }
+
+    /**
+     * @param percentile Value between 0 and 100.
+     * @return Approximated RTT at the given percentile (relative error below 12.5%).
+     */
+    public long getRttAtPercentile(double percentile) {
+        return rttHistogram.getValueAtPercentile(percentile);
+    }
+
+    public long getMaxRtt() {
+        return rttHistogram.getMax();
+    }
+
+    public Map<String, Long> getNumSentMessagesByClassName() {
+        return numSentMessagesByClassName.getSnapshot();
+    }
+
+    public Map<String, Long> getNumReceivedMessagesByClassName() {
+        return numReceivedMessagesByClassName.getSnapshot();
+    }
+
+    public Map<String, Long> getNumSentDistributedDataByClassName() {
+        return numSentDistributedDataByClassName.getSnapshot();
+    }
+
+    public Map<String, Long> getNumReceivedDistributedDataByClassName() {
+        return numReceivedDistributedDataByClassName.getSnapshot();
     }
 
     public long getSentBytes() {
-        return sumOf(sentBytesPerMinute);
+        return sentBytes.getTotal();
     }
 
     public long getNumMessagesSent() {
-        return sumOf(numMessagesSentPerMinute);
+        return numMessagesSent.getTotal();
     }
 
     public long getSpentSendMessageTimePerMinute() {
-        return sumOf(spentSendMessageTimePerMinute);
+        return spentSendMessageTime.getTotal();
     }
 
     public long getReceivedBytes() {
-        return sumOf(receivedBytesPerMinute);
+        return receivedBytes.getTotal();
     }
 
     public long getNumMessagesReceived() {
-        return sumOf(numMessagesReceivedPerMinute);
+        return numMessagesReceived.getTotal();
     }
 
     public long getDeserializeTimePerMinute() {
-        return sumOf(deserializeTimePerMinute);
+        return deserializeTime.getTotal();
     }
 
     public long getNumMessagesSentOfLastHour() {
@@ -169,56 +185,50 @@ public class ConnectionMetrics {
         return getNumMessagesReceivedOfLastMinutes(60);
     }
 
+    // lastMinutes is capped at MAX_HISTORY_MINUTES
     public long getNumMessagesSentOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(numMessagesSentPerMinute, lastMinutes);
+        return numMessagesSent.sumOfLastMinutes(getAgeInMinutes(), lastMinutes);
     }
 
     public long getSentBytesOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(sentBytesPerMinute, lastMinutes);
+        return sentBytes.sumOfLastMinutes(getAgeInMinutes(), lastMinutes);
     }
 
     public long getSpentSendMessageTimeOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(spentSendMessageTimePerMinute, lastMinutes);
+        return spentSendMessageTime.sumOfLastMinutes(getAgeInMinutes(), lastMinutes);
     }
 
     public long getNumMessagesReceivedOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(numMessagesReceivedPerMinute, lastMinutes);
+        return numMessagesReceived.sumOfLastMinutes(getAgeInMinutes(), lastMinutes);
     }
 
     public long getReceivedBytesOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(receivedBytesPerMinute, lastMinutes);
+        return receivedBytes.sumOfLastMinutes(getAgeInMinutes(), lastMinutes);
     }
 
     public long getDeserializeTimeOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(deserializeTimePerMinute, lastMinutes);
+        return deserializeTime.sumOfLastMinutes(getAgeInMinutes(), lastMinutes);
     }
 
     public void clear() {
-        numMessagesSentPerMinute.clear();
-        sentBytesPerMinute.clear();
-        spentSendMessageTimePerMinute.clear();
-        deserializeTimePerMinute.clear();
-        numMessagesReceivedPerMinute.clear();
-        receivedBytesPerMinute.clear();
+        numMessagesSent.clear();
+        sentBytes.clear();
+        spentSendMessageTime.clear();
+        deserializeTime.clear();
+        numMessagesReceived.clear();
+        receivedBytes.clear();
         numSentMessagesByClassName.clear();
         numReceivedMessagesByClassName.clear();
         numSentDistributedDataByClassName.clear();
         numReceivedDistributedDataByClassName.clear();
-        rrtList.clear();
-    }
-
-    private long sumOf(TreeMap<Integer, AtomicLong> treeMap) {
-        return treeMap.values().stream().mapToLong(AtomicLong::get).sum();
+        rttHistogram.clear();
     }
 
-    private long sumOfLastMinute(TreeMap<Integer, AtomicLong> treeMap, int lastMinutes) {
-        // The Treemap returns the values in ascending order of the corresponding keys.
-        int from = Math.max(0, treeMap.size() - lastMinutes);
-        List<AtomicLong> list = new ArrayList<>(treeMap.values()).subList(from, treeMap.size());
-        return list.stream().mapToLong(AtomicLong::get).sum();
+    private long getAgeInMinutes() {
+        return getAgeInMinutes(System.currentTimeMillis());
     }
 
-    private int getAgeInMinutes(long now) {
-        return (int) (now - created) / 60000;
+    private long getAgeInMinutes(long now) {
+        return (now - created) / 60000;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed size ring buffer of per-minute counters for the most recent minutes, plus the total since creation.
+ * Recording does not require locking. A bucket gets reset when it is reused for a new minute. Values added
+ * concurrently to the reset of an outdated bucket might get lost, which is acceptable for metrics.
+ */
+class MinuteCounter {
+    private static final long UNUSED = -1;
+
+    private final LongAdder total = new LongAdder();
+    private final LongAdder[] buckets;
+    private final AtomicLongArray minuteOfBucket;
+
+    MinuteCounter(int numMinutes) {
+        buckets = new LongAdder[numMinutes];
+        minuteOfBucket = new AtomicLongArray(numMinutes);
+        for (int i = 0; i < numMinutes; i++) {
+            buckets[i] = new LongAdder();
+            minuteOfBucket.set(i, UNUSED);
+        }
+    }
+
+    void add(long minute, long value) {
+        total.add(value);
+        int index = (int) (minute % buckets.length);
+        long minuteOfIndex = minuteOfBucket.get(index);
+        if (minuteOfIndex != minute) {
+            if (minuteOfIndex > minute) {
+                // Outdated minute, bucket is already used for a more recent minute
+                return;
+            }
+            if (minuteOfBucket.compareAndSet(index, minuteOfIndex, minute)) {
+                buckets[index].reset();
+            }
+        }
+        buckets[index].add(value);
+    }
+
+    long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * @param currentMinute The current minute, matching the minute values used at {@link #add(long, long)}.
+     * @param lastMinutes   Number of minutes including the current minute. Capped at the size of the ring buffer.
+     */
+    long sumOfLastMinutes(long currentMinute, int lastMinutes) {
+        long fromMinute = currentMinute - Math.min(lastMinutes, buckets.length);
+        long sum = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            long minute = minuteOfBucket.get(i);
+            if (minute > fromMinute && minute <= currentMinute) {
+                sum += buckets[i].sum();
+            }
+        }
+        return sum;
+    }
+
+    void clear() {
+        total.reset();
+        for (int i = 0; i < buckets.length; i++) {
+            minuteOfBucket.set(i, UNUSED);
+            buckets[i].reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(getTotal());
+    }
+}
@@ -23,7 +23,6 @@ import bisq.common.util.MathUtils;
 import bisq.network.p2p.ServiceNode;
 import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
-import bisq.network.p2p.services.data.DataRequest;
 import bisq.network.p2p.services.data.storage.StorageService;
 import lombok.Getter;
 import lombok.Setter;
@@ -127,7 +126,7 @@ public class NetworkLoadService {
                 .map(ConnectionMetrics::getNumSentMessagesByClassName)
                 .forEach(map -> map.forEach((name, value) ->
                         numSentMessagesByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                                .addAndGet(value.get())));
+                                .addAndGet(value)));
         StringBuilder numSentMessagesByClassNameBuilder = new StringBuilder();
         numSentMessagesByClassName.forEach((key, value) -> {
             numSentMessagesByClassNameBuilder.append("\n    - ");
@@ -141,7 +140,7 @@ public class NetworkLoadService {
                 .map(ConnectionMetrics::getNumReceivedMessagesByClassName)
                 .forEach(map -> map.forEach((name, value) ->
                         numReceivedMessagesByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                                .addAndGet(value.get())));
+                                .addAndGet(value)));
         StringBuilder numReceivedMessagesByClassNameBuilder = new StringBuilder();
         numReceivedMessagesByClassName.forEach((key, value) -> {
             numReceivedMessagesByClassNameBuilder.append("\n    - ");
@@ -155,7 +154,7 @@ public class NetworkLoadService {
                 .map(ConnectionMetrics::getNumSentDistributedDataByClassName)
                 .forEach(map -> map.forEach((name, value) ->
                         numSentDistributedDataByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                                .addAndGet(value.get())));
+                                .addAndGet(value)));
         StringBuilder numSentDistributedDataByClassNameBuilder = new StringBuilder();
         numSentDistributedDataByClassName.forEach((key, value) -> {
             numSentDistributedDataByClassNameBuilder.append("\n    - ");
@@ -169,7 +168,7 @@ public class NetworkLoadService {
                 .map(ConnectionMetrics::getNumReceivedDistributedDataByClassName)
                 .forEach(map -> map.forEach((name, value) ->
                         numReceivedDistributedDataByClassName.computeIfAbsent(name, key -> new AtomicLong())
-                                .addAndGet(value.get())));
+                                .addAndGet(value)));
         StringBuilder numReceivedDistributedDataByClassNameBuilder = new StringBuilder();
         numReceivedDistributedDataByClassName.forEach((key, value) -> {
             numReceivedDistributedDataByClassNameBuilder.append("\n    - ");
@@ -179,11 +178,25 @@ public class NetworkLoadService {
         });
 
         long numConnections = getAllCurrentConnections().count();
-        long networkDatabaseSize = storageService.getNetworkDatabaseSize(); // takes about 50 ms
+        long networkDatabaseSize = storageService.getNetworkDatabaseSize();
+        long numNetworkDatabaseEntries = storageService.getNumNetworkDatabaseEntries();
+        Map<String, Long> networkDatabaseSizeByClassName = storageService.getNetworkDatabaseSizeByClassName();
+        StringBuilder numNetworkDatabaseEntriesByClassNameBuilder = new StringBuilder();
+        new TreeMap<>(storageService.getNumNetworkDatabaseEntriesByClassName()).forEach((key, value) -> {
+            numNetworkDatabaseEntriesByClassNameBuilder.append("\n    - ");
+            numNetworkDatabaseEntriesByClassNameBuilder.append(key);
+            numNetworkDatabaseEntriesByClassNameBuilder.append(": ");
+            numNetworkDatabaseEntriesByClassNameBuilder.append(value);
+            numNetworkDatabaseEntriesByClassNameBuilder.append(" (");
+            numNetworkDatabaseEntriesByClassNameBuilder.append(ByteUnit.BYTE.toKB(networkDatabaseSizeByClassName.getOrDefault(key, 0L)));
+            numNetworkDatabaseEntriesByClassNameBuilder.append(" KB)");
+        });
 
         StringBuilder sb = new StringBuilder("\n\n////////////////////////////////////////////////////////////////////////////////////////////////////");
         sb.append("\nNetwork statistics").append(("\n////////////////////////////////////////////////////////////////////////////////////////////////////"))
                 .append("\nSize of network DB: ").append(ByteUnit.BYTE.toMB(networkDatabaseSize)).append(" MB")
+                .append("\nNumber of network DB entries: ").append(numNetworkDatabaseEntries)
+                .append("\nNumber of network DB entries by class name:").append(numNetworkDatabaseEntriesByClassNameBuilder)
                 .append("\nNumber of Connections: ").append(numConnections)
 
                 .append("\nSent messages:")
@@ -268,12 +281,6 @@ public class NetworkLoadService {
         return MathUtils.bounded(0, 1, load);
     }
 
-    private Set<? extends DataRequest> getAllDataRequests() {
-        return storageService.getAllDataRequestMapEntries()
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toSet());
-    }
-
     private Map<String, ConnectionMetrics> getConnectionMetricsByConnectionId() {
         return getAllCurrentConnections().collect(Collectors.toMap(Connection::getId, Connection::getConnectionMetrics));
     }
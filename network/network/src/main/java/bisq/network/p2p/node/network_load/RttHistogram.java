@@ -0,0 +1,113 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear histogram of round-trip times in milliseconds with constant memory, similar to HdrHistogram.
+ * Values below 8 ms are recorded exactly, above that each power of 2 is split into 8 sub-buckets, so the relative
+ * error is below 12.5%. Values above {@link #MAX_VALUE} are recorded as MAX_VALUE.
+ */
+class RttHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int NUM_SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final long MAX_VALUE = (1L << 20) - 1;   // About 17 minutes
+    private static final int NUM_BUCKETS = getIndex(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long value) {
+        long clamped = Math.max(0, Math.min(MAX_VALUE, value));
+        counts.incrementAndGet(getIndex(clamped));
+        count.increment();
+        sum.add(clamped);
+        max.accumulateAndGet(clamped, Math::max);
+    }
+
+    long getCount() {
+        return count.sum();
+    }
+
+    double getAverage() {
+        long count = getCount();
+        return count == 0 ? 0 : sum.sum() / (double) count;
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile Value between 0 and 100.
+     * @return The lowest value of the bucket containing the given percentile. 0 if no values have been recorded.
+     */
+    long getValueAtPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long targetCount = Math.max(1, (long) Math.ceil(count * Math.min(100, percentile) / 100));
+        long accumulated = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            accumulated += counts.get(i);
+            if (accumulated >= targetCount) {
+                return getLowestValue(i);
+            }
+        }
+        return getMax();
+    }
+
+    void clear() {
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    static int getIndex(long value) {
+        if (value < NUM_SUB_BUCKETS) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (NUM_SUB_BUCKETS - 1);
+        return (shift + 1) * NUM_SUB_BUCKETS + subBucket;
+    }
+
+    static long getLowestValue(int index) {
+        if (index < NUM_SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / NUM_SUB_BUCKETS - 1;
+        int subBucket = index % NUM_SUB_BUCKETS;
+        return (long) (NUM_SUB_BUCKETS + subBucket) << shift;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + ", average=" + getAverage() + ", max=" + getMax();
+    }
+}
@@ -15,6 +15,8 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -39,7 +41,8 @@ public class ClearNetTransportService implements TransportService {
                     config.getInt("devModeDelayInMs"),
                     config.getInt("sendMessageThrottleTime"),
                     config.getInt("receiveMessageThrottleTime"),
-                    config.getInt("connectTimeoutMs")
+                    config.getInt("connectTimeoutMs"),
+                    config.hasPath("nonBlockingIo") && config.getBoolean("nonBlockingIo")
             );
         }
 
@@ -51,6 +54,7 @@ public class ClearNetTransportService implements TransportService {
         private final int sendMessageThrottleTime;
         private final int receiveMessageThrottleTime;
         private final int connectTimeoutMs;
+        private final boolean nonBlockingIo;
 
         public Config(Path dataDir,
                       int defaultNodePort,
@@ -59,7 +63,8 @@ public class ClearNetTransportService implements TransportService {
                       int devModeDelayInMs,
                       int sendMessageThrottleTime,
                       int receiveMessageThrottleTime,
-                      int connectTimeoutMs) {
+                      int connectTimeoutMs,
+                      boolean nonBlockingIo) {
             this.dataDir = dataDir;
             this.defaultNodePort = defaultNodePort;
             this.defaultNodeSocketTimeout = defaultNodeSocketTimeout;
@@ -68,11 +73,13 @@ public class ClearNetTransportService implements TransportService {
             this.sendMessageThrottleTime = sendMessageThrottleTime;
             this.receiveMessageThrottleTime = receiveMessageThrottleTime;
             this.connectTimeoutMs = connectTimeoutMs;
+            this.nonBlockingIo = nonBlockingIo;
         }
     }
 
     private final int devModeDelayInMs;
     private final int connectTimeoutMs;
+    private final boolean nonBlockingIo;
     private int numSocketsCreated = 0;
     @Getter
     private final BootstrapInfo bootstrapInfo = new BootstrapInfo();
@@ -82,6 +89,7 @@ public class ClearNetTransportService implements TransportService {
     public ClearNetTransportService(TransportConfig config) {
         devModeDelayInMs = config.getDevModeDelayInMs();
         connectTimeoutMs = ((Config) config).getConnectTimeoutMs();
+        nonBlockingIo = config.isNonBlockingIo();
     }
 
     @Override
@@ -123,7 +131,15 @@ public class ClearNetTransportService implements TransportService {
 
         maybeSimulateDelay();
         try {
-            ServerSocket serverSocket = new ServerSocket(port);
+            ServerSocket serverSocket;
+            if (nonBlockingIo) {
+                // Accepted sockets of a channel backed server socket are backed by a SocketChannel as well,
+                // which is required for registering the connections at the selector.
+                serverSocket = ServerSocketChannel.open().socket();
+                serverSocket.bind(new InetSocketAddress(port));
+            } else {
+                serverSocket = new ServerSocket(port);
+            }
             Address myAddress = getLocalhostFacade().toMyLocalhost(port);
             log.debug("ServerSocket created at port {}", port);
 
@@ -144,7 +160,7 @@ public class ClearNetTransportService implements TransportService {
 
         log.debug("Create new Socket to {}", address);
         maybeSimulateDelay();
-        Socket socket = new Socket();
+        Socket socket = nonBlockingIo ? SocketChannel.open().socket() : new Socket();
         socket.connect(new InetSocketAddress(address.getHost(), address.getPort()), connectTimeoutMs);
 
         numSocketsCreated++;
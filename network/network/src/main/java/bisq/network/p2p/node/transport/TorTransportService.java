@@ -6,6 +6,7 @@ import bisq.common.network.TransportConfig;
 import bisq.common.network.TransportType;
 import bisq.network.identity.NetworkId;
 import bisq.network.p2p.node.ConnectionException;
+import bisq.network.p2p.node.transport.socket_channel.TorSocketChannelFactory;
 import bisq.security.keys.KeyBundle;
 import bisq.security.keys.TorKeyPair;
 import bisq.network.tor.TorService;
@@ -33,8 +34,10 @@ public class TorTransportService implements TransportService {
     private final BootstrapInfo bootstrapInfo = new BootstrapInfo();
     private Scheduler startBootstrapProgressUpdater;
     private int numSocketsCreated = 0;
+    private final boolean nonBlockingIo;
 
     public TorTransportService(TransportConfig config) {
+        nonBlockingIo = config.isNonBlockingIo();
         if (torService == null) {
             torService = new TorService((TorTransportConfig) config);
             bootstrapInfo.getBootstrapState().set(BootstrapState.BOOTSTRAP_TO_NETWORK);
@@ -86,7 +89,7 @@ public class TorTransportService implements TransportService {
             bootstrapInfo.getBootstrapDetails().set("Create Onion service for node ID '" + networkId + "'");
 
             TorKeyPair torKeyPair = keyBundle.getTorKeyPair();
-            ServerSocket serverSocket = torService.createOnionService(port, torKeyPair)
+            ServerSocket serverSocket = torService.createOnionService(port, torKeyPair, nonBlockingIo)
                     .get(2, TimeUnit.MINUTES);
 
             bootstrapInfo.getBootstrapState().set(BootstrapState.SERVICE_PUBLISHED);
@@ -108,13 +111,20 @@ public class TorTransportService implements TransportService {
     public Socket getSocket(Address address) throws IOException {
         long ts = System.currentTimeMillis();
         log.info("Start creating tor socket to {}", address);
-        Socket socket = torService.getSocket(null); // Blocking call. Takes 5-15 sec usually.
-        InetSocketAddress inetSocketAddress = InetSocketAddress.createUnresolved(address.getHost(), address.getPort());
-        try {
-            socket.connect(inetSocketAddress);
-        } catch (IOException e) {
-            socket.close();
-            throw e;
+        Socket socket;
+        if (nonBlockingIo) {
+            // We do the socks handshake on a SocketChannel, so that the connection can be registered at the selector
+            TorSocketChannelFactory socketChannelFactory = new TorSocketChannelFactory(torService.getSocksPort());
+            socket = socketChannelFactory.getSocketChannelForAddress(address).socket(); // Blocking call
+        } else {
+            socket = torService.getSocket(null); // Blocking call. Takes 5-15 sec usually.
+            InetSocketAddress inetSocketAddress = InetSocketAddress.createUnresolved(address.getHost(), address.getPort());
+            try {
+                socket.connect(inetSocketAddress);
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
         }
         numSocketsCreated++;
         bootstrapInfo.getBootstrapState().set(BootstrapState.CONNECTED_TO_PEERS);
@@ -34,9 +34,15 @@ public class TorSocketChannelFactory implements SocketChannelFactory {
 
     @Override
     public SocketChannel getSocketChannelForAddress(Address address) throws IOException {
-        try (TorSocketChannel torSocketChannel = TorSocketChannel.open()) {
+        // The returned SocketChannel is the underlying channel of torSocketChannel, so we must only close it
+        // in case of a failure.
+        TorSocketChannel torSocketChannel = TorSocketChannel.open();
+        try {
             var connectionData = new TorSocksConnectionData(torSocksProxyPort, address.getHost(), address.getPort());
             return torSocketChannel.connect(connectionData, ByteBuffer.allocate(1024));
+        } catch (IOException e) {
+            torSocketChannel.close();
+            throw e;
         }
     }
 }
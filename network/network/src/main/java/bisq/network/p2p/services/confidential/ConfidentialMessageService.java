@@ -17,6 +17,7 @@
 
 package bisq.network.p2p.services.confidential;
 
+import bisq.common.data.ByteArray;
 import bisq.common.threading.ExecutorFactory;
 import bisq.common.threading.ThreadName;
 import bisq.common.util.CompletableFutureUtils;
@@ -37,16 +38,18 @@ import bisq.network.p2p.services.data.storage.MetaData;
 import bisq.network.p2p.services.data.storage.mailbox.MailboxData;
 import bisq.network.p2p.services.data.storage.mailbox.MailboxMessage;
 import bisq.security.ConfidentialData;
+import bisq.security.DigestUtil;
 import bisq.security.HybridEncryption;
 import bisq.security.keys.KeyBundleService;
 import bisq.security.keys.KeyGeneration;
 import bisq.security.keys.PubKey;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.PublicKey;
-import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -62,6 +65,8 @@ import static java.util.concurrent.CompletableFuture.*;
 
 @Slf4j
 public class ConfidentialMessageService implements Node.Listener, DataService.Listener {
+    private static final int MAX_PROCESSED_MESSAGES = 20_000;
+
     public interface Listener {
         void onMessage(EnvelopePayloadMessage envelopePayloadMessage);
 
@@ -74,7 +79,12 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
     private final Optional<DataService> dataService;
     private final Optional<MessageDeliveryStatusService> messageDeliveryStatusService;
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
-    private final Set<EnvelopePayloadMessage> processedEnvelopePayloadMessages = new HashSet<>();
+    // Digests of the confidential data of processed messages. Allows to skip the decryption of duplicates.
+    @Getter
+    private final ProcessedMessageCache processedConfidentialDataCache = new ProcessedMessageCache(MAX_PROCESSED_MESSAGES, MailboxData.MAX_TLL);
+    // Digests of the decrypted messages, so we detect duplicates which have been encrypted separately.
+    @Getter
+    private final ProcessedMessageCache processedMessageCache = new ProcessedMessageCache(MAX_PROCESSED_MESSAGES, MailboxData.MAX_TLL);
     private volatile boolean isShutdownInProgress;
 
     public ConfidentialMessageService(NodesById nodesById,
@@ -369,16 +379,25 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
         return keyBundleService.findKeyPair(confidentialMessage.getReceiverKeyId())
                 .map(receiversKeyPair -> supplyAsync(() -> {
                     try {
-                        log.info("Found a matching key for processing confidentialMessage");
                         ConfidentialData confidentialData = confidentialMessage.getConfidentialData();
+                        // For backward compatibility we send 2 versions of mailbox data, thus we will receive each
+                        // mailbox data 2 times. Both carry the same confidentialData, so we can skip the decryption.
+                        ByteArray confidentialDataDigest = getConfidentialDataDigest(confidentialData.getCipherText(),
+                                confidentialData.getSignature());
+                        if (processedConfidentialDataCache.contains(confidentialDataDigest)) {
+                            log.debug("We have already processed that confidentialMessage");
+                            return true;
+                        }
+
+                        log.info("Found a matching key for processing confidentialMessage");
                         byte[] decryptedBytes = HybridEncryption.decryptAndVerify(confidentialData, receiversKeyPair);
                         bisq.network.protobuf.EnvelopePayloadMessage decryptedProto = bisq.network.protobuf.EnvelopePayloadMessage.parseFrom(decryptedBytes);
                         EnvelopePayloadMessage decryptedEnvelopePayloadMessage = EnvelopePayloadMessage.fromProto(decryptedProto);
 
-                        // For backward compatibility we send 2 versions of mailbox data, thus we will receive each
-                        // mailbox data 2 times. We do not want that client code need to deal with duplications,
-                        // thus we filter here out the duplicated message and.
-                        boolean wasNotPresent = processedEnvelopePayloadMessages.add(decryptedEnvelopePayloadMessage);
+                        // We do not want that client code need to deal with duplications, thus we filter out messages
+                        // we have already received, even if they have been encrypted separately.
+                        boolean wasNotPresent = processedMessageCache.add(new ByteArray(DigestUtil.hash(decryptedBytes)));
+                        processedConfidentialDataCache.add(confidentialDataDigest);
                         if (wasNotPresent) {
                             PublicKey senderPublicKey = KeyGeneration.generatePublic(confidentialData.getSenderPublicKey());
                             log.info("Decrypted confidentialMessage");
@@ -399,4 +418,12 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
                 }, ExecutorFactory.WORKER_POOL))
                 .orElse(CompletableFuture.completedFuture(false)); // We don't have a key for that receiverKeyId
     }
+
+    static ByteArray getConfidentialDataDigest(byte[] cipherText, byte[] signature) {
+        // Each part is prefixed with its length, so that different splits of the same bytes result in different digests
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES + cipherText.length + signature.length);
+        buffer.putInt(cipherText.length).put(cipherText);
+        buffer.putInt(signature.length).put(signature);
+        return new ByteArray(DigestUtil.hash(buffer.array()));
+    }
 }
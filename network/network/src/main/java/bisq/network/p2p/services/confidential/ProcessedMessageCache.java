@@ -0,0 +1,92 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.confidential;
+
+import bisq.common.data.ByteArray;
+import lombok.Getter;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the digests of processed messages for filtering out duplicates. The number of entries and their age are
+ * bounded, the oldest entries get evicted first.
+ */
+public class ProcessedMessageCache {
+    private final int maxSize;
+    private final long maxAgeMs;
+    // Insertion order, so the eldest entry is the first one
+    private final Map<ByteArray, Long> timestampByDigest = new LinkedHashMap<>();
+    @Getter
+    private final AtomicLong numHits = new AtomicLong();
+    @Getter
+    private final AtomicLong numEvictions = new AtomicLong();
+
+    public ProcessedMessageCache(int maxSize, long maxAgeMs) {
+        this.maxSize = maxSize;
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    public boolean contains(ByteArray digest) {
+        synchronized (timestampByDigest) {
+            evict(System.currentTimeMillis());
+            boolean contains = timestampByDigest.containsKey(digest);
+            if (contains) {
+                numHits.incrementAndGet();
+            }
+            return contains;
+        }
+    }
+
+    /**
+     * @return True if the digest was not present.
+     */
+    public boolean add(ByteArray digest) {
+        synchronized (timestampByDigest) {
+            long now = System.currentTimeMillis();
+            evict(now);
+            if (timestampByDigest.containsKey(digest)) {
+                numHits.incrementAndGet();
+                return false;
+            }
+            timestampByDigest.put(digest, now);
+            evict(now);
+            return true;
+        }
+    }
+
+    public int size() {
+        synchronized (timestampByDigest) {
+            return timestampByDigest.size();
+        }
+    }
+
+    private void evict(long now) {
+        Iterator<Long> iterator = timestampByDigest.values().iterator();
+        while (iterator.hasNext()) {
+            long timestamp = iterator.next();
+            if (timestampByDigest.size() <= maxSize && now - timestamp <= maxAgeMs) {
+                return;
+            }
+            iterator.remove();
+            numEvictions.incrementAndGet();
+        }
+    }
+}
@@ -38,6 +38,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.PublicKey;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -390,6 +391,10 @@ public class DataService implements StorageService.Listener {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
+    public CompletableFuture<Void> verifyInParallel(List<? extends DataRequest> dataRequests) {
+        return storageService.verifyInParallel(dataRequests);
+    }
+
     public void processAddDataRequest(AddDataRequest addDataRequest, boolean allowReBroadcast) {
         storageService.onAddDataRequest(addDataRequest)
                 .whenComplete((optionalData, throwable) -> optionalData.ifPresent(storageData -> {
@@ -21,6 +21,8 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
+import java.util.Map;
+
 @Getter
 @ToString
 @EqualsAndHashCode
@@ -28,10 +30,22 @@ public final class BroadcastResult {
     private final int numSuccess;
     private final int numFaults;
     private final long duration;
+    // Time in ms the send to that peer took (incl. authorization token creation and throttling). We can have multiple
+    // connections to the same peer (e.g. an inbound and an outbound one), so we use the connection ID as key.
+    private final Map<String, Long> latencyByConnectionId;
 
     public BroadcastResult(int numSuccess, int numFaults, long duration) {
+        this(numSuccess, numFaults, duration, Map.of());
+    }
+
+    public BroadcastResult(int numSuccess, int numFaults, long duration, Map<String, Long> latencyByConnectionId) {
         this.numSuccess = numSuccess;
         this.numFaults = numFaults;
         this.duration = duration;
+        this.latencyByConnectionId = Map.copyOf(latencyByConnectionId);
+    }
+
+    public long getMaxPeerLatency() {
+        return latencyByConnectionId.values().stream().mapToLong(Long::longValue).max().orElse(0);
     }
 }
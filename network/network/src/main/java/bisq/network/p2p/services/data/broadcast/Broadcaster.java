@@ -20,6 +20,7 @@ package bisq.network.p2p.services.data.broadcast;
 import bisq.common.threading.ThreadName;
 import bisq.common.util.CollectionUtil;
 import bisq.network.NetworkService;
+import bisq.network.p2p.message.SerializedEnvelopePayloadMessage;
 import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
 import dev.failsafe.Failsafe;
@@ -28,7 +29,11 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -36,6 +41,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class Broadcaster {
     private static final long BROADCAST_TIMEOUT = 90;
     private static final long RE_BROADCAST_DELAY_MS = 100;
+    private static final int MAX_PARALLEL_SENDS = 8;
 
     private final Node node;
     private final RetryPolicy<BroadcastResult> retryPolicy;
@@ -79,6 +85,8 @@ public class Broadcaster {
                 .orTimeout(BROADCAST_TIMEOUT, TimeUnit.SECONDS);
         AtomicInteger numSuccess = new AtomicInteger(0);
         AtomicInteger numFaults = new AtomicInteger(0);
+        AtomicInteger numCompleted = new AtomicInteger(0);
+        Map<String, Long> latencyByConnectionId = new ConcurrentHashMap<>();
         long numConnections = node.getAllActiveConnections().count();
         long numBroadcasts = Math.min(numConnections, Math.round(numConnections * distributionFactor));
         log.debug("Broadcast {} to {} out of {} peers. distributionFactor={}",
@@ -86,23 +94,68 @@ public class Broadcaster {
         List<Connection> allConnections = CollectionUtil.toShuffledList(node.getAllActiveConnections());
         NetworkService.NETWORK_IO_POOL.submit(() -> {
             ThreadName.set(this, "broadcast");
+            // The payload is the same for all peers, only the authorization token differs. So we serialize the
+            // message once (for the envelope and the proof of work payload) and share it across the per-peer sends.
+            SerializedEnvelopePayloadMessage serializedMessage = SerializedEnvelopePayloadMessage.from(broadcastMessage);
+            try {
+                serializedMessage.getProto();
+            } catch (Exception exception) {
+                future.completeExceptionally(exception);
+                return;
+            }
+
+            // Each peer is sent to in its own task, so that a slow or throttled peer does not delay the others.
+            // The semaphore limits the number of concurrent sends of that broadcast.
+            Semaphore semaphore = new Semaphore(MAX_PARALLEL_SENDS);
             allConnections.stream()
                     .limit(numBroadcasts)
                     .forEach(connection -> {
-                        log.debug("{} broadcast {} to {}", node, broadcastMessage.getClass().getSimpleName(), connection.getPeerAddress());
                         try {
-                            node.send(broadcastMessage, connection);
-                            numSuccess.incrementAndGet();
-                        } catch (Exception exception) {
-                            numFaults.incrementAndGet();
+                            semaphore.acquire();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            future.completeExceptionally(e);
+                            return;
                         }
-                        if (numSuccess.get() + numFaults.get() == numBroadcasts) {
-                            future.complete(new BroadcastResult(numSuccess.get(),
-                                    numFaults.get(),
-                                    System.currentTimeMillis() - ts));
+                        try {
+                            NetworkService.NETWORK_IO_POOL.submit(() -> {
+                                ThreadName.set(this, "broadcast-" + connection.getPeerAddress());
+                                long sendTs = System.currentTimeMillis();
+                                boolean success = false;
+                                try {
+                                    success = send(serializedMessage, connection);
+                                } finally {
+                                    semaphore.release();
+                                    latencyByConnectionId.put(connection.getId(), System.currentTimeMillis() - sendTs);
+                                    if (success) {
+                                        numSuccess.incrementAndGet();
+                                    } else {
+                                        numFaults.incrementAndGet();
+                                    }
+                                    if (numCompleted.incrementAndGet() == numBroadcasts) {
+                                        future.complete(new BroadcastResult(numSuccess.get(),
+                                                numFaults.get(),
+                                                System.currentTimeMillis() - ts,
+                                                latencyByConnectionId));
+                                    }
+                                }
+                            });
+                        } catch (RejectedExecutionException e) {
+                            semaphore.release();
+                            future.completeExceptionally(e);
                         }
                     });
         });
         return future;
     }
+
+    private boolean send(SerializedEnvelopePayloadMessage serializedMessage, Connection connection) {
+        log.debug("{} broadcast {} to {}", node, serializedMessage.getEnvelopePayloadMessage().getClass().getSimpleName(), connection.getPeerAddress());
+        try {
+            node.send(serializedMessage, connection);
+            return true;
+        } catch (Exception exception) {
+            return false;
+        }
+    }
 }
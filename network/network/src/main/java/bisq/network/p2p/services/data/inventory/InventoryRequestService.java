@@ -49,6 +49,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 @Slf4j
@@ -155,27 +156,46 @@ public class InventoryRequestService implements Node.Listener {
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
     private CompletableFuture<Inventory> requestInventory(Connection connection) {
-        return requestFromPeer(connection)
-                .thenApply(inventory -> {
+        List<InventoryFilterType> filterTypes = getFilterTypesForRequest(connection.getPeersCapability().getFeatures());
+        return requestFromPeer(connection, filterTypes.get(0))
+                .thenCompose(inventory -> {
                     checkNotNull(inventory);
-                    inventory.getEntries().forEach(dataRequest -> {
-                        if (dataRequest instanceof AddDataRequest) {
-                            dataService.processAddDataRequest((AddDataRequest) dataRequest, false);
-                        } else if (dataRequest instanceof RemoveDataRequest) {
-                            dataService.processRemoveDataRequest((RemoveDataRequest) dataRequest, false);
-                        }
-                    });
-                    return inventory;
+                    if (inventory.isFilterDecodingFailed() && filterTypes.size() > 1) {
+                        log.info("Peer {} could not decode our {} filter. We repeat the request with the {} filter.",
+                                connection.getPeerAddress(), filterTypes.get(0), filterTypes.get(1));
+                        onInventoryReceived(inventory);
+                        return requestFromPeer(connection, filterTypes.get(1));
+                    }
+                    return CompletableFuture.completedFuture(inventory);
+                })
+                .thenCompose(inventory -> {
+                    checkNotNull(inventory);
+                    onInventoryReceived(inventory);
+                    // We verify the signatures of the received entries in parallel before we add them to the stores.
+                    // The stores then use the cached verification results.
+                    return dataService.verifyInParallel(inventory.getEntries())
+                            .thenApply(nil -> {
+                                inventory.getEntries().forEach(dataRequest -> {
+                                    if (dataRequest instanceof AddDataRequest) {
+                                        dataService.processAddDataRequest((AddDataRequest) dataRequest, false);
+                                    } else if (dataRequest instanceof RemoveDataRequest) {
+                                        dataService.processRemoveDataRequest((RemoveDataRequest) dataRequest, false);
+                                    }
+                                });
+                                return inventory;
+                            });
                 });
     }
 
-    private CompletableFuture<Inventory> requestFromPeer(Connection connection) {
+    private void onInventoryReceived(Inventory inventory) {
+        supportedFilterServices.values().forEach(filterService -> filterService.onInventoryReceived(inventory));
+    }
+
+    private CompletableFuture<Inventory> requestFromPeer(Connection connection, InventoryFilterType inventoryFilterType) {
         String key = getKey(connection);
         InventoryHandler handler = new InventoryHandler(node, connection);
         requestHandlerMap.put(key, handler);
         numPendingRequests.set(requestHandlerMap.size());
-        List<Feature> peersFeatures = connection.getPeersCapability().getFeatures();
-        InventoryFilterType inventoryFilterType = getPreferredFilterType(peersFeatures).orElseThrow(); // we filtered before for presence
         var filterService = supportedFilterServices.get(inventoryFilterType);
         return handler.request(filterService.getFilter())
                 .orTimeout(TIMEOUT, TimeUnit.MILLISECONDS)
@@ -245,6 +265,22 @@ public class InventoryRequestService implements Node.Listener {
                 .findFirst();
     }
 
+    // Filter types supported by us and the peer, ordered by our preference. Filter types which are not preferred
+    // for the next request (e.g. if the expected difference is too large for a MiniSketch filter) are moved to the
+    // end. We filtered the candidates before for presence of at least one filter type.
+    private List<InventoryFilterType> getFilterTypesForRequest(List<Feature> peersFeatures) {
+        List<InventoryFilterType> peersInventoryFilterTypes = toFilterTypes(peersFeatures);
+        List<InventoryFilterType> filterTypes = config.getMyPreferredFilterTypes().stream()
+                .filter(peersInventoryFilterTypes::contains)
+                .filter(supportedFilterServices::containsKey)
+                .collect(Collectors.toList());
+        checkArgument(!filterTypes.isEmpty(), "No supported filter type found");
+        Map<Boolean, List<InventoryFilterType>> filterTypesByPreferred = filterTypes.stream()
+                .collect(Collectors.partitioningBy(type -> supportedFilterServices.get(type).isPreferredForNextRequest()));
+        return Stream.concat(filterTypesByPreferred.get(true).stream(), filterTypesByPreferred.get(false).stream())
+                .collect(Collectors.toList());
+    }
+
     private List<InventoryFilterType> toFilterTypes(List<Feature> features) {
         return features.stream()
                 .flatMap(feature -> InventoryFilterType.fromFeature(feature).stream())
@@ -52,6 +52,28 @@ public abstract class FilterService<T extends InventoryFilter> {
 
     abstract public T getFilter();
 
+    /**
+     * Filters which depend on an estimation (e.g. the expected size of the set difference) can signal that
+     * another filter type supported by the peer is the better choice for the next request.
+     */
+    public boolean isPreferredForNextRequest() {
+        return true;
+    }
+
+    /**
+     * Called at the requester when an inventory was received, independent of the filter type used.
+     */
+    public void onInventoryReceived(Inventory inventory) {
+    }
+
+    /**
+     * Called at the responder before the entries are checked against the filter. Returns false if the filter
+     * cannot be applied.
+     */
+    protected boolean applyFilter(T filter) {
+        return true;
+    }
+
     abstract protected boolean isAuthenticatedDataRequestMissing(T filter, Map.Entry<ByteArray, AuthenticatedDataRequest> mapEntry);
 
     abstract protected boolean isMailboxRequestMissing(T filter, Map.Entry<ByteArray, MailboxRequest> mapEntry);
@@ -63,6 +85,10 @@ public abstract class FilterService<T extends InventoryFilter> {
         final AtomicBoolean maxSizeReached = new AtomicBoolean();
         // The type is not defined at compile time, thus we do a safe cast
         T filter = safeCast(inventoryFilter);
+        if (!applyFilter(filter)) {
+            log.info("Filter could not be applied. Filter details: {}", filter.getDetails());
+            return Inventory.filterDecodingFailed();
+        }
         List<DataRequest> dataRequests = getAuthenticatedDataRequests(filter, accumulatedSize, maxSizeReached, predicate);
 
         if (!maxSizeReached.get()) {
@@ -18,30 +18,53 @@
 package bisq.network.p2p.services.data.inventory.filter.mini_sketch;
 
 
+import bisq.common.data.ByteUnit;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilterType;
+import bisq.network.p2p.services.data.storage.DataStoreSketch;
+import com.google.protobuf.ByteString;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.Set;
+
 import static com.google.common.base.Preconditions.checkArgument;
 
 /**
- * Skeleton for planned MiniSketch implementation based on <a href="https://github.com/sipa/minisketch">https://github.com/sipa/minisketch</a>
+ * Filter based on set reconciliation using a PinSketch (see <a href="https://github.com/sipa/minisketch">https://github.com/sipa/minisketch</a>).
+ * The requester sends the sketch of its entries. The responder merges it with the sketch of its own entries and
+ * decodes the symmetric difference, which works if the difference is not larger than the capacity of the sketch.
+ * The size of the filter depends only on the capacity, not on the number of entries.
  */
 @Slf4j
 @Getter
 @ToString
 @EqualsAndHashCode(callSuper = true)
 public final class MiniSketchFilter extends InventoryFilter {
+    public final static int MAX_CAPACITY = DataStoreSketch.MAX_CAPACITY;
+
+    @ToString.Exclude
+    private final long[] sketch;
+
+    // Set by the responder after decoding. transient fields are excluded by default for EqualsAndHashCode
+    @ToString.Exclude
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private transient Optional<Set<Long>> symmetricDifference = Optional.empty();
 
-    public MiniSketchFilter() {
-        this(InventoryFilterType.MINI_SKETCH);
+    public MiniSketchFilter(long[] sketch) {
+        this(InventoryFilterType.MINI_SKETCH, sketch);
     }
 
-    private MiniSketchFilter(InventoryFilterType inventoryFilterType) {
+    private MiniSketchFilter(InventoryFilterType inventoryFilterType, long[] sketch) {
         super(inventoryFilterType);
+        this.sketch = sketch;
 
         verify();
     }
@@ -49,6 +72,8 @@ public final class MiniSketchFilter extends InventoryFilter {
     @Override
     public void verify() {
         checkArgument(inventoryFilterType == InventoryFilterType.MINI_SKETCH);
+        checkArgument(sketch.length > 0 && sketch.length <= MAX_CAPACITY,
+                "Invalid sketch capacity %s", sketch.length);
     }
 
     @Override
@@ -58,16 +83,28 @@ public final class MiniSketchFilter extends InventoryFilter {
 
     @Override
     public bisq.network.protobuf.InventoryFilter.Builder getBuilder(boolean serializeForHash) {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(sketch.length * Long.BYTES);
+        byteBuffer.asLongBuffer().put(sketch);
         return getInventoryFilterBuilder().setMiniSketchFilter(
-                bisq.network.protobuf.MiniSketchFilter.newBuilder());
+                bisq.network.protobuf.MiniSketchFilter.newBuilder()
+                        .setSketch(ByteString.copyFrom(byteBuffer.array())));
     }
 
     public static MiniSketchFilter fromProto(bisq.network.protobuf.InventoryFilter proto) {
-        return new MiniSketchFilter(InventoryFilterType.fromProto(proto.getInventoryFilterType()));
+        ByteBuffer byteBuffer = proto.getMiniSketchFilter().getSketch().asReadOnlyByteBuffer();
+        checkArgument(byteBuffer.remaining() % Long.BYTES == 0, "Sketch size must be a multiple of 8");
+        long[] sketch = new long[byteBuffer.remaining() / Long.BYTES];
+        byteBuffer.asLongBuffer().get(sketch);
+        return new MiniSketchFilter(InventoryFilterType.fromProto(proto.getInventoryFilterType()), sketch);
+    }
+
+    public int getCapacity() {
+        return sketch.length;
     }
 
     @Override
     public String getDetails() {
-        return "MiniSketchFilter";
+        return "MiniSketchFilter with capacity " + sketch.length + " and size of " +
+                ByteUnit.BYTE.toKB(getSerializedSize()) + " KB";
     }
-}
\ No newline at end of file
+}
@@ -18,43 +18,105 @@
 package bisq.network.p2p.services.data.inventory.filter.mini_sketch;
 
 import bisq.common.data.ByteArray;
+import bisq.network.p2p.services.data.DataRequest;
+import bisq.network.p2p.services.data.inventory.Inventory;
 import bisq.network.p2p.services.data.inventory.filter.FilterService;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilterType;
+import bisq.network.p2p.services.data.storage.DataStoreSketch;
+import bisq.network.p2p.services.data.storage.PinSketch;
 import bisq.network.p2p.services.data.storage.StorageService;
+import bisq.network.p2p.services.data.storage.StoreType;
 import bisq.network.p2p.services.data.storage.append.AddAppendOnlyDataRequest;
 import bisq.network.p2p.services.data.storage.auth.AuthenticatedDataRequest;
 import bisq.network.p2p.services.data.storage.mailbox.MailboxRequest;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
- * Skeleton for planned MiniSketch implementation based on <a href="https://github.com/sipa/minisketch">https://github.com/sipa/minisketch</a>
+ * Requests inventory by set reconciliation, so that the request size is proportional to the expected difference
+ * between the peers and not to the size of the network database.
+ * <p>
+ * As the requester does not know the size of the difference, we estimate it from the previous inventory responses.
+ * If the difference turns out to be larger than the capacity of our sketch, the responder signals that decoding failed,
+ * and we repeat the request with the hash set filter. If the estimated capacity would be larger than the max. capacity
+ * or if the sketch would not be smaller than a hash set filter, we prefer the hash set filter from the start.
+ * <p>
+ * The sketches are maintained by the data stores at each change with the max. capacity. A sketch of a lower capacity
+ * is the prefix of it, thus creating the filter or applying the filter of a peer does not iterate the entries.
  */
 @Slf4j
 public class MiniSketchFilterService extends FilterService<MiniSketchFilter> {
+    // Min. margin for entries the peer is missing from our set, which are part of the difference as well.
+    private static final int MIN_CAPACITY = 16;
+    private static final int DEFAULT_ESTIMATED_DIFFERENCE = 64;
+    private static final int MAX_ESTIMATED_DIFFERENCE = 1 << 20;
+    // A HashSetFilterEntry has about 26 bytes, a sketch 8 bytes per capacity unit.
+    private static final int HASH_SET_FILTER_ENTRY_SIZE = 26;
+
+    private volatile int estimatedDifference = DEFAULT_ESTIMATED_DIFFERENCE;
+
     public MiniSketchFilterService(StorageService storageService, int maxSize) {
         super(storageService, maxSize);
     }
 
     public MiniSketchFilter getFilter() {
-        return new MiniSketchFilter();
+        int capacity = Math.min(MiniSketchFilter.MAX_CAPACITY, getEstimatedCapacity());
+        return new MiniSketchFilter(getSketch(capacity));
+    }
+
+    @Override
+    public boolean isPreferredForNextRequest() {
+        int capacity = getEstimatedCapacity();
+        if (capacity > MiniSketchFilter.MAX_CAPACITY) {
+            return false;
+        }
+        long numEntries = storageService.getNumNetworkDatabaseEntries();
+        return (long) capacity * Long.BYTES < numEntries * HASH_SET_FILTER_ENTRY_SIZE;
+    }
+
+    @Override
+    public void onInventoryReceived(Inventory inventory) {
+        int numEntries = inventory.getEntries().size();
+        if (inventory.isFilterDecodingFailed()) {
+            estimatedDifference = Math.min(MAX_ESTIMATED_DIFFERENCE, 2 * Math.max(estimatedDifference, MIN_CAPACITY));
+        } else if (inventory.isMaxSizeReached()) {
+            // We got only a part of the missing data
+            estimatedDifference = Math.max(estimatedDifference, numEntries);
+        } else {
+            estimatedDifference = numEntries;
+        }
+    }
+
+    @Override
+    protected boolean applyFilter(MiniSketchFilter filter) {
+        int capacity = filter.getCapacity();
+        if (capacity <= 0 || capacity > MiniSketchFilter.MAX_CAPACITY) {
+            log.warn("Capacity of MiniSketchFilter out of range. capacity={}", capacity);
+            return false;
+        }
+        long[] sketch = getSketch(capacity);
+        Optional<Set<Long>> symmetricDifference = PinSketch.decode(PinSketch.merge(sketch, filter.getSketch()));
+        filter.setSymmetricDifference(symmetricDifference);
+        return symmetricDifference.isPresent();
     }
 
     @Override
     protected boolean isAuthenticatedDataRequestMissing(MiniSketchFilter filter, Map.Entry<ByteArray, AuthenticatedDataRequest> mapEntry) {
-        return true;
+        return isMissing(filter, mapEntry);
     }
 
     @Override
     protected boolean isMailboxRequestMissing(MiniSketchFilter filter, Map.Entry<ByteArray, MailboxRequest> mapEntry) {
-        return true;
+        return isMissing(filter, mapEntry);
     }
 
     @Override
     protected boolean isAddAppendOnlyDataRequestMissing(MiniSketchFilter filter, Map.Entry<ByteArray, AddAppendOnlyDataRequest> mapEntry) {
-        return true;
+        return isMissing(filter, mapEntry);
     }
 
     @Override
@@ -65,4 +127,23 @@ public class MiniSketchFilterService extends FilterService<MiniSketchFilter> {
         }
         throw new IllegalArgumentException("InventoryFilter not of expected type. inventoryFilter=" + inventoryFilter);
     }
+
+    // Our entries which are part of the symmetric difference are those the peer does not have (or has with another
+    // sequence number).
+    private boolean isMissing(MiniSketchFilter filter, Map.Entry<ByteArray, ? extends DataRequest> mapEntry) {
+        return filter.getSymmetricDifference()
+                .map(difference -> difference.contains(DataStoreSketch.toElement(mapEntry.getKey(), mapEntry.getValue())))
+                .orElse(false);
+    }
+
+    private int getEstimatedCapacity() {
+        return Math.max(MIN_CAPACITY, 2 * estimatedDifference + MIN_CAPACITY);
+    }
+
+    // Sum of the sketches of all stores
+    private long[] getSketch(int capacity) {
+        return storageService.getStoresByStoreType(StoreType.ALL)
+                .map(store -> store.getPersistableStore().getSketch(capacity))
+                .reduce(new long[capacity], PinSketch::merge);
+    }
 }
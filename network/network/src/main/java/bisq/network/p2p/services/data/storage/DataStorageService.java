@@ -20,7 +20,6 @@ package bisq.network.p2p.services.data.storage;
 import bisq.common.data.ByteArray;
 import bisq.common.observable.collection.ObservableSet;
 import bisq.network.p2p.services.data.DataRequest;
-import bisq.network.p2p.services.data.storage.append.AddAppendOnlyDataRequest;
 import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
 import bisq.network.p2p.services.data.storage.auth.RefreshAuthenticatedDataRequest;
 import bisq.network.p2p.services.data.storage.auth.RemoveAuthenticatedDataRequest;
@@ -37,11 +36,17 @@ import lombok.extern.slf4j.Slf4j;
 import java.io.File;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
 public abstract class DataStorageService<T extends DataRequest> extends RateLimitedPersistenceClient<DataStore<T>> {
     public static final String STORE_POST_FIX = "Store";
+    // Large stores with frequent changes are persisted with a write-ahead log, so that we write only the changed
+    // entries instead of the whole store at each change.
+    private static final Set<String> WRITE_AHEAD_LOG_STORE_KEYS = Set.of("UserProfile",
+            "BisqEasyOfferbookMessage",
+            "CommonPublicChatMessage");
 
     @Getter
     protected final Persistence<DataStore<T>> persistence;
@@ -62,11 +67,40 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
         String storageFileName = storeKey + STORE_POST_FIX;
         DbSubDirectory dbSubDirectory = DbSubDirectory.NETWORK_DB;
         subDirectory = dbSubDirectory.getDbPath() + File.separator + storeName;
-        persistence = persistenceService.getOrCreatePersistence(this,
-                subDirectory,
-                storageFileName,
-                persistableStore,
-                MaxBackupSize.from(dbSubDirectory));
+        if (isWriteAheadLogEnabled(storeKey)) {
+            persistence = persistenceService.getOrCreateWriteAheadLogPersistence(this,
+                    subDirectory,
+                    storageFileName,
+                    persistableStore,
+                    MaxBackupSize.from(dbSubDirectory));
+        } else {
+            persistence = persistenceService.getOrCreatePersistence(this,
+                    subDirectory,
+                    storageFileName,
+                    persistableStore,
+                    MaxBackupSize.from(dbSubDirectory));
+        }
+    }
+
+    public static int getSequenceNumber(DataRequest dataRequest) {
+        if (dataRequest instanceof AddAuthenticatedDataRequest) {
+            return ((AddAuthenticatedDataRequest) dataRequest).getAuthenticatedSequentialData().getSequenceNumber();
+        } else if (dataRequest instanceof RemoveAuthenticatedDataRequest) {
+            return ((RemoveAuthenticatedDataRequest) dataRequest).getSequenceNumber();
+        } else if (dataRequest instanceof RefreshAuthenticatedDataRequest) {
+            return ((RefreshAuthenticatedDataRequest) dataRequest).getSequenceNumber();
+        } else if (dataRequest instanceof AddMailboxRequest) {
+            return ((AddMailboxRequest) dataRequest).getSequenceNumber();
+        } else if (dataRequest instanceof RemoveMailboxRequest) {
+            return ((RemoveMailboxRequest) dataRequest).getSequenceNumber();
+        } else {
+            // AddAppendOnlyDataRequest does not use a seq nr.
+            return 0;
+        }
+    }
+
+    private static boolean isWriteAheadLogEnabled(String storeKey) {
+        return WRITE_AHEAD_LOG_STORE_KEYS.contains(storeKey);
     }
 
     public void shutdown() {
@@ -92,8 +126,14 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
                 .sorted((o1, o2) -> Long.compare(o2.getValue().getCreated(), o1.getValue().getCreated()))
                 .limit(maxSize)
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Set<ByteArray> prunedKeys = map.keySet().stream()
+                .filter(key -> !pruned.containsKey(key))
+                .collect(Collectors.toSet());
         map.clear();
         map.putAll(pruned);
+        // The persisted store does not track changes, so we mark the pruned keys as changed at our store. Otherwise,
+        // a write-ahead log would not get remove records for them and they would come back at the next replay.
+        persistableStore.markChanged(prunedKeys);
         return persisted;
     }
 
@@ -115,44 +155,16 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
         if (isExceeding) {
             String className = persistableStore.getMap().values().stream()
                     .findFirst()
-                    .map(dataRequest -> {
-                        if (dataRequest instanceof AddAuthenticatedDataRequest addRequest) {
-                            return addRequest.getDistributedData().getClass().getSimpleName();
-                        } else if (dataRequest instanceof RemoveAuthenticatedDataRequest removeRequest) {
-                            return removeRequest.getClassName();
-                        } else if (dataRequest instanceof RefreshAuthenticatedDataRequest request) {
-                            return request.getClassName();
-                        } else if (dataRequest instanceof AddAppendOnlyDataRequest addRequest) {
-                            return addRequest.getAppendOnlyData().getClass().getSimpleName();
-                        } else if (dataRequest instanceof AddMailboxRequest addRequest) {
-                            return addRequest.getMailboxSequentialData().getMailboxData().getClassName();
-                        } else if (dataRequest instanceof RemoveMailboxRequest removeRequest) {
-                            return removeRequest.getClassName();
-                        }
-                        return "N/A";
-                    }).orElse("N/A");
+                    .map(DataStoreMetrics::getClassName)
+                    .orElse("N/A");
             log.warn("Max. map size reached for {}. map.size()={}, getMaxMapSize={}",
                     className, size, getMaxMapSize());
         }
         if (size > 20_000) {
             String className = persistableStore.getMap().values().stream()
                     .findFirst()
-                    .map(dataRequest -> {
-                        if (dataRequest instanceof AddAuthenticatedDataRequest addRequest) {
-                            return addRequest.getDistributedData().getClass().getSimpleName();
-                        } else if (dataRequest instanceof RemoveAuthenticatedDataRequest removeRequest) {
-                            return removeRequest.getClassName();
-                        } else if (dataRequest instanceof RefreshAuthenticatedDataRequest request) {
-                            return request.getClassName();
-                        } else if (dataRequest instanceof AddAppendOnlyDataRequest addRequest) {
-                            return addRequest.getAppendOnlyData().getClass().getSimpleName();
-                        } else if (dataRequest instanceof AddMailboxRequest addRequest) {
-                            return addRequest.getMailboxSequentialData().getMailboxData().getClassName();
-                        } else if (dataRequest instanceof RemoveMailboxRequest removeRequest) {
-                            return removeRequest.getClassName();
-                        }
-                        return "N/A";
-                    }).orElse("N/A");
+                    .map(DataStoreMetrics::getClassName)
+                    .orElse("N/A");
             log.info("Map size for {} reached > 20 000 entries. map.size()={}", className, size);
         }
         return isExceeding;
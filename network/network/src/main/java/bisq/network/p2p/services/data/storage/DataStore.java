@@ -18,32 +18,47 @@
 package bisq.network.p2p.services.data.storage;
 
 import bisq.common.data.ByteArray;
+import bisq.common.data.SegmentedCopyOnWriteMap;
 import bisq.common.proto.ProtoResolver;
 import bisq.common.proto.UnresolvableProtobufMessageException;
 import bisq.network.p2p.services.data.DataRequest;
 import bisq.persistence.PersistableStore;
+import bisq.persistence.wal.WriteAheadLogStore;
 import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
 @ToString
-public final class DataStore<T extends DataRequest> implements PersistableStore<DataStore<T>> {
+public final class DataStore<T extends DataRequest> implements WriteAheadLogStore<DataStore<T>> {
+    // Reads of the whole map (inventory, filters, persistence) use snapshots, which do not copy the entries
     @Getter
-    private final Map<ByteArray, T> map = new ConcurrentHashMap<>();
+    private final SegmentedCopyOnWriteMap<ByteArray, T> map;
+    // Only used if the store is persisted with a write-ahead log
+    @ToString.Exclude
+    private final Set<ByteArray> changedKeys = ConcurrentHashMap.newKeySet();
+    @ToString.Exclude
+    private volatile boolean isChangeTrackingEnabled;
+    @ToString.Exclude
+    private final DataStoreMetrics metrics = new DataStoreMetrics();
+    @ToString.Exclude
+    private final DataStoreSketch sketch = new DataStoreSketch();
 
     public DataStore() {
+        map = new SegmentedCopyOnWriteMap<>();
     }
 
     public DataStore(Map<ByteArray, T> map) {
-        this.map.putAll(map);
+        this.map = new SegmentedCopyOnWriteMap<>(map);
+    }
+
+    private DataStore(SegmentedCopyOnWriteMap<ByteArray, T> map) {
+        this.map = map;
     }
 
     @Override
@@ -81,12 +96,154 @@ public final class DataStore<T extends DataRequest> implements PersistableStore<
 
     @Override
     public void applyPersisted(DataStore<T> persisted) {
-        map.clear();
-        map.putAll(persisted.getMap());
+        synchronized (metrics) {
+            map.replaceWith(persisted.getMap());
+            metrics.invalidate();
+            sketch.invalidate();
+        }
     }
 
     @Override
     public DataStore<T> getClone() {
-        return new DataStore<>(new HashMap<>(map));
+        // Segments are immutable and shared, so the clone is cheap
+        return new DataStore<>(map.copy());
+    }
+
+    /**
+     * @return An immutable snapshot of the entries. Taking the snapshot does not copy the entries.
+     */
+    public Map<ByteArray, T> getSnapshot() {
+        return map.snapshot();
+    }
+
+    // Mutations of the map should be done via those methods, so that changes get tracked for the write-ahead log.
+    public T put(ByteArray key, T dataRequest) {
+        T previous;
+        synchronized (metrics) {
+            previous = map.put(key, dataRequest);
+            metrics.onChanged(key, previous, dataRequest);
+            sketch.onChanged(key, previous, dataRequest);
+        }
+        onChanged(key);
+        return previous;
+    }
+
+    public T remove(ByteArray key) {
+        T previous;
+        synchronized (metrics) {
+            previous = map.remove(key);
+            metrics.onChanged(key, previous, null);
+            sketch.onChanged(key, previous, null);
+        }
+        onChanged(key);
+        return previous;
+    }
+
+    public void replaceAll(Map<ByteArray, T> entries) {
+        Set<ByteArray> keys = new HashSet<>(map.keySet());
+        keys.addAll(entries.keySet());
+        synchronized (metrics) {
+            map.replaceWith(entries);
+            metrics.invalidate();
+            sketch.invalidate();
+        }
+        keys.forEach(this::onChanged);
+    }
+
+
+    /**
+     * @return The metrics, initialized from the current entries at the first call. Mutations of the map and the
+     * metrics are done under the metrics lock, so that the initialization does not miss concurrent changes.
+     */
+    public DataStoreMetrics getMetrics() {
+        synchronized (metrics) {
+            if (!metrics.isInitialized()) {
+                metrics.initialize(map.snapshot());
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * @return A copy of the set reconciliation sketch with the given capacity. The sketch is initialized from the
+     * current entries at the first call or after it got invalidated. Initialization and copy are done under the
+     * metrics lock, so that a concurrent invalidation cannot happen in between.
+     */
+    public long[] getSketch(int capacity) {
+        synchronized (metrics) {
+            if (!sketch.isInitialized()) {
+                sketch.initialize(map.snapshot());
+            }
+            return sketch.getSketch(capacity);
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // WriteAheadLogStore
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void enableChangeTracking() {
+        isChangeTrackingEnabled = true;
+    }
+
+    @Override
+    public Set<ByteArray> drainChangedKeys() {
+        Set<ByteArray> result = new HashSet<>();
+        Iterator<ByteArray> iterator = changedKeys.iterator();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+            iterator.remove();
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<byte[]> serializeEntry(ByteArray key) {
+        return Optional.ofNullable(map.get(key))
+                .map(dataRequest -> dataRequest.toProto(false).getDataRequest().toByteArray());
+    }
+
+    @Override
+    public void applyLogEntry(ByteArray key, Optional<byte[]> serializedEntry) {
+        if (serializedEntry.isEmpty()) {
+            synchronized (metrics) {
+                T previous = map.remove(key);
+                metrics.onChanged(key, previous, null);
+                sketch.onChanged(key, previous, null);
+            }
+            return;
+        }
+        try {
+            //noinspection unchecked
+            T dataRequest = (T) DataRequest.fromProto(bisq.network.protobuf.DataRequest.parseFrom(serializedEntry.get()));
+            synchronized (metrics) {
+                T previous = map.put(key, dataRequest);
+                metrics.onChanged(key, previous, dataRequest);
+                sketch.onChanged(key, previous, dataRequest);
+            }
+        } catch (Exception e) {
+            log.warn("Could not parse write-ahead log entry for key {}. We ignore it.", key, e);
+        }
+    }
+
+    @Override
+    public DataStore<T> createEmptyStore() {
+        return new DataStore<>();
+    }
+
+    /**
+     * Marks the given keys as changed without changing the map, so that their current state (usually the removal)
+     * gets written to the write-ahead log at the next persist call.
+     */
+    public void markChanged(Collection<ByteArray> keys) {
+        keys.forEach(this::onChanged);
+    }
+
+    private void onChanged(ByteArray key) {
+        if (isChangeTrackingEnabled) {
+            changedKeys.add(key);
+        }
     }
 }
\ No newline at end of file
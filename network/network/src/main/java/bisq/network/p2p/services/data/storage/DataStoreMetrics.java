@@ -0,0 +1,132 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage;
+
+import bisq.common.data.ByteArray;
+import bisq.network.p2p.services.data.DataRequest;
+import bisq.network.p2p.services.data.storage.append.AddAppendOnlyDataRequest;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.RefreshAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.RemoveAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.mailbox.AddMailboxRequest;
+import bisq.network.p2p.services.data.storage.mailbox.RemoveMailboxRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running number of entries and serialized size of a DataStore, in total and by the class name of the distributed
+ * data. The size of an entry is the serialized size of the data request plus the size of the key.
+ * <p>
+ * The counters are initialized from the entries at the first read access and updated at each change after that,
+ * so that reads are O(1). Stores which never get read (e.g. clones used for persistence) have no overhead besides
+ * the check if initialized.
+ */
+public class DataStoreMetrics {
+    private volatile boolean initialized;
+    private long numEntries;
+    private long serializedSize;
+    private final Map<String, long[]> numEntriesAndSizeByClassName = new HashMap<>();
+
+    public static String getClassName(DataRequest dataRequest) {
+        if (dataRequest instanceof AddAuthenticatedDataRequest addRequest) {
+            return addRequest.getDistributedData().getClass().getSimpleName();
+        } else if (dataRequest instanceof RemoveAuthenticatedDataRequest removeRequest) {
+            return removeRequest.getClassName();
+        } else if (dataRequest instanceof RefreshAuthenticatedDataRequest request) {
+            return request.getClassName();
+        } else if (dataRequest instanceof AddAppendOnlyDataRequest addRequest) {
+            return addRequest.getAppendOnlyData().getClass().getSimpleName();
+        } else if (dataRequest instanceof AddMailboxRequest addRequest) {
+            return addRequest.getMailboxSequentialData().getMailboxData().getClassName();
+        } else if (dataRequest instanceof RemoveMailboxRequest removeRequest) {
+            return removeRequest.getClassName();
+        }
+        return "N/A";
+    }
+
+    boolean isInitialized() {
+        return initialized;
+    }
+
+    synchronized void initialize(Map<ByteArray, ? extends DataRequest> entries) {
+        if (initialized) {
+            return;
+        }
+        reset();
+        entries.forEach((key, dataRequest) -> update(key, dataRequest, 1));
+        initialized = true;
+    }
+
+    synchronized void onChanged(ByteArray key, DataRequest previous, DataRequest current) {
+        if (!initialized) {
+            return;
+        }
+        if (previous != null) {
+            update(key, previous, -1);
+        }
+        if (current != null) {
+            update(key, current, 1);
+        }
+    }
+
+    // Counters get initialized again at the next read access
+    synchronized void invalidate() {
+        initialized = false;
+        reset();
+    }
+
+    public synchronized long getNumEntries() {
+        return numEntries;
+    }
+
+    public synchronized long getSerializedSize() {
+        return serializedSize;
+    }
+
+    public synchronized Map<String, Long> getNumEntriesByClassName() {
+        Map<String, Long> result = new HashMap<>();
+        numEntriesAndSizeByClassName.forEach((className, values) -> result.put(className, values[0]));
+        return result;
+    }
+
+    public synchronized Map<String, Long> getSerializedSizeByClassName() {
+        Map<String, Long> result = new HashMap<>();
+        numEntriesAndSizeByClassName.forEach((className, values) -> result.put(className, values[1]));
+        return result;
+    }
+
+    private void update(ByteArray key, DataRequest dataRequest, int sign) {
+        long size = (long) dataRequest.getSerializedSize() + key.getBytes().length;
+        numEntries += sign;
+        serializedSize += sign * size;
+        String className = getClassName(dataRequest);
+        long[] values = numEntriesAndSizeByClassName.computeIfAbsent(className, k -> new long[2]);
+        values[0] += sign;
+        values[1] += sign * size;
+        if (values[0] <= 0) {
+            numEntriesAndSizeByClassName.remove(className);
+        }
+    }
+
+    private void reset() {
+        numEntries = 0;
+        serializedSize = 0;
+        numEntriesAndSizeByClassName.clear();
+    }
+}
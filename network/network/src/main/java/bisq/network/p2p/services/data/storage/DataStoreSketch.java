@@ -0,0 +1,102 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage;
+
+import bisq.common.data.ByteArray;
+import bisq.network.p2p.services.data.DataRequest;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Set reconciliation sketch of the entries of a DataStore with the max. capacity of a MiniSketchFilter.
+ * <p>
+ * The syndromes of a sketch do not depend on its capacity, thus a sketch of a lower capacity is the prefix of the
+ * max. capacity sketch. Adding an element is its own inverse, so the sketch is updated at each change by removing the
+ * element of the previous entry and adding the one of the new entry. Like the DataStoreMetrics it is initialized at
+ * the first read access.
+ */
+public class DataStoreSketch {
+    // Applying the sketch of a peer requires decoding it, which grows quadratic with the capacity (about 5-20 ms at 64,
+    // 200-550 ms at 512). As any peer can send a sketch with the max. capacity, we keep it low.
+    public static final int MAX_CAPACITY = 64;
+
+    private volatile boolean initialized;
+    private long[] sketch;
+
+    // Maps the hash of the data and the sequence number to a non-zero 64 bit element. The map keys are hashes, thus
+    // the first 8 bytes are already uniformly distributed.
+    public static long toElement(ByteArray key, DataRequest dataRequest) {
+        byte[] hash = key.getBytes();
+        long value = 0;
+        for (int i = 0; i < Math.min(Long.BYTES, hash.length); i++) {
+            value = (value << 8) | (hash[i] & 0xff);
+        }
+        long element = mix(value ^ mix(DataStorageService.getSequenceNumber(dataRequest)));
+        return element == 0 ? 1 : element;
+    }
+
+    boolean isInitialized() {
+        return initialized;
+    }
+
+    synchronized void initialize(Map<ByteArray, ? extends DataRequest> entries) {
+        if (initialized) {
+            return;
+        }
+        sketch = new long[MAX_CAPACITY];
+        entries.forEach((key, dataRequest) -> PinSketch.add(sketch, toElement(key, dataRequest)));
+        initialized = true;
+    }
+
+    synchronized void onChanged(ByteArray key, DataRequest previous, DataRequest current) {
+        if (!initialized) {
+            return;
+        }
+        if (previous != null) {
+            PinSketch.add(sketch, toElement(key, previous));
+        }
+        if (current != null) {
+            PinSketch.add(sketch, toElement(key, current));
+        }
+    }
+
+    // Sketch gets initialized again at the next read access
+    synchronized void invalidate() {
+        initialized = false;
+        sketch = null;
+    }
+
+    // Caller has to initialize the sketch under the same lock as used for the mutations
+    synchronized long[] getSketch(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be in the range of 1 to " + MAX_CAPACITY);
+        }
+        if (!initialized) {
+            throw new IllegalStateException("Sketch is not initialized");
+        }
+        return Arrays.copyOf(sketch, capacity);
+    }
+
+    // Finalizer of SplitMix64
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Pure Java implementation of the PinSketch (BCH based) set reconciliation scheme as used by
+ * <a href="https://github.com/sipa/minisketch">https://github.com/sipa/minisketch</a>, over the field GF(2^64).
+ * <p>
+ * A sketch with capacity c of a set of non-zero 64 bit elements consists of the odd power sums
+ * s_1, s_3, ..., s_(2c-1) of all elements. Sketches are linear, so the sketch of the symmetric difference of two sets
+ * is the XOR of their sketches. If the symmetric difference has at most c elements it can be recovered from that
+ * merged sketch. The size of a sketch is 8 bytes per capacity unit, independent of the size of the sets.
+ */
+public final class PinSketch {
+    // x^64 + x^4 + x^3 + x + 1, we only store the lower part
+    private static final long MODULUS = 0x1BL;
+    private static final long[] REDUCTION_TABLE = new long[256];
+    private static final int MAX_SPLIT_ATTEMPTS = 64;
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            REDUCTION_TABLE[i] = carryLessMultiply(i, MODULUS);
+        }
+    }
+
+    private PinSketch() {
+    }
+
+    /**
+     * @param elements The non-zero elements of the set. Duplicates cancel each other out.
+     * @param capacity The max. size of the symmetric difference which can be recovered.
+     * @return The sketch as array of the odd power sums.
+     */
+    public static long[] create(Iterable<Long> elements, int capacity) {
+        long[] sketch = new long[capacity];
+        for (long element : elements) {
+            add(sketch, element);
+        }
+        return sketch;
+    }
+
+    public static void add(long[] sketch, long element) {
+        if (element == 0) {
+            throw new IllegalArgumentException("Element must not be 0");
+        }
+        Multiplier squareMultiplier = new Multiplier(multiply(element, element));
+        long power = element;
+        for (int i = 0; i < sketch.length; i++) {
+            sketch[i] ^= power;
+            power = squareMultiplier.multiply(power);
+        }
+    }
+
+    public static long[] merge(long[] sketch, long[] other) {
+        if (sketch.length != other.length) {
+            throw new IllegalArgumentException("Sketches must have the same capacity");
+        }
+        long[] result = new long[sketch.length];
+        for (int i = 0; i < sketch.length; i++) {
+            result[i] = sketch[i] ^ other[i];
+        }
+        return result;
+    }
+
+    /**
+     * Recovers the elements of the set the sketch has been created from.
+     *
+     * @return The elements or empty if the set is larger than the capacity of the sketch.
+     */
+    public static Optional<Set<Long>> decode(long[] sketch) {
+        int capacity = sketch.length;
+        // The even power sums are derived from the odd ones: s_2k = s_k^2
+        long[] powerSums = new long[2 * capacity];
+        for (int i = 0; i < capacity; i++) {
+            powerSums[2 * i] = sketch[i];
+        }
+        for (int i = 0; i < capacity; i++) {
+            // powerSums[k] holds s_(k+1)
+            powerSums[2 * i + 1] = multiply(powerSums[i], powerSums[i]);
+        }
+
+        long[] locator = berlekampMassey(powerSums);
+        int numElements = locator.length - 1;
+        if (numElements == 0) {
+            return Optional.of(new HashSet<>());
+        }
+        if (numElements > capacity || locator[numElements] == 0) {
+            return Optional.empty();
+        }
+
+        // The elements are the inverses of the roots of the locator polynomial, thus the roots of the reversed
+        // polynomial. We make it monic so that the polynomial arithmetic does not need inversions.
+        long[] polynomial = new long[numElements + 1];
+        for (int i = 0; i <= numElements; i++) {
+            polynomial[i] = locator[numElements - i];
+        }
+        polynomial = makeMonic(polynomial);
+
+        // frobeniusPowers[i] = x^(2^i) mod polynomial
+        long[][] frobeniusPowers = new long[65][];
+        frobeniusPowers[0] = reduce(new long[]{0, 1}, polynomial);
+        for (int i = 1; i <= 64; i++) {
+            frobeniusPowers[i] = squareModulo(frobeniusPowers[i - 1], polynomial);
+        }
+        // x^(2^64) == x mod polynomial holds if the polynomial splits into distinct linear factors
+        if (!Arrays.equals(trim(frobeniusPowers[64]), trim(frobeniusPowers[0]))) {
+            return Optional.empty();
+        }
+
+        Set<Long> roots = new HashSet<>();
+        if (!findRoots(polynomial, roots, Arrays.copyOf(frobeniusPowers, 64), new Random(polynomial[0]))) {
+            return Optional.empty();
+        }
+        if (roots.size() != numElements || roots.contains(0L)) {
+            return Optional.empty();
+        }
+        return Optional.of(roots);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Field arithmetic
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    static long multiply(long a, long b) {
+        long result = 0;
+        while (b != 0) {
+            // Branch free: mask is all ones if the lowest bit of b is set
+            result ^= a & -(b & 1);
+            b >>>= 1;
+            a = (a << 1) ^ ((a >> 63) & MODULUS);
+        }
+        return result;
+    }
+
+    static long inverse(long a) {
+        if (a == 0) {
+            throw new ArithmeticException("0 has no inverse");
+        }
+        // a^(2^64 - 2) = a^-1
+        long result = 1;
+        long square = a;
+        for (int i = 1; i < 64; i++) {
+            square = multiply(square, square);
+            result = multiply(result, square);
+        }
+        return result;
+    }
+
+    private static long carryLessMultiply(long a, long b) {
+        long result = 0;
+        for (int i = 0; i < 64; i++) {
+            if (((b >>> i) & 1) != 0) {
+                result ^= a << i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Multiplication with a fixed factor using a table of the products with all byte values. Worth it if the same
+     * factor is used many times.
+     */
+    static final class Multiplier {
+        private final long[] table = new long[256];
+
+        Multiplier(long factor) {
+            table[1] = factor;
+            for (int i = 2; i < 256; i += 2) {
+                long doubled = table[i >>> 1];
+                table[i] = (doubled << 1) ^ ((doubled >> 63) & MODULUS);
+                table[i + 1] = table[i] ^ factor;
+            }
+        }
+
+        long multiply(long value) {
+            long result = 0;
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                result = (result << 8) ^ REDUCTION_TABLE[(int) (result >>> 56)] ^ table[(int) (value >>> shift) & 0xff];
+            }
+            return result;
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Decoding
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    // Returns the shortest linear feedback shift register (the error locator polynomial) generating the power sums.
+    private static long[] berlekampMassey(long[] powerSums) {
+        int n = powerSums.length;
+        long[] current = new long[n + 1];
+        long[] previous = new long[n + 1];
+        current[0] = 1;
+        previous[0] = 1;
+        int length = 0;
+        int shift = 1;
+        long previousDiscrepancy = 1;
+        for (int i = 0; i < n; i++) {
+            long discrepancy = powerSums[i];
+            for (int j = 1; j <= length; j++) {
+                discrepancy ^= multiply(current[j], powerSums[i - j]);
+            }
+            if (discrepancy == 0) {
+                shift++;
+                continue;
+            }
+            Multiplier multiplier = new Multiplier(multiply(discrepancy, inverse(previousDiscrepancy)));
+            if (2 * length <= i) {
+                long[] temp = current.clone();
+                for (int j = 0; j + shift <= n; j++) {
+                    current[j + shift] ^= multiplier.multiply(previous[j]);
+                }
+                length = i + 1 - length;
+                previous = temp;
+                previousDiscrepancy = discrepancy;
+                shift = 1;
+            } else {
+                for (int j = 0; j + shift <= n; j++) {
+                    current[j + shift] ^= multiplier.multiply(previous[j]);
+                }
+                shift++;
+            }
+        }
+        return Arrays.copyOf(current, length + 1);
+    }
+
+    // Berlekamp trace algorithm: gcd(f, Tr(beta * x)) splits f with probability of about 1/2 for a random beta.
+    // The trace Tr(beta * x) = sum of beta^(2^i) * x^(2^i) is computed from the powers x^(2^i) modulo f. For the
+    // factors we split off, those powers are derived by reducing them further, which is much cheaper than computing
+    // them again.
+    private static boolean findRoots(long[] polynomial, Set<Long> roots, long[][] frobeniusPowers, Random random) {
+        int degree = polynomial.length - 1;
+        if (degree == 0) {
+            return true;
+        }
+        if (degree == 1) {
+            // Monic x + c has the root c
+            roots.add(polynomial[0]);
+            return true;
+        }
+        for (int attempt = 0; attempt < MAX_SPLIT_ATTEMPTS; attempt++) {
+            long beta = random.nextLong();
+            if (beta == 0) {
+                continue;
+            }
+            long[] trace = new long[degree];
+            for (int i = 0; i < 64; i++) {
+                Multiplier multiplier = new Multiplier(beta);
+                long[] frobeniusPower = frobeniusPowers[i];
+                for (int j = 0; j < frobeniusPower.length; j++) {
+                    trace[j] ^= multiplier.multiply(frobeniusPower[j]);
+                }
+                beta = multiply(beta, beta);
+            }
+            long[] factor = makeMonic(gcd(polynomial, trim(trace)));
+            int factorDegree = factor.length - 1;
+            if (factorDegree > 0 && factorDegree < degree) {
+                long[] quotient = divide(polynomial, factor);
+                return findRoots(factor, roots, reduce(frobeniusPowers, factor), random) &&
+                        findRoots(quotient, roots, reduce(frobeniusPowers, quotient), random);
+            }
+        }
+        return false;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Polynomial arithmetic. Coefficients in ascending order, index is the power of x.
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static long[][] reduce(long[][] polynomials, long[] monicModulus) {
+        long[][] result = new long[polynomials.length][];
+        for (int i = 0; i < polynomials.length; i++) {
+            result[i] = reduce(polynomials[i], monicModulus);
+        }
+        return result;
+    }
+
+    private static long[] trim(long[] polynomial) {
+        int length = polynomial.length;
+        while (length > 0 && polynomial[length - 1] == 0) {
+            length--;
+        }
+        return length == polynomial.length ? polynomial : Arrays.copyOf(polynomial, length);
+    }
+
+    private static long[] add(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, Math.max(a.length, b.length));
+        for (int i = 0; i < b.length; i++) {
+            result[i] ^= b[i];
+        }
+        return result;
+    }
+
+    private static long[] makeMonic(long[] polynomial) {
+        long[] trimmed = trim(polynomial);
+        if (trimmed.length == 0 || trimmed[trimmed.length - 1] == 1) {
+            return trimmed;
+        }
+        Multiplier multiplier = new Multiplier(inverse(trimmed[trimmed.length - 1]));
+        long[] result = new long[trimmed.length];
+        for (int i = 0; i < trimmed.length; i++) {
+            result[i] = multiplier.multiply(trimmed[i]);
+        }
+        return result;
+    }
+
+    // In characteristic 2 the cross terms cancel out, so squaring is just squaring the coefficients
+    private static long[] squareModulo(long[] a, long[] monicModulus) {
+        a = trim(a);
+        if (a.length == 0) {
+            return a;
+        }
+        long[] square = new long[2 * a.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            square[2 * i] = multiply(a[i], a[i]);
+        }
+        return reduce(square, monicModulus);
+    }
+
+    // Remainder of the division by a monic polynomial, done in place on a copy
+    private static long[] reduce(long[] polynomial, long[] monicModulus) {
+        int degree = monicModulus.length - 1;
+        if (polynomial.length <= degree) {
+            return polynomial;
+        }
+        long[] remainder = polynomial.clone();
+        for (int i = remainder.length - 1; i >= degree; i--) {
+            long leading = remainder[i];
+            if (leading == 0) {
+                continue;
+            }
+            Multiplier multiplier = new Multiplier(leading);
+            int offset = i - degree;
+            for (int j = 0; j <= degree; j++) {
+                remainder[offset + j] ^= multiplier.multiply(monicModulus[j]);
+            }
+        }
+        return Arrays.copyOf(remainder, degree);
+    }
+
+    private static long[] divide(long[] polynomial, long[] monicDivisor) {
+        int degree = monicDivisor.length - 1;
+        long[] remainder = polynomial.clone();
+        long[] quotient = new long[remainder.length - degree];
+        for (int i = remainder.length - 1; i >= degree; i--) {
+            long leading = remainder[i];
+            if (leading == 0) {
+                continue;
+            }
+            int offset = i - degree;
+            quotient[offset] = leading;
+            Multiplier multiplier = new Multiplier(leading);
+            for (int j = 0; j <= degree; j++) {
+                remainder[offset + j] ^= multiplier.multiply(monicDivisor[j]);
+            }
+        }
+        return quotient;
+    }
+
+    private static long[] gcd(long[] a, long[] b) {
+        a = trim(a);
+        b = trim(b);
+        while (b.length > 0) {
+            long[] remainder = trim(reduce(a, makeMonic(b)));
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+}
@@ -66,6 +66,7 @@ public class StorageService {
     private final PersistenceService persistenceService;
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
     private final PruneExpiredEntriesService pruneExpiredEntriesService = new PruneExpiredEntriesService();
+    private final AuthenticatedDataRequestVerifier authenticatedDataRequestVerifier = new AuthenticatedDataRequestVerifier();
 
     public StorageService(PersistenceService persistenceService) {
         this.persistenceService = persistenceService;
@@ -81,7 +82,11 @@ public class StorageService {
             if (new File(directory).exists()) {
                 getExistingStoreKeys(directory)
                         .forEach(storeKey -> {
-                            AuthenticatedDataStorageService dataStore = new AuthenticatedDataStorageService(persistenceService, pruneExpiredEntriesService, authStoreName, storeKey);
+                            AuthenticatedDataStorageService dataStore = new AuthenticatedDataStorageService(persistenceService,
+                                    pruneExpiredEntriesService,
+                                    authenticatedDataRequestVerifier,
+                                    authStoreName,
+                                    storeKey);
                             dataStore.addListener(new AuthenticatedDataStorageService.Listener() {
                                 @Override
                                 public void onAdded(AuthenticatedData authenticatedData) {
@@ -197,7 +202,7 @@ public class StorageService {
     }
 
     private Stream<AuthenticatedData> getAuthenticatedData(DataStorageService<? extends DataRequest> store) {
-        return store.getPersistableStore().getClone().getMap().values().stream()
+        return store.getPersistableStore().getSnapshot().values().stream()
                 .filter(e -> e instanceof AddAuthenticatedDataRequest)
                 .map(e -> (AddAuthenticatedDataRequest) e)
                 .map(e -> e.getAuthenticatedSequentialData().getAuthenticatedData());
@@ -317,34 +322,81 @@ public class StorageService {
                 });
     }
 
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Verification
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Verifies the signatures of the given requests in parallel. The results get cached, so that the following
+     * processing of the requests at the stores does not verify them again.
+     */
+    public CompletableFuture<Void> verifyInParallel(List<? extends DataRequest> dataRequests) {
+        return authenticatedDataRequestVerifier.verifyInParallel(dataRequests);
+    }
+
+    // The returned maps are immutable snapshots of the stores. Taking them does not copy the entries.
     public Stream<Map<ByteArray, AuthenticatedDataRequest>> getAuthenticatedDataStoreMaps() {
-        return authenticatedDataStores.values().stream().map(store -> store.getPersistableStore().getClone().getMap());
+        return authenticatedDataStores.values().stream().map(store -> store.getPersistableStore().getSnapshot());
     }
 
     public Stream<Map<ByteArray, MailboxRequest>> getMailboxStoreMaps() {
-        return mailboxStores.values().stream().map(store -> store.getPersistableStore().getClone().getMap());
+        return mailboxStores.values().stream().map(store -> store.getPersistableStore().getSnapshot());
     }
 
     public Stream<Map<ByteArray, AddAppendOnlyDataRequest>> getAddAppendOnlyDataStoreMaps() {
-        return appendOnlyDataStores.values().stream().map(store -> store.getPersistableStore().getClone().getMap());
+        return appendOnlyDataStores.values().stream().map(store -> store.getPersistableStore().getSnapshot());
     }
 
     public Stream<Map.Entry<ByteArray, ? extends DataRequest>> getAllDataRequestMapEntries() {
-        return getStoresByStoreType(ALL).flatMap(store -> new HashMap<>(store.getPersistableStore().getMap()).entrySet().stream());
+        return getDataRequestMapEntries(ALL);
+    }
+
+    /**
+     * Streams the entries of the snapshots of all stores of the given type, without materializing a copy of the
+     * stores.
+     */
+    public Stream<Map.Entry<ByteArray, ? extends DataRequest>> getDataRequestMapEntries(StoreType storeType) {
+        return getStoresByStoreType(storeType).flatMap(store -> store.getPersistableStore().getSnapshot().entrySet().stream());
+    }
+
+    public Stream<? extends DataRequest> getDataRequests(StoreType storeType) {
+        return getStoresByStoreType(storeType).flatMap(store -> store.getPersistableStore().getSnapshot().values().stream());
     }
 
+    // The store metrics are maintained at each change, so those calls are cheap
     public long getNetworkDatabaseSize() {
         return getStoresByStoreType(ALL)
-                .mapToLong(store -> store.getPersistableStore().getSerializedSize())
+                .mapToLong(store -> store.getPersistableStore().getMetrics().getSerializedSize())
+                .sum();
+    }
+
+    public long getNumNetworkDatabaseEntries() {
+        return getStoresByStoreType(ALL)
+                .mapToLong(store -> store.getPersistableStore().getMetrics().getNumEntries())
                 .sum();
     }
 
+    public Map<String, Long> getNetworkDatabaseSizeByClassName() {
+        Map<String, Long> result = new HashMap<>();
+        getStoresByStoreType(ALL).forEach(store -> store.getPersistableStore().getMetrics().getSerializedSizeByClassName()
+                .forEach((className, size) -> result.merge(className, size, Long::sum)));
+        return result;
+    }
+
+    public Map<String, Long> getNumNetworkDatabaseEntriesByClassName() {
+        Map<String, Long> result = new HashMap<>();
+        getStoresByStoreType(ALL).forEach(store -> store.getPersistableStore().getMetrics().getNumEntriesByClassName()
+                .forEach((className, numEntries) -> result.merge(className, numEntries, Long::sum)));
+        return result;
+    }
+
     public Stream<MailboxData> getMailboxData() {
         return mailboxStores.values().stream().flatMap(this::getMailboxData);
     }
 
     private Stream<MailboxData> getMailboxData(DataStorageService<? extends DataRequest> store) {
-        return store.getPersistableStore().getClone().getMap().values().stream()
+        return store.getPersistableStore().getSnapshot().values().stream()
                 .filter(e -> e instanceof AddMailboxRequest)
                 .map(e -> (AddMailboxRequest) e)
                 .map(e -> e.getMailboxSequentialData().getMailboxData());
@@ -359,6 +411,7 @@ public class StorageService {
         if (!authenticatedDataStores.containsKey(storeKey)) {
             AuthenticatedDataStorageService dataStore = new AuthenticatedDataStorageService(persistenceService,
                     pruneExpiredEntriesService,
+                    authenticatedDataRequestVerifier,
                     AUTHENTICATED_DATA_STORE.getStoreName(),
                     storeKey);
             dataStore.addListener(new AuthenticatedDataStorageService.Listener() {
@@ -496,8 +549,7 @@ public class StorageService {
                                 }
                             }));
             log.info("cleanupMap for {}: size of cleaned map {}; size of original map={}", storeKey, cleaned.size(), map.size());
-            map.clear();
-            map.putAll(cleaned);
+            authenticatedDataStorageService.getPersistableStore().replaceAll(cleaned);
             authenticatedDataStorageService.persist();
         } catch (Exception e) {
             e.printStackTrace();
@@ -72,7 +72,7 @@ public class AppendOnlyDataStorageService extends DataStorageService<AddAppendOn
                 return new DataStorageResult(false).payloadAlreadyStored();
             }
 
-            map.put(byteArray, addAppendOnlyDataRequest);
+            persistableStore.put(byteArray, addAppendOnlyDataRequest);
         }
         persist();
         listeners.forEach(listener -> {
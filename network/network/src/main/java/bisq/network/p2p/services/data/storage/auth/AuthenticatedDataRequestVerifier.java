@@ -0,0 +1,151 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage.auth;
+
+import bisq.common.data.ByteArray;
+import bisq.common.platform.PlatformUtils;
+import bisq.common.threading.ExecutorFactory;
+import bisq.common.util.CompletableFutureUtils;
+import bisq.network.p2p.services.data.DataRequest;
+import bisq.security.DigestUtil;
+import bisq.security.SignatureUtil;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Verifies the signatures of authenticated data requests outside the store lock and caches the valid results, so
+ * that duplicates (e.g. re-broadcasts or the same data received from multiple peers via inventory) are not verified
+ * again.
+ * <p>
+ * The cache key is the hash of the length-prefixed signed message, signature and public key, so a cache hit implies
+ * that exactly that signature has been verified before. Only valid results are cached.
+ */
+@Slf4j
+public class AuthenticatedDataRequestVerifier {
+    private static final int MAX_CACHE_SIZE = 50_000;
+    private static final int BATCH_SIZE = 64;
+    private static final ExecutorService EXECUTOR = ExecutorFactory.newFixedThreadPool("Network.signatureVerification",
+            Math.max(1, PlatformUtils.availableProcessors() - 1));
+
+    private final Map<ByteArray, Boolean> verifiedSignatures = Collections.synchronizedMap(
+            new LinkedHashMap<>(1024, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ByteArray, Boolean> eldest) {
+                    return size() > MAX_CACHE_SIZE;
+                }
+            });
+    @Getter
+    private final AtomicLong numCacheHits = new AtomicLong();
+    @Getter
+    private final AtomicLong numVerifications = new AtomicLong();
+
+    public AuthenticatedDataRequestVerifier() {
+    }
+
+    public boolean isSignatureInvalid(AddAuthenticatedDataRequest request) {
+        byte[] message = request.getAuthenticatedSequentialData().serializeForHash();
+        return isSignatureInvalid(message, request.getSignature(), request.getOwnerPublicKeyBytes(), () -> {
+            try {
+                return SignatureUtil.verify(message, request.getSignature(), request.getOwnerPublicKey());
+            } catch (Exception e) {
+                log.warn(e.toString(), e);
+                return false;
+            }
+        });
+    }
+
+    public boolean isSignatureInvalid(RemoveAuthenticatedDataRequest request) {
+        return isSignatureInvalid(request.getHash(), request.getSignature(), request.getOwnerPublicKeyBytes(),
+                () -> !request.isSignatureInvalid());
+    }
+
+    public boolean isSignatureInvalid(RefreshAuthenticatedDataRequest request) {
+        return isSignatureInvalid(request.getHash(), request.getSignature(), request.getOwnerPublicKeyBytes(),
+                () -> !request.isSignatureInvalid());
+    }
+
+    /**
+     * Verifies the signatures of the given requests in parallel. Used for large batches like inventory responses.
+     * The results are only used for filling the cache, so the following processing of the requests does not need to
+     * verify them again.
+     */
+    public CompletableFuture<Void> verifyInParallel(List<? extends DataRequest> dataRequests) {
+        List<AuthenticatedDataRequest> requests = dataRequests.stream()
+                .filter(dataRequest -> dataRequest instanceof AuthenticatedDataRequest)
+                .map(dataRequest -> (AuthenticatedDataRequest) dataRequest)
+                .toList();
+        if (requests.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i += BATCH_SIZE) {
+            List<AuthenticatedDataRequest> batch = requests.subList(i, Math.min(requests.size(), i + BATCH_SIZE));
+            futures.add(CompletableFuture.runAsync(() -> batch.forEach(this::verify), EXECUTOR));
+        }
+        return CompletableFutureUtils.allOf(futures)
+                .handle((list, throwable) -> {
+                    if (throwable != null) {
+                        log.warn("Parallel signature verification failed", throwable);
+                    }
+                    return null;
+                });
+    }
+
+    private void verify(AuthenticatedDataRequest request) {
+        if (request instanceof AddAuthenticatedDataRequest addRequest) {
+            isSignatureInvalid(addRequest);
+        } else if (request instanceof RemoveAuthenticatedDataRequest removeRequest) {
+            isSignatureInvalid(removeRequest);
+        } else if (request instanceof RefreshAuthenticatedDataRequest refreshRequest) {
+            isSignatureInvalid(refreshRequest);
+        }
+    }
+
+    boolean isSignatureInvalid(byte[] message,
+                               byte[] signature,
+                               byte[] publicKeyBytes,
+                               BooleanSupplier verification) {
+        ByteArray key = getCacheKey(message, signature, publicKeyBytes);
+        if (verifiedSignatures.containsKey(key)) {
+            numCacheHits.incrementAndGet();
+            return false;
+        }
+        numVerifications.incrementAndGet();
+        boolean isValid = verification.getAsBoolean();
+        if (isValid) {
+            verifiedSignatures.put(key, Boolean.TRUE);
+        }
+        return !isValid;
+    }
+
+    static ByteArray getCacheKey(byte[] message, byte[] signature, byte[] publicKeyBytes) {
+        // Each part is prefixed with its length, so that different splits of the same bytes result in different keys
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Integer.BYTES + message.length + signature.length + publicKeyBytes.length);
+        for (byte[] part : List.of(message, signature, publicKeyBytes)) {
+            buffer.putInt(part.length).put(part);
+        }
+        return new ByteArray(DigestUtil.hash(buffer.array()));
+    }
+}
@@ -50,12 +50,15 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
 
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
     private final Object mapAccessLock = new Object();
+    private final AuthenticatedDataRequestVerifier verifier;
 
     public AuthenticatedDataStorageService(PersistenceService persistenceService,
                                            PruneExpiredEntriesService pruneExpiredEntriesService,
+                                           AuthenticatedDataRequestVerifier verifier,
                                            String storeName,
                                            String storeKey) {
         super(persistenceService, storeName, storeKey);
+        this.verifier = verifier;
         pruneExpiredEntriesService.addTask(this::pruneExpired);
     }
 
@@ -79,58 +82,38 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         DistributedData distributedData = authenticatedData.distributedData;
         byte[] hash = DigestUtil.hash(authenticatedData.serializeForHash());
         ByteArray byteArray = new ByteArray(hash);
-        AuthenticatedDataRequest requestFromMap;
         Map<ByteArray, AuthenticatedDataRequest> map = persistableStore.getMap();
-        synchronized (mapAccessLock) {
-            if (isExceedingMapSize()) {
-                return new DataStorageResult(false).maxMapSizeReached();
-            }
-
-            requestFromMap = map.get(byteArray);
-            if (request.equals(requestFromMap)) {
-                return new DataStorageResult(false).requestAlreadyReceived();
-            }
-
-            if (requestFromMap != null && authenticatedSequentialData.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
-                return new DataStorageResult(false).sequenceNrInvalid();
-            }
-
-            if (authenticatedSequentialData.isExpired()) {
-                log.info("AddAuthenticatedDataRequest with {} is expired on {}",
-                        distributedData.getClass().getSimpleName(),
-                        new Date(authenticatedSequentialData.getCreated() + distributedData.getMetaData().getTtl())
-                );
-                log.debug("Data is expired at add. request={}", request);
-                return new DataStorageResult(false).expired();
-            }
 
-            if (authenticatedData.isDataInvalid(authenticatedSequentialData.getPubKeyHash())) {
-                log.warn("AuthenticatedData is invalid at add. request={}", request);
-                return new DataStorageResult(false).dataInvalid();
-            }
+        // We check the state dependent conditions optimistically before the expensive verification, so that we do
+        // not verify duplicates or outdated requests. They get checked again under the lock.
+        Optional<DataStorageResult> stateResult = getAddStateResult(request, authenticatedSequentialData, map.get(byteArray));
+        if (stateResult.isPresent()) {
+            return stateResult.get();
+        }
 
-            if (authenticatedData instanceof AuthorizedData authorizedData) {
-                if (authorizedData.isNotAuthorized()) {
-                    log.warn("AuthorizedData is not authorized. request={}", StringUtils.truncate(request.toString(), 500));
-                    return new DataStorageResult(false).isNotAuthorized();
-                }
-            }
+        // The verification does not depend on the map state, so we do it outside the lock to not block concurrent
+        // access to the store.
+        Optional<DataStorageResult> verificationResult = verifyAddRequest(request, authenticatedSequentialData);
+        if (verificationResult.isPresent()) {
+            return verificationResult.get();
+        }
 
-            if (request.isPublicKeyInvalid()) {
-                log.warn("PublicKey is invalid at add. request={}", request);
-                return new DataStorageResult(false).publicKeyHashInvalid();
+        synchronized (mapAccessLock) {
+            if (isExceedingMapSize()) {
+                return new DataStorageResult(false).maxMapSizeReached();
             }
 
-            if (request.isSignatureInvalid()) {
-                log.warn("Signature is invalid at add. request={}", request);
-                return new DataStorageResult(false).signatureInvalid();
+            // Map might have changed since our optimistic check
+            stateResult = getAddStateResult(request, authenticatedSequentialData, map.get(byteArray));
+            if (stateResult.isPresent()) {
+                return stateResult.get();
             }
 
             if (distributedData instanceof PublishDateAware publishDateAware) {
                 publishDateAware.setPublishDate(authenticatedSequentialData.getCreated());
             }
 
-            map.put(byteArray, request);
+            persistableStore.put(byteArray, request);
 
             // In case we only updated the seq number we still want to broadcast and update the listeners.
             // It is a valid use case that we have both an add and remove data request, and we get repeated sequences
@@ -156,13 +139,18 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         ByteArray byteArray = new ByteArray(request.getHash());
         AuthenticatedData authenticatedDataFromMap;
         Map<ByteArray, AuthenticatedDataRequest> map = persistableStore.getMap();
+        // We verify the signature outside the lock and use the result under the lock. Only if the entry got added
+        // concurrently we have to verify it under the lock.
+        Optional<Boolean> isSignatureInvalid = map.get(byteArray) instanceof AddAuthenticatedDataRequest
+                ? Optional.of(verifier.isSignatureInvalid(request))
+                : Optional.empty();
         synchronized (mapAccessLock) {
             AuthenticatedDataRequest requestFromMap = map.get(byteArray);
             if (requestFromMap == null) {
                 log.debug("No entry at remove. hash={}", byteArray);
                 // We don't have any entry, but it might be that we would receive later an add request, so we need to keep
                 // track of the sequence number
-                map.put(byteArray, request);
+                persistableStore.put(byteArray, request);
                 persist();
                 return new DataStorageResult(true).noEntry();
             }
@@ -172,7 +160,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 // We have had the entry already removed.
                 if (!request.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
                     // We update the map with the new request with the fresh sequence number.
-                    map.put(byteArray, request);
+                    persistableStore.put(byteArray, request);
                     persist();
                 }
                 return new DataStorageResult(true).alreadyRemoved();
@@ -196,7 +184,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 return new DataStorageResult(false).publicKeyHashInvalid();
             }
 
-            if (request.isSignatureInvalid()) {
+            if (isSignatureInvalid.orElseGet(() -> verifier.isSignatureInvalid(request))) {
                 log.warn("Signature is invalid at remove. request={}", request);
                 return new DataStorageResult(false).signatureInvalid();
             }
@@ -215,7 +203,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                         metaDataFromDistributedData);
             }
 
-            map.put(byteArray, request);
+            persistableStore.put(byteArray, request);
         }
 
         persist();
@@ -236,6 +224,11 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         ByteArray byteArray = new ByteArray(request.getHash());
         AddAuthenticatedDataRequest updatedRequest;
         Map<ByteArray, AuthenticatedDataRequest> map = persistableStore.getMap();
+        // We verify the signature outside the lock and use the result under the lock. Only if the entry got added
+        // concurrently we have to verify it under the lock.
+        Optional<Boolean> isSignatureInvalid = map.get(byteArray) instanceof AddAuthenticatedDataRequest
+                ? Optional.of(verifier.isSignatureInvalid(request))
+                : Optional.empty();
         synchronized (mapAccessLock) {
             AuthenticatedDataRequest requestFromMap = map.get(byteArray);
 
@@ -265,7 +258,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 return new DataStorageResult(false).publicKeyHashInvalid();
             }
 
-            if (request.isSignatureInvalid()) {
+            if (isSignatureInvalid.orElseGet(() -> verifier.isSignatureInvalid(request))) {
                 log.warn("Signature is invalid at refresh. request={}", request);
                 return new DataStorageResult(false).signatureInvalid();
             }
@@ -279,7 +272,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                     addRequestFromMap.getSignature(),
                     addRequestFromMap.getOwnerPublicKey());
 
-            map.put(byteArray, updatedRequest);
+            persistableStore.put(byteArray, updatedRequest);
         }
 
         persist();
@@ -294,6 +287,56 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         return new DataStorageResult(true);
     }
 
+    private Optional<DataStorageResult> getAddStateResult(AddAuthenticatedDataRequest request,
+                                                         AuthenticatedSequentialData authenticatedSequentialData,
+                                                         AuthenticatedDataRequest requestFromMap) {
+        if (request.equals(requestFromMap)) {
+            return Optional.of(new DataStorageResult(false).requestAlreadyReceived());
+        }
+
+        if (requestFromMap != null && authenticatedSequentialData.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
+            return Optional.of(new DataStorageResult(false).sequenceNrInvalid());
+        }
+        return Optional.empty();
+    }
+
+    private Optional<DataStorageResult> verifyAddRequest(AddAuthenticatedDataRequest request,
+                                                         AuthenticatedSequentialData authenticatedSequentialData) {
+        AuthenticatedData authenticatedData = authenticatedSequentialData.getAuthenticatedData();
+        DistributedData distributedData = authenticatedData.distributedData;
+        if (authenticatedSequentialData.isExpired()) {
+            log.info("AddAuthenticatedDataRequest with {} is expired on {}",
+                    distributedData.getClass().getSimpleName(),
+                    new Date(authenticatedSequentialData.getCreated() + distributedData.getMetaData().getTtl())
+            );
+            log.debug("Data is expired at add. request={}", request);
+            return Optional.of(new DataStorageResult(false).expired());
+        }
+
+        if (authenticatedData.isDataInvalid(authenticatedSequentialData.getPubKeyHash())) {
+            log.warn("AuthenticatedData is invalid at add. request={}", request);
+            return Optional.of(new DataStorageResult(false).dataInvalid());
+        }
+
+        if (authenticatedData instanceof AuthorizedData authorizedData) {
+            if (authorizedData.isNotAuthorized()) {
+                log.warn("AuthorizedData is not authorized. request={}", StringUtils.truncate(request.toString(), 500));
+                return Optional.of(new DataStorageResult(false).isNotAuthorized());
+            }
+        }
+
+        if (request.isPublicKeyInvalid()) {
+            log.warn("PublicKey is invalid at add. request={}", request);
+            return Optional.of(new DataStorageResult(false).publicKeyHashInvalid());
+        }
+
+        if (verifier.isSignatureInvalid(request)) {
+            log.warn("Signature is invalid at add. request={}", request);
+            return Optional.of(new DataStorageResult(false).signatureInvalid());
+        }
+        return Optional.empty();
+    }
+
     public void addListener(Listener listener) {
         listeners.add(listener);
     }
@@ -329,7 +372,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
         if (!expiredEntries.isEmpty()) {
             log.info("We remove {} expired entries from our {} map", expiredEntries.size(), getStoreKey());
             expiredEntries.forEach(entry -> {
-                persistableStore.getMap().remove(entry.getKey());
+                persistableStore.remove(entry.getKey());
                 if (entry.getValue() instanceof AddAuthenticatedDataRequest) {
                     AuthenticatedData data = ((AddAuthenticatedDataRequest) entry.getValue()).getAuthenticatedSequentialData().getAuthenticatedData();
                     listeners.forEach(listener -> {
@@ -361,7 +404,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
             invalidAuthorizedData.forEach((key, value) -> {
                 log.warn("We prune the AddAuthenticatedDataRequest with an invalid AuthorizedData. {}",
                         StringUtils.truncate(value.toString(), 3000));
-                persistableStore.getMap().remove(key);
+                persistableStore.remove(key);
             });
             persist();
         }
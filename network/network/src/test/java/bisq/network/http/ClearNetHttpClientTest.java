@@ -0,0 +1,133 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.http;
+
+import bisq.network.http.utils.HttpException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ClearNetHttpClientTest {
+    private final AtomicInteger numConcurrentRequests = new AtomicInteger();
+    private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService executor;
+    private ClearNetHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/echo", exchange -> {
+            int numConcurrent = numConcurrentRequests.incrementAndGet();
+            maxConcurrentRequests.accumulateAndGet(numConcurrent, Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ignore) {
+            }
+            numConcurrentRequests.decrementAndGet();
+            byte[] response = exchange.getRequestURI().getPath().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(response);
+            }
+        });
+        server.createContext("/error", exchange -> {
+            byte[] response = "not found".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(404, response.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(response);
+            }
+        });
+        server.start();
+        executor = Executors.newFixedThreadPool(2 * BaseHttpClient.MAX_CONCURRENT_REQUESTS);
+        client = new ClearNetHttpClient("http://127.0.0.1:" + server.getAddress().getPort(), "test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        executor.shutdownNow();
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    @Test
+    void concurrentRequestsAreLimited() throws Exception {
+        int numRequests = 2 * BaseHttpClient.MAX_CONCURRENT_REQUESTS;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<CompletableFuture<String>> futures = IntStream.range(0, numRequests)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        startLatch.await();
+                        return client.get("echo/" + i, Optional.empty());
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }, executor))
+                .toList();
+        startLatch.countDown();
+
+        for (int i = 0; i < numRequests; i++) {
+            assertThat(futures.get(i).get(10, TimeUnit.SECONDS)).isEqualTo("/echo/" + i);
+        }
+        assertThat(maxConcurrentRequests.get()).isGreaterThan(1).isLessThanOrEqualTo(BaseHttpClient.MAX_CONCURRENT_REQUESTS);
+        assertThat(client.hasPendingRequest()).isFalse();
+
+        HttpRequestMetrics metrics = client.getMetrics();
+        assertThat(metrics.getNumSuccessfulRequests()).isEqualTo(numRequests);
+        assertThat(metrics.getNumFailedRequests()).isZero();
+        assertThat(metrics.getMaxLatency()).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void errorResponseIsReported() {
+        assertThatThrownBy(() -> client.get("error", Optional.empty()))
+                .isInstanceOf(IOException.class)
+                .hasCauseInstanceOf(HttpException.class)
+                .hasMessageContaining("not found");
+        assertThat(client.getMetrics().getNumFailedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void requestsAfterShutdownAreRejected() {
+        client.shutdown();
+        assertThat(client.isShutdownStarted()).isTrue();
+        assertThatThrownBy(() -> client.get("echo", Optional.empty()))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.message;
+
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SerializedEnvelopePayloadMessageTest {
+    @Test
+    void memoizedFormsMatchMessageSerialization() {
+        Ping ping = new Ping(42);
+        SerializedEnvelopePayloadMessage serializedMessage = SerializedEnvelopePayloadMessage.from(ping);
+
+        assertThat(serializedMessage.getProto()).isEqualTo(ping.toProto(false));
+        assertThat(serializedMessage.serialize()).isEqualTo(ping.serialize());
+        assertThat(serializedMessage.serializeForHash()).isEqualTo(ping.serializeForHash());
+        assertThat(serializedMessage.getSerializedSize()).isEqualTo(ping.getSerializedSize());
+
+        // Memoized instances are returned on repeated calls
+        assertThat(serializedMessage.getProto()).isSameAs(serializedMessage.getProto());
+        assertThat(serializedMessage.serialize()).isSameAs(serializedMessage.serialize());
+        assertThat(serializedMessage.serializeForHash()).isSameAs(serializedMessage.serializeForHash());
+    }
+
+    @Test
+    void receivedProtoIsReused() {
+        bisq.network.protobuf.EnvelopePayloadMessage proto = new Ping(42).toProto(false);
+        Ping ping = (Ping) EnvelopePayloadMessage.fromProto(proto);
+        SerializedEnvelopePayloadMessage serializedMessage = SerializedEnvelopePayloadMessage.from(ping, proto);
+
+        assertThat(serializedMessage.getProto()).isSameAs(proto);
+        assertThat(serializedMessage.serialize()).isEqualTo(ping.serialize());
+    }
+}
@@ -0,0 +1,94 @@
+package bisq.network.p2p.node.authorization;
+
+import org.junit.jupiter.api.Test;
+
+import static bisq.network.p2p.node.authorization.ReceivedMessageCounters.WINDOW_SIZE;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReceivedMessageCountersTest {
+    @Test
+    void replayedCountersAreRejected() {
+        ReceivedMessageCounters receivedMessageCounters = new ReceivedMessageCounters();
+        assertTrue(receivedMessageCounters.isNew("c1", 1));
+        assertTrue(receivedMessageCounters.isNew("c1", 2));
+        assertFalse(receivedMessageCounters.isNew("c1", 1));
+        assertFalse(receivedMessageCounters.isNew("c1", 2));
+
+        // Other connections are independent
+        assertTrue(receivedMessageCounters.isNew("c2", 1));
+        assertEquals(2, receivedMessageCounters.getNumReplayedCounters().get());
+    }
+
+    @Test
+    void outOfOrderCountersInsideWindowAreAccepted() {
+        ReceivedMessageCounters receivedMessageCounters = new ReceivedMessageCounters();
+        assertTrue(receivedMessageCounters.isNew("c1", 10));
+        assertTrue(receivedMessageCounters.isNew("c1", 5));
+        assertTrue(receivedMessageCounters.isNew("c1", 7));
+        assertFalse(receivedMessageCounters.isNew("c1", 5));
+
+        int highest = 10 + WINDOW_SIZE - 1;
+        assertTrue(receivedMessageCounters.isNew("c1", highest));
+        // Still inside the window
+        assertFalse(receivedMessageCounters.isNew("c1", 10));
+        assertTrue(receivedMessageCounters.isNew("c1", 11));
+        // Too old, we cannot tell if it got used already
+        assertFalse(receivedMessageCounters.isNew("c1", 9));
+        assertEquals(1, receivedMessageCounters.getNumCountersOutsideWindow().get());
+    }
+
+    @Test
+    void slidingWindowClearsSkippedCounters() {
+        ReceivedMessageCounters receivedMessageCounters = new ReceivedMessageCounters();
+        assertTrue(receivedMessageCounters.isNew("c1", 1));
+        // Counter 1 + WINDOW_SIZE maps to the same bit as 1, skipped counters must not be treated as seen
+        assertTrue(receivedMessageCounters.isNew("c1", 1 + 2 * WINDOW_SIZE));
+        assertTrue(receivedMessageCounters.isNew("c1", 2 + WINDOW_SIZE));
+        assertTrue(receivedMessageCounters.isNew("c1", 3 + 2 * WINDOW_SIZE));
+        assertTrue(receivedMessageCounters.isNew("c1", 2 + 2 * WINDOW_SIZE));
+    }
+
+    @Test
+    void windowIsRemovedOnClose() {
+        ReceivedMessageCounters receivedMessageCounters = new ReceivedMessageCounters();
+        assertTrue(receivedMessageCounters.isNew("c1", 1));
+        assertTrue(receivedMessageCounters.isNew("c2", 1));
+        assertEquals(2, receivedMessageCounters.getNumConnections());
+        assertEquals(2L * ReceivedMessageCounters.MEMORY_PER_CONNECTION, receivedMessageCounters.getMemoryUsage());
+
+        receivedMessageCounters.remove("c1");
+        assertEquals(1, receivedMessageCounters.getNumConnections());
+        assertEquals(ReceivedMessageCounters.MEMORY_PER_CONNECTION + ReceivedMessageCounters.MEMORY_PER_CLOSED_CONNECTION,
+                receivedMessageCounters.getMemoryUsage());
+    }
+
+    @Test
+    void lateMessagesOfClosedConnectionAreRejected() {
+        ReceivedMessageCounters receivedMessageCounters = new ReceivedMessageCounters();
+        assertTrue(receivedMessageCounters.isNew("c1", 1));
+        receivedMessageCounters.remove("c1");
+
+        // A late message must not recreate the window, otherwise counter 1 could be replayed
+        assertFalse(receivedMessageCounters.isNew("c1", 1));
+        assertFalse(receivedMessageCounters.isNew("c1", 2));
+        assertEquals(0, receivedMessageCounters.getNumConnections());
+
+        // Only the most recently closed connection IDs are kept
+        for (int i = 0; i < ReceivedMessageCounters.MAX_CLOSED_CONNECTION_IDS; i++) {
+            receivedMessageCounters.remove("closed" + i);
+        }
+        assertTrue(receivedMessageCounters.isNew("c1", 1));
+        assertFalse(receivedMessageCounters.isNew("closed0", 1));
+    }
+
+    @Test
+    void countersOlderThanWindowAreRejected() {
+        // In contrast to the previous unbounded set, an unseen counter more than WINDOW_SIZE below the highest
+        // received counter is rejected.
+        ReceivedMessageCounters receivedMessageCounters = new ReceivedMessageCounters();
+        assertTrue(receivedMessageCounters.isNew("c1", WINDOW_SIZE + 1));
+        assertFalse(receivedMessageCounters.isNew("c1", 1));
+        assertTrue(receivedMessageCounters.isNew("c1", 2));
+        assertEquals(1, receivedMessageCounters.getNumCountersOutsideWindow().get());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectionMetricsTest {
+    @Test
+    void minuteCounterKeepsOnlyLastMinutes() {
+        MinuteCounter minuteCounter = new MinuteCounter(60);
+        for (int minute = 0; minute < 100; minute++) {
+            minuteCounter.add(minute, 1);
+        }
+        assertThat(minuteCounter.getTotal()).isEqualTo(100);
+        assertThat(minuteCounter.sumOfLastMinutes(99, 60)).isEqualTo(60);
+        assertThat(minuteCounter.sumOfLastMinutes(99, 10)).isEqualTo(10);
+        assertThat(minuteCounter.sumOfLastMinutes(99, 100)).isEqualTo(60);
+
+        // Idle minutes are not counted
+        assertThat(minuteCounter.sumOfLastMinutes(120, 60)).isEqualTo(39);
+        assertThat(minuteCounter.sumOfLastMinutes(200, 60)).isEqualTo(0);
+
+        // Reused bucket gets reset
+        minuteCounter.add(160, 5);
+        assertThat(minuteCounter.sumOfLastMinutes(160, 1)).isEqualTo(5);
+
+        minuteCounter.clear();
+        assertThat(minuteCounter.getTotal()).isEqualTo(0);
+        assertThat(minuteCounter.sumOfLastMinutes(160, 60)).isEqualTo(0);
+    }
+
+    @Test
+    void rttHistogram() {
+        RttHistogram rttHistogram = new RttHistogram();
+        assertThat(rttHistogram.getAverage()).isEqualTo(0);
+        assertThat(rttHistogram.getValueAtPercentile(50)).isEqualTo(0);
+
+        for (int i = 1; i <= 1000; i++) {
+            rttHistogram.record(i);
+        }
+        assertThat(rttHistogram.getCount()).isEqualTo(1000);
+        assertThat(rttHistogram.getAverage()).isEqualTo(500.5);
+        assertThat(rttHistogram.getMax()).isEqualTo(1000);
+        assertThat(rttHistogram.getValueAtPercentile(50)).isBetween(500L * 7 / 8, 500L);
+        assertThat(rttHistogram.getValueAtPercentile(99)).isBetween(990L * 7 / 8, 990L);
+        assertThat(rttHistogram.getValueAtPercentile(100)).isBetween(1000L * 7 / 8, 1000L);
+
+        rttHistogram.record(Long.MAX_VALUE);
+        assertThat(rttHistogram.getMax()).isEqualTo(RttHistogram.MAX_VALUE);
+
+        rttHistogram.clear();
+        assertThat(rttHistogram.getCount()).isEqualTo(0);
+    }
+
+    @Test
+    void rttHistogramBucketBounds() {
+        for (long value = 0; value <= RttHistogram.MAX_VALUE; value += 1 + value / 100) {
+            long lowestValue = RttHistogram.getLowestValue(RttHistogram.getIndex(value));
+            assertThat(lowestValue).isLessThanOrEqualTo(value);
+            assertThat(value - lowestValue).isLessThanOrEqualTo(value / 8);
+        }
+    }
+
+    @Test
+    void classNameCounters() {
+        ClassNameCounters classNameCounters = new ClassNameCounters();
+        classNameCounters.increment("A");
+        classNameCounters.increment("A");
+        classNameCounters.increment("B");
+        assertThat(classNameCounters.get("A")).isEqualTo(2);
+        assertThat(classNameCounters.get("C")).isEqualTo(0);
+        assertThat(classNameCounters.getSnapshot()).isEqualTo(Map.of("A", 2L, "B", 1L));
+
+        // Indices are shared but counters are per instance
+        assertThat(new ClassNameCounters().getSnapshot()).isEmpty();
+
+        classNameCounters.clear();
+        assertThat(classNameCounters.getSnapshot()).isEmpty();
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.services.confidential;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfidentialMessageServiceTest {
+    @Test
+    void confidentialDataDigestDependsOnHowPartsAreSplit() {
+        // Both pairs concatenate to {1, 2, 3, 4}
+        assertThat(ConfidentialMessageService.getConfidentialDataDigest(new byte[]{1, 2}, new byte[]{3, 4}))
+                .isNotEqualTo(ConfidentialMessageService.getConfidentialDataDigest(new byte[]{1, 2, 3}, new byte[]{4}));
+        assertThat(ConfidentialMessageService.getConfidentialDataDigest(new byte[]{1, 2}, new byte[]{3, 4}))
+                .isEqualTo(ConfidentialMessageService.getConfidentialDataDigest(new byte[]{1, 2}, new byte[]{3, 4}));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.confidential;
+
+import bisq.common.data.ByteArray;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProcessedMessageCacheTest {
+    @Test
+    void detectsDuplicates() {
+        ProcessedMessageCache cache = new ProcessedMessageCache(10, 60_000);
+        ByteArray digest = new ByteArray(new byte[]{1, 2, 3});
+        assertThat(cache.contains(digest)).isFalse();
+        assertThat(cache.add(digest)).isTrue();
+        assertThat(cache.add(new ByteArray(new byte[]{1, 2, 3}))).isFalse();
+        assertThat(cache.contains(digest)).isTrue();
+        assertThat(cache.getNumHits().get()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsEldestEntriesAtMaxSize() {
+        ProcessedMessageCache cache = new ProcessedMessageCache(3, 60_000);
+        for (byte i = 0; i < 5; i++) {
+            cache.add(new ByteArray(new byte[]{i}));
+        }
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.getNumEvictions().get()).isEqualTo(2);
+        assertThat(cache.contains(new ByteArray(new byte[]{0}))).isFalse();
+        assertThat(cache.contains(new ByteArray(new byte[]{4}))).isTrue();
+    }
+
+    @Test
+    void evictsExpiredEntries() throws InterruptedException {
+        ProcessedMessageCache cache = new ProcessedMessageCache(10, 20);
+        cache.add(new ByteArray(new byte[]{1}));
+        Thread.sleep(50);
+        assertThat(cache.contains(new ByteArray(new byte[]{1}))).isFalse();
+        assertThat(cache.getNumEvictions().get()).isEqualTo(1);
+    }
+}
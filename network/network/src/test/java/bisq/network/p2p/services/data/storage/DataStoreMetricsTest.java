@@ -0,0 +1,113 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage;
+
+import bisq.common.data.ByteArray;
+import bisq.network.p2p.services.data.DataRequest;
+import com.google.protobuf.Message;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataStoreMetricsTest {
+    @Test
+    void metricsFollowChanges() {
+        DataStore<DataRequest> dataStore = new DataStore<>();
+        ByteArray key1 = new ByteArray(new byte[]{1});
+        ByteArray key2 = new ByteArray(new byte[]{2});
+        dataStore.put(key1, new TestDataRequest(100));
+
+        // Initialized from existing entries at first access
+        DataStoreMetrics metrics = dataStore.getMetrics();
+        assertThat(metrics.getNumEntries()).isEqualTo(1);
+        assertThat(metrics.getSerializedSize()).isEqualTo(101);
+
+        dataStore.put(key2, new TestDataRequest(200));
+        assertThat(metrics.getNumEntries()).isEqualTo(2);
+        assertThat(metrics.getSerializedSize()).isEqualTo(302);
+        assertThat(metrics.getNumEntriesByClassName()).isEqualTo(Map.of("N/A", 2L));
+
+        // Replacing an entry
+        dataStore.put(key2, new TestDataRequest(50));
+        assertThat(metrics.getNumEntries()).isEqualTo(2);
+        assertThat(metrics.getSerializedSize()).isEqualTo(152);
+
+        dataStore.remove(key1);
+        dataStore.remove(key1);
+        assertThat(metrics.getNumEntries()).isEqualTo(1);
+        assertThat(metrics.getSerializedSize()).isEqualTo(51);
+
+        dataStore.replaceAll(Map.of(key1, new TestDataRequest(10)));
+        assertThat(dataStore.getMetrics().getNumEntries()).isEqualTo(1);
+        assertThat(dataStore.getMetrics().getSerializedSize()).isEqualTo(11);
+
+        dataStore.remove(key1);
+        assertThat(metrics.getNumEntries()).isEqualTo(0);
+        assertThat(metrics.getSerializedSize()).isEqualTo(0);
+        assertThat(metrics.getSerializedSizeByClassName()).isEmpty();
+    }
+
+    private static class TestDataRequest implements DataRequest {
+        private final int serializedSize;
+
+        private TestDataRequest(int serializedSize) {
+            this.serializedSize = serializedSize;
+        }
+
+        @Override
+        public int getSerializedSize() {
+            return serializedSize;
+        }
+
+        @Override
+        public bisq.network.protobuf.DataRequest.Builder getDataRequestBuilder(boolean serializeForHash) {
+            return newDataRequestBuilder();
+        }
+
+        @Override
+        public Message.Builder getValueBuilder(boolean serializeForHash) {
+            return newDataRequestBuilder();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return false;
+        }
+
+        @Override
+        public long getCreated() {
+            return 0;
+        }
+
+        @Override
+        public int getMaxMapSize() {
+            return 100;
+        }
+
+        @Override
+        public double getCostFactor() {
+            return 0;
+        }
+
+        @Override
+        public void verify() {
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage;
+
+import bisq.common.data.ByteArray;
+import bisq.network.p2p.services.data.DataRequest;
+import com.google.protobuf.Message;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DataStoreSketchTest {
+    private final Random random = new Random(42);
+
+    @Test
+    void sketchFollowsChanges() {
+        DataStore<DataRequest> dataStore = new DataStore<>();
+        List<ByteArray> keys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ByteArray key = randomKey();
+            keys.add(key);
+            dataStore.put(key, new TestDataRequest());
+        }
+
+        // Initialized from existing entries at first access
+        assertThat(dataStore.getSketch(DataStoreSketch.MAX_CAPACITY)).isEqualTo(createSketch(dataStore, DataStoreSketch.MAX_CAPACITY));
+
+        for (int i = 0; i < 20; i++) {
+            dataStore.remove(keys.get(i));
+            dataStore.put(randomKey(), new TestDataRequest());
+        }
+        // Removing a missing key has no effect
+        dataStore.remove(keys.get(0));
+        // Replacing an entry removes the element of the previous one
+        dataStore.put(keys.get(50), new TestDataRequest());
+        assertThat(dataStore.getSketch(DataStoreSketch.MAX_CAPACITY)).isEqualTo(createSketch(dataStore, DataStoreSketch.MAX_CAPACITY));
+
+        dataStore.replaceAll(Map.of(randomKey(), new TestDataRequest()));
+        assertThat(dataStore.getSketch(DataStoreSketch.MAX_CAPACITY)).isEqualTo(createSketch(dataStore, DataStoreSketch.MAX_CAPACITY));
+
+        new ArrayList<>(dataStore.getSnapshot().keySet()).forEach(dataStore::remove);
+        assertThat(dataStore.getSketch(DataStoreSketch.MAX_CAPACITY)).containsOnly(0L);
+    }
+
+    @Test
+    void sketchOfLowerCapacityIsPrefix() {
+        DataStore<DataRequest> dataStore = new DataStore<>();
+        for (int i = 0; i < 50; i++) {
+            dataStore.put(randomKey(), new TestDataRequest());
+        }
+        for (int capacity : new int[]{1, 16, DataStoreSketch.MAX_CAPACITY}) {
+            assertThat(dataStore.getSketch(capacity)).isEqualTo(createSketch(dataStore, capacity));
+        }
+        assertThatThrownBy(() -> dataStore.getSketch(DataStoreSketch.MAX_CAPACITY + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static long[] createSketch(DataStore<DataRequest> dataStore, int capacity) {
+        Set<Long> elements = dataStore.getSnapshot().entrySet().stream()
+                .map(entry -> DataStoreSketch.toElement(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toSet());
+        return PinSketch.create(elements, capacity);
+    }
+
+    private ByteArray randomKey() {
+        byte[] bytes = new byte[20];
+        random.nextBytes(bytes);
+        return new ByteArray(bytes);
+    }
+
+    private static class TestDataRequest implements DataRequest {
+        @Override
+        public bisq.network.protobuf.DataRequest.Builder getDataRequestBuilder(boolean serializeForHash) {
+            return newDataRequestBuilder();
+        }
+
+        @Override
+        public Message.Builder getValueBuilder(boolean serializeForHash) {
+            return newDataRequestBuilder();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return false;
+        }
+
+        @Override
+        public long getCreated() {
+            return 0;
+        }
+
+        @Override
+        public int getMaxMapSize() {
+            return 100;
+        }
+
+        @Override
+        public double getCostFactor() {
+            return 0;
+        }
+
+        @Override
+        public void verify() {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PinSketchTest {
+    private final Random random = new Random(42);
+
+    @Test
+    void fieldArithmetic() {
+        for (int i = 0; i < 100; i++) {
+            long a = random.nextLong() | 1;
+            long b = random.nextLong();
+            assertThat(PinSketch.multiply(a, PinSketch.inverse(a))).isEqualTo(1);
+            assertThat(new PinSketch.Multiplier(b).multiply(a)).isEqualTo(PinSketch.multiply(a, b));
+        }
+    }
+
+    @Test
+    void decodeSymmetricDifference() {
+        int capacity = 64;
+        for (int differenceSize : new int[]{0, 1, 10, capacity}) {
+            Set<Long> common = randomElements(1000);
+            Set<Long> onlyInA = randomElements(differenceSize / 2);
+            Set<Long> onlyInB = randomElements(differenceSize - onlyInA.size());
+
+            long[] sketchA = PinSketch.create(union(common, onlyInA), capacity);
+            long[] sketchB = PinSketch.create(union(common, onlyInB), capacity);
+            Optional<Set<Long>> decoded = PinSketch.decode(PinSketch.merge(sketchA, sketchB));
+
+            assertThat(decoded).contains(union(onlyInA, onlyInB));
+        }
+    }
+
+    @Test
+    void decodeFailsIfDifferenceExceedsCapacity() {
+        int capacity = 32;
+        Set<Long> common = randomElements(1000);
+        long[] sketchA = PinSketch.create(union(common, randomElements(40)), capacity);
+        long[] sketchB = PinSketch.create(union(common, randomElements(40)), capacity);
+
+        assertThat(PinSketch.decode(PinSketch.merge(sketchA, sketchB))).isEmpty();
+    }
+
+    private Set<Long> randomElements(int size) {
+        Set<Long> elements = new HashSet<>();
+        while (elements.size() < size) {
+            long element = random.nextLong();
+            if (element != 0) {
+                elements.add(element);
+            }
+        }
+        return elements;
+    }
+
+    private static Set<Long> union(Set<Long> a, Set<Long> b) {
+        Set<Long> union = new HashSet<>(a);
+        union.addAll(b);
+        return union;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.storage.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AuthenticatedDataRequestVerifierTest {
+    // Both tuples concatenate to {1, 2, 3, 4, 5, 6}
+    private static final byte[] MESSAGE_1 = {1, 2};
+    private static final byte[] SIGNATURE_1 = {3, 4};
+    private static final byte[] PUBLIC_KEY_1 = {5, 6};
+    private static final byte[] MESSAGE_2 = {1, 2, 3};
+    private static final byte[] SIGNATURE_2 = {4};
+    private static final byte[] PUBLIC_KEY_2 = {5, 6};
+
+    @Test
+    void cacheKeyDependsOnFieldBoundaries() {
+        assertThat(AuthenticatedDataRequestVerifier.getCacheKey(MESSAGE_1, SIGNATURE_1, PUBLIC_KEY_1))
+                .isNotEqualTo(AuthenticatedDataRequestVerifier.getCacheKey(MESSAGE_2, SIGNATURE_2, PUBLIC_KEY_2));
+        assertThat(AuthenticatedDataRequestVerifier.getCacheKey(MESSAGE_1, SIGNATURE_1, PUBLIC_KEY_1))
+                .isEqualTo(AuthenticatedDataRequestVerifier.getCacheKey(MESSAGE_1.clone(), SIGNATURE_1.clone(), PUBLIC_KEY_1.clone()));
+    }
+
+    @Test
+    void cachedResultIsNotUsedForDifferentTupleWithEqualConcatenation() {
+        AuthenticatedDataRequestVerifier verifier = new AuthenticatedDataRequestVerifier();
+        AtomicInteger numVerifications = new AtomicInteger();
+
+        assertThat(verifier.isSignatureInvalid(MESSAGE_1, SIGNATURE_1, PUBLIC_KEY_1, () -> {
+            numVerifications.incrementAndGet();
+            return true;
+        })).isFalse();
+        // Cache hit
+        assertThat(verifier.isSignatureInvalid(MESSAGE_1, SIGNATURE_1, PUBLIC_KEY_1, () -> {
+            numVerifications.incrementAndGet();
+            return true;
+        })).isFalse();
+        assertThat(numVerifications.get()).isEqualTo(1);
+
+        assertThat(verifier.isSignatureInvalid(MESSAGE_2, SIGNATURE_2, PUBLIC_KEY_2, () -> {
+            numVerifications.incrementAndGet();
+            return false;
+        })).isTrue();
+        assertThat(numVerifications.get()).isEqualTo(2);
+    }
+}
@@ -39,8 +39,10 @@ import java.io.File;
 import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
@@ -138,12 +140,26 @@ public class TorService implements Service {
     }
 
     public CompletableFuture<ServerSocket> createOnionService(int port, TorKeyPair torKeyPair) {
+        return createOnionService(port, torKeyPair, false);
+    }
+
+    /**
+     * @param isChannelBacked If true the local server socket is created from a ServerSocketChannel, so that the
+     *                        accepted sockets can be used with a selector.
+     */
+    public CompletableFuture<ServerSocket> createOnionService(int port, TorKeyPair torKeyPair, boolean isChannelBacked) {
         log.info("Start hidden service with port {}", port);
         long ts = System.currentTimeMillis();
         try {
             InetAddress bindAddress = !LinuxDistribution.isWhonix() ? Inet4Address.getLoopbackAddress()
                     : Inet4Address.getByName("0.0.0.0");
-            var localServerSocket = new ServerSocket(RANDOM_PORT, 50, bindAddress);
+            ServerSocket localServerSocket;
+            if (isChannelBacked) {
+                localServerSocket = ServerSocketChannel.open().socket();
+                localServerSocket.bind(new InetSocketAddress(bindAddress, RANDOM_PORT), 50);
+            } else {
+                localServerSocket = new ServerSocket(RANDOM_PORT, 50, bindAddress);
+            }
 
             String onionAddress = torKeyPair.getOnionAddress();
             if (!publishedOnionServices.contains(onionAddress)) {
@@ -180,6 +196,10 @@ public class TorService implements Service {
         return socksProxyFactory.getSocket(streamId);
     }
 
+    public int getSocksPort() {
+        return torSocksProxyFactory.orElseThrow().getSocksPort();
+    }
+
     public Socks5Proxy getSocks5Proxy(String streamId) throws IOException {
         TorSocksProxyFactory socksProxyFactory = torSocksProxyFactory.orElseThrow();
         return socksProxyFactory.getSocks5Proxy(streamId);
@@ -38,6 +38,10 @@ public class TorSocksProxyFactory {
         this.socksPort = socksPort;
     }
 
+    public int getSocksPort() {
+        return socksPort;
+    }
+
     public Socket getSocket(@Nullable String streamId) throws IOException {
         Proxy proxy = getProxy(streamId);
         return new Socket(proxy);
@@ -49,7 +49,8 @@ public class TorTransportConfig implements TransportConfig {
                 parseDirectoryAuthorities(config.getList("directoryAuthorities")),
                 parseTorrcOverrideConfig(config.getConfig("torrcOverrides")),
                 config.getInt("sendMessageThrottleTime"),
-                config.getInt("receiveMessageThrottleTime")
+                config.getInt("receiveMessageThrottleTime"),
+                config.hasPath("nonBlockingIo") && config.getBoolean("nonBlockingIo")
         );
     }
 
@@ -97,6 +98,7 @@ public class TorTransportConfig implements TransportConfig {
     private final Map<String, String> torrcOverrides;
     private final int sendMessageThrottleTime;
     private final int receiveMessageThrottleTime;
+    private final boolean nonBlockingIo;
 
     public TorTransportConfig(Path dataDir,
                               int defaultNodePort,
@@ -108,7 +110,8 @@ public class TorTransportConfig implements TransportConfig {
                               Set<DirectoryAuthority> directoryAuthorities,
                               Map<String, String> torrcOverrides,
                               int sendMessageThrottleTime,
-                              int receiveMessageThrottleTime) {
+                              int receiveMessageThrottleTime,
+                              boolean nonBlockingIo) {
         this.dataDir = dataDir;
         this.defaultNodePort = defaultNodePort;
         this.bootstrapTimeout = bootstrapTimeout;
@@ -120,5 +123,6 @@ public class TorTransportConfig implements TransportConfig {
         this.torrcOverrides = torrcOverrides;
         this.sendMessageThrottleTime = sendMessageThrottleTime;
         this.receiveMessageThrottleTime = receiveMessageThrottleTime;
+        this.nonBlockingIo = nonBlockingIo;
     }
 }
\ No newline at end of file
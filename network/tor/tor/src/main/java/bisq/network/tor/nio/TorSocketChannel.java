@@ -41,8 +41,9 @@ public class TorSocketChannel implements Closeable, ReadableByteChannel, Writabl
     }
 
     public SocketChannel connect(TorSocksConnectionData torSocksConnectionData, ByteBuffer byteBuffer) throws IOException {
+        // The tor socks port is bound to the loopback interface
         InetSocketAddress torSocketAddress = new InetSocketAddress(
-                InetAddress.getLocalHost(),
+                InetAddress.getLoopbackAddress(),
                 torSocksConnectionData.getTorSocksProxyPort()
         );
         Socks5ConnectionData connectionData = new Socks5ConnectionData(
@@ -18,18 +18,24 @@
 package bisq.persistence;
 
 import bisq.common.file.FileUtils;
+import bisq.common.platform.OS;
 import com.google.protobuf.Any;
+import com.google.protobuf.CodedInputStream;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 
 @Slf4j
 public class PersistableStoreReaderWriter<T extends PersistableStore<T>> {
+    static final long MIN_FILE_SIZE_FOR_MEMORY_MAPPING = 1024 * 1024;
 
     private final PersistableStoreFileManager storeFileManager;
     private final Path storeFilePath;
@@ -65,7 +71,10 @@ public class PersistableStoreReaderWriter<T extends PersistableStore<T>> {
         return Optional.empty();
     }
 
-    public synchronized void write(T persistableStore) {
+    /**
+     * @return True if the store has been written successfully.
+     */
+    public synchronized boolean write(T persistableStore) {
         storeFileManager.createParentDirectoriesIfNotExisting();
         try {
             writeStoreToTempFile(persistableStore);
@@ -75,23 +84,45 @@ public class PersistableStoreReaderWriter<T extends PersistableStore<T>> {
                 FileUtils.deleteFile(storeFile);
             }
             storeFileManager.renameTempFileToCurrentFile();
+            return true;
         } catch (CouldNotSerializePersistableStore e) {
             log.error("Couldn't serialize {}", persistableStore, e);
         } catch (Exception e) {
             log.error("Couldn't write persistable store to disk.", e);
         }
+        return false;
     }
 
     public void pruneBackups() {
         storeFileManager.pruneBackups();
     }
 
+    /**
+     * We parse directly from the file content instead of using a FileInputStream, which avoids the copying through
+     * the stream buffers. Large files are memory-mapped. On Windows a mapped file cannot be replaced until the
+     * mapping got garbage collected, which would break the rename at the next write, so we read the file into a
+     * byte array there.
+     */
     private PersistableStore<?> readStoreFromFile() throws IOException {
-        File storeFile = storeFilePath.toFile();
-        try (FileInputStream fileInputStream = new FileInputStream(storeFile)) {
-            Any any = Any.parseDelimitedFrom(fileInputStream);
-            return PersistableStore.fromAny(any);
+        CodedInputStream codedInputStream;
+        try (FileChannel fileChannel = FileChannel.open(storeFilePath, StandardOpenOption.READ)) {
+            long size = fileChannel.size();
+            if (size >= MIN_FILE_SIZE_FOR_MEMORY_MAPPING && !OS.isWindows()) {
+                // The mapping stays valid after the channel is closed
+                MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                codedInputStream = CodedInputStream.newInstance(mappedByteBuffer);
+            } else {
+                codedInputStream = CodedInputStream.newInstance(Files.readAllBytes(storeFilePath));
+            }
         }
+
+        // Same format as written by Any.writeDelimitedTo
+        int length = codedInputStream.readRawVarint32();
+        int oldLimit = codedInputStream.pushLimit(length);
+        Any any = Any.parseFrom(codedInputStream);
+        codedInputStream.checkLastTagWas(0);
+        codedInputStream.popLimit(oldLimit);
+        return PersistableStore.fromAny(any);
     }
 
     private void tryToBackupCorruptedStoreFile() {
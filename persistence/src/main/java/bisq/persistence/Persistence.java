@@ -17,6 +17,7 @@
 
 package bisq.persistence;
 
+import bisq.common.platform.PlatformUtils;
 import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.StringUtils;
 import bisq.persistence.backup.MaxBackupSize;
@@ -32,14 +33,22 @@ import java.util.function.Consumer;
 @Slf4j
 public class Persistence<T extends PersistableStore<T>> {
     public static final String EXTENSION = ".protobuf";
-    private static final ExecutorService executorService = ExecutorFactory.newSingleThreadExecutor("Persistence");
+    protected static final ExecutorService executorService = ExecutorFactory.newSingleThreadExecutor("Persistence");
+    // Reading and parsing of independent stores is done in parallel. Applying the result and writing stays at the
+    // single threaded executorService.
+    private static final int NUM_READ_THREADS = Math.max(2, Math.min(8, PlatformUtils.availableProcessors()));
+    protected static final ExecutorService readExecutorService = ExecutorFactory.newFixedThreadPool("Persistence.read", NUM_READ_THREADS);
 
     @Getter
     private final Path storePath;
     @Getter
     private final String fileName;
 
-    private final PersistableStoreReaderWriter<T> persistableStoreReaderWriter;
+    protected final PersistableStoreReaderWriter<T> persistableStoreReaderWriter;
+    @Getter
+    private volatile long readDurationMs;
+    @Getter
+    private volatile long readFileSize;
 
     public Persistence(String directory, String fileName, MaxBackupSize maxBackupSize) {
         this.fileName = fileName;
@@ -50,11 +59,21 @@ public class Persistence<T extends PersistableStore<T>> {
     }
 
     public CompletableFuture<Optional<T>> readAsync(Consumer<T> consumer) {
-        return readAsync().whenComplete((result, throwable) -> result.ifPresent(consumer));
+        return readAsync().whenCompleteAsync((result, throwable) -> result.ifPresent(consumer), executorService);
     }
 
     public CompletableFuture<Optional<T>> readAsync() {
-        return CompletableFuture.supplyAsync(persistableStoreReaderWriter::read, executorService);
+        return CompletableFuture.supplyAsync(() -> {
+            long ts = System.currentTimeMillis();
+            readFileSize = storePath.toFile().length();
+            Optional<T> result = read();
+            readDurationMs = System.currentTimeMillis() - ts;
+            return result;
+        }, readExecutorService);
+    }
+
+    protected Optional<T> read() {
+        return persistableStoreReaderWriter.read();
     }
 
     public CompletableFuture<Void> persistAsync(T serializable) {
@@ -65,6 +84,18 @@ public class Persistence<T extends PersistableStore<T>> {
         persistableStoreReaderWriter.write(persistableStore);
     }
 
+    /**
+     * Persists the given (live) store. The default implementation writes a clone of the whole store. Implementations
+     * supporting incremental writes can override it.
+     */
+    public CompletableFuture<Void> persistStoreAsync(PersistableStore<T> persistableStore) {
+        return persistAsync(persistableStore.getClone());
+    }
+
+    protected void persistStore(PersistableStore<T> persistableStore) {
+        persist(persistableStore.getClone());
+    }
+
     public CompletableFuture<Void> pruneBackups() {
         return CompletableFuture.runAsync(persistableStoreReaderWriter::pruneBackups, executorService);
     }
@@ -44,7 +44,7 @@ public interface PersistenceClient<T extends PersistableStore<T>> {
     PersistableStore<T> getPersistableStore();
 
     default CompletableFuture<Boolean> persist() {
-        return getPersistence().persistAsync(getPersistableStore().getClone())
+        return getPersistence().persistStoreAsync(getPersistableStore())
                 .handle((nil, throwable) -> throwable == null);
     }
 }
@@ -17,14 +17,18 @@
 
 package bisq.persistence;
 
+import bisq.common.formatter.DataSizeFormatter;
 import bisq.common.proto.PersistableProto;
 import bisq.common.util.CompletableFutureUtils;
 import bisq.persistence.backup.MaxBackupSize;
+import bisq.persistence.wal.WriteAheadLogPersistence;
+import bisq.persistence.wal.WriteAheadLogStore;
 import com.google.common.base.Joiner;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -97,6 +101,25 @@ public class PersistenceService {
         return persistence;
     }
 
+    /**
+     * Creates a persistence which writes only the changed entries to a write-ahead log and compacts it into a snapshot
+     * in the background. Used for large stores with frequent changes.
+     */
+    public <T extends WriteAheadLogStore<T>> Persistence<T> getOrCreateWriteAheadLogPersistence(PersistenceClient<T> client,
+                                                                                                String subDir,
+                                                                                                String fileName,
+                                                                                                T persistableStore,
+                                                                                                MaxBackupSize maxBackupSize) {
+        PersistableStoreResolver.addResolver(persistableStore.getResolver());
+        clients.add(client);
+        Persistence<T> persistence = new WriteAheadLogPersistence<>(baseDir + File.separator + subDir,
+                fileName,
+                maxBackupSize,
+                persistableStore);
+        persistenceInstances.add(persistence);
+        return persistence;
+    }
+
     public CompletableFuture<Void> pruneAllBackups() {
         List<CompletableFuture<Void>> list = clients.stream()
                 .map(PersistenceClient::getPersistence)
@@ -112,6 +135,7 @@ public class PersistenceService {
                 .sorted()
                 .collect(Collectors.toList());
         log.info("Read persisted data from:\n{}", Joiner.on("\n").join(storagePaths));
+        long ts = System.currentTimeMillis();
         return CompletableFutureUtils.allOf(clients.stream()
                         .map(persistenceClient -> persistenceClient.readPersisted()
                                 .whenComplete((optionalResult, throwable) -> {
@@ -127,7 +151,24 @@ public class PersistenceService {
                                         log.error("Error at read persisted data from: {}", storagePath, throwable);
                                     }
                                 })))
-                .thenApply(list -> true);
+                .thenApply(list -> {
+                    logStartupProfile(System.currentTimeMillis() - ts);
+                    return true;
+                });
+    }
+
+    private void logStartupProfile(long totalDurationMs) {
+        List<Persistence<?>> persistenceList = clients.stream()
+                .<Persistence<?>>map(PersistenceClient::getPersistence)
+                .sorted(Comparator.comparingLong(Persistence<?>::getReadDurationMs).reversed())
+                .collect(Collectors.toList());
+        long totalSize = persistenceList.stream().mapToLong(Persistence::getReadFileSize).sum();
+        String details = persistenceList.stream()
+                .map(persistence -> persistence.getFileName() + ": " + persistence.getReadDurationMs() + " ms, " +
+                        DataSizeFormatter.formatKB(persistence.getReadFileSize()))
+                .collect(Collectors.joining("\n"));
+        log.info("Reading {} persisted stores with {} took {} ms:\n{}",
+                persistenceList.size(), DataSizeFormatter.formatMB(totalSize), totalDurationMs, details);
     }
 
     public CompletableFuture<Boolean> persistAllClients() {
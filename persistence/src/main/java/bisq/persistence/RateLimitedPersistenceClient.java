@@ -57,7 +57,7 @@ public abstract class RateLimitedPersistenceClient<T extends PersistableStore<T>
             writeInProgress = true;
             dropped = false;
             return getPersistence()
-                    .persistAsync(getPersistableStore().getClone())
+                    .persistStoreAsync(getPersistableStore())
                     .handle((nil, throwable) -> {
                         writeInProgress = false;
                         return throwable == null;
@@ -72,7 +72,7 @@ public abstract class RateLimitedPersistenceClient<T extends PersistableStore<T>
     private void persistOnShutdown() {
         if (dropped) {
             dropped = false;
-            getPersistence().persist(getPersistableStore().getClone());
+            getPersistence().persistStore(getPersistableStore());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,269 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.wal;
+
+import bisq.common.data.ByteArray;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log split into numbered segment files which are stored next to the store file
+ * (e.g. `user_profile_store.protobuf.wal.3`).
+ * <p>
+ * Record format: `int payloadLength | payload | int crc32(payload)`, with
+ * payload: `byte type | int keyLength | key | serializedEntry (only for PUT)`.
+ * <p>
+ * A record which was only partially written (e.g. at a crash) fails the length or checksum check. At replay, we stop
+ * reading that segment at the first invalid record. As new records get appended to the last segment, we truncate an
+ * invalid tail of the last segment when opening the log, otherwise the records appended after it would get lost.
+ * <p>
+ * Each append is synced to disk before it returns, as the caller treats the appended entries as persisted.
+ */
+@Slf4j
+public class WriteAheadLog {
+    private static final String SEGMENT_INFIX = ".wal.";
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    private final Path directory;
+    private final String segmentPrefix;
+    private final long maxSegmentSize;
+    private int currentSegmentIndex;
+    private long currentSegmentSize;
+    @Getter
+    private long logSize;
+
+    public WriteAheadLog(Path storeFilePath, long maxSegmentSize) {
+        this.directory = storeFilePath.getParent();
+        this.segmentPrefix = storeFilePath.getFileName().toString() + SEGMENT_INFIX;
+        this.maxSegmentSize = maxSegmentSize;
+
+        List<Path> segments = getSegmentPaths();
+        if (!segments.isEmpty()) {
+            Path lastSegment = segments.get(segments.size() - 1);
+            currentSegmentIndex = getSegmentIndex(lastSegment);
+            currentSegmentSize = lastSegment.toFile().length();
+            long validLength = getValidLength(lastSegment);
+            if (validLength < currentSegmentSize) {
+                try (FileChannel channel = FileChannel.open(lastSegment, StandardOpenOption.WRITE)) {
+                    channel.truncate(validLength);
+                    log.warn("Truncated invalid tail of {} from {} to {} bytes", lastSegment, currentSegmentSize, validLength);
+                    currentSegmentSize = validLength;
+                } catch (IOException e) {
+                    log.error("Could not truncate invalid tail of {}. We continue with a new segment.", lastSegment, e);
+                    roll();
+                }
+            }
+            logSize = segments.stream().mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+
+    public synchronized void append(List<WriteAheadLogEntry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (currentSegmentSize >= maxSegmentSize) {
+            roll();
+        }
+        Files.createDirectories(directory);
+        File segmentFile = getSegmentPath(currentSegmentIndex).toFile();
+        ByteArrayOutputStream payloadStream = new ByteArrayOutputStream();
+        long numWrittenBytes = 0;
+        try (FileOutputStream fileOutputStream = new FileOutputStream(segmentFile, true);
+             DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(fileOutputStream))) {
+            for (WriteAheadLogEntry entry : entries) {
+                payloadStream.reset();
+                writePayload(entry, new DataOutputStream(payloadStream));
+                byte[] payload = payloadStream.toByteArray();
+                CRC32 crc32 = new CRC32();
+                crc32.update(payload);
+                outputStream.writeInt(payload.length);
+                outputStream.write(payload);
+                outputStream.writeInt((int) crc32.getValue());
+                numWrittenBytes += payload.length + 8;
+            }
+            outputStream.flush();
+            fileOutputStream.getFD().sync();
+        }
+        currentSegmentSize += numWrittenBytes;
+        logSize += numWrittenBytes;
+    }
+
+    /**
+     * Starts a new segment for the following appends.
+     *
+     * @return The index of the last segment before rolling. All changes written so far are in segments up to that
+     * index.
+     */
+    public synchronized int roll() {
+        int previousSegmentIndex = currentSegmentIndex;
+        currentSegmentIndex++;
+        currentSegmentSize = 0;
+        return previousSegmentIndex;
+    }
+
+    /**
+     * Deletes all segments up to (including) the given index. Used after the entries of those segments have been
+     * folded into a snapshot.
+     */
+    public synchronized void deleteSegmentsUpTo(int segmentIndex) {
+        getSegmentPaths().stream()
+                .filter(path -> getSegmentIndex(path) <= segmentIndex)
+                .forEach(path -> {
+                    long size = path.toFile().length();
+                    try {
+                        Files.deleteIfExists(path);
+                        logSize -= size;
+                    } catch (IOException e) {
+                        log.error("Could not delete segment {}", path, e);
+                    }
+                });
+    }
+
+    public synchronized void replay(Consumer<WriteAheadLogEntry> consumer) {
+        for (Path segment : getSegmentPaths()) {
+            try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(segment.toFile())))) {
+                int numRecords = 0;
+                while (true) {
+                    Optional<WriteAheadLogEntry> entry = readRecord(inputStream, segment);
+                    if (entry.isEmpty()) {
+                        break;
+                    }
+                    consumer.accept(entry.get());
+                    numRecords++;
+                }
+                log.debug("Replayed {} records from {}", numRecords, segment);
+            } catch (IOException e) {
+                log.error("Could not read segment {}", segment, e);
+            }
+        }
+    }
+
+    // Returns the length of the segment up to the end of the last valid record
+    private long getValidLength(Path segment) {
+        long validLength = 0;
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(segment.toFile())))) {
+            Optional<WriteAheadLogEntry> entry;
+            while ((entry = readRecord(inputStream, segment)).isPresent()) {
+                validLength += getRecordSize(entry.get());
+            }
+        } catch (IOException e) {
+            log.warn("Invalid record at {}. We treat the rest of that segment as invalid.", segment, e);
+        }
+        return validLength;
+    }
+
+    private static long getRecordSize(WriteAheadLogEntry entry) {
+        // payloadLength + type + keyLength + key + serializedEntry + crc32
+        return 4 + 1 + 4 + entry.getKey().getBytes().length +
+                entry.getSerializedEntry().map(serializedEntry -> serializedEntry.length).orElse(0) + 4;
+    }
+
+    private Optional<WriteAheadLogEntry> readRecord(DataInputStream inputStream, Path segment) throws IOException {
+        int payloadLength;
+        try {
+            payloadLength = inputStream.readInt();
+        } catch (EOFException e) {
+            return Optional.empty();
+        }
+        try {
+            if (payloadLength <= 0 || payloadLength > MAX_RECORD_SIZE) {
+                log.warn("Invalid record length {} at {}. We skip the rest of that segment.", payloadLength, segment);
+                return Optional.empty();
+            }
+            byte[] payload = new byte[payloadLength];
+            inputStream.readFully(payload);
+            int checksum = inputStream.readInt();
+            CRC32 crc32 = new CRC32();
+            crc32.update(payload);
+            if ((int) crc32.getValue() != checksum) {
+                log.warn("Invalid checksum at {}. We skip the rest of that segment.", segment);
+                return Optional.empty();
+            }
+            return Optional.of(readPayload(new DataInputStream(new ByteArrayInputStream(payload))));
+        } catch (EOFException e) {
+            log.warn("Incomplete record at {}. We skip the rest of that segment.", segment);
+            return Optional.empty();
+        }
+    }
+
+    private static void writePayload(WriteAheadLogEntry entry, DataOutputStream outputStream) throws IOException {
+        byte[] key = entry.getKey().getBytes();
+        outputStream.writeByte(entry.isRemoved() ? REMOVE : PUT);
+        outputStream.writeInt(key.length);
+        outputStream.write(key);
+        if (entry.getSerializedEntry().isPresent()) {
+            outputStream.write(entry.getSerializedEntry().get());
+        }
+        outputStream.flush();
+    }
+
+    private static WriteAheadLogEntry readPayload(DataInputStream inputStream) throws IOException {
+        byte type = inputStream.readByte();
+        byte[] key = new byte[inputStream.readInt()];
+        inputStream.readFully(key);
+        if (type == REMOVE) {
+            return new WriteAheadLogEntry(new ByteArray(key), Optional.empty());
+        }
+        if (type != PUT) {
+            throw new IOException("Unknown record type " + type);
+        }
+        return new WriteAheadLogEntry(new ByteArray(key), Optional.of(inputStream.readAllBytes()));
+    }
+
+    private List<Path> getSegmentPaths() {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> isSegment(path.getFileName().toString()))
+                    .sorted(Comparator.comparingInt(this::getSegmentIndex))
+                    .toList();
+        } catch (IOException e) {
+            log.error("Could not list segments in {}", directory, e);
+            return new ArrayList<>();
+        }
+    }
+
+    private boolean isSegment(String fileName) {
+        if (!fileName.startsWith(segmentPrefix)) {
+            return false;
+        }
+        String index = fileName.substring(segmentPrefix.length());
+        return !index.isEmpty() && index.chars().allMatch(Character::isDigit);
+    }
+
+    private int getSegmentIndex(Path segment) {
+        return Integer.parseInt(segment.getFileName().toString().substring(segmentPrefix.length()));
+    }
+
+    private Path getSegmentPath(int segmentIndex) {
+        return directory.resolve(segmentPrefix + segmentIndex);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.wal;
+
+import bisq.common.data.ByteArray;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Optional;
+
+@Getter
+@ToString
+public final class WriteAheadLogEntry {
+    private final ByteArray key;
+    // Empty if the entry got removed
+    @ToString.Exclude
+    private final Optional<byte[]> serializedEntry;
+
+    public WriteAheadLogEntry(ByteArray key, Optional<byte[]> serializedEntry) {
+        this.key = key;
+        this.serializedEntry = serializedEntry;
+    }
+
+    public boolean isRemoved() {
+        return serializedEntry.isEmpty();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.wal;
+
+import bisq.common.data.ByteArray;
+import bisq.persistence.PersistableStore;
+import bisq.persistence.Persistence;
+import bisq.persistence.backup.MaxBackupSize;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Persistence which appends only the changed entries of a store to a {@link WriteAheadLog} instead of writing the
+ * whole store at each persist call. Once the log has grown larger than the last snapshot, it gets compacted by
+ * writing a new snapshot (the usual store file) and deleting the segments which are covered by it.
+ * <p>
+ * At read, the snapshot is loaded and the log is replayed on top of it.
+ * <p>
+ * Log entries carry the state of an entry at the time of writing (not the operation), so replaying a segment which is
+ * already covered by the snapshot (e.g. after a crash during compaction) is harmless.
+ */
+@Slf4j
+public class WriteAheadLogPersistence<T extends WriteAheadLogStore<T>> extends Persistence<T> {
+    private static final long MAX_SEGMENT_SIZE = 4 * 1024 * 1024;
+    private static final long MIN_LOG_SIZE_FOR_COMPACTION = 1024 * 1024;
+
+    private final T persistableStore;
+    private final WriteAheadLog writeAheadLog;
+    private volatile long snapshotSize;
+
+    public WriteAheadLogPersistence(String directory,
+                                    String fileName,
+                                    MaxBackupSize maxBackupSize,
+                                    T persistableStore) {
+        super(directory, fileName, maxBackupSize);
+        this.persistableStore = persistableStore;
+        writeAheadLog = new WriteAheadLog(getStorePath(), MAX_SEGMENT_SIZE);
+        snapshotSize = getStorePath().toFile().length();
+        persistableStore.enableChangeTracking();
+    }
+
+    @Override
+    public CompletableFuture<Void> persistStoreAsync(PersistableStore<T> persistableStore) {
+        return CompletableFuture.runAsync(() -> persistStore(persistableStore), executorService);
+    }
+
+    @Override
+    protected synchronized void persistStore(PersistableStore<T> persistableStore) {
+        appendChanges();
+        if (writeAheadLog.getLogSize() > Math.max(MIN_LOG_SIZE_FOR_COMPACTION, snapshotSize)) {
+            compact();
+        }
+    }
+
+    // A full write is done as compaction, using the live store, so that the covered segments can be deleted.
+    @Override
+    protected synchronized void persist(T persistableStore) {
+        compact();
+    }
+
+    @Override
+    protected Optional<T> read() {
+        Optional<T> snapshot = persistableStoreReaderWriter.read();
+        T store = snapshot.orElseGet(persistableStore::createEmptyStore);
+        int[] numEntries = new int[1];
+        writeAheadLog.replay(entry -> {
+            store.applyLogEntry(entry.getKey(), entry.getSerializedEntry());
+            numEntries[0]++;
+        });
+        if (numEntries[0] > 0) {
+            log.info("Replayed {} write-ahead log entries for {}", numEntries[0], getFileName());
+            return Optional.of(store);
+        }
+        return snapshot;
+    }
+
+    private void appendChanges() {
+        Set<ByteArray> changedKeys = persistableStore.drainChangedKeys();
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+        List<WriteAheadLogEntry> entries = new ArrayList<>(changedKeys.size());
+        changedKeys.forEach(key -> entries.add(new WriteAheadLogEntry(key, persistableStore.serializeEntry(key))));
+        try {
+            writeAheadLog.append(entries);
+        } catch (IOException e) {
+            log.error("Could not append to write-ahead log of {}. We write a full snapshot instead.", getFileName(), e);
+            compact();
+        }
+    }
+
+    private void compact() {
+        // All changes which are in the log up to that segment are already applied to the store, so the clone
+        // contains them. Changes happening while we take the clone get written to the new segment.
+        int lastSegmentIndex = writeAheadLog.roll();
+        long ts = System.currentTimeMillis();
+        boolean success = persistableStoreReaderWriter.write(persistableStore.getClone()) && syncStoreFile();
+        if (success) {
+            writeAheadLog.deleteSegmentsUpTo(lastSegmentIndex);
+            snapshotSize = getStorePath().toFile().length();
+        }
+        log.debug("Compaction of {} took {} ms. Snapshot size: {} bytes",
+                getFileName(), System.currentTimeMillis() - ts, snapshotSize);
+    }
+
+    // The snapshot must be on disk before we delete the segments it replaces
+    private boolean syncStoreFile() {
+        try (FileChannel fileChannel = FileChannel.open(getStorePath(), StandardOpenOption.WRITE)) {
+            fileChannel.force(true);
+            return true;
+        } catch (IOException e) {
+            log.error("Could not sync snapshot of {}. We keep the write-ahead log segments.", getFileName(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.wal;
+
+import bisq.common.data.ByteArray;
+import bisq.persistence.PersistableStore;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A key-value based PersistableStore which supports persisting only the changed entries in a write-ahead log instead
+ * of writing the whole store at each persist call.
+ */
+public interface WriteAheadLogStore<T extends WriteAheadLogStore<T>> extends PersistableStore<T> {
+    /**
+     * Called once when the store is used with a WriteAheadLogPersistence. Before that the store does not need to keep
+     * track of changed keys.
+     */
+    void enableChangeTracking();
+
+    /**
+     * @return The keys of all entries which have been added, updated or removed since the last call. The returned keys
+     * are removed from the tracked changes.
+     */
+    Set<ByteArray> drainChangedKeys();
+
+    /**
+     * @return The serialized current value for that key or empty if there is no entry for that key.
+     */
+    Optional<byte[]> serializeEntry(ByteArray key);
+
+    /**
+     * Applies an entry from the write-ahead log. An empty value means the entry got removed.
+     */
+    void applyLogEntry(ByteArray key, Optional<byte[]> serializedEntry);
+
+    T createEmptyStore();
+}
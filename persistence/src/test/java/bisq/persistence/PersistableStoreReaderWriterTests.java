@@ -66,6 +66,27 @@ public class PersistableStoreReaderWriterTests {
         assertThat(readTimestampsByProfileId.get("C")).isEqualTo(3L);
     }
 
+    @Test
+    void writeAndReadLargeStore(@TempDir Path tempDir) {
+        var timestampStore = new TimestampStore();
+        Map<String, Long> timestampsByProfileId = timestampStore.getTimestampsByProfileId();
+        for (long i = 0; i < 100_000; i++) {
+            timestampsByProfileId.put("profileId-" + i, i);
+        }
+        PersistableStoreResolver.addResolver(timestampStore.getResolver());
+
+        Path storageFilePath = tempDir.resolve("protoFile");
+        var storeFileManager = new PersistableStoreFileManager(storageFilePath);
+        var persistableStoreReaderWriter = new PersistableStoreReaderWriter<TimestampStore>(storeFileManager);
+        persistableStoreReaderWriter.write(timestampStore);
+        assertThat(storageFilePath.toFile().length())
+                .isGreaterThanOrEqualTo(PersistableStoreReaderWriter.MIN_FILE_SIZE_FOR_MEMORY_MAPPING);
+
+        Optional<TimestampStore> readOptionalStore = persistableStoreReaderWriter.read();
+        assertThat(readOptionalStore).isPresent();
+        assertThat(readOptionalStore.get().getTimestampsByProfileId()).isEqualTo(timestampsByProfileId);
+    }
+
     @Test
     void writeStoreTwice(@TempDir Path tempDir) {
         var timestampStore = new TimestampStore();
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence.wal;
+
+import bisq.common.data.ByteArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WriteAheadLogTests {
+
+    @Test
+    void appendAndReplay(@TempDir Path tempDir) throws IOException {
+        Path storeFilePath = tempDir.resolve("store.protobuf");
+        WriteAheadLog writeAheadLog = new WriteAheadLog(storeFilePath, 1024);
+        writeAheadLog.append(List.of(put("A", "1"), put("B", "2")));
+        writeAheadLog.append(List.of(remove("A")));
+
+        List<WriteAheadLogEntry> entries = replay(new WriteAheadLog(storeFilePath, 1024));
+        assertThat(entries).hasSize(3);
+        assertThat(entries.get(0).getKey()).isEqualTo(key("A"));
+        assertThat(entries.get(0).getSerializedEntry()).hasValueSatisfying(value -> assertThat(value).isEqualTo("1".getBytes()));
+        assertThat(entries.get(1).getKey()).isEqualTo(key("B"));
+        assertThat(entries.get(2).getKey()).isEqualTo(key("A"));
+        assertThat(entries.get(2).isRemoved()).isTrue();
+    }
+
+    @Test
+    void rollAndDeleteSegments(@TempDir Path tempDir) throws IOException {
+        Path storeFilePath = tempDir.resolve("store.protobuf");
+        WriteAheadLog writeAheadLog = new WriteAheadLog(storeFilePath, 1024);
+        writeAheadLog.append(List.of(put("A", "1")));
+        int lastSegmentIndex = writeAheadLog.roll();
+        writeAheadLog.append(List.of(put("B", "2")));
+
+        writeAheadLog.deleteSegmentsUpTo(lastSegmentIndex);
+
+        List<WriteAheadLogEntry> entries = replay(writeAheadLog);
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getKey()).isEqualTo(key("B"));
+        assertThat(writeAheadLog.getLogSize()).isEqualTo(tempDir.resolve("store.protobuf.wal." + (lastSegmentIndex + 1)).toFile().length());
+    }
+
+    @Test
+    void ignoreIncompleteRecord(@TempDir Path tempDir) throws IOException {
+        Path storeFilePath = tempDir.resolve("store.protobuf");
+        WriteAheadLog writeAheadLog = new WriteAheadLog(storeFilePath, 1024);
+        writeAheadLog.append(List.of(put("A", "1"), put("B", "2")));
+
+        // Simulate a crash while writing the last record
+        try (RandomAccessFile file = new RandomAccessFile(tempDir.resolve("store.protobuf.wal.0").toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        List<WriteAheadLogEntry> entries = replay(new WriteAheadLog(storeFilePath, 1024));
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getKey()).isEqualTo(key("A"));
+    }
+
+    @Test
+    void appendAfterIncompleteRecord(@TempDir Path tempDir) throws IOException {
+        Path storeFilePath = tempDir.resolve("store.protobuf");
+        Path segmentPath = tempDir.resolve("store.protobuf.wal.0");
+        WriteAheadLog writeAheadLog = new WriteAheadLog(storeFilePath, 1024);
+        writeAheadLog.append(List.of(put("A", "1"), put("B", "2")));
+        long lengthAfterFirstRecord = segmentPath.toFile().length() / 2;
+
+        // Simulate a crash while writing the last record
+        try (RandomAccessFile file = new RandomAccessFile(segmentPath.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        WriteAheadLog reopened = new WriteAheadLog(storeFilePath, 1024);
+        assertThat(segmentPath.toFile().length()).isEqualTo(lengthAfterFirstRecord);
+        reopened.append(List.of(put("C", "3"), remove("A")));
+
+        List<WriteAheadLogEntry> entries = replay(new WriteAheadLog(storeFilePath, 1024));
+        assertThat(entries).hasSize(3);
+        assertThat(entries.get(0).getKey()).isEqualTo(key("A"));
+        assertThat(entries.get(1).getKey()).isEqualTo(key("C"));
+        assertThat(entries.get(2).getKey()).isEqualTo(key("A"));
+        assertThat(entries.get(2).isRemoved()).isTrue();
+        assertThat(reopened.getLogSize()).isEqualTo(segmentPath.toFile().length());
+    }
+
+    private static List<WriteAheadLogEntry> replay(WriteAheadLog writeAheadLog) {
+        List<WriteAheadLogEntry> entries = new ArrayList<>();
+        writeAheadLog.replay(entries::add);
+        return entries;
+    }
+
+    private static WriteAheadLogEntry put(String key, String value) {
+        return new WriteAheadLogEntry(key(key), Optional.of(value.getBytes()));
+    }
+
+    private static WriteAheadLogEntry remove(String key) {
+        return new WriteAheadLogEntry(key(key), Optional.empty());
+    }
+
+    private static ByteArray key(String key) {
+        return new ByteArray(key.getBytes());
+    }
+}
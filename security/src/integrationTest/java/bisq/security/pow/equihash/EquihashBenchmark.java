@@ -0,0 +1,79 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security.pow.equihash;
+
+import bisq.common.facades.FacadeProvider;
+import bisq.common.facades.android.AndroidGuavaFacade;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures solving and verification at the difficulties used in production. Solving at the higher difficulty takes
+ * several seconds per puzzle, so this is not part of the unit tests.
+ */
+@Slf4j
+class EquihashBenchmark {
+    // Same scaling as in EquihashProofOfWorkService
+    private static final double DIFFICULTY_SCALE_FACTOR = 3.0e-5;
+
+    @BeforeAll
+    static void setUp() {
+        FacadeProvider.setGuavaFacade(new AndroidGuavaFacade());
+    }
+
+    @Test
+    public void testSolveAndVerifyDuration() {
+        StringBuilder stringBuilder = new StringBuilder();
+        // Difficulties as used by the HashCash based authorization tokens and for minting user profiles
+        for (double difficulty : new double[]{128, 65536}) {
+            double scaledDifficulty = Equihash.adjustDifficulty(DIFFICULTY_SCALE_FACTOR * difficulty);
+            for (Equihash.Solver solver : Equihash.Solver.values()) {
+                int numPuzzles = 3;
+                long solveDuration = 0;
+                long verifyDuration = 0;
+                for (int i = 0; i < numPuzzles; i++) {
+                    Equihash.Puzzle puzzle = new Equihash(90, 5, scaledDifficulty, solver).puzzle(createSeed(i));
+                    long ts = System.currentTimeMillis();
+                    Equihash.Puzzle.Solution solution = puzzle.findSolution();
+                    solveDuration += System.currentTimeMillis() - ts;
+
+                    ts = System.nanoTime();
+                    assertTrue(solution.verify());
+                    verifyDuration += System.nanoTime() - ts;
+                }
+                stringBuilder.append("\nDifficulty ").append(difficulty)
+                        .append(" with ").append(solver)
+                        .append(": solving took ").append(solveDuration / numPuzzles)
+                        .append(" ms, verification took ").append(verifyDuration / numPuzzles / 1000)
+                        .append(" µs per puzzle.");
+            }
+        }
+        log.info(stringBuilder.toString());
+    }
+
+    private static byte[] createSeed(long randomSeed) {
+        byte[] seed = new byte[32];
+        new Random(randomSeed).nextBytes(seed);
+        return seed;
+    }
+}
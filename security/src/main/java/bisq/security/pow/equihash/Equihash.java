@@ -30,6 +30,7 @@ import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.util.*;
+import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -65,12 +66,26 @@ import static java.math.BigInteger.ONE;
  * bits each and <i>n</i> bits in total. This allows working with 32-bit integers
  * throughout, for efficiency.
  * <p>
+ * Besides the original solver based on {@code ImmutableIntArray} tables, there is a solver using flat int arrays,
+ * where the collision buckets of each round are found by a counting sort on the first hash block (see
+ * {@link Solver}). That solver can split the hashing and the collision search for a nonce across the ForkJoin pool.
+ * Both solvers produce valid solutions for the same puzzle, but the order of found solutions (and thus the returned
+ * solution) can differ.
+ * <p>
  * Author: <a href="https://github.com/stejbac">stejbac</a>
  */
 // Borrowed from: https://github.com/bisq-network/bisq
 @SuppressWarnings("UnstableApiUsage")
 public class Equihash {
+    public enum Solver {
+        IMMUTABLE_INT_ARRAY_TABLES,
+        PRIMITIVE_TABLES,
+        PRIMITIVE_TABLES_PARALLEL
+    }
+
     private static final int HASH_BIT_LENGTH = 256;
+    // Number of work units a table gets split into when solving in parallel
+    private static final int NUM_PARALLEL_CHUNKS = 64;
     /**
      * Mean solution count per nonce for Equihash puzzles with unit difficulty.
      */
@@ -84,8 +99,13 @@ public class Equihash {
     private final int tableCapacity;
     private final int inputNum, inputBits;
     private final int[] hashUpperBound;
+    private final Solver solver;
 
     public Equihash(int n, int k, double difficulty) {
+        this(n, k, difficulty, Solver.IMMUTABLE_INT_ARRAY_TABLES);
+    }
+
+    public Equihash(int n, int k, double difficulty, Solver solver) {
         checkArgument(k > 0 && k < HASH_BIT_LENGTH / 32,
                 "Tree depth k must be a positive integer less than %s.",
                 HASH_BIT_LENGTH / 32);
@@ -101,6 +121,7 @@ public class Equihash {
         N = 1 << inputBits;
         tableCapacity = (int) (N * 1.1);
         hashUpperBound = hashUpperBound(difficulty);
+        this.solver = solver;
     }
 
     @VisibleForTesting
@@ -245,6 +266,9 @@ public class Equihash {
         }
 
         Stream<int[]> streamInputsHits() {
+            if (solver != Solver.IMMUTABLE_INT_ARRAY_TABLES) {
+                return streamInputsHitsFromPrimitiveTables(solver == Solver.PRIMITIVE_TABLES_PARALLEL);
+            }
             var table = computeAllHashes();
             for (int i = 0; i < k; i++) {
                 table = findCollisions(table, i + 1 < k);
@@ -270,6 +294,48 @@ public class Equihash {
             return new XorTable(k + 1, 1, immutableIntArray);
         }
 
+        private Stream<int[]> streamInputsHitsFromPrimitiveTables(boolean parallel) {
+            var table = computeAllHashesToPrimitiveTable(parallel);
+            for (int i = 0; i < k; i++) {
+                table = findCollisions(table, i + 1 < k, parallel);
+            }
+            var finalTable = table;
+            return IntStream.range(0, finalTable.numRows)
+                    .mapToObj(finalTable::getIndexTuple)
+                    .filter(inputs -> Arrays.stream(inputs).distinct().count() == inputNum)
+                    .map(Equihash::sortInputs)
+                    .filter(this::testDifficultyCondition);
+        }
+
+        private PrimitiveXorTable computeAllHashesToPrimitiveTable(boolean parallel) {
+            int rowWidth = k + 2;
+            int[] values = new int[N * rowWidth];
+            forEachChunk(N, parallel, (fromIndex, toIndex) -> {
+                // We reuse the digest and buffers inside a chunk as we hash N inputs per nonce
+                var digest = new Blake2bDigest(HASH_BIT_LENGTH);
+                byte[] inputBytes = new byte[4];
+                byte[] outputBytes = new byte[HASH_BIT_LENGTH / 8];
+                for (int i = fromIndex; i < toIndex; i++) {
+                    digest.update(prefixBytes, 0, prefixBytes.length);
+                    inputBytes[0] = (byte) (i >>> 24);
+                    inputBytes[1] = (byte) (i >>> 16);
+                    inputBytes[2] = (byte) (i >>> 8);
+                    inputBytes[3] = (byte) i;
+                    digest.update(inputBytes, 0, inputBytes.length);
+                    digest.doFinal(outputBytes, 0);
+                    int offset = i * rowWidth;
+                    for (int j = 0; j <= k; j++) {
+                        values[offset + j] = Ints.fromBytes(outputBytes[4 * j],
+                                outputBytes[4 * j + 1],
+                                outputBytes[4 * j + 2],
+                                outputBytes[4 * j + 3]) & (N / 2 - 1);
+                    }
+                    values[offset + k + 1] = i;
+                }
+            });
+            return new PrimitiveXorTable(k + 1, 1, values);
+        }
+
         private boolean testDifficultyCondition(int[] inputs) {
             int[] difficultyHash = hashInputs(inputs);
             return UnsignedInts.lexicographicalComparator().compare(difficultyHash, hashUpperBound) <= 0;
@@ -321,6 +387,27 @@ public class Equihash {
         }
     }
 
+    /**
+     * Same layout as {@link XorTable}, but backed by a plain int array.
+     */
+    private static class PrimitiveXorTable {
+        private final int hashWidth, indexTupleWidth, rowWidth, numRows;
+        private final int[] values;
+
+        PrimitiveXorTable(int hashWidth, int indexTupleWidth, int[] values) {
+            this.hashWidth = hashWidth;
+            this.indexTupleWidth = indexTupleWidth;
+            this.values = values;
+            rowWidth = hashWidth + indexTupleWidth;
+            numRows = values.length / rowWidth;
+        }
+
+        int[] getIndexTuple(int index) {
+            int from = index * rowWidth + hashWidth;
+            return Arrays.copyOfRange(values, from, from + indexTupleWidth);
+        }
+    }
+
     private static class IntListMultimap {
         final int[] shortLists;
         final ListMultimap<Integer, Integer> overspillMultimap;
@@ -398,6 +485,120 @@ public class Equihash {
         return new XorTable(newHashWidth, newIndexTupleWidth, newTableValues.build());
     }
 
+    // Apply a single iteration of Wagner's Algorithm on a primitive table. Instead of a multimap we use a counting sort
+    // of the row indices by the first hash block, so that the rows of each bucket are adjacent in sortedRows. As the
+    // sort is stable, the pairs are emitted in the same (earlier row, later row) order as with findCollisions above.
+    private PrimitiveXorTable findCollisions(PrimitiveXorTable table, boolean isPartial, boolean parallel) {
+        int numBuckets = N / 2;
+        int[] values = table.values;
+        int rowWidth = table.rowWidth;
+        int hashWidth = table.hashWidth;
+
+        int[] bucketStarts = new int[numBuckets + 1];
+        for (int i = 0; i < table.numRows; i++) {
+            bucketStarts[values[i * rowWidth] + 1]++;
+        }
+        for (int bucket = 0; bucket < numBuckets; bucket++) {
+            bucketStarts[bucket + 1] += bucketStarts[bucket];
+        }
+        int[] sortedRows = new int[table.numRows];
+        int[] nextPositions = Arrays.copyOf(bucketStarts, numBuckets);
+        for (int i = 0; i < table.numRows; i++) {
+            sortedRows[nextPositions[values[i * rowWidth]]++] = i;
+        }
+
+        int newHashWidth = isPartial ? hashWidth - 1 : 0;
+        int newIndexTupleWidth = table.indexTupleWidth * 2;
+        int newRowWidth = newHashWidth + newIndexTupleWidth;
+        int numChunks = parallel ? NUM_PARALLEL_CHUNKS : 1;
+        int[][] valuesByChunk = new int[numChunks][];
+        forEachChunk(numBuckets, numChunks, parallel, (chunk, fromBucket, toBucket) -> {
+            // First pass counts the new rows, so we can allocate the exact size
+            int numNewRows = 0;
+            for (int bucket = fromBucket; bucket < toBucket; bucket++) {
+                int start = bucketStarts[bucket];
+                int end = bucketStarts[bucket + 1];
+                if (isPartial) {
+                    numNewRows += (end - start) * (end - start - 1) / 2;
+                } else {
+                    for (int a = start; a < end; a++) {
+                        for (int b = a + 1; b < end; b++) {
+                            if (hashTailEquals(values, sortedRows[a] * rowWidth, sortedRows[b] * rowWidth, hashWidth)) {
+                                numNewRows++;
+                            }
+                        }
+                    }
+                }
+            }
+
+            int[] newValues = new int[numNewRows * newRowWidth];
+            int offset = 0;
+            for (int bucket = fromBucket; bucket < toBucket; bucket++) {
+                int end = bucketStarts[bucket + 1];
+                for (int a = bucketStarts[bucket]; a < end; a++) {
+                    int collidingRowOffset = sortedRows[a] * rowWidth;
+                    for (int b = a + 1; b < end; b++) {
+                        int rowOffset = sortedRows[b] * rowWidth;
+                        if (isPartial) {
+                            for (int j = 1; j < hashWidth; j++) {
+                                newValues[offset++] = values[collidingRowOffset + j] ^ values[rowOffset + j];
+                            }
+                        } else if (!hashTailEquals(values, collidingRowOffset, rowOffset, hashWidth)) {
+                            continue;
+                        }
+                        System.arraycopy(values, collidingRowOffset + hashWidth, newValues, offset, table.indexTupleWidth);
+                        offset += table.indexTupleWidth;
+                        System.arraycopy(values, rowOffset + hashWidth, newValues, offset, table.indexTupleWidth);
+                        offset += table.indexTupleWidth;
+                    }
+                }
+            }
+            valuesByChunk[chunk] = newValues;
+        });
+
+        if (numChunks == 1) {
+            return new PrimitiveXorTable(newHashWidth, newIndexTupleWidth, valuesByChunk[0]);
+        }
+        int[] newValues = new int[Arrays.stream(valuesByChunk).mapToInt(chunkValues -> chunkValues.length).sum()];
+        int offset = 0;
+        for (int[] chunkValues : valuesByChunk) {
+            System.arraycopy(chunkValues, 0, newValues, offset, chunkValues.length);
+            offset += chunkValues.length;
+        }
+        return new PrimitiveXorTable(newHashWidth, newIndexTupleWidth, newValues);
+    }
+
+    private static boolean hashTailEquals(int[] values, int offset1, int offset2, int hashWidth) {
+        for (int j = 1; j < hashWidth; j++) {
+            if (values[offset1 + j] != values[offset2 + j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private interface ChunkConsumer {
+        void accept(int chunk, int fromIndex, int toIndex);
+    }
+
+    private interface RangeConsumer {
+        void accept(int fromIndex, int toIndex);
+    }
+
+    private static void forEachChunk(int size, boolean parallel, RangeConsumer rangeConsumer) {
+        forEachChunk(size, parallel ? NUM_PARALLEL_CHUNKS : 1, parallel,
+                (chunk, fromIndex, toIndex) -> rangeConsumer.accept(fromIndex, toIndex));
+    }
+
+    // Parallel streams are executed on the common ForkJoin pool
+    private static void forEachChunk(int size, int numChunks, boolean parallel, ChunkConsumer chunkConsumer) {
+        IntConsumer chunkTask = chunk -> chunkConsumer.accept(chunk,
+                (int) ((long) size * chunk / numChunks),
+                (int) ((long) size * (chunk + 1) / numChunks));
+        IntStream chunks = IntStream.range(0, numChunks);
+        (parallel ? chunks.parallel() : chunks).forEach(chunkTask);
+    }
+
     private static int[] sortInputs(int[] inputs) {
         Deque<int[]> sublistStack = new ArrayDeque<>();
         int[] topSublist;
@@ -17,7 +17,8 @@
 
 package bisq.security.pow.hashcash;
 
-import bisq.security.DigestUtil;
+import bisq.common.platform.PlatformUtils;
+import bisq.common.threading.ExecutorFactory;
 import bisq.security.pow.ProofOfWork;
 import bisq.security.pow.ProofOfWorkService;
 import com.google.common.annotations.VisibleForTesting;
@@ -25,39 +26,80 @@ import com.google.common.primitives.Longs;
 import lombok.extern.slf4j.Slf4j;
 
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * HashCash implementation for proof of work
  * It doubles required work by log2Difficulty increase (adding one leading zero).
  * <p>
  * See <a href="https://www.hashcash.org/papers/hashcash.pdf">hashcash.pdf</a>
+ * <p>
+ * The pre-image is payload + challenge + counter. As payload and challenge do not change while minting, we hash them
+ * once and clone the digest state for each counter, so that per iteration only the 8 counter bytes get hashed and no
+ * arrays get allocated. For high difficulties the counter space is searched by multiple threads in parallel.
  */
 @Slf4j
 public class HashCashProofOfWorkService extends ProofOfWorkService {
+    // 2^16 iterations in average. Below that the overhead of using the pool is not worth it.
+    public static final int MIN_LOG2_DIFFICULTY_FOR_PARALLEL_MINT = 16;
+    private static final int HASH_LENGTH = 32;
+    // Number of iterations after which a parallel worker checks if another worker has found a solution already
+    private static final int STOP_CHECK_INTERVAL = 1024;
+    private static final int NUM_MINT_THREADS = Math.max(1, PlatformUtils.availableProcessors() - 1);
+    private static final ExecutorService MINT_POOL = ExecutorFactory.newFixedThreadPool("HashCash.mint", NUM_MINT_THREADS);
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(HashCashProofOfWorkService::newSha256Digest);
+
+    private final boolean parallelMintEnabled;
+
     public HashCashProofOfWorkService() {
+        this(true);
+    }
+
+    public HashCashProofOfWorkService(boolean parallelMintEnabled) {
+        this.parallelMintEnabled = parallelMintEnabled;
     }
 
     @Override
     public ProofOfWork mint(byte[] payload,
                             byte[] challenge,
                             double difficulty) {
+        int log2Difficulty = toNumLeadingZeros(difficulty);
+        boolean useParallelMint = parallelMintEnabled && NUM_MINT_THREADS > 1 &&
+                log2Difficulty >= MIN_LOG2_DIFFICULTY_FOR_PARALLEL_MINT;
+        return mint(payload, challenge, difficulty, useParallelMint);
+    }
+
+    public ProofOfWork mint(byte[] payload,
+                            byte[] challenge,
+                            double difficulty,
+                            boolean useParallelMint) {
         long ts = System.currentTimeMillis();
         int log2Difficulty = toNumLeadingZeros(difficulty);
-        byte[] hash;
-        long counter = 0;
-        do {
-            hash = toSha256Hash(payload, challenge, ++counter);
-        }
-        while (numberOfLeadingZeros(hash) <= log2Difficulty);
+        MessageDigest prefixDigest = newSha256Digest();
+        updateIfNotNull(prefixDigest, payload);
+        updateIfNotNull(prefixDigest, challenge);
+        long counter = useParallelMint
+                ? findCounterInParallel(prefixDigest, log2Difficulty)
+                : findCounter(prefixDigest, log2Difficulty, 1, 1, new AtomicLong(-1));
         byte[] solution = Longs.toByteArray(counter);
         return new ProofOfWork(payload, counter, challenge, difficulty, solution, System.currentTimeMillis() - ts);
     }
 
     @Override
     public boolean verify(ProofOfWork proofOfWork) {
-        byte[] hash = toSha256Hash(proofOfWork.getPayload(),
-                proofOfWork.getChallenge(),
-                proofOfWork.getSolution());
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        updateIfNotNull(digest, proofOfWork.getPayload());
+        updateIfNotNull(digest, proofOfWork.getChallenge());
+        updateIfNotNull(digest, proofOfWork.getSolution());
+        byte[] hash = digest.digest();
         return numberOfLeadingZeros(hash) > toNumLeadingZeros(proofOfWork.getDifficulty());
     }
 
@@ -67,10 +109,89 @@ public class HashCashProofOfWorkService extends ProofOfWorkService {
     }
 
 
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Minting
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // The calling thread searches as well, so we never depend on free pool threads for making progress. If the pool is
+    // busy with other mint requests, the queued workers return immediately once a solution has been found.
+    private static long findCounterInParallel(MessageDigest prefixDigest, int log2Difficulty) {
+        int numWorkers = NUM_MINT_THREADS + 1;
+        AtomicLong result = new AtomicLong(-1);
+        List<Future<?>> futures = new ArrayList<>(NUM_MINT_THREADS);
+        for (int i = 1; i < numWorkers; i++) {
+            long startCounter = i + 1;
+            futures.add(MINT_POOL.submit(() -> findCounter(prefixDigest, log2Difficulty, startCounter, numWorkers, result)));
+        }
+        try {
+            return findCounter(prefixDigest, log2Difficulty, 1, numWorkers, result);
+        } finally {
+            futures.forEach(future -> future.cancel(false));
+        }
+    }
+
+    /**
+     * Tests the counters startCounter, startCounter + step, startCounter + 2 * step,... until a hash with more than
+     * log2Difficulty leading zeros is found or another worker has set the result.
+     */
+    private static long findCounter(MessageDigest prefixDigest,
+                                    int log2Difficulty,
+                                    long startCounter,
+                                    int step,
+                                    AtomicLong result) {
+        byte[] counterBytes = new byte[8];
+        byte[] hash = new byte[HASH_LENGTH];
+        long counter = startCounter;
+        try {
+            for (int i = 0; ; i++) {
+                if (i == STOP_CHECK_INTERVAL) {
+                    if (result.get() >= 0) {
+                        return result.get();
+                    }
+                    i = 0;
+                }
+                MessageDigest digest = (MessageDigest) prefixDigest.clone();
+                writeLong(counter, counterBytes);
+                digest.update(counterBytes);
+                digest.digest(hash, 0, HASH_LENGTH);
+                if (numberOfLeadingZeros(hash) > log2Difficulty) {
+                    return result.compareAndSet(-1, counter) ? counter : result.get();
+                }
+                counter += step;
+            }
+        } catch (CloneNotSupportedException | DigestException e) {
+            // The SHA-256 implementations of the default providers support cloning, so that is not expected
+            throw new RuntimeException(e);
+        }
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Utils
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void updateIfNotNull(MessageDigest digest, byte[] bytes) {
+        if (bytes != null) {
+            digest.update(bytes);
+        }
+    }
+
+    // Same byte order as Longs.toByteArray
+    private static void writeLong(long value, byte[] bytes) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>= 8;
+        }
+    }
+
     private static byte[] getBytes(String value) {
         return value.getBytes(StandardCharsets.UTF_8);
     }
@@ -87,17 +208,6 @@ public class HashCashProofOfWorkService extends ProofOfWorkService {
         return numberOfLeadingZeros;
     }
 
-    private static byte[] toSha256Hash(byte[] payload, byte[] challenge, long counter) {
-        return toSha256Hash(payload, challenge, Longs.toByteArray(counter));
-    }
-
-    private static byte[] toSha256Hash(byte[] payload, byte[] challenge, byte[] solution) {
-        byte[] preImage = org.bouncycastle.util.Arrays.concatenate(payload,
-                challenge,
-                solution);
-        return DigestUtil.sha256(preImage);
-    }
-
 
     // Borrowed from Integer.numberOfLeadingZeros and adjusted for byte
     @VisibleForTesting
@@ -0,0 +1,65 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security.pow.equihash;
+
+import bisq.common.facades.FacadeProvider;
+import bisq.common.facades.android.AndroidGuavaFacade;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EquihashTest {
+    @BeforeAll
+    static void setUp() {
+        FacadeProvider.setGuavaFacade(new AndroidGuavaFacade());
+    }
+
+    @Test
+    public void testAllSolversFindSameSolutions() {
+        byte[] seed = createSeed(1);
+        for (long nonce = 0; nonce < 3; nonce++) {
+            int expected = new Equihash(90, 5, 1.0, Equihash.Solver.IMMUTABLE_INT_ARRAY_TABLES)
+                    .puzzle(seed)
+                    .countAllSolutionsForNonce(nonce);
+            for (Equihash.Solver solver : Equihash.Solver.values()) {
+                assertEquals(expected, new Equihash(90, 5, 1.0, solver).puzzle(seed).countAllSolutionsForNonce(nonce));
+            }
+        }
+    }
+
+    @Test
+    public void testFindAndVerifySolution() {
+        byte[] seed = createSeed(2);
+        for (Equihash.Solver solver : Equihash.Solver.values()) {
+            Equihash.Puzzle puzzle = new Equihash(90, 5, 2.0, solver).puzzle(seed);
+            Equihash.Puzzle.Solution solution = puzzle.findSolution();
+            assertTrue(solution.verify());
+            assertTrue(puzzle.deserializeSolution(solution.serialize()).verify());
+        }
+    }
+
+    private static byte[] createSeed(long randomSeed) {
+        byte[] seed = new byte[32];
+        new Random(randomSeed).nextBytes(seed);
+        return seed;
+    }
+}
@@ -79,6 +79,43 @@ class HashCashProofOfWorkServiceTest {
 //        Minting 1000 tokens with > 8 leading zeros  took 0.318 ms per token and 526 iterations in average. Verification took 0.001 ms per token.
     }
 
+    @Test
+    public void testParallelMint() {
+        byte[] payload = RandomStringUtils.random(50, true, true).getBytes(StandardCharsets.UTF_8);
+        HashCashProofOfWorkService service = new HashCashProofOfWorkService();
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int log2Difficulty = 10; log2Difficulty <= 18; log2Difficulty += 4) {
+            double difficulty = Math.scalb(1.0, log2Difficulty);
+            long sequentialDuration = 0;
+            long parallelDuration = 0;
+            int numTokens = 10;
+            for (int i = 0; i < numTokens; i++) {
+                byte[] challenge = DigestUtil.sha256(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+                ProofOfWork sequential = service.mint(payload, challenge, difficulty, false);
+                ProofOfWork parallel = service.mint(payload, challenge, difficulty, true);
+                assertTrue(service.verify(sequential));
+                assertTrue(service.verify(parallel));
+                sequentialDuration += sequential.getDuration();
+                parallelDuration += parallel.getDuration();
+            }
+            stringBuilder.append("\nMinting with > ").append(log2Difficulty)
+                    .append(" leading zeros took ").append(sequentialDuration / (double) numTokens)
+                    .append(" ms sequential and ").append(parallelDuration / (double) numTokens)
+                    .append(" ms parallel per token.");
+        }
+        log.info(stringBuilder.toString());
+    }
+
+    @Test
+    public void testMintWithoutChallenge() {
+        byte[] payload = RandomStringUtils.random(50, true, true).getBytes(StandardCharsets.UTF_8);
+        HashCashProofOfWorkService service = new HashCashProofOfWorkService();
+        ProofOfWork proofOfWork = service.mint(payload, null, 256);
+        assertTrue(service.verify(proofOfWork));
+        byte[] hash = DigestUtil.sha256(org.bouncycastle.util.Arrays.concatenate(payload, proofOfWork.getSolution()));
+        assertTrue(numberOfLeadingZeros(hash) > 8);
+    }
+
     private void run(int log2Difficulty, StringBuilder stringBuilder) {
         double difficulty = Math.scalb(1.0, log2Difficulty);
         int numTokens = 1000;
@@ -19,15 +19,15 @@ package bisq.trade.bisq_easy.protocol;
 
 import bisq.common.fsm.Event;
 import bisq.common.fsm.EventHandler;
+import bisq.common.fsm.EventHandlerFactory;
 import bisq.common.fsm.FsmException;
 import bisq.trade.ServiceProvider;
 import bisq.trade.bisq_easy.BisqEasyTrade;
 import bisq.trade.protocol.TradeProtocol;
 
-import java.lang.reflect.InvocationTargetException;
-
 public abstract class BisqEasyProtocol extends TradeProtocol<BisqEasyTrade> {
     private static final String version = "1.0.0";
+    private static final EventHandlerFactory eventHandlerFactory = new EventHandlerFactory(ServiceProvider.class, BisqEasyTrade.class);
 
     public BisqEasyProtocol(ServiceProvider serviceProvider, BisqEasyTrade model) {
         super(version, serviceProvider, model);
@@ -35,12 +35,7 @@ public abstract class BisqEasyProtocol extends TradeProtocol<BisqEasyTrade> {
 
     @Override
     protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass) {
-        try {
-            return handlerClass.getDeclaredConstructor(ServiceProvider.class, BisqEasyTrade.class).newInstance(serviceProvider, model);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
-            throw new RuntimeException(e);
-        }
+        return eventHandlerFactory.create(handlerClass, serviceProvider, model);
     }
 
     @Override
@@ -20,6 +20,8 @@ package bisq.trade.bisq_easy.protocol.messages;
 import bisq.bonded_roles.market_price.MarketPrice;
 import bisq.bonded_roles.market_price.MarketPriceService;
 import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookChannelService;
+import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookIndex;
+import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookQuery;
 import bisq.common.currency.Market;
 import bisq.common.fsm.Event;
 import bisq.common.monetary.Monetary;
@@ -41,7 +43,6 @@ import lombok.extern.slf4j.Slf4j;
 import java.security.GeneralSecurityException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.*;
 
@@ -99,16 +100,15 @@ public class BisqEasyTakeOfferRequestHandler extends TradeMessageHandler<BisqEas
         BisqEasyContract takersContract = checkNotNull(message.getBisqEasyContract());
         BisqEasyOffer takersOffer = checkNotNull(takersContract.getOffer());
 
-        List<BisqEasyOffer> myOffers = serviceProvider.getChatService().getBisqEasyOfferbookChannelService().getChannels().stream()
-                .flatMap(channel -> channel.getChatMessages().stream())
-                .filter(chatMessage -> chatMessage.getBisqEasyOffer().isPresent())
-                .map(chatMessage -> chatMessage.getBisqEasyOffer().get())
+        BisqEasyOfferbookIndex offerbookIndex = serviceProvider.getChatService().getBisqEasyOfferbookChannelService().getOfferbookIndex();
+        Optional<BisqEasyOffer> matchingOfferInChannel = offerbookIndex.findMessagesByOfferId(takersOffer.getId()).stream()
+                .flatMap(chatMessage -> chatMessage.getBisqEasyOffer().stream())
                 .filter(offer -> offer.getMakerNetworkId().equals(trade.getMyIdentity().getNetworkId()))
-                .collect(Collectors.toList());
-        Optional<BisqEasyOffer> matchingOfferInChannel = myOffers.stream()
                 .filter(offer -> offer.equals(takersOffer))
                 .findAny();
         if (matchingOfferInChannel.isEmpty()) {
+            List<BisqEasyOffer> myOffers = offerbookIndex.queryOffers(BisqEasyOfferbookQuery.create()
+                    .makerNetworkId(trade.getMyIdentity().getNetworkId()));
             log.error("Could not find matching offer in BisqEasyOfferbookChannel.\n" +
                             "takersOffer={}\n" +
                             "myOffers={}",
@@ -18,14 +18,14 @@
 package bisq.trade.bisq_musig.protocol;
 
 import bisq.common.fsm.EventHandler;
+import bisq.common.fsm.EventHandlerFactory;
 import bisq.trade.ServiceProvider;
 import bisq.trade.bisq_musig.BisqMuSigTrade;
 import bisq.trade.protocol.TradeProtocol;
 
-import java.lang.reflect.InvocationTargetException;
-
 public abstract class BisqMuSigProtocol extends TradeProtocol<BisqMuSigTrade> {
     private static final String version = "1.0.0";
+    private static final EventHandlerFactory eventHandlerFactory = new EventHandlerFactory(ServiceProvider.class, BisqMuSigTrade.class);
 
     public BisqMuSigProtocol(ServiceProvider serviceProvider, BisqMuSigTrade model) {
         super(version, serviceProvider, model);
@@ -33,12 +33,7 @@ public abstract class BisqMuSigProtocol extends TradeProtocol<BisqMuSigTrade> {
 
     @Override
     protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass) {
-        try {
-            return handlerClass.getDeclaredConstructor(ServiceProvider.class, BisqMuSigTrade.class).newInstance(serviceProvider, model);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
-            throw new RuntimeException(e);
-        }
+        return eventHandlerFactory.create(handlerClass, serviceProvider, model);
     }
 
     @Override
@@ -18,14 +18,14 @@
 package bisq.trade.submarine.protocol;
 
 import bisq.common.fsm.EventHandler;
+import bisq.common.fsm.EventHandlerFactory;
 import bisq.trade.ServiceProvider;
 import bisq.trade.protocol.TradeProtocol;
 import bisq.trade.submarine.SubmarineTrade;
 
-import java.lang.reflect.InvocationTargetException;
-
 public abstract class SubmarineProtocol extends TradeProtocol<SubmarineTrade> {
     private static final String version = "1.0.0";
+    private static final EventHandlerFactory eventHandlerFactory = new EventHandlerFactory(ServiceProvider.class, SubmarineTrade.class);
 
     public SubmarineProtocol(ServiceProvider serviceProvider, SubmarineTrade model) {
         super(version, serviceProvider, model);
@@ -33,12 +33,7 @@ public abstract class SubmarineProtocol extends TradeProtocol<SubmarineTrade> {
 
     @Override
     protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass) {
-        try {
-            return handlerClass.getDeclaredConstructor(ServiceProvider.class, SubmarineTrade.class).newInstance(serviceProvider, model);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
-            throw new RuntimeException(e);
-        }
+        return eventHandlerFactory.create(handlerClass, serviceProvider, model);
     }
 
     @Override
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.profile;
+
+import bisq.common.annotation.ExcludeForHash;
+import bisq.common.network.Address;
+import bisq.common.network.AddressByTransportTypeMap;
+import bisq.common.network.TransportType;
+import bisq.common.proto.Proto;
+import bisq.network.identity.NetworkId;
+import bisq.security.keys.KeyGeneration;
+import bisq.security.keys.PubKey;
+import bisq.security.pow.ProofOfWork;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Message;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares serializeForHash using the cached exclusion plan with the previous implementation, which resolved the
+ * fields annotated with @ExcludeForHash by reflection at each call. The previous implementation is only applied at
+ * the top level, nested protos use the cached plan in both cases.
+ * <p>
+ * We use the user profile, as it is the most frequent distributed data and has fields which are only excluded in some
+ * versions.
+ */
+@Slf4j
+public class ExcludeForHashBenchmark {
+    private static final int NUM_WARMUP_ITERATIONS = 20_000;
+    private static final int NUM_ITERATIONS = 200_000;
+
+    @Test
+    void cachedPlanVersusReflection() throws GeneralSecurityException {
+        UserProfile userProfile = createUserProfile();
+        List<Proto> protos = List.of(userProfile, UserProfile.withVersion(userProfile, 0));
+
+        for (Proto proto : protos) {
+            assertThat(proto.serializeForHash()).isEqualTo(serializeForHashWithReflection(proto));
+
+            run(proto, true, NUM_WARMUP_ITERATIONS);
+            run(proto, false, NUM_WARMUP_ITERATIONS);
+            long reflectionDuration = run(proto, true, NUM_ITERATIONS);
+            long cachedPlanDuration = run(proto, false, NUM_ITERATIONS);
+            log.info("{} version {}: reflection: {} ns/op, cached plan: {} ns/op",
+                    proto.getClass().getSimpleName(),
+                    proto.getVersion(),
+                    reflectionDuration / NUM_ITERATIONS,
+                    cachedPlanDuration / NUM_ITERATIONS);
+        }
+    }
+
+    private static long run(Proto proto, boolean useReflection, int numIterations) {
+        long sum = 0;
+        long ts = System.nanoTime();
+        for (int i = 0; i < numIterations; i++) {
+            byte[] bytes = useReflection ? serializeForHashWithReflection(proto) : proto.serializeForHash();
+            sum += bytes.length;
+        }
+        long duration = System.nanoTime() - ts;
+        assertThat(sum).isPositive();
+        return duration;
+    }
+
+    private static byte[] serializeForHashWithReflection(Proto proto) {
+        Set<String> excludedFields = Arrays.stream(proto.getClass().getDeclaredFields())
+                .peek(field -> field.setAccessible(true))
+                .filter(field -> field.isAnnotationPresent(ExcludeForHash.class))
+                .filter(field -> {
+                    int[] excludeOnlyInVersions = field.getAnnotation(ExcludeForHash.class).excludeOnlyInVersions();
+                    return excludeOnlyInVersions.length == 0 ||
+                            Arrays.stream(excludeOnlyInVersions).boxed().anyMatch(version -> version == proto.getVersion());
+                })
+                .map(Field::getName)
+                .collect(Collectors.toSet());
+        Message.Builder builder = proto.getBuilder(true);
+        for (Descriptors.FieldDescriptor fieldDesc : builder.getAllFields().keySet()) {
+            if (excludedFields.contains(fieldDesc.getName())) {
+                builder.clearField(fieldDesc);
+            }
+        }
+        return builder.build().toByteArray();
+    }
+
+    private static UserProfile createUserProfile() throws GeneralSecurityException {
+        PubKey pubKey = new PubKey(KeyGeneration.generateKeyPair().getPublic(), "default");
+        AddressByTransportTypeMap addressByTransportTypeMap = new AddressByTransportTypeMap(
+                Map.of(TransportType.CLEAR, new Address("127.0.0.1", 10000)));
+        NetworkId networkId = new NetworkId(addressByTransportTypeMap, pubKey);
+        ProofOfWork proofOfWork = new ProofOfWork(pubKey.getHash(), 1234, null, 65536, new byte[32], 100);
+        return UserProfile.createNew("Alice", proofOfWork, 0, networkId, "Terms", "Statement");
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.cathash;
+
+import bisq.common.platform.OS;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Stores the raw icon data of all profiles in one append-only file instead of one file per profile.
+ * <br/>
+ * The file starts with a header (magic and format version) followed by the records, each consisting of the key length
+ * (short), the key bytes, the data length (int) and the data. The index (key to position of the data) is built by
+ * scanning the records when the file gets opened. An incomplete record at the end of the file (e.g. after a crash
+ * while appending) gets truncated. Reads are served from a memory-mapped read-only view of the file, which gets
+ * re-mapped when reading records appended after the last mapping. On Windows a mapped file cannot be replaced until the
+ * mapping got garbage collected, which would break the compaction, so we read from the file channel there.
+ */
+@Slf4j
+class CatHashIconAtlas implements AutoCloseable {
+    private static final int MAGIC = 0x43415448; // "CATH"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+
+    private static final class Entry {
+        private final long position;
+        private final int length;
+
+        private Entry(long position, int length) {
+            this.position = position;
+            this.length = length;
+        }
+    }
+
+    private final Path path;
+    private final boolean useMemoryMapping;
+    private final Map<String, Entry> index = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer mappedByteBuffer;
+    private long size;
+
+    CatHashIconAtlas(Path path) throws IOException {
+        this(path, !OS.isWindows());
+    }
+
+    CatHashIconAtlas(Path path, boolean useMemoryMapping) throws IOException {
+        this.path = path;
+        this.useMemoryMapping = useMemoryMapping;
+        open();
+    }
+
+    synchronized Optional<byte[]> read(String key) {
+        Entry entry = index.get(key);
+        if (entry == null || channel == null) {
+            return Optional.empty();
+        }
+        try {
+            if (!useMemoryMapping) {
+                return Optional.of(readFully(entry.position, entry.length).array());
+            }
+            if (mappedByteBuffer == null || entry.position + entry.length > mappedByteBuffer.capacity()) {
+                mappedByteBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            byte[] data = new byte[entry.length];
+            mappedByteBuffer.get((int) entry.position, data);
+            return Optional.of(data);
+        } catch (IOException e) {
+            log.error("Reading icon {} from atlas failed", key, e);
+            return Optional.empty();
+        }
+    }
+
+    synchronized boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    synchronized int getNumEntries() {
+        return index.size();
+    }
+
+    synchronized void append(String key, byte[] data) throws IOException {
+        if (channel == null) {
+            throw new IOException("Icon atlas " + path + " is closed");
+        }
+        if (index.containsKey(key)) {
+            return;
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(Short.BYTES + keyBytes.length + Integer.BYTES + data.length);
+        record.putShort((short) keyBytes.length);
+        record.put(keyBytes);
+        record.putInt(data.length);
+        record.put(data);
+        record.flip();
+        long recordPosition = size;
+        while (record.hasRemaining()) {
+            channel.write(record, recordPosition + record.position());
+        }
+        size += record.limit();
+        index.put(key, new Entry(recordPosition + Short.BYTES + keyBytes.length + Integer.BYTES, data.length));
+    }
+
+    /**
+     * Rewrites the atlas with only the records of the given keys.
+     */
+    synchronized void retainAll(Set<String> keys) throws IOException {
+        if (channel == null || keys.containsAll(index.keySet())) {
+            return;
+        }
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.deleteIfExists(tempPath);
+        try (CatHashIconAtlas compacted = new CatHashIconAtlas(tempPath, useMemoryMapping)) {
+            for (String key : keys) {
+                Optional<byte[]> data = read(key);
+                if (data.isPresent()) {
+                    compacted.append(key, data.get());
+                }
+            }
+        }
+        close();
+        try {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Replacing icon atlas {} by compacted version failed. We keep the current version.", path, e);
+            Files.deleteIfExists(tempPath);
+        }
+        open();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        mappedByteBuffer = null;
+        index.clear();
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        size = channel.size();
+        if (!hasValidHeader()) {
+            if (size > 0) {
+                log.warn("Icon atlas {} has an invalid header. We reset it.", path);
+            }
+            channel.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            size = HEADER_SIZE;
+            return;
+        }
+        buildIndex();
+    }
+
+    private boolean hasValidHeader() throws IOException {
+        if (size < HEADER_SIZE) {
+            return false;
+        }
+        ByteBuffer header = readFully(0, HEADER_SIZE);
+        return header.getInt() == MAGIC && header.getInt() == FORMAT_VERSION;
+    }
+
+    private void buildIndex() throws IOException {
+        long position = HEADER_SIZE;
+        while (position + Short.BYTES <= size) {
+            int keyLength = readFully(position, Short.BYTES).getShort();
+            long dataLengthPosition = position + Short.BYTES + keyLength;
+            if (keyLength <= 0 || dataLengthPosition + Integer.BYTES > size) {
+                break;
+            }
+            int dataLength = readFully(dataLengthPosition, Integer.BYTES).getInt();
+            long dataPosition = dataLengthPosition + Integer.BYTES;
+            if (dataLength < 0 || dataPosition + dataLength > size) {
+                break;
+            }
+            String key = new String(readFully(position + Short.BYTES, keyLength).array(), StandardCharsets.UTF_8);
+            index.put(key, new Entry(dataPosition, dataLength));
+            position = dataPosition + dataLength;
+        }
+        if (position < size) {
+            log.warn("Icon atlas {} has an incomplete record at position {}. We truncate the file.", path, position);
+            channel.truncate(position);
+            size = position;
+        }
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(length);
+        while (byteBuffer.hasRemaining()) {
+            if (channel.read(byteBuffer, position + byteBuffer.position()) < 0) {
+                throw new IOException("Unexpected end of file at " + path);
+            }
+        }
+        return byteBuffer.flip();
+    }
+}
@@ -19,9 +19,9 @@ package bisq.user.cathash;
 
 import bisq.common.encoding.Hex;
 import bisq.common.file.FileUtils;
+import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.ByteArrayUtils;
 import bisq.user.profile.UserProfile;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
@@ -29,9 +29,10 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Slf4j
 public abstract class CatHashService<T> {
@@ -42,20 +43,33 @@ public abstract class CatHashService<T> {
     // This is a 120*120 image meaning 14400 pixels. At 4 bytes each, that takes 57.6 KB in memory (and on disk as we use raw format).
     // With 5000 images we would get about 288 MB.
     private static final int MAX_CACHE_SIZE = 5000;
+    private static final String ATLAS_FILE_NAME = "icons.atlas";
+    private static final String LEGACY_ICON_FILE_EXTENSION = ".raw";
 
-    private final ConcurrentHashMap<BigInteger, T> cache = new ConcurrentHashMap<>();
-    @Setter
-    private Path baseDir;
+    // Least recently used images get evicted once we reach MAX_CACHE_SIZE
+    private final Map<BigInteger, T> cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<BigInteger, T> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    });
+    private final Map<BigInteger, CompletableFuture<T>> pendingRequests = new ConcurrentHashMap<>();
+    private final Map<Integer, Optional<CatHashIconAtlas>> atlasByAvatarVersion = new ConcurrentHashMap<>();
+    private final ExecutorService executor = ExecutorFactory.newFixedThreadPool("CatHashService", 2);
+    private final Path baseDir;
 
     public CatHashService(Path baseDir) {
         this.baseDir = baseDir;
     }
 
+    /**
+     * Composes the image from the layers at the given paths. Gets called from background threads.
+     */
     protected abstract T composeImage(String[] paths, double size);
 
-    protected abstract void writeRawImage(T image, File iconFile) throws IOException;
+    protected abstract byte[] toRawImage(T image);
 
-    protected abstract T readRawImage(File iconFile) throws IOException;
+    protected abstract T fromRawImage(byte[] rawImage);
 
     public T getImage(UserProfile userProfile, double size) {
         return getImage(userProfile.getPubKeyHash(),
@@ -64,36 +78,83 @@ public abstract class CatHashService<T> {
                 size);
     }
 
+    /**
+     * Returns the image from the in-memory cache, without blocking.
+     */
+    public Optional<T> findCachedImage(UserProfile userProfile, double size) {
+        if (size > SIZE_OF_CACHED_ICONS) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(getCatHashInput(userProfile.getPubKeyHash(), userProfile.getProofOfWork().getSolution())));
+    }
+
+    /**
+     * Reads or creates the image on a background thread. Concurrent requests for the same cached image share the
+     * same future.
+     */
+    public CompletableFuture<T> getImageAsync(UserProfile userProfile, double size) {
+        byte[] pubKeyHash = userProfile.getPubKeyHash();
+        byte[] powSolution = userProfile.getProofOfWork().getSolution();
+        int avatarVersion = userProfile.getAvatarVersion();
+        if (size > SIZE_OF_CACHED_ICONS) {
+            return CompletableFuture.supplyAsync(() -> getImage(pubKeyHash, powSolution, avatarVersion, size), executor);
+        }
+        BigInteger catHashInput = getCatHashInput(pubKeyHash, powSolution);
+        T cachedImage = cache.get(catHashInput);
+        if (cachedImage != null) {
+            return CompletableFuture.completedFuture(cachedImage);
+        }
+        CompletableFuture<T> future = pendingRequests.computeIfAbsent(catHashInput, key ->
+                CompletableFuture.supplyAsync(() -> getImage(pubKeyHash, powSolution, avatarVersion, size), executor));
+        future.whenComplete((image, throwable) -> pendingRequests.remove(catHashInput, future));
+        return future;
+    }
+
+    /**
+     * Loads the cached size images of the given user profiles in one background task, so that they are available
+     * from the in-memory cache when they get displayed.
+     */
+    public void prefetch(Collection<UserProfile> userProfiles) {
+        List<UserProfile> missing = userProfiles.stream()
+                .filter(userProfile -> findCachedImage(userProfile, SIZE_OF_CACHED_ICONS).isEmpty())
+                .limit(MAX_CACHE_SIZE)
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        executor.submit(() -> {
+            long ts = System.currentTimeMillis();
+            missing.forEach(userProfile -> {
+                try {
+                    getImage(userProfile, SIZE_OF_CACHED_ICONS);
+                } catch (Exception e) {
+                    log.error("Prefetching user profile icon failed", e);
+                }
+            });
+            log.info("Prefetching {} user profile icons took {} ms.", missing.size(), System.currentTimeMillis() - ts);
+        });
+    }
+
     public T getImage(byte[] pubKeyHash, byte[] powSolution, int avatarVersion, double size) {
-        byte[] combined = ByteArrayUtils.concat(powSolution, pubKeyHash);
-        BigInteger catHashInput = new BigInteger(combined);
+        BigInteger catHashInput = getCatHashInput(pubKeyHash, powSolution);
         String userProfileId = Hex.encode(pubKeyHash);
-        File iconsDir = Path.of(getCatHashIconsDirectory().toString(), "v" + avatarVersion).toFile();
-        File iconFile = Path.of(iconsDir.getAbsolutePath(), userProfileId + ".raw").toFile();
 
         boolean useCache = size <= SIZE_OF_CACHED_ICONS;
+        Optional<CatHashIconAtlas> atlas = Optional.empty();
         if (useCache) {
             // First approach is to look up the cache
-            if (cache.containsKey(catHashInput)) {
-                return cache.get(catHashInput);
-            }
-
-
-            if (!iconsDir.exists()) {
-                try {
-                    FileUtils.makeDirs(iconsDir);
-                } catch (IOException e) {
-                    log.error(e.toString());
-                }
+            T cachedImage = cache.get(catHashInput);
+            if (cachedImage != null) {
+                return cachedImage;
             }
 
-            // Next approach is to read the image from file
-            if (iconFile.exists()) {
+            // Next approach is to read the image from the atlas file
+            atlas = getAtlas(avatarVersion);
+            Optional<byte[]> rawImage = atlas.flatMap(e -> e.read(userProfileId));
+            if (rawImage.isPresent()) {
                 try {
-                    T image = readRawImage(iconFile);
-                    if (cache.size() < MAX_CACHE_SIZE) {
-                        cache.put(catHashInput, image);
-                    }
+                    T image = fromRawImage(rawImage.get());
+                    cache.put(catHashInput, image);
                     return image;
                 } catch (Exception e) {
                     log.error("Read image failed", e);
@@ -102,8 +163,8 @@ public abstract class CatHashService<T> {
         }
 
         // Image size might be larger as our cached images, or we did not find it in the
-        // cache and also not from persisted files. We create the image. This is an expensive operation taking
-        // about 12 ms on a high-end laptop, and it needs to be done on the UI thread.
+        // cache and also not in the atlas. We create the image. This is an expensive operation taking
+        // about 12 ms on a high-end laptop.
         long ts = System.currentTimeMillis();
         BucketConfig bucketConfig = getBucketConfig(avatarVersion);
         int[] buckets = BucketEncoder.encode(catHashInput, bucketConfig.getBucketSizes());
@@ -111,14 +172,16 @@ public abstract class CatHashService<T> {
         // For retina support we scale by 2
         T image = composeImage(paths, 2 * SIZE_OF_CACHED_ICONS);
         log.info("Creating user profile icon for {} took {} ms.", userProfileId, System.currentTimeMillis() - ts);
-        if (useCache && cache.size() < MAX_CACHE_SIZE) {
+        if (useCache) {
             cache.put(catHashInput, image);
 
-            // We use the MAX_CACHE_SIZE also as limit for files on disk
-            try {
-                writeRawImage(image, iconFile);
-            } catch (IOException e) {
-                log.error("Write image failed", e);
+            // We use the MAX_CACHE_SIZE also as limit for the entries in the atlas
+            if (atlas.isPresent() && atlas.get().getNumEntries() < MAX_CACHE_SIZE) {
+                try {
+                    atlas.get().append(userProfileId, toRawImage(image));
+                } catch (IOException e) {
+                    log.error("Write image failed", e);
+                }
             }
         }
         return image;
@@ -129,49 +192,45 @@ public abstract class CatHashService<T> {
         if (userProfiles.isEmpty()) {
             return;
         }
-        File iconsDirectory = getCatHashIconsDirectory().toFile();
-        File[] versionDirs = iconsDirectory.listFiles();
-        if (versionDirs == null) {
-            return;
-        }
-        Map<String, List<File>> iconFilesByVersion = Stream.of(versionDirs)
-                .filter(File::isDirectory)
-                .filter(dir -> dir.listFiles() != null)
-                .collect(Collectors.toMap(File::getName,
-                        dir -> Arrays.asList(Objects.requireNonNull(dir.listFiles()))));
-
-        Map<Integer, List<UserProfile>> userProfilesByVersion = userProfiles.stream()
-                .collect(Collectors.groupingBy(UserProfile::getAvatarVersion));
-
-        iconFilesByVersion.forEach((versionDir, iconFiles) -> {
-            try {
-                int version = Integer.parseInt(versionDir
-                        .replace("v", ""));
-                Set<String> fromDisk = iconFiles.stream()
-                        .map(File::getName)
-                        .collect(Collectors.toSet());
-                Set<String> fromData = Optional.of(userProfilesByVersion.get(version).stream()
-                                .map(userProfile -> userProfile.getId() + ".raw")
-                                .collect(Collectors.toSet()))
-                        .orElse(new HashSet<>());
-                Set<String> toRemove = new HashSet<>(fromDisk);
-                toRemove.removeAll(fromData);
-                log.info("We remove following user profile icons which are not found in the current user profile list:{}", toRemove);
-                toRemove.forEach(fileName -> {
-                    File file = Path.of(iconsDirectory.getAbsolutePath(), versionDir, fileName).toFile();
-                    try {
-                        log.error("Remove {}", file);
-                        FileUtils.deleteFile(file);
-                    } catch (IOException e) {
-                        log.error("Failed to remove file {}", file, e);
+        Map<Integer, Set<String>> userProfileIdsByVersion = userProfiles.stream()
+                .collect(Collectors.groupingBy(UserProfile::getAvatarVersion,
+                        Collectors.mapping(UserProfile::getId, Collectors.toSet())));
+        // Compacting the atlas rewrites the file, so we do not want to do that on the caller thread
+        executor.submit(() -> {
+            File[] versionDirs = getCatHashIconsDirectory().toFile().listFiles(File::isDirectory);
+            if (versionDirs == null) {
+                return;
+            }
+            for (File versionDir : versionDirs) {
+                try {
+                    int version = Integer.parseInt(versionDir.getName().replace("v", ""));
+                    deleteLegacyIconFiles(versionDir);
+                    Optional<CatHashIconAtlas> atlas = getAtlas(version);
+                    if (atlas.isPresent()) {
+                        int numEntries = atlas.get().getNumEntries();
+                        atlas.get().retainAll(userProfileIdsByVersion.getOrDefault(version, Set.of()));
+                        log.info("We removed {} user profile icons which are not found in the current user profile list",
+                                numEntries - atlas.get().getNumEntries());
                     }
-                });
-            } catch (Exception e) {
-                log.error("Unexpected versionDir {}", versionDir, e);
+                } catch (Exception e) {
+                    log.error("Unexpected versionDir {}", versionDir, e);
+                }
             }
         });
     }
 
+    public void shutdown() {
+        ExecutorFactory.shutdownAndAwaitTermination(executor, 1000);
+        atlasByAvatarVersion.values().forEach(atlas -> atlas.ifPresent(e -> {
+            try {
+                e.close();
+            } catch (IOException exception) {
+                log.error("Closing icon atlas failed", exception);
+            }
+        }));
+        atlasByAvatarVersion.clear();
+    }
+
     public int currentAvatarsVersion() {
         return BucketConfig.CURRENT_VERSION;
     }
@@ -180,6 +239,39 @@ public abstract class CatHashService<T> {
         return Path.of(baseDir.toString(), "db", "cache", "cat_hash_icons");
     }
 
+    private Optional<CatHashIconAtlas> getAtlas(int avatarVersion) {
+        return atlasByAvatarVersion.computeIfAbsent(avatarVersion, version -> {
+            File iconsDir = Path.of(getCatHashIconsDirectory().toString(), "v" + version).toFile();
+            try {
+                FileUtils.makeDirs(iconsDir);
+                return Optional.of(new CatHashIconAtlas(Path.of(iconsDir.getAbsolutePath(), ATLAS_FILE_NAME)));
+            } catch (IOException e) {
+                log.error("Opening icon atlas failed", e);
+                return Optional.empty();
+            }
+        });
+    }
+
+    // Icons have been stored as one file per user profile before we used the atlas
+    private void deleteLegacyIconFiles(File versionDir) {
+        File[] legacyIconFiles = versionDir.listFiles((dir, name) -> name.endsWith(LEGACY_ICON_FILE_EXTENSION));
+        if (legacyIconFiles == null || legacyIconFiles.length == 0) {
+            return;
+        }
+        log.info("We remove {} legacy user profile icon files", legacyIconFiles.length);
+        for (File file : legacyIconFiles) {
+            try {
+                FileUtils.deleteFile(file);
+            } catch (IOException e) {
+                log.error("Failed to remove file {}", file, e);
+            }
+        }
+    }
+
+    private static BigInteger getCatHashInput(byte[] pubKeyHash, byte[] powSolution) {
+        return new BigInteger(ByteArrayUtils.concat(powSolution, pubKeyHash));
+    }
+
     private BucketConfig getBucketConfig(int avatarVersion) {
         if (avatarVersion == 0) {
             return new BucketConfigV0();
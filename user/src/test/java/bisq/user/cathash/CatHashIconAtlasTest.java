@@ -0,0 +1,136 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.cathash;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatHashIconAtlasTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAppendAndRead() throws IOException {
+        Path path = tempDir.resolve("icons.atlas");
+        try (CatHashIconAtlas atlas = new CatHashIconAtlas(path)) {
+            atlas.append("a", new byte[]{1, 2, 3});
+            assertArrayEquals(new byte[]{1, 2, 3}, atlas.read("a").orElseThrow());
+            atlas.append("b", new byte[]{4, 5});
+            // Existing entries are not overwritten
+            atlas.append("a", new byte[]{9});
+            assertArrayEquals(new byte[]{1, 2, 3}, atlas.read("a").orElseThrow());
+            assertArrayEquals(new byte[]{4, 5}, atlas.read("b").orElseThrow());
+            assertTrue(atlas.read("c").isEmpty());
+            assertEquals(2, atlas.getNumEntries());
+        }
+
+        try (CatHashIconAtlas atlas = new CatHashIconAtlas(path)) {
+            assertEquals(2, atlas.getNumEntries());
+            assertArrayEquals(new byte[]{1, 2, 3}, atlas.read("a").orElseThrow());
+            assertArrayEquals(new byte[]{4, 5}, atlas.read("b").orElseThrow());
+        }
+    }
+
+    @Test
+    void testRetainAll() throws IOException {
+        Path path = tempDir.resolve("icons.atlas");
+        try (CatHashIconAtlas atlas = new CatHashIconAtlas(path)) {
+            atlas.append("a", new byte[]{1});
+            atlas.append("b", new byte[]{2});
+            atlas.append("c", new byte[]{3});
+            long sizeBeforeCompaction = Files.size(path);
+
+            atlas.retainAll(Set.of("b", "d"));
+            assertEquals(1, atlas.getNumEntries());
+            assertFalse(atlas.contains("a"));
+            assertArrayEquals(new byte[]{2}, atlas.read("b").orElseThrow());
+            assertTrue(Files.size(path) < sizeBeforeCompaction);
+
+            atlas.append("e", new byte[]{5});
+            assertArrayEquals(new byte[]{5}, atlas.read("e").orElseThrow());
+        }
+    }
+
+    @Test
+    void testRetainAllWithoutMemoryMapping() throws IOException {
+        Path path = tempDir.resolve("icons.atlas");
+        try (CatHashIconAtlas atlas = new CatHashIconAtlas(path, false)) {
+            atlas.append("a", new byte[]{1});
+            atlas.append("b", new byte[]{2, 3});
+            assertArrayEquals(new byte[]{2, 3}, atlas.read("b").orElseThrow());
+
+            atlas.retainAll(Set.of("b"));
+            assertEquals(1, atlas.getNumEntries());
+            assertArrayEquals(new byte[]{2, 3}, atlas.read("b").orElseThrow());
+
+            atlas.append("c", new byte[]{4});
+            assertArrayEquals(new byte[]{4}, atlas.read("c").orElseThrow());
+        }
+    }
+
+    @Test
+    void testAppendAfterCloseFails() throws IOException {
+        Path path = tempDir.resolve("icons.atlas");
+        CatHashIconAtlas atlas = new CatHashIconAtlas(path);
+        atlas.append("a", new byte[]{1});
+        atlas.close();
+
+        assertThrows(IOException.class, () -> atlas.append("b", new byte[]{2}));
+        assertTrue(atlas.read("a").isEmpty());
+    }
+
+    @Test
+    void testIncompleteRecordGetsTruncated() throws IOException {
+        Path path = tempDir.resolve("icons.atlas");
+        try (CatHashIconAtlas atlas = new CatHashIconAtlas(path)) {
+            atlas.append("a", new byte[]{1, 2, 3});
+            atlas.append("b", new byte[]{4, 5, 6});
+        }
+        // Simulate a crash while appending the last record
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        try (CatHashIconAtlas atlas = new CatHashIconAtlas(path)) {
+            assertEquals(1, atlas.getNumEntries());
+            assertArrayEquals(new byte[]{1, 2, 3}, atlas.read("a").orElseThrow());
+            atlas.append("b", new byte[]{7});
+            assertArrayEquals(new byte[]{7}, atlas.read("b").orElseThrow());
+        }
+    }
+
+    @Test
+    void testInvalidFileGetsReset() throws IOException {
+        Path path = tempDir.resolve("icons.atlas");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+        try (CatHashIconAtlas atlas = new CatHashIconAtlas(path)) {
+            assertEquals(0, atlas.getNumEntries());
+            atlas.append("a", new byte[]{1});
+            assertArrayEquals(new byte[]{1}, atlas.read("a").orElseThrow());
+        }
+    }
+}
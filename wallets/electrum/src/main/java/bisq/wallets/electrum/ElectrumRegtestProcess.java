@@ -19,6 +19,7 @@ package bisq.wallets.electrum;
 
 import bisq.common.file.FileUtils;
 import bisq.java_se.utils.FileCreationWatcher;
+import bisq.wallets.electrum.rpc.ElectrumBatchRpcClient;
 import bisq.wallets.electrum.rpc.ElectrumDaemon;
 import bisq.wallets.electrum.rpc.ElectrumProcessConfig;
 import bisq.wallets.json_rpc.JsonRpcClient;
@@ -40,6 +41,7 @@ import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
@@ -153,7 +155,7 @@ public class ElectrumRegtestProcess extends DaemonProcess {
     private ElectrumDaemon createElectrumDaemon() {
         RpcConfig rpcConfig = electrumProcessConfig.getElectrumConfig().toRpcConfig().toJsonRpcConfig();
         JsonRpcClient jsonRpcClient = RpcClientFactory.createDaemonRpcClient(rpcConfig);
-        return new ElectrumDaemon(jsonRpcClient);
+        return new ElectrumDaemon(jsonRpcClient, Optional.of(ElectrumBatchRpcClient.from(rpcConfig)));
     }
 
     private Future<Path> findNewLogFile() {
@@ -0,0 +1,62 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.wallets.electrum;
+
+import bisq.wallets.electrum.rpc.responses.ElectrumDeserializeResponse;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the deserialized data of confirmed transactions by txId, as the data of a transaction does not change.
+ * Transactions with few confirmations could be removed from the chain by a reorg, so we remove those when the status
+ * of one of our addresses has changed.
+ */
+class ElectrumTransactionCache {
+    static final int NUM_SETTLED_CONFIRMATIONS = 6;
+
+    private static final class Entry {
+        private final ElectrumDeserializeResponse.Result deserializedTx;
+        private final int confirmations;
+
+        private Entry(ElectrumDeserializeResponse.Result deserializedTx, int confirmations) {
+            this.deserializedTx = deserializedTx;
+            this.confirmations = confirmations;
+        }
+    }
+
+    private final Map<String, Entry> entryByTxId = new ConcurrentHashMap<>();
+
+    Optional<ElectrumDeserializeResponse.Result> get(String txId) {
+        return Optional.ofNullable(entryByTxId.get(txId)).map(entry -> entry.deserializedTx);
+    }
+
+    /**
+     * Adds the transaction if confirmed or updates the number of confirmations of an already cached transaction.
+     */
+    void put(String txId, ElectrumDeserializeResponse.Result deserializedTx, int confirmations) {
+        if (confirmations > 0) {
+            entryByTxId.put(txId, new Entry(deserializedTx, confirmations));
+        }
+    }
+
+    void removeUnsettled() {
+        entryByTxId.values().removeIf(entry -> entry.confirmations < NUM_SETTLED_CONFIRMATIONS);
+    }
+}
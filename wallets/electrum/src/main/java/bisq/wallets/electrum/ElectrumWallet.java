@@ -27,7 +27,10 @@ import bisq.wallets.json_rpc.JsonRpcResponse;
 import lombok.extern.slf4j.Slf4j;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -35,6 +38,7 @@ import java.util.stream.Collectors;
 public class ElectrumWallet implements Wallet {
     private final Path walletPath;
     private final ElectrumDaemon daemon;
+    private final ElectrumTransactionCache transactionCache = new ElectrumTransactionCache();
 
     public ElectrumWallet(Path walletPath, ElectrumDaemon daemon) {
         this.walletPath = walletPath;
@@ -108,9 +112,23 @@ public class ElectrumWallet implements Wallet {
     public List<Transaction> getTransactions() {
         ElectrumOnChainHistoryResponse onChainHistoryResponse = daemon.onChainHistory();
         List<ElectrumOnChainTransactionResponse> responses = onChainHistoryResponse.getResult().getTransactions();
+
+        Map<String, ElectrumDeserializeResponse.Result> deserializedTxByTxId = new HashMap<>();
+        List<String> missingTxIds = new ArrayList<>();
+        responses.forEach(response -> {
+            String txId = response.getTxId();
+            transactionCache.get(txId).ifPresentOrElse(deserializedTx -> deserializedTxByTxId.put(txId, deserializedTx),
+                    () -> missingTxIds.add(txId));
+        });
+        List<ElectrumDeserializeResponse.Result> missingDeserializedTxs = daemon.getDeserializedTransactions(missingTxIds);
+        for (int i = 0; i < missingTxIds.size(); i++) {
+            deserializedTxByTxId.put(missingTxIds.get(i), missingDeserializedTxs.get(i));
+        }
+
         return responses.stream().map(response -> {
             String txId = response.getTxId();
-            ElectrumDeserializeResponse.Result deserializedTx = getElectrumTransaction(txId);
+            ElectrumDeserializeResponse.Result deserializedTx = deserializedTxByTxId.get(txId);
+            transactionCache.put(txId, deserializedTx, response.getConfirmations());
             List<TransactionInput> inputs = deserializedTx.getInputs().stream()
                     .map(inputResponse -> new TransactionInput(inputResponse.getPrevOutHash(), inputResponse.getPrevOutN(), inputResponse.getNSequence(), inputResponse.getScriptSig(), inputResponse.getWitness()))
                     .collect(Collectors.toList());
@@ -130,6 +148,10 @@ public class ElectrumWallet implements Wallet {
         }).collect(Collectors.toList());
     }
 
+    void onAddressStatusChanged() {
+        transactionCache.removeUnsettled();
+    }
+
     void notify(String address, String endpointUrl) {
         daemon.notify(address, endpointUrl);
     }
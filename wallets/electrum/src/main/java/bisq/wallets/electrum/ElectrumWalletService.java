@@ -211,6 +211,7 @@ public class ElectrumWalletService implements WalletService, ElectrumNotifyApi.L
     @Override
     public void onAddressStatusChanged(String address, String status) {
         if (status != null) {
+            wallet.onAddressStatusChanged();
             requestBalance();
             requestTransactions();
         }
@@ -0,0 +1,170 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.wallets.electrum.rpc;
+
+import bisq.wallets.json_rpc.RpcConfig;
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonDataException;
+import com.squareup.moshi.Moshi;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends multiple calls of the same RPC method as one JSON-RPC batch request. The ids of the calls are their index in
+ * the batch, so that the results can be returned in request order independent of the order of the response entries.
+ */
+public class ElectrumBatchRpcClient {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    // Some servers reject batch requests with an HTTP error instead of a JSON-RPC error object. As an HTTP error can
+    // also be a temporary issue, we consider batch requests as not supported only if it happens repeatedly.
+    static final int MAX_CONSECUTIVE_HTTP_ERRORS = 3;
+
+    private final URI uri;
+    private final String authorizationHeader;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
+    private final AtomicInteger numConsecutiveHttpErrors = new AtomicInteger();
+    private final Moshi moshi = new Moshi.Builder().build();
+    private final JsonAdapter<Object> jsonAdapter = moshi.adapter(Object.class);
+
+    public static ElectrumBatchRpcClient from(RpcConfig rpcConfig) {
+        return new ElectrumBatchRpcClient(rpcConfig.getHostname(),
+                rpcConfig.getPort(),
+                rpcConfig.getUser(),
+                rpcConfig.getPassword());
+    }
+
+    public ElectrumBatchRpcClient(String hostname, int port, String user, String password) {
+        this(hostname, port, user, password, REQUEST_TIMEOUT);
+    }
+
+    ElectrumBatchRpcClient(String hostname, int port, String user, String password, Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+        uri = URI.create("http://" + hostname + ":" + port);
+        String credentials = user + ":" + password;
+        authorizationHeader = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return The results in the order of the given params.
+     * @throws ElectrumBatchRpcNotSupportedException if the daemon does not support batch requests or rejected them
+     *                                               repeatedly with an HTTP error.
+     * @throws ElectrumBatchRpcException             if the request failed or any of the calls returned an error.
+     */
+    public <T> List<T> call(String method, List<?> paramsList, Class<T> resultClass) {
+        if (paramsList.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", authorizationHeader)
+                .header("Content-Type", "application/json")
+                .timeout(requestTimeout)
+                .POST(HttpRequest.BodyPublishers.ofString(toRequestBody(method, paramsList)))
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new ElectrumBatchRpcException("Batch request for " + method + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ElectrumBatchRpcException("Batch request for " + method + " got interrupted", e);
+        }
+        if (response.statusCode() != 200) {
+            String errorMessage = "Batch request for " + method + " failed with HTTP status " + response.statusCode();
+            if (numConsecutiveHttpErrors.incrementAndGet() >= MAX_CONSECUTIVE_HTTP_ERRORS) {
+                throw new ElectrumBatchRpcNotSupportedException(errorMessage + " " + MAX_CONSECUTIVE_HTTP_ERRORS + " times in a row");
+            }
+            throw new ElectrumBatchRpcException(errorMessage);
+        }
+        numConsecutiveHttpErrors.set(0);
+        return toResults(response.body(), paramsList.size(), resultClass);
+    }
+
+    private String toRequestBody(String method, List<?> paramsList) {
+        List<Map<String, Object>> calls = new ArrayList<>(paramsList.size());
+        for (int id = 0; id < paramsList.size(); id++) {
+            Map<String, Object> call = new LinkedHashMap<>();
+            call.put("jsonrpc", "2.0");
+            call.put("id", id);
+            call.put("method", method);
+            call.put("params", paramsList.get(id));
+            calls.add(call);
+        }
+        return jsonAdapter.toJson(calls);
+    }
+
+    private <T> List<T> toResults(String responseBody, int numCalls, Class<T> resultClass) {
+        Object response;
+        try {
+            response = jsonAdapter.fromJson(responseBody);
+        } catch (IOException | JsonDataException e) {
+            throw new ElectrumBatchRpcException("Could not parse batch response", e);
+        }
+        if (!(response instanceof List<?> entries)) {
+            // Servers without batch support respond with a single error object
+            throw new ElectrumBatchRpcNotSupportedException("Batch requests are not supported. Response: " + responseBody);
+        }
+        if (entries.size() != numCalls) {
+            throw new ElectrumBatchRpcException("Expected " + numCalls + " batch response entries but got " + entries.size());
+        }
+
+        JsonAdapter<T> resultAdapter = moshi.adapter(resultClass);
+        List<T> results = new ArrayList<>(Collections.nCopies(numCalls, null));
+        BitSet receivedIds = new BitSet(numCalls);
+        for (Object entry : entries) {
+            if (!(entry instanceof Map<?, ?> map)) {
+                throw new ElectrumBatchRpcException("Invalid batch response entry: " + entry);
+            }
+            if (map.get("error") != null) {
+                throw new ElectrumBatchRpcException("Batch call failed with error: " + map.get("error"));
+            }
+            if (!(map.get("id") instanceof Number number) ||
+                    number.intValue() < 0 || number.intValue() >= numCalls ||
+                    receivedIds.get(number.intValue())) {
+                throw new ElectrumBatchRpcException("Invalid id at batch response entry: " + entry);
+            }
+            int id = number.intValue();
+            receivedIds.set(id);
+            try {
+                results.set(id, resultAdapter.fromJsonValue(map.get("result")));
+            } catch (JsonDataException e) {
+                throw new ElectrumBatchRpcException("Could not parse result of batch response entry: " + entry, e);
+            }
+        }
+        return results;
+    }
+}
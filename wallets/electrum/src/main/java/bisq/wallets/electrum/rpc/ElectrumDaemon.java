@@ -20,16 +20,25 @@ package bisq.wallets.electrum.rpc;
 import bisq.wallets.electrum.rpc.calls.*;
 import bisq.wallets.electrum.rpc.responses.*;
 import bisq.wallets.json_rpc.JsonRpcClient;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+@Slf4j
 public class ElectrumDaemon {
     private final JsonRpcClient rpcClient;
+    private final Optional<ElectrumBatchRpcClient> batchRpcClient;
+    private volatile boolean isBatchRequestSupported = true;
 
     public ElectrumDaemon(JsonRpcClient rpcClient) {
+        this(rpcClient, Optional.empty());
+    }
+
+    public ElectrumDaemon(JsonRpcClient rpcClient, Optional<ElectrumBatchRpcClient> batchRpcClient) {
         this.rpcClient = rpcClient;
+        this.batchRpcClient = batchRpcClient;
     }
 
     public String broadcast(String tx) {
@@ -50,6 +59,38 @@ public class ElectrumDaemon {
         return rpcClient.call(rpcCall);
     }
 
+    /**
+     * Requests and deserializes the transactions with 2 batch requests. If the daemon does not support batch requests
+     * or rejected them repeatedly with an HTTP error, we fall back to 2 requests per transaction from now on. If a
+     * batch request failed for another reason (e.g. a connection issue, a timeout or an unknown transaction), we retry
+     * with single requests only for this call, which propagate the error if it persists.
+     *
+     * @return The deserialized transactions in the order of the given txIds.
+     */
+    public List<ElectrumDeserializeResponse.Result> getDeserializedTransactions(List<String> txIds) {
+        if (batchRpcClient.isPresent() && isBatchRequestSupported) {
+            try {
+                List<ElectrumGetTransactionRpcCall.Request> getTransactionRequests = txIds.stream()
+                        .map(ElectrumGetTransactionRpcCall.Request::new)
+                        .toList();
+                List<String> txsAsHex = batchRpcClient.get().call("gettransaction", getTransactionRequests, String.class);
+
+                List<ElectrumDeserializeRpcCall.Request> deserializeRequests = txsAsHex.stream()
+                        .map(ElectrumDeserializeRpcCall.Request::new)
+                        .toList();
+                return batchRpcClient.get().call("deserialize", deserializeRequests, ElectrumDeserializeResponse.Result.class);
+            } catch (ElectrumBatchRpcNotSupportedException e) {
+                log.warn("Batch requests are not supported. We use single requests from now on.", e);
+                isBatchRequestSupported = false;
+            } catch (ElectrumBatchRpcException e) {
+                log.warn("Batch request failed. We retry with single requests.", e);
+            }
+        }
+        return txIds.stream()
+                .map(txId -> deserialize(getTransaction(txId)).getResult())
+                .toList();
+    }
+
     public double getBalance() {
         var rpcCall = new ElectrumGetBalanceRpcCall();
         ElectrumGetBalanceResponse.Result response = rpcClient.call(rpcCall).getResult();
@@ -0,0 +1,190 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.wallets.electrum.rpc;
+
+import bisq.wallets.electrum.rpc.calls.ElectrumDeserializeRpcCall;
+import bisq.wallets.electrum.rpc.calls.ElectrumGetTransactionRpcCall;
+import bisq.wallets.electrum.rpc.responses.ElectrumDeserializeResponse;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ElectrumBatchRpcClientTest {
+    private final AtomicReference<String> responseBody = new AtomicReference<>();
+    private final AtomicReference<String> requestBody = new AtomicReference<>();
+    private final AtomicInteger numRequests = new AtomicInteger();
+    private final AtomicInteger statusCode = new AtomicInteger(200);
+    private final AtomicInteger responseDelayInMs = new AtomicInteger();
+    private HttpServer server;
+    private ElectrumBatchRpcClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            numRequests.incrementAndGet();
+            requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            try {
+                Thread.sleep(responseDelayInMs.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] response = responseBody.get().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(statusCode.get(), response.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(response);
+            }
+        });
+        server.start();
+        client = new ElectrumBatchRpcClient("127.0.0.1", server.getAddress().getPort(), "user", "password");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void resultsAreInRequestOrder() {
+        responseBody.set("[{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"hex1\"}," +
+                "{\"jsonrpc\":\"2.0\",\"id\":0,\"result\":\"hex0\"}]");
+
+        List<String> results = client.call("gettransaction",
+                List.of(new ElectrumGetTransactionRpcCall.Request("tx0"), new ElectrumGetTransactionRpcCall.Request("tx1")),
+                String.class);
+
+        assertThat(results).containsExactly("hex0", "hex1");
+        assertThat(numRequests.get()).isEqualTo(1);
+        assertThat(requestBody.get())
+                .contains("\"method\":\"gettransaction\"")
+                .contains("\"params\":{\"txid\":\"tx0\"}")
+                .contains("\"params\":{\"txid\":\"tx1\"}");
+    }
+
+    @Test
+    void deserializeResults() {
+        responseBody.set("[{\"jsonrpc\":\"2.0\",\"id\":0,\"result\":" +
+                "{\"inputs\":[],\"locktime\":100,\"outputs\":[],\"version\":\"2\"}}]");
+
+        List<ElectrumDeserializeResponse.Result> results = client.call("deserialize",
+                List.of(new ElectrumDeserializeRpcCall.Request("hex0")),
+                ElectrumDeserializeResponse.Result.class);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getLockTime()).isEqualTo(100);
+        assertThat(results.get(0).getVersion()).isEqualTo("2");
+    }
+
+    @Test
+    void emptyBatchDoesNotSendRequest() {
+        assertThat(client.call("gettransaction", List.of(), String.class)).isEmpty();
+        assertThat(numRequests.get()).isZero();
+    }
+
+    @Test
+    void failedCallInBatch() {
+        responseBody.set("[{\"jsonrpc\":\"2.0\",\"id\":0,\"result\":\"hex0\"}," +
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":{\"code\":-32000,\"message\":\"unknown tx\"}}]");
+
+        assertThatThrownBy(() -> client.call("gettransaction",
+                List.of(new ElectrumGetTransactionRpcCall.Request("tx0"), new ElectrumGetTransactionRpcCall.Request("tx1")),
+                String.class))
+                .isInstanceOf(ElectrumBatchRpcException.class)
+                .isNotInstanceOf(ElectrumBatchRpcNotSupportedException.class);
+    }
+
+    @Test
+    void failedRequestIsNotBatchNotSupported() {
+        statusCode.set(500);
+        responseBody.set("Internal Server Error");
+
+        assertThatThrownBy(() -> client.call("gettransaction",
+                List.of(new ElectrumGetTransactionRpcCall.Request("tx0")),
+                String.class))
+                .isInstanceOf(ElectrumBatchRpcException.class)
+                .isNotInstanceOf(ElectrumBatchRpcNotSupportedException.class);
+    }
+
+    @Test
+    void repeatedHttpErrorIsBatchNotSupported() {
+        statusCode.set(500);
+        responseBody.set("Internal Server Error");
+        List<ElectrumGetTransactionRpcCall.Request> requests = List.of(new ElectrumGetTransactionRpcCall.Request("tx0"));
+
+        for (int i = 1; i < ElectrumBatchRpcClient.MAX_CONSECUTIVE_HTTP_ERRORS; i++) {
+            assertThatThrownBy(() -> client.call("gettransaction", requests, String.class))
+                    .isNotInstanceOf(ElectrumBatchRpcNotSupportedException.class);
+        }
+        assertThatThrownBy(() -> client.call("gettransaction", requests, String.class))
+                .isInstanceOf(ElectrumBatchRpcNotSupportedException.class);
+    }
+
+    @Test
+    void successfulRequestResetsHttpErrors() {
+        List<ElectrumGetTransactionRpcCall.Request> requests = List.of(new ElectrumGetTransactionRpcCall.Request("tx0"));
+        for (int i = 0; i < 2 * ElectrumBatchRpcClient.MAX_CONSECUTIVE_HTTP_ERRORS; i++) {
+            boolean isFailing = i % 2 == 0;
+            statusCode.set(isFailing ? 500 : 200);
+            responseBody.set(isFailing ? "Internal Server Error" : "[{\"jsonrpc\":\"2.0\",\"id\":0,\"result\":\"hex0\"}]");
+            if (isFailing) {
+                assertThatThrownBy(() -> client.call("gettransaction", requests, String.class))
+                        .isNotInstanceOf(ElectrumBatchRpcNotSupportedException.class);
+            } else {
+                assertThat(client.call("gettransaction", requests, String.class)).containsExactly("hex0");
+            }
+        }
+    }
+
+    @Test
+    void requestTimeout() {
+        responseDelayInMs.set(2000);
+        responseBody.set("[{\"jsonrpc\":\"2.0\",\"id\":0,\"result\":\"hex0\"}]");
+        ElectrumBatchRpcClient slowClient = new ElectrumBatchRpcClient("127.0.0.1",
+                server.getAddress().getPort(), "user", "password", Duration.ofMillis(200));
+
+        assertThatThrownBy(() -> slowClient.call("gettransaction",
+                List.of(new ElectrumGetTransactionRpcCall.Request("tx0")),
+                String.class))
+                .isInstanceOf(ElectrumBatchRpcException.class)
+                .isNotInstanceOf(ElectrumBatchRpcNotSupportedException.class);
+    }
+
+    @Test
+    void batchNotSupported() {
+        responseBody.set("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":-32600,\"message\":\"Invalid request\"}}");
+
+        assertThatThrownBy(() -> client.call("gettransaction",
+                List.of(new ElectrumGetTransactionRpcCall.Request("tx0")),
+                String.class))
+                .isInstanceOf(ElectrumBatchRpcNotSupportedException.class);
+    }
+}